@@ -2,6 +2,9 @@ package edu.kit.provideq.toolbox;
 
 import edu.kit.provideq.toolbox.meta.ProblemSolver;
 import jakarta.validation.constraints.NotNull;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
 import java.util.function.Function;
@@ -21,6 +24,18 @@ public class Solution<S> {
   private String debugData;
   private String solverName;
   private long executionMilliseconds;
+  private List<PhaseTimestamp> timeline = List.of();
+  // phases with System.nanoTime() timestamps that are not part of the timeline yet
+  private final List<PhaseTimestamp> recordedPhases = new ArrayList<>();
+
+  /**
+   * A phase the solution process reached.
+   *
+   * @param phase the reached phase.
+   * @param nanos nanoseconds since the solution process was queued.
+   */
+  public record PhaseTimestamp(SolutionPhase phase, long nanos) {
+  }
 
   /**
    * Internal constructor, used for de-serialization.
@@ -82,6 +97,10 @@ public class Solution<S> {
     stringSolution.debugData = debugData;
     stringSolution.solverName = solverName;
     stringSolution.executionMilliseconds = executionMilliseconds;
+    stringSolution.timeline = timeline;
+    synchronized (this) {
+      stringSolution.recordedPhases.addAll(recordedPhases);
+    }
     return stringSolution;
   }
 
@@ -152,6 +171,44 @@ public class Solution<S> {
     this.executionMilliseconds = executionMilliseconds;
   }
 
+  /**
+   * Returns the phases of the solution process in the order they were reached, empty while the
+   * solution is being computed.
+   */
+  public List<PhaseTimestamp> getTimeline() {
+    return timeline;
+  }
+
+  /**
+   * Records that the solution process reached a phase now, e.g., that a process was started.
+   */
+  public void recordPhase(SolutionPhase phase) {
+    recordPhase(phase, System.nanoTime());
+  }
+
+  /**
+   * Records that the solution process reached a phase at a given {@link System#nanoTime()}.
+   */
+  public synchronized void recordPhase(SolutionPhase phase, long nanoTime) {
+    recordedPhases.add(new PhaseTimestamp(phase, nanoTime));
+  }
+
+  /**
+   * Sets the timeline to the recorded phases, relative to the {@link System#nanoTime()} when the
+   * solution process was queued.
+   */
+  public synchronized void completeTimeline(long queuedNanoTime) {
+    setTimeline(recordedPhases.stream()
+        .map(phase -> new PhaseTimestamp(phase.phase(), phase.nanos() - queuedNanoTime))
+        .sorted(Comparator.comparingLong(PhaseTimestamp::nanos))
+        .toList());
+    recordedPhases.clear();
+  }
+
+  public void setTimeline(List<PhaseTimestamp> timeline) {
+    this.timeline = List.copyOf(timeline);
+  }
+
   @Override
   public boolean equals(Object obj) {
     if (obj == this) {
@@ -0,0 +1,47 @@
+package edu.kit.provideq.toolbox;
+
+/**
+ * Phases of a solution process, recorded in the timeline of a {@link Solution}.
+ */
+public enum SolutionPhase {
+  /**
+   * The solution process was queued, i.e., the problem was created or its solution was reset.
+   * The time until {@link #SOLVE_STARTED} includes waiting for a solver to be assigned.
+   */
+  QUEUED,
+
+  /**
+   * The solver of the problem was started.
+   */
+  SOLVE_STARTED,
+
+  /**
+   * The input files of an external process were written.
+   */
+  INPUT_WRITTEN,
+
+  /**
+   * An external process was spawned.
+   */
+  PROCESS_STARTED,
+
+  /**
+   * An external process exited.
+   */
+  PROCESS_EXITED,
+
+  /**
+   * The output of an external process was read and parsed.
+   */
+  OUTPUT_PARSED,
+
+  /**
+   * The last solution of a sub-routine was received.
+   */
+  SUB_ROUTINES_AWAITED,
+
+  /**
+   * The solver returned the solution.
+   */
+  COMPLETED
+}
@@ -4,8 +4,10 @@ import edu.kit.provideq.toolbox.exception.MissingSpringProfileException;
 import java.util.stream.Stream;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class ToolboxServerApplication {
 
   public static void main(String[] args) throws MissingSpringProfileException {
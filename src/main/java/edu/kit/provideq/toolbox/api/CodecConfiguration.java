@@ -0,0 +1,88 @@
+package edu.kit.provideq.toolbox.api;
+
+import static org.springframework.http.MediaType.APPLICATION_CBOR;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
+
+import java.util.Comparator;
+import java.util.List;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.web.reactive.config.EnableWebFlux;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.web.reactive.function.server.ServerRequest;
+
+/**
+ * Spring configuration to exchange API payloads as CBOR or Smile in addition to JSON.
+ * Both are binary encodings of the same data model, which are cheaper to encode and decode for
+ * large numeric payloads.
+ */
+@Configuration
+@EnableWebFlux
+public class CodecConfiguration implements WebFluxConfigurer {
+  public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+
+  /**
+   * Media types of API payloads, in the order of preference if a request accepts several.
+   */
+  static final MediaType[] PAYLOAD_MEDIA_TYPES = {APPLICATION_JSON, APPLICATION_CBOR,
+      APPLICATION_SMILE};
+
+  @Override
+  public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+    configurer.defaultCodecs().jackson2SmileDecoder(new Jackson2SmileDecoder());
+    configurer.defaultCodecs().jackson2SmileEncoder(new Jackson2SmileEncoder());
+    configurer.customCodecs().register(new Jackson2CborDecoder());
+    configurer.customCodecs().register(new Jackson2CborEncoder());
+  }
+
+  /**
+   * Selects the payload media type of a response according to the {@code Accept} header of the
+   * request, JSON if the request accepts any media type.
+   */
+  static MediaType selectPayloadMediaType(ServerRequest req) {
+    for (var accepted : getAcceptedMediaTypes(req)) {
+      for (var payloadMediaType : PAYLOAD_MEDIA_TYPES) {
+        if (accepted.includes(payloadMediaType)) {
+          return payloadMediaType;
+        }
+      }
+    }
+    return APPLICATION_JSON;
+  }
+
+  /**
+   * Whether a request prefers a stream of newline-delimited JSON over the payload media types.
+   */
+  static boolean prefersNdjson(ServerRequest req) {
+    for (var accepted : getAcceptedMediaTypes(req)) {
+      if (accepted.equalsTypeAndSubtype(APPLICATION_NDJSON)) {
+        return true;
+      }
+      for (var payloadMediaType : PAYLOAD_MEDIA_TYPES) {
+        if (accepted.includes(payloadMediaType)) {
+          return false;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns the acceptable media types of a request, the preferred one first.
+   * Media types are ordered by their quality, and by their specificity if it is equal.
+   */
+  private static List<MediaType> getAcceptedMediaTypes(ServerRequest req) {
+    return req.headers().accept().stream()
+        .filter(mediaType -> mediaType.getQualityValue() > 0)
+        .sorted(Comparator.<MediaType>comparingDouble(MediaType::getQualityValue).reversed()
+            .thenComparing(MediaType::isWildcardType)
+            .thenComparing(MediaType::isWildcardSubtype))
+        .toList();
+  }
+}
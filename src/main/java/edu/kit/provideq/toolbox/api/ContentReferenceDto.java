@@ -0,0 +1,11 @@
+package edu.kit.provideq.toolbox.api;
+
+/**
+ * Describes the input or solution data of a problem without containing it.
+ * The content itself can be read with the content endpoints of the problem.
+ *
+ * @param size size of the uncompressed content in bytes.
+ * @param sha256 hex-encoded SHA-256 hash of the uncompressed content.
+ */
+public record ContentReferenceDto(long size, String sha256) {
+}
@@ -1,11 +1,12 @@
 package edu.kit.provideq.toolbox.api;
 
+import static edu.kit.provideq.toolbox.api.CodecConfiguration.PAYLOAD_MEDIA_TYPES;
+import static edu.kit.provideq.toolbox.api.CodecConfiguration.selectPayloadMediaType;
 import static org.springdoc.core.fn.builders.apiresponse.Builder.responseBuilder;
 import static org.springdoc.core.fn.builders.content.Builder.contentBuilder;
 import static org.springdoc.core.fn.builders.parameter.Builder.parameterBuilder;
 import static org.springdoc.core.fn.builders.schema.Builder.schemaBuilder;
 import static org.springdoc.webflux.core.fn.SpringdocRouteBuilder.route;
-import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 import static org.springframework.web.reactive.function.server.RequestPredicates.accept;
 import static org.springframework.web.reactive.function.server.ServerResponse.ok;
@@ -62,7 +63,7 @@ public class EstimationRouter {
   private RouterFunction<ServerResponse> defineGetRoute(ProblemManager<?, ?> manager) {
     return route().GET(
             getEstimationRouteForProblemType(manager.getType()),
-            accept(APPLICATION_JSON),
+            accept(PAYLOAD_MEDIA_TYPES),
             req -> handleGet(manager, req),
             ops -> handleGetDocumentation(manager, ops)
     ).build();
@@ -74,7 +75,7 @@ public class EstimationRouter {
   private RouterFunction<ServerResponse> defineCompareRoute(ProblemManager<?, ?> manager) {
     return route().GET(
             getCompareRouteForProblemType(manager.getType()),
-            accept(APPLICATION_JSON),
+            accept(PAYLOAD_MEDIA_TYPES),
             req -> handleCompare(manager, req),
             ops -> handleCompareDocumentation(manager, ops)
     ).build();
@@ -95,8 +96,10 @@ public class EstimationRouter {
       throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
     }
 
-    return ok().body(bound, new ParameterizedTypeReference<>() {
-    });
+    return ok()
+        .contentType(selectPayloadMediaType(req))
+        .body(bound, new ParameterizedTypeReference<>() {
+        });
   }
 
   private <InputT, ResultT> Mono<ServerResponse> handleCompare(
@@ -130,8 +133,10 @@ public class EstimationRouter {
         problem.getBound().get(),
         problem.getSolution().get()
     );
-    return ok().body(Mono.just(comparisonDto), new ParameterizedTypeReference<>() {
-    });
+    return ok()
+        .contentType(selectPayloadMediaType(req))
+        .body(Mono.just(comparisonDto), new ParameterizedTypeReference<>() {
+        });
   }
 
   private void handleGetDocumentation(
@@ -0,0 +1,24 @@
+package edu.kit.provideq.toolbox.api;
+
+import edu.kit.provideq.toolbox.SolutionStatus;
+import edu.kit.provideq.toolbox.meta.ProblemState;
+
+/**
+ * Result of one entry of a batch of submitted problems.
+ * A started problem is reported twice, once when it is created and once when it is solved.
+ *
+ * @param index line number of the entry in the submitted batch, starting at 0. Blank lines are
+ *     counted, even though they don't create an entry.
+ * @param problemId id of the created problem, {@code null} if the entry was rejected.
+ * @param state state of the problem when this result was reported.
+ * @param solutionStatus status of the solution, {@code null} if the problem is not solved.
+ * @param error why the entry was rejected or the solution failed, {@code null} otherwise.
+ */
+public record ProblemBatchResultDto(
+    long index,
+    String problemId,
+    ProblemState state,
+    SolutionStatus solutionStatus,
+    String error
+) {
+}
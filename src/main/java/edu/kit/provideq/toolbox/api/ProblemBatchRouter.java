@@ -0,0 +1,260 @@
+package edu.kit.provideq.toolbox.api;
+
+import static org.springdoc.core.fn.builders.apiresponse.Builder.responseBuilder;
+import static org.springdoc.core.fn.builders.content.Builder.contentBuilder;
+import static org.springdoc.core.fn.builders.parameter.Builder.parameterBuilder;
+import static org.springdoc.core.fn.builders.requestbody.Builder.requestBodyBuilder;
+import static org.springdoc.core.fn.builders.schema.Builder.schemaBuilder;
+import static org.springdoc.webflux.core.fn.SpringdocRouteBuilder.route;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
+import static org.springframework.web.reactive.function.server.RequestPredicates.contentType;
+import static org.springframework.web.reactive.function.server.ServerResponse.ok;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.kit.provideq.toolbox.meta.Problem;
+import edu.kit.provideq.toolbox.meta.ProblemManager;
+import edu.kit.provideq.toolbox.meta.ProblemManagerProvider;
+import edu.kit.provideq.toolbox.meta.ProblemSolver;
+import edu.kit.provideq.toolbox.meta.ProblemState;
+import edu.kit.provideq.toolbox.meta.ProblemType;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import org.springdoc.core.fn.builders.operation.Builder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.validation.Validator;
+import org.springframework.web.reactive.config.EnableWebFlux;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * This router handles the submission of many {@link Problem} instances in one request.
+ */
+@Configuration
+@EnableWebFlux
+public class ProblemBatchRouter {
+  private static final String SOLVER_ID_PARAM_NAME = "solverId";
+  private static final String START_PARAM_NAME = "start";
+  private static final String CONCURRENCY_PARAM_NAME = "concurrency";
+  private static final int DEFAULT_CONCURRENCY = 8;
+  private static final int MAX_CONCURRENCY = 64;
+
+  private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+  private ProblemManagerProvider managerProvider;
+  private Validator validator;
+
+  @Bean
+  RouterFunction<ServerResponse> getProblemBatchRoutes() {
+    return managerProvider.getProblemManagers().stream()
+        .map(this::defineBatchRoute)
+        .reduce(RouterFunction::and)
+        .orElseThrow();
+  }
+
+  /**
+   * Batch create operation: POST /problems/TYPE/batch.
+   */
+  private RouterFunction<ServerResponse> defineBatchRoute(ProblemManager<?, ?> manager) {
+    return route().POST(
+        getBatchRouteForProblemType(manager.getType()),
+        contentType(APPLICATION_NDJSON),
+        req -> handleBatch(manager, req),
+        ops -> handleBatchDocumentation(manager, ops)
+    ).build();
+  }
+
+  private <InputT, ResultT> Mono<ServerResponse> handleBatch(
+      ProblemManager<InputT, ResultT> manager,
+      ServerRequest req
+  ) {
+    var sharedSolver = req.queryParam(SOLVER_ID_PARAM_NAME)
+        .map(solverId -> manager.findSolverById(solverId)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "The provided solver ID is invalid!")))
+        .orElse(null);
+    boolean start = req.queryParam(START_PARAM_NAME)
+        .map(Boolean::parseBoolean)
+        .orElse(false);
+    int concurrency = req.queryParam(CONCURRENCY_PARAM_NAME)
+        .map(ProblemBatchRouter::parseConcurrency)
+        .orElse(DEFAULT_CONCURRENCY);
+
+    // lines are decoded one by one, so a malformed line only fails its own entry
+    // blank lines are skipped after indexing, so indices are the line numbers of the request
+    var results = req
+        .bodyToFlux(String.class)
+        .index()
+        .filter(entry -> !entry.getT2().isBlank())
+        .flatMap(entry -> createProblem(
+            manager, entry.getT1(), entry.getT2(), sharedSolver, start), concurrency);
+
+    return ok()
+        .contentType(APPLICATION_NDJSON)
+        .body(results, ProblemBatchResultDto.class);
+  }
+
+  /**
+   * Creates and registers the problem of one batch entry and starts it if requested.
+   * The result stream of a started problem only completes once it is solved, so the batch
+   * concurrency also bounds the number of running solvers.
+   */
+  private <InputT, ResultT> Flux<ProblemBatchResultDto> createProblem(
+      ProblemManager<InputT, ResultT> manager,
+      long index,
+      String line,
+      ProblemSolver<InputT, ResultT> sharedSolver,
+      boolean start
+  ) {
+    ProblemDto<InputT, ResultT> entry;
+    try {
+      entry = objectMapper.readValue(line, new TypeReference<>() {});
+    } catch (JsonProcessingException e) {
+      return Flux.just(new ProblemBatchResultDto(
+          index, null, null, null, "Invalid JSON: " + e.getOriginalMessage()));
+    }
+
+    var problem = new Problem<>(manager.getType());
+    try {
+      RouterUtility.validateProblem(validator, entry);
+      configureProblem(manager, problem, entry, sharedSolver);
+    } catch (ResponseStatusException e) {
+      return Flux.just(new ProblemBatchResultDto(index, null, null, null, e.getReason()));
+    } catch (IllegalArgumentException | IllegalStateException e) {
+      return Flux.just(new ProblemBatchResultDto(index, null, null, null, e.getMessage()));
+    }
+    manager.addInstance(problem);
+
+    if (!start && entry.getState() != ProblemState.SOLVING) {
+      return Flux.just(toResult(index, problem, null));
+    }
+
+    Mono<ProblemBatchResultDto> solved;
+    try {
+      // the solver keeps running if the client disconnects, like solvers started by PATCH
+      var solving = problem.solve()
+          .subscribeOn(Schedulers.boundedElastic())
+          .cache();
+      solving.subscribe(solution -> { }, error -> { });
+      solved = solving
+          .map(solution -> toResult(index, problem, null))
+          .onErrorResume(e -> Mono.just(toResult(index, problem, e.getMessage())));
+    } catch (IllegalStateException e) {
+      return Flux.just(toResult(index, problem, e.getMessage()));
+    }
+
+    return Flux.concat(Mono.just(toResult(index, problem, null)), solved);
+  }
+
+  private <InputT, ResultT> void configureProblem(
+      ProblemManager<InputT, ResultT> manager,
+      Problem<InputT, ResultT> problem,
+      ProblemDto<InputT, ResultT> entry,
+      ProblemSolver<InputT, ResultT> sharedSolver
+  ) {
+    var solver = sharedSolver;
+    if (entry.getSolverId() != null && !entry.getSolverId().isEmpty()) {
+      solver = manager.findSolverById(entry.getSolverId())
+          .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST,
+              "The provided solver ID is invalid!"));
+    }
+    if (solver != null) {
+      problem.setSolver(solver);
+    }
+
+    var solverSettings = entry.getSolverSettings();
+    if (!solverSettings.isEmpty()) {
+      problem.setSolverSettings(solverSettings);
+    }
+
+    if (entry.getInput() != null) {
+      problem.setInput(entry.getInput());
+    }
+  }
+
+  private static ProblemBatchResultDto toResult(long index, Problem<?, ?> problem, String error) {
+    var snapshot = problem.getSnapshot();
+    var solution = snapshot.solution();
+    return new ProblemBatchResultDto(
+        index,
+        problem.getId().toString(),
+        snapshot.state(),
+        solution == null ? null : solution.getStatus(),
+        error);
+  }
+
+  private static int parseConcurrency(String value) {
+    try {
+      int concurrency = Integer.parseInt(value);
+      if (concurrency >= 1 && concurrency <= MAX_CONCURRENCY) {
+        return concurrency;
+      }
+    } catch (NumberFormatException e) {
+      // reported below
+    }
+
+    throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+        "The concurrency must be between 1 and %d!".formatted(MAX_CONCURRENCY));
+  }
+
+  private void handleBatchDocumentation(ProblemManager<?, ?> manager, Builder ops) {
+    var type = manager.getType();
+    ops
+        .operationId("/problems/%s/batch".formatted(type.getId()))
+        .description("Creates one problem of type '" + type.getId() + "' per line of the "
+            + "newline-delimited JSON request body. Every line has the same format as the body "
+            + "of the create endpoint. "
+            + "The response streams one line per created problem as soon as it is created, "
+            + "and another line once a started problem is solved. Lines that are invalid are "
+            + "reported with an error instead of failing the whole batch. Results refer to "
+            + "their line by its zero-based line number, blank lines are skipped.")
+        .tag(type.getId())
+        .parameter(parameterBuilder()
+            .in(ParameterIn.QUERY)
+            .name(SOLVER_ID_PARAM_NAME)
+            .description("Solver for all lines that don't select a solver themselves."))
+        .parameter(parameterBuilder()
+            .in(ParameterIn.QUERY)
+            .name(START_PARAM_NAME)
+            .description("Whether to start solving every problem right after creating it."))
+        .parameter(parameterBuilder()
+            .in(ParameterIn.QUERY)
+            .name(CONCURRENCY_PARAM_NAME)
+            .description("Maximum number of problems that are created or solved at the same "
+                + "time, between 1 and " + MAX_CONCURRENCY + ", " + DEFAULT_CONCURRENCY
+                + " by default."))
+        .requestBody(requestBodyBuilder()
+            .content(contentBuilder()
+                .mediaType(APPLICATION_NDJSON_VALUE)
+                .schema(schemaBuilder().implementation(ProblemDto.class)))
+            .required(true))
+        .response(responseBuilder()
+            .responseCode(String.valueOf(HttpStatus.OK.value()))
+            .content(contentBuilder()
+                .mediaType(APPLICATION_NDJSON_VALUE)
+                .schema(schemaBuilder().implementation(ProblemBatchResultDto.class))));
+  }
+
+  private String getBatchRouteForProblemType(ProblemType<?, ?> type) {
+    return "/problems/%s/batch".formatted(type.getId());
+  }
+
+  @Autowired
+  void setManagerProvider(ProblemManagerProvider managerProvider) {
+    this.managerProvider = managerProvider;
+  }
+
+  @Autowired
+  void setValidator(Validator validator) {
+    this.validator = validator;
+  }
+}
@@ -0,0 +1,198 @@
+package edu.kit.provideq.toolbox.api;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.kit.provideq.toolbox.Solution;
+import edu.kit.provideq.toolbox.meta.Problem;
+import edu.kit.provideq.toolbox.meta.ProblemSnapshot;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Helper class for transferring problem inputs and solution data as raw content.
+ * Text content is transferred as-is, any other content as JSON.
+ * The encoded content of recently read problems is cached. Like in {@link SerializedProblemCache},
+ * cached content is only reused for the {@link ProblemSnapshot#version() version} it was encoded
+ * from, so changes of mutable content are never hidden by the cache.
+ */
+final class ProblemContent {
+  static final MediaType TEXT_CONTENT_TYPE =
+      new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+
+  // same configuration as the JSON codec of WebFlux
+  private static final ObjectMapper OBJECT_MAPPER = Jackson2ObjectMapperBuilder.json().build();
+
+  private static final int MAX_CACHED_CONTENTS = 256;
+
+  // least recently read contents by problem id and kind of content
+  private static final Map<ContentKey, EncodedContent> ENCODED_CONTENTS =
+      Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<ContentKey, EncodedContent> eldest) {
+          return size() > MAX_CACHED_CONTENTS;
+        }
+      });
+
+  /**
+   * The parts of a problem that are transferred as raw content.
+   */
+  enum Kind {
+    INPUT,
+    SOLUTION;
+
+    Object select(ProblemSnapshot<?, ?> snapshot) {
+      return switch (this) {
+        case INPUT -> snapshot.input();
+        case SOLUTION -> {
+          Solution<?> solution = snapshot.solution();
+          yield solution == null ? null : solution.getSolutionData();
+        }
+      };
+    }
+  }
+
+  private record ContentKey(UUID problemId, Kind kind) {
+  }
+
+  /**
+   * The encoded content of one version of a problem.
+   * The compressed representation is only computed once it is requested.
+   */
+  static final class EncodedContent {
+    private final long version;
+    private final MediaType contentType;
+    private final byte[] bytes;
+    private final ContentReferenceDto reference;
+    private volatile byte[] gzipBytes;
+
+    private EncodedContent(long version, MediaType contentType, byte[] bytes) {
+      this.version = version;
+      this.contentType = contentType;
+      this.bytes = bytes;
+      this.reference = new ContentReferenceDto(bytes.length, hash(bytes));
+    }
+
+    MediaType getContentType() {
+      return contentType;
+    }
+
+    byte[] getBytes() {
+      return bytes;
+    }
+
+    byte[] getGzipBytes() {
+      // concurrent readers may compress the content twice, but always to the same bytes
+      var compressed = gzipBytes;
+      if (compressed == null) {
+        compressed = gzip(bytes);
+        gzipBytes = compressed;
+      }
+      return compressed;
+    }
+
+    ContentReferenceDto getReference() {
+      return reference;
+    }
+  }
+
+  private ProblemContent() {
+    throw new UnsupportedOperationException("This class should not be instantiated.");
+  }
+
+  /**
+   * Returns the size and hash of some content of a problem, {@code null} if there is no content.
+   *
+   * @param problem the problem that the content belongs to.
+   * @param snapshot a snapshot of the problem, defines the content and its version.
+   * @param kind the kind of content.
+   */
+  static ContentReferenceDto reference(
+      Problem<?, ?> problem,
+      ProblemSnapshot<?, ?> snapshot,
+      Kind kind
+  ) {
+    var encoded = encode(problem, snapshot, kind);
+    return encoded == null ? null : encoded.getReference();
+  }
+
+  /**
+   * Returns the encoded content of a problem, {@code null} if there is no content.
+   * The content is encoded at most once per version of the problem, as long as it stays cached.
+   *
+   * @param problem the problem that the content belongs to.
+   * @param snapshot a snapshot of the problem, defines the content and its version.
+   * @param kind the kind of content.
+   */
+  static EncodedContent encode(
+      Problem<?, ?> problem,
+      ProblemSnapshot<?, ?> snapshot,
+      Kind kind
+  ) {
+    var content = kind.select(snapshot);
+    if (content == null) {
+      return null;
+    }
+
+    var key = new ContentKey(problem.getId(), kind);
+    var cached = ENCODED_CONTENTS.get(key);
+    if (cached != null && cached.version == snapshot.version()) {
+      return cached;
+    }
+
+    var encoded = new EncodedContent(snapshot.version(), getContentType(content), encode(content));
+
+    // a concurrent read may already have cached a newer version
+    ENCODED_CONTENTS.merge(key, encoded,
+        (old, added) -> old.version > added.version ? old : added);
+    return encoded;
+  }
+
+  private static MediaType getContentType(Object content) {
+    return content instanceof String ? TEXT_CONTENT_TYPE : MediaType.APPLICATION_JSON;
+  }
+
+  private static byte[] encode(Object content) {
+    if (content instanceof String text) {
+      return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    try {
+      return OBJECT_MAPPER.writeValueAsBytes(content);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Could not serialize content", e);
+    }
+  }
+
+  private static byte[] gzip(byte[] bytes) {
+    var compressed = new ByteArrayOutputStream(bytes.length / 4 + 64);
+    try (var gzip = new GZIPOutputStream(compressed)) {
+      gzip.write(bytes);
+    } catch (IOException e) {
+      // a ByteArrayOutputStream never throws
+      throw new UncheckedIOException(e);
+    }
+    return compressed.toByteArray();
+  }
+
+  private static String hash(byte[] bytes) {
+    try {
+      var digest = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of().formatHex(digest.digest(bytes));
+    } catch (NoSuchAlgorithmException e) {
+      // every Java platform supports SHA-256
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,190 @@
+package edu.kit.provideq.toolbox.api;
+
+import static edu.kit.provideq.toolbox.api.ProblemRouter.PROBLEM_ID_PARAM_NAME;
+import static org.springdoc.core.fn.builders.apiresponse.Builder.responseBuilder;
+import static org.springdoc.core.fn.builders.content.Builder.contentBuilder;
+import static org.springdoc.core.fn.builders.parameter.Builder.parameterBuilder;
+import static org.springdoc.core.fn.builders.schema.Builder.schemaBuilder;
+import static org.springdoc.webflux.core.fn.SpringdocRouteBuilder.route;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.http.MediaType.TEXT_PLAIN_VALUE;
+import static org.springframework.web.reactive.function.server.ServerResponse.ok;
+
+import edu.kit.provideq.toolbox.meta.Problem;
+import edu.kit.provideq.toolbox.meta.ProblemManager;
+import edu.kit.provideq.toolbox.meta.ProblemManagerProvider;
+import edu.kit.provideq.toolbox.meta.ProblemType;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import java.util.List;
+import org.springdoc.core.fn.builders.operation.Builder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.config.EnableWebFlux;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+/**
+ * This router serves the input and the solution data of {@link Problem} instances as raw content,
+ * so that clients only transfer large inputs and solutions when they actually need them.
+ * The content is gzip-compressed if the client accepts it and supports range requests.
+ */
+@Configuration
+@EnableWebFlux
+public class ProblemContentRouter {
+  private static final String GZIP_ENCODING = "gzip";
+
+  private ProblemManagerProvider managerProvider;
+
+  @Bean
+  RouterFunction<ServerResponse> getProblemContentRoutes() {
+    return managerProvider.getProblemManagers().stream()
+        .map(manager -> defineInputRoute(manager).and(defineSolutionRoute(manager)))
+        .reduce(RouterFunction::and)
+        .orElseThrow();
+  }
+
+  /**
+   * Input operation: GET /problems/TYPE/ID/input.
+   */
+  private RouterFunction<ServerResponse> defineInputRoute(ProblemManager<?, ?> manager) {
+    return route().GET(
+        getPathWithId(manager.getType()) + "/input",
+        req -> handleContent(manager, req, ProblemContent.Kind.INPUT),
+        ops -> handleContentDocumentation(manager, "input", ops)
+    ).build();
+  }
+
+  /**
+   * Solution operation: GET /problems/TYPE/ID/solution.
+   */
+  private RouterFunction<ServerResponse> defineSolutionRoute(ProblemManager<?, ?> manager) {
+    return route().GET(
+        getPathWithId(manager.getType()) + "/solution",
+        req -> handleContent(manager, req, ProblemContent.Kind.SOLUTION),
+        ops -> handleContentDocumentation(manager, "solution", ops)
+    ).build();
+  }
+
+  private <InputT, ResultT> Mono<ServerResponse> handleContent(
+      ProblemManager<InputT, ResultT> manager,
+      ServerRequest req,
+      ProblemContent.Kind kind
+  ) {
+    var problemId = req.pathVariable(PROBLEM_ID_PARAM_NAME);
+    var problem = RouterUtility.findProblemOrThrow(manager, problemId);
+    // the content is encoded once per version, not for every (range) request
+    var content = ProblemContent.encode(problem, problem.getSnapshot(), kind);
+    if (content == null) {
+      throw new ResponseStatusException(HttpStatus.NOT_FOUND,
+          "The problem does not have this content yet!");
+    }
+
+    // the encoded content is a different representation, so it needs a different tag
+    boolean gzip = acceptsGzip(req.headers().header(HttpHeaders.ACCEPT_ENCODING));
+    var hash = content.getReference().sha256();
+    var eTag = gzip
+        ? "\"%s-%s\"".formatted(hash, GZIP_ENCODING)
+        : "\"%s\"".formatted(hash);
+
+    return req.checkNotModified(eTag).orElseGet(() -> {
+      // ranges are resolved by the resource writer, relative to the transferred representation
+      var resource = new ByteArrayResource(gzip ? content.getGzipBytes() : content.getBytes());
+      return ok()
+          .eTag(eTag)
+          .varyBy(HttpHeaders.ACCEPT_ENCODING)
+          .contentType(content.getContentType())
+          .headers(headers -> {
+            if (gzip) {
+              headers.set(HttpHeaders.CONTENT_ENCODING, GZIP_ENCODING);
+            }
+          })
+          .body(BodyInserters.fromResource(resource));
+    });
+  }
+
+  /**
+   * Checks if the values of an {@code Accept-Encoding} header allow a gzip-encoded response.
+   */
+  private static boolean acceptsGzip(List<String> acceptEncodingValues) {
+    for (var value : acceptEncodingValues) {
+      for (var coding : value.split(",")) {
+        var parameters = coding.split(";");
+        var name = parameters[0].trim();
+        if (!name.equalsIgnoreCase(GZIP_ENCODING) && !name.equals("*")) {
+          continue;
+        }
+
+        boolean rejected = false;
+        for (int i = 1; i < parameters.length; i++) {
+          var parameter = parameters[i].trim();
+          if (parameter.startsWith("q=")) {
+            rejected = parseQuality(parameter.substring(2)) <= 0;
+          }
+        }
+        if (!rejected) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private static double parseQuality(String value) {
+    try {
+      return Double.parseDouble(value.trim());
+    } catch (NumberFormatException e) {
+      return 0;
+    }
+  }
+
+  private void handleContentDocumentation(
+      ProblemManager<?, ?> manager,
+      String contentName,
+      Builder ops
+  ) {
+    var type = manager.getType();
+    ops
+        .operationId("/problems/%s/%s".formatted(type.getId(), contentName))
+        .description("Responds with the raw " + contentName + " of a problem of type '"
+            + type.getId() + "'. Text content is sent as plain text, any other content as JSON. "
+            + "The content is gzip-compressed if the 'Accept-Encoding' header allows it, and "
+            + "parts of it can be requested with the 'Range' header. "
+            + "The size and hash of the content are part of the problem.")
+        .tag(type.getId())
+        .parameter(parameterBuilder().in(ParameterIn.PATH).name(PROBLEM_ID_PARAM_NAME))
+        .parameter(parameterBuilder()
+            .in(ParameterIn.HEADER)
+            .name(HttpHeaders.RANGE)
+            .description("Byte ranges of the transferred content, e.g., 'bytes=0-1023'."))
+        .response(responseBuilder()
+            .responseCode(String.valueOf(HttpStatus.OK.value()))
+            .content(contentBuilder()
+                .mediaType(TEXT_PLAIN_VALUE)
+                .schema(schemaBuilder().implementation(String.class)))
+            .content(contentBuilder()
+                .mediaType(APPLICATION_JSON_VALUE)))
+        .response(responseBuilder()
+            .responseCode(String.valueOf(HttpStatus.PARTIAL_CONTENT.value()))
+            .description("The requested ranges of the content."))
+        .response(responseBuilder()
+            .responseCode(String.valueOf(HttpStatus.NOT_FOUND.value()))
+            .description("The problem does not have this content yet."));
+  }
+
+  private String getPathWithId(ProblemType<?, ?> type) {
+    return "/problems/%s/{%s}".formatted(type.getId(), PROBLEM_ID_PARAM_NAME);
+  }
+
+  @Autowired
+  void setManagerProvider(ProblemManagerProvider managerProvider) {
+    this.managerProvider = managerProvider;
+  }
+}
@@ -2,27 +2,48 @@ package edu.kit.provideq.toolbox.api;
 
 import edu.kit.provideq.toolbox.BoundWithInfo;
 import edu.kit.provideq.toolbox.Solution;
+import edu.kit.provideq.toolbox.api.ProblemContent.Kind;
 import edu.kit.provideq.toolbox.meta.Problem;
+import edu.kit.provideq.toolbox.meta.ProblemSnapshot;
 import edu.kit.provideq.toolbox.meta.ProblemSolver;
 import edu.kit.provideq.toolbox.meta.ProblemState;
 import edu.kit.provideq.toolbox.meta.setting.SolverSetting;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 /**
  * Data transfer object for {@link Problem problems}, used in REST API request bodies and responses.
  */
 public class ProblemDto<InputT, ResultT> {
+  /**
+   * Names of the fields that can be selected with {@link #project(Problem, Collection)}.
+   */
+  public static final Set<String> FIELDS = Set.of(
+      "id", "typeId", "version", "input", "inputReference", "solution", "solutionReference",
+      "bound", "state", "solverId", "solverSettings", "subProblems");
+
   private String id;
   private String typeId;
+  private long version;
   private InputT input;
+  private ContentReferenceDto inputReference;
   private Solution<ResultT> solution;
+  private ContentReferenceDto solutionReference;
   private BoundWithInfo bound;
   private ProblemState state;
   private String solverId;
   private List<SolverSetting> solverSettings;
   private List<SubProblemReferenceDto> subProblems;
 
+  // source of the content references, which are only computed once they are read
+  private Problem<InputT, ResultT> problem;
+  private ProblemSnapshot<InputT, ResultT> snapshot;
+
   /**
    * Use {@link #fromProblem(Problem)} instead.
    */
@@ -33,27 +54,85 @@ public class ProblemDto<InputT, ResultT> {
    */
   public static <InputT, ResultT> ProblemDto<InputT, ResultT> fromProblem(
       Problem<InputT, ResultT> problem
+  ) {
+    // read all values from one snapshot so that they are consistent with each other
+    return fromSnapshot(problem, problem.getSnapshot());
+  }
+
+  /**
+   * Creates a data transfer object for a given problem from a snapshot of it.
+   * The sub-problem references are read from the problem itself, so they may be newer than the
+   * snapshot.
+   */
+  public static <InputT, ResultT> ProblemDto<InputT, ResultT> fromSnapshot(
+      Problem<InputT, ResultT> problem,
+      ProblemSnapshot<InputT, ResultT> snapshot
   ) {
     var dto = new ProblemDto<InputT, ResultT>();
+    var solver = Optional.ofNullable(snapshot.solver());
 
     dto.id = problem.getId().toString();
     dto.typeId = problem.getType().getId();
-    dto.input = problem.getInput().orElse(null);
-    dto.solution = problem.getSolution().orElse(null);
-    dto.bound = problem.getBound().orElse(null);
-    dto.state = problem.getState();
-    dto.solverId = problem.getSolver()
+    dto.version = snapshot.version();
+    dto.input = snapshot.input();
+    dto.solution = snapshot.solution();
+    dto.bound = snapshot.bound();
+    dto.state = snapshot.state();
+    dto.solverId = solver
         .map(ProblemSolver::getId)
         .orElse(null);
-    dto.solverSettings = problem.getSolverSettings().stream().toList();
-    dto.subProblems = problem.getSolver().stream()
-        .flatMap(solver -> solver.getSubRoutines().stream())
-        .map(subRoutine -> SubProblemReferenceDto.forSubRoutine(problem, subRoutine))
-        .toList();
+    dto.solverSettings = snapshot.solverSettings();
+    dto.subProblems = getSubProblemReferences(problem, snapshot.solver());
+    dto.problem = problem;
+    dto.snapshot = snapshot;
 
     return dto;
   }
 
+  /**
+   * Creates a partial representation of a given problem that only contains the given
+   * {@link #FIELDS fields}, in the given order. Fields that are not selected are not computed.
+   *
+   * @throws IllegalArgumentException if one of the fields is unknown.
+   */
+  public static Map<String, Object> project(Problem<?, ?> problem, Collection<String> fields) {
+    var snapshot = problem.getSnapshot();
+    var solver = snapshot.solver();
+
+    var projection = new LinkedHashMap<String, Object>();
+    for (var field : fields) {
+      projection.put(field, switch (field) {
+        case "id" -> problem.getId().toString();
+        case "typeId" -> problem.getType().getId();
+        case "version" -> snapshot.version();
+        case "input" -> snapshot.input();
+        case "inputReference" -> ProblemContent.reference(problem, snapshot, Kind.INPUT);
+        case "solution" -> snapshot.solution();
+        case "solutionReference" -> ProblemContent.reference(problem, snapshot, Kind.SOLUTION);
+        case "bound" -> snapshot.bound();
+        case "state" -> snapshot.state();
+        case "solverId" -> solver == null ? null : solver.getId();
+        case "solverSettings" -> snapshot.solverSettings();
+        case "subProblems" -> getSubProblemReferences(problem, solver);
+        default -> throw new IllegalArgumentException("Unknown problem field " + field);
+      });
+    }
+    return projection;
+  }
+
+  private static List<SubProblemReferenceDto> getSubProblemReferences(
+      Problem<?, ?> problem,
+      ProblemSolver<?, ?> solver
+  ) {
+    if (solver == null) {
+      return List.of();
+    }
+
+    return solver.getSubRoutines().stream()
+        .map(subRoutine -> SubProblemReferenceDto.forSubRoutine(problem, subRoutine))
+        .toList();
+  }
+
   public String getId() {
     return id;
   }
@@ -62,14 +141,39 @@ public class ProblemDto<InputT, ResultT> {
     return typeId;
   }
 
+  public long getVersion() {
+    return version;
+  }
+
   public InputT getInput() {
     return input;
   }
 
+  /**
+   * Returns the size and hash of the input, the input itself can be read from the input endpoint.
+   */
+  public ContentReferenceDto getInputReference() {
+    if (inputReference == null && snapshot != null) {
+      inputReference = ProblemContent.reference(problem, snapshot, Kind.INPUT);
+    }
+    return inputReference;
+  }
+
   public Solution<ResultT> getSolution() {
     return solution;
   }
 
+  /**
+   * Returns the size and hash of the solution data, the solution data itself can be read from the
+   * solution endpoint.
+   */
+  public ContentReferenceDto getSolutionReference() {
+    if (solutionReference == null && snapshot != null) {
+      solutionReference = ProblemContent.reference(problem, snapshot, Kind.SOLUTION);
+    }
+    return solutionReference;
+  }
+
   public BoundWithInfo getBound() {
     return bound;
   }
@@ -0,0 +1,32 @@
+package edu.kit.provideq.toolbox.api;
+
+import edu.kit.provideq.toolbox.meta.ProblemEvent;
+import edu.kit.provideq.toolbox.meta.ProblemState;
+
+/**
+ * Data transfer object for {@link ProblemEvent problem events}, sent as server-sent events.
+ * It only describes what changed, the full problem can be read with the read endpoint.
+ */
+public record ProblemEventDto(
+    ProblemEvent.Type type,
+    String problemId,
+    ProblemState state,
+    String solverId,
+    String subProblemId
+) {
+  /**
+   * Creates a data transfer object for a given event.
+   */
+  public static ProblemEventDto fromEvent(ProblemEvent<?, ?> event) {
+    var snapshot = event.snapshot();
+    var solver = snapshot.solver();
+    var subProblem = event.subProblem();
+    return new ProblemEventDto(
+        event.type(),
+        event.problem().getId().toString(),
+        snapshot.state(),
+        solver == null ? null : solver.getId(),
+        subProblem == null ? null : subProblem.getId().toString()
+    );
+  }
+}
@@ -0,0 +1,101 @@
+package edu.kit.provideq.toolbox.api;
+
+import edu.kit.provideq.toolbox.meta.Problem;
+import edu.kit.provideq.toolbox.meta.ProblemState;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Query parameters of the problem list operation.
+ *
+ * @param cursor only problems with a greater id are listed, {@code null} to start at the first.
+ * @param limit maximum number of listed problems, {@code null} for no limit.
+ * @param state only problems in this state are listed, {@code null} for all states.
+ * @param solverId only problems with this solver are listed, {@code null} for all solvers.
+ * @param fields the {@link ProblemDto#FIELDS fields} to list, {@code null} for all fields.
+ */
+record ProblemListQuery(
+    UUID cursor,
+    Integer limit,
+    ProblemState state,
+    String solverId,
+    List<String> fields
+) {
+  static final String CURSOR_PARAM_NAME = "cursor";
+  static final String LIMIT_PARAM_NAME = "limit";
+  static final String STATE_PARAM_NAME = "state";
+  static final String SOLVER_ID_PARAM_NAME = "solverId";
+  static final String FIELDS_PARAM_NAME = "fields";
+
+  /**
+   * Reads the query parameters of a list request.
+   *
+   * @throws ResponseStatusException if a parameter is invalid.
+   */
+  static ProblemListQuery fromRequest(ServerRequest req) {
+    var cursor = req.queryParam(CURSOR_PARAM_NAME)
+        .map(value -> parse(CURSOR_PARAM_NAME, value, UUID::fromString))
+        .orElse(null);
+    var limit = req.queryParam(LIMIT_PARAM_NAME)
+        .map(value -> parse(LIMIT_PARAM_NAME, value, Integer::valueOf))
+        .orElse(null);
+    if (limit != null && limit < 1) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "The limit must be positive!");
+    }
+    var state = req.queryParam(STATE_PARAM_NAME)
+        .map(value -> parse(STATE_PARAM_NAME, value, ProblemState::valueOf))
+        .orElse(null);
+    var solverId = req.queryParam(SOLVER_ID_PARAM_NAME).orElse(null);
+    var fields = parseFields(req);
+
+    return new ProblemListQuery(cursor, limit, state, solverId, fields);
+  }
+
+  /**
+   * Reads the selected {@link ProblemDto#FIELDS fields} of a request.
+   *
+   * @return the selected fields, {@code null} if all fields are selected.
+   * @throws ResponseStatusException if a field is unknown.
+   */
+  static List<String> parseFields(ServerRequest req) {
+    var fields = req.queryParam(FIELDS_PARAM_NAME)
+        .map(value -> Arrays.stream(value.split(","))
+            .map(String::trim)
+            .filter(field -> !field.isEmpty())
+            .distinct()
+            .toList())
+        .orElse(null);
+    if (fields != null && !ProblemDto.FIELDS.containsAll(fields)) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+          "Unknown field, the available fields are " + ProblemDto.FIELDS);
+    }
+    return fields;
+  }
+
+  static <T> T parse(String name, String value, Function<String, T> parser) {
+    try {
+      return parser.apply(value);
+    } catch (IllegalArgumentException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+          "Invalid value for the parameter " + name, e);
+    }
+  }
+
+  /**
+   * Checks if a problem passes the state and solver filters of this query.
+   */
+  boolean matches(Problem<?, ?> problem) {
+    var snapshot = problem.getSnapshot();
+    if (state != null && snapshot.state() != state) {
+      return false;
+    }
+
+    return solverId == null
+        || (snapshot.solver() != null && snapshot.solver().getId().equals(solverId));
+  }
+}
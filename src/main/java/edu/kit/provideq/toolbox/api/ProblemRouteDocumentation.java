@@ -9,6 +9,7 @@ import static org.springdoc.core.fn.builders.parameter.Builder.parameterBuilder;
 import static org.springdoc.core.fn.builders.requestbody.Builder.requestBodyBuilder;
 import static org.springdoc.core.fn.builders.schema.Builder.schemaBuilder;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.http.MediaType.TEXT_EVENT_STREAM_VALUE;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -19,6 +20,7 @@ import edu.kit.provideq.toolbox.meta.ProblemType;
 import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import org.springdoc.core.fn.builders.operation.Builder;
 import org.springframework.boot.json.JsonParseException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 
 /**
@@ -51,10 +53,20 @@ final class ProblemRouteDocumentation {
     ops
         .operationId(getOperationId(type, "read"))
         .description("This endpoint can be used to get / read problems of problem type '"
-            + type.getId() + "'.")
+            + type.getId() + "'. "
+            + "The 'ETag' header of the response identifies the version of the problem, which "
+            + "changes whenever the problem changes. If the 'If-None-Match' header of the request "
+            + "contains the current version, the endpoint responds with 304 and without a body.")
         .tag(type.getId())
         .parameter(parameterBuilder().in(ParameterIn.PATH).name(PROBLEM_ID_PARAM_NAME))
-        .response(buildProblemResponse(manager));
+        .parameter(parameterBuilder()
+            .in(ParameterIn.HEADER)
+            .name(HttpHeaders.IF_NONE_MATCH)
+            .description("ETag of a previously read version of the problem."))
+        .response(buildProblemResponse(manager))
+        .response(responseBuilder()
+            .responseCode(String.valueOf(HttpStatus.NOT_MODIFIED.value()))
+            .description("The problem has not changed since the given version."));
   }
 
   public static void configureListDocs(ProblemManager<?, ?> manager, Builder ops) {
@@ -63,8 +75,32 @@ final class ProblemRouteDocumentation {
         .operationId(getOperationId(type, "list"))
         .description("Responds with a list of all problems of type '" + type.getId() + "'. "
             + "This includes all problems created either through the create / post endpoint of "
-            + "this problem type or as sub-problems of other problems during the solution process.")
+            + "this problem type or as sub-problems of other problems during the solution process. "
+            + "Problems are ordered by their ID. If a limit is given and more problems match, the "
+            + "'Link' header of the response refers to the next page. "
+            + "Requesting 'application/x-ndjson' streams one problem per line instead of an array.")
         .tag(type.getId())
+        .parameter(parameterBuilder()
+            .in(ParameterIn.QUERY)
+            .name(ProblemListQuery.CURSOR_PARAM_NAME)
+            .description("Only lists problems with a greater ID, e.g., the last ID of a page."))
+        .parameter(parameterBuilder()
+            .in(ParameterIn.QUERY)
+            .name(ProblemListQuery.LIMIT_PARAM_NAME)
+            .description("Maximum number of listed problems."))
+        .parameter(parameterBuilder()
+            .in(ParameterIn.QUERY)
+            .name(ProblemListQuery.STATE_PARAM_NAME)
+            .description("Only lists problems in this state."))
+        .parameter(parameterBuilder()
+            .in(ParameterIn.QUERY)
+            .name(ProblemListQuery.SOLVER_ID_PARAM_NAME)
+            .description("Only lists problems with this solver."))
+        .parameter(parameterBuilder()
+            .in(ParameterIn.QUERY)
+            .name(ProblemListQuery.FIELDS_PARAM_NAME)
+            .description("Comma-separated fields to list, e.g., 'id,state,solverId'. "
+                + "All fields are listed by default."))
         .response(buildProblemListResponse(manager));
   }
 
@@ -90,6 +126,52 @@ final class ProblemRouteDocumentation {
     // TODO missing error codes and examples
   }
 
+  static void configureEventsDocs(ProblemManager<?, ?> manager, Builder ops) {
+    var type = manager.getType();
+    ops
+        .operationId(getOperationId(type, "events"))
+        .description("Streams the changes of the problem of type '" + type.getId() + "' with the "
+            + "given problem ID as server-sent events. "
+            + "The first event describes the problem at the time of subscribing, every following "
+            + "event describes one change, e.g., a state change or an added sub-problem. "
+            + "Clients that fall too far behind are disconnected.")
+        .tag(type.getId())
+        .parameter(parameterBuilder().in(ParameterIn.PATH).name(PROBLEM_ID_PARAM_NAME))
+        .response(responseBuilder()
+            .responseCode(String.valueOf(HttpStatus.OK.value()))
+            .content(contentBuilder()
+                .mediaType(TEXT_EVENT_STREAM_VALUE)
+                .schema(schemaBuilder().implementation(ProblemEventDto.class))));
+  }
+
+  static void configureTreeDocs(ProblemManager<?, ?> manager, Builder ops) {
+    var type = manager.getType();
+    ops
+        .operationId(getOperationId(type, "tree"))
+        .description("Responds with the problem of type '" + type.getId() + "' with the given "
+            + "problem ID and all of its direct and indirect sub-problems, level by level. "
+            + "Every level contains the number of its problems per state. A sub-problem that is "
+            + "shared by several problems is only part of the first level it occurs in. "
+            + "Requesting 'application/x-ndjson' streams one level per line instead of an array.")
+        .tag(type.getId())
+        .parameter(parameterBuilder().in(ParameterIn.PATH).name(PROBLEM_ID_PARAM_NAME))
+        .parameter(parameterBuilder()
+            .in(ParameterIn.QUERY)
+            .name(ProblemRouter.DEPTH_PARAM_NAME)
+            .description("Maximum number of sub-problem levels below the problem. "
+                + "All levels are included by default."))
+        .parameter(parameterBuilder()
+            .in(ParameterIn.QUERY)
+            .name(ProblemListQuery.FIELDS_PARAM_NAME)
+            .description("Comma-separated fields of every problem, e.g., 'id,typeId,state'. "
+                + "All fields are included by default."))
+        .response(responseBuilder()
+            .responseCode(String.valueOf(HttpStatus.OK.value()))
+            .content(contentBuilder()
+                .array(arraySchemaBuilder()
+                    .schema(schemaBuilder().implementation(ProblemTreeLevelDto.class)))));
+  }
+
   private static <InputT, ResultT> org.springdoc.core.fn.builders.content.Builder getRequestContent(
       ProblemManager<InputT, ResultT> manager) {
     var exampleProblem = manager.getExampleInstances().stream()
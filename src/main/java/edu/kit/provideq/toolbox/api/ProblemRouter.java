@@ -1,7 +1,12 @@
 package edu.kit.provideq.toolbox.api;
 
+import static edu.kit.provideq.toolbox.api.CodecConfiguration.PAYLOAD_MEDIA_TYPES;
+import static edu.kit.provideq.toolbox.api.CodecConfiguration.prefersNdjson;
+import static edu.kit.provideq.toolbox.api.CodecConfiguration.selectPayloadMediaType;
 import static org.springdoc.webflux.core.fn.SpringdocRouteBuilder.route;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
+import static org.springframework.http.MediaType.TEXT_EVENT_STREAM;
 import static org.springframework.web.reactive.function.server.RequestPredicates.accept;
 import static org.springframework.web.reactive.function.server.ServerResponse.ok;
 
@@ -11,19 +16,26 @@ import edu.kit.provideq.toolbox.meta.ProblemManager;
 import edu.kit.provideq.toolbox.meta.ProblemManagerProvider;
 import edu.kit.provideq.toolbox.meta.ProblemState;
 import edu.kit.provideq.toolbox.meta.ProblemType;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.validation.Validator;
 import org.springframework.web.reactive.config.EnableWebFlux;
 import org.springframework.web.reactive.function.server.RouterFunction;
 import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
 import org.springframework.web.server.ResponseStatusException;
-import org.springframework.web.server.ServerWebInputException;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 /**
@@ -33,8 +45,10 @@ import reactor.core.publisher.Mono;
 @EnableWebFlux
 public class ProblemRouter {
   public static final String PROBLEM_ID_PARAM_NAME = "problemId";
+  static final String DEPTH_PARAM_NAME = "depth";
   private ProblemManagerProvider managerProvider;
   private Validator validator;
+  private final SerializedProblemCache serializedProblems = new SerializedProblemCache();
 
   @Bean
   RouterFunction<ServerResponse> getProblemRoutes() {
@@ -43,7 +57,9 @@ public class ProblemRouter {
         managers.stream().map(this::defineCreateRoute),
         managers.stream().map(this::defineReadRoute),
         managers.stream().map(this::defineListRoute),
-        managers.stream().map(this::defineUpdateRoute)
+        managers.stream().map(this::defineUpdateRoute),
+        managers.stream().map(this::defineEventsRoute),
+        managers.stream().map(this::defineTreeRoute)
     ).reduce(RouterFunction::and).orElseThrow();
   }
 
@@ -53,7 +69,7 @@ public class ProblemRouter {
   private RouterFunction<ServerResponse> defineCreateRoute(ProblemManager<?, ?> manager) {
     return route().POST(
         getPathWithoutId(manager.getType()),
-        accept(APPLICATION_JSON),
+        accept(PAYLOAD_MEDIA_TYPES),
         req -> handleCreate(manager, req),
         ops -> ProblemRouteDocumentation.configureCreateDocs(manager, ops)
     ).build();
@@ -65,7 +81,7 @@ public class ProblemRouter {
   private RouterFunction<ServerResponse> defineReadRoute(ProblemManager<?, ?> manager) {
     return route().GET(
         getPathWithId(manager.getType()),
-        accept(APPLICATION_JSON),
+        accept(PAYLOAD_MEDIA_TYPES),
         req -> handleRead(manager, req),
         ops -> ProblemRouteDocumentation.configureReadDocs(manager, ops)
     ).build();
@@ -77,8 +93,8 @@ public class ProblemRouter {
   private RouterFunction<ServerResponse> defineListRoute(ProblemManager<?, ?> manager) {
     return route().GET(
         getPathWithoutId(manager.getType()),
-        accept(APPLICATION_JSON),
-        req -> handleList(manager),
+        accept(APPLICATION_NDJSON).or(accept(PAYLOAD_MEDIA_TYPES)),
+        req -> handleList(manager, req),
         ops -> ProblemRouteDocumentation.configureListDocs(manager, ops)
     ).build();
   }
@@ -89,12 +105,36 @@ public class ProblemRouter {
   private RouterFunction<ServerResponse> defineUpdateRoute(ProblemManager<?, ?> manager) {
     return route().PATCH(
         getPathWithId(manager.getType()),
-        accept(APPLICATION_JSON),
+        accept(PAYLOAD_MEDIA_TYPES),
         req -> handleUpdate(manager, req),
         ops -> ProblemRouteDocumentation.configureUpdateDocs(manager, ops)
     ).build();
   }
 
+  /**
+   * Events operation: GET /problems/TYPE/ID/events.
+   */
+  private RouterFunction<ServerResponse> defineEventsRoute(ProblemManager<?, ?> manager) {
+    return route().GET(
+        getPathWithId(manager.getType()) + "/events",
+        accept(TEXT_EVENT_STREAM),
+        req -> handleEvents(manager, req),
+        ops -> ProblemRouteDocumentation.configureEventsDocs(manager, ops)
+    ).build();
+  }
+
+  /**
+   * Tree operation: GET /problems/TYPE/ID/tree.
+   */
+  private RouterFunction<ServerResponse> defineTreeRoute(ProblemManager<?, ?> manager) {
+    return route().GET(
+        getPathWithId(manager.getType()) + "/tree",
+        accept(APPLICATION_NDJSON).or(accept(PAYLOAD_MEDIA_TYPES)),
+        req -> handleTree(manager, req),
+        ops -> ProblemRouteDocumentation.configureTreeDocs(manager, ops)
+    ).build();
+  }
+
   private <InputT, ResultT> Mono<ServerResponse> handleCreate(
       ProblemManager<InputT, ResultT> manager,
       ServerRequest req
@@ -110,7 +150,9 @@ public class ProblemRouter {
         })
         .map(ProblemDto::fromProblem);
 
-    return ok().body(createdProblemDto, new ParameterizedTypeReference<>(){});
+    return ok()
+        .contentType(selectPayloadMediaType(req))
+        .body(createdProblemDto, new ParameterizedTypeReference<>(){});
   }
 
   private <InputT, ResultT> Mono<ServerResponse> handleRead(
@@ -119,17 +161,151 @@ public class ProblemRouter {
   ) {
     var problemId = req.pathVariable(PROBLEM_ID_PARAM_NAME);
     var problem = RouterUtility.findProblemOrThrow(manager, problemId);
-    var problemDto = ProblemDto.fromProblem(problem);
-    return ok().body(Mono.just(problemDto), new ParameterizedTypeReference<>() {});
+
+    // the body is built from the same snapshot as the tag, so it is never older than the tag
+    var snapshot = problem.getSnapshot();
+    var mediaType = selectPayloadMediaType(req);
+    if (!mediaType.equals(APPLICATION_JSON)) {
+      // binary representations are neither cached nor share the tag of the JSON representation
+      var binaryETag = "\"%d-%s\"".formatted(snapshot.version(), mediaType.getSubtype());
+      return req.checkNotModified(binaryETag).orElseGet(() -> ok()
+          .eTag(binaryETag)
+          .varyBy(HttpHeaders.ACCEPT)
+          .contentType(mediaType)
+          .bodyValue(ProblemDto.fromSnapshot(problem, snapshot)));
+    }
+
+    var eTag = "\"%d\"".formatted(snapshot.version());
+    return req.checkNotModified(eTag).orElseGet(() -> ok()
+        .eTag(eTag)
+        .varyBy(HttpHeaders.ACCEPT)
+        .contentType(APPLICATION_JSON)
+        .bodyValue(serializedProblems.getJson(problem, snapshot)));
+  }
+
+  private <InputT, ResultT> Mono<ServerResponse> handleEvents(
+      ProblemManager<InputT, ResultT> manager,
+      ServerRequest req
+  ) {
+    var problemId = req.pathVariable(PROBLEM_ID_PARAM_NAME);
+    var problem = RouterUtility.findProblemOrThrow(manager, problemId);
+    var events = problem.getEvents()
+        .map(ProblemEventDto::fromEvent)
+        .map(event -> ServerSentEvent.builder(event)
+            .event(event.type().name())
+            .build());
+
+    return ok()
+        .contentType(TEXT_EVENT_STREAM)
+        .body(events, new ParameterizedTypeReference<ServerSentEvent<ProblemEventDto>>() {});
   }
 
   private <InputT, ResultT> Mono<ServerResponse> handleList(
-      ProblemManager<InputT, ResultT> manager
+      ProblemManager<InputT, ResultT> manager,
+      ServerRequest req
+  ) {
+    var query = ProblemListQuery.fromRequest(req);
+
+    // select the page first, so only the listed problems are converted and serialized
+    var matches = manager.streamInstances(query.cursor()).filter(query::matches);
+    List<Problem<InputT, ResultT>> page = query.limit() == null
+        ? matches.toList()
+        : matches.limit(query.limit() + 1L).toList();
+    boolean hasNextPage = query.limit() != null && page.size() > query.limit();
+    if (hasNextPage) {
+      page = page.subList(0, query.limit());
+    }
+
+    Flux<Object> problems = Flux.fromIterable(page)
+        .<Object>map(problem -> query.fields() == null
+            ? ProblemDto.fromProblem(problem)
+            : ProblemDto.project(problem, query.fields()));
+
+    var response = ok();
+    if (hasNextPage) {
+      var nextPage = UriComponentsBuilder.fromUri(req.uri())
+          .replaceQueryParam(ProblemListQuery.CURSOR_PARAM_NAME, page.get(page.size() - 1).getId())
+          .build(true)
+          .toUri();
+      response = response.header(HttpHeaders.LINK, "<%s>; rel=\"next\"".formatted(nextPage));
+    }
+    return writeItems(response, req, problems);
+  }
+
+  private <InputT, ResultT> Mono<ServerResponse> handleTree(
+      ProblemManager<InputT, ResultT> manager,
+      ServerRequest req
   ) {
-    var problemList = manager.getInstances().stream()
-        .map(ProblemDto::fromProblem)
-        .toList();
-    return ok().body(Mono.just(problemList), new ParameterizedTypeReference<>() {});
+    var problemId = req.pathVariable(PROBLEM_ID_PARAM_NAME);
+    var problem = RouterUtility.findProblemOrThrow(manager, problemId);
+    var fields = ProblemListQuery.parseFields(req);
+    int maxDepth = req.queryParam(DEPTH_PARAM_NAME)
+        .map(value -> ProblemListQuery.parse(DEPTH_PARAM_NAME, value, Integer::valueOf))
+        .orElse(Integer.MAX_VALUE);
+    if (maxDepth < 0) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+          "The depth must not be negative!");
+    }
+
+    // walk the sub-problems breadth-first, so each level is sent as soon as it is complete
+    var visitedIds = new HashSet<UUID>();
+    visitedIds.add(problem.getId());
+    var levels = Mono.just(new TreeLevel(0, List.of(problem)))
+        .expand(level -> {
+          if (level.depth() >= maxDepth) {
+            return Mono.empty();
+          }
+
+          List<Problem<?, ?>> nextProblems = level.problems().stream()
+              .flatMap(parent -> parent.getSubProblems().stream())
+              .filter(subProblem -> visitedIds.add(subProblem.getId()))
+              .toList();
+          return nextProblems.isEmpty()
+              ? Mono.empty()
+              : Mono.just(new TreeLevel(level.depth() + 1, nextProblems));
+        })
+        .<Object>map(level -> toTreeLevelDto(level, fields));
+
+    return writeItems(ok(), req, levels);
+  }
+
+  private record TreeLevel(int depth, List<Problem<?, ?>> problems) {
+  }
+
+  private static ProblemTreeLevelDto toTreeLevelDto(TreeLevel level, List<String> fields) {
+    var stateCounts = new EnumMap<ProblemState, Long>(ProblemState.class);
+    var problemDtos = new ArrayList<Object>(level.problems().size());
+    for (var problem : level.problems()) {
+      stateCounts.merge(problem.getState(), 1L, Long::sum);
+      problemDtos.add(fields == null
+          ? ProblemDto.fromProblem(problem)
+          : ProblemDto.project(problem, fields));
+    }
+    return new ProblemTreeLevelDto(level.depth(), stateCounts, problemDtos);
+  }
+
+  /**
+   * Writes items as NDJSON if requested, otherwise as an array in the requested payload format.
+   */
+  private static Mono<ServerResponse> writeItems(
+      ServerResponse.BodyBuilder responseBuilder,
+      ServerRequest req,
+      Flux<Object> items
+  ) {
+    // the format depends on the accept header, so caches must not mix them up
+    var response = responseBuilder.varyBy(HttpHeaders.ACCEPT);
+    if (prefersNdjson(req)) {
+      return response.contentType(APPLICATION_NDJSON).body(items, Object.class);
+    }
+
+    var mediaType = selectPayloadMediaType(req);
+    if (mediaType.equals(APPLICATION_JSON)) {
+      return response.contentType(APPLICATION_JSON).body(items, Object.class);
+    }
+
+    // the binary encoders can't stream, so they encode the collected array at once
+    return response.contentType(mediaType)
+        .body(items.collectList(), new ParameterizedTypeReference<List<Object>>() {});
   }
 
   private <InputT, ResultT> Mono<ServerResponse> handleUpdate(
@@ -138,21 +314,29 @@ public class ProblemRouter {
   ) {
     var problemId = req.pathVariable(PROBLEM_ID_PARAM_NAME);
     var problem = RouterUtility.findProblemOrThrow(manager, problemId);
-    if (problem.getState() == ProblemState.SOLVING || problem.getState() == ProblemState.SOLVED) {
+    // solved problems may be reset by changing their solver, which is validated by the problem
+    if (problem.getState() == ProblemState.SOLVING) {
       throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-          "Problems that are currently being solved or have been solved cannot be updated!");
+          "Problems that are currently being solved cannot be updated!");
     }
 
     var updatedProblemDto = req
         .bodyToMono(new ParameterizedTypeReference<ProblemDto<InputT, ResultT>>() {})
         .doOnNext(this::validate)
         .map(patchDto -> {
-          applySubmittedProblemPatch(manager, problem, patchDto);
+          try {
+            applySubmittedProblemPatch(manager, problem, patchDto);
+          } catch (IllegalStateException e) {
+            // the problem has been started concurrently or is not configured sufficiently
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+          }
           return problem;
         })
         .map(ProblemDto::fromProblem);
 
-    return ok().body(updatedProblemDto, new ParameterizedTypeReference<>() {});
+    return ok()
+        .contentType(selectPayloadMediaType(req))
+        .body(updatedProblemDto, new ParameterizedTypeReference<>() {});
   }
 
   private <InputT, ResultT> void applySubmittedProblemPatch(
@@ -189,11 +373,7 @@ public class ProblemRouter {
   }
 
   private <InputT, ResultT> void validate(ProblemDto<InputT, ResultT> problem) {
-    var errors = new BeanPropertyBindingResult(problem, "problem");
-    validator.validate(problem, errors);
-    if (errors.hasErrors()) {
-      throw new ServerWebInputException(errors.toString());
-    }
+    RouterUtility.validateProblem(validator, problem);
   }
 
   private String getPathWithoutId(ProblemType<?, ?> type) {
@@ -0,0 +1,20 @@
+package edu.kit.provideq.toolbox.api;
+
+import edu.kit.provideq.toolbox.meta.ProblemState;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One level of the sub-problem tree of a problem.
+ * Sub-problems that are shared by several problems are only part of the first level they occur in.
+ *
+ * @param depth distance of the problems on this level to the root problem, which is on level 0.
+ * @param stateCounts number of problems on this level per state.
+ * @param problems the problems on this level, either complete or projected to selected fields.
+ */
+public record ProblemTreeLevelDto(
+    int depth,
+    Map<ProblemState, Long> stateCounts,
+    List<Object> problems
+) {
+}
@@ -4,7 +4,10 @@ import edu.kit.provideq.toolbox.meta.Problem;
 import edu.kit.provideq.toolbox.meta.ProblemManager;
 import java.util.UUID;
 import org.springframework.http.HttpStatus;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Validator;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebInputException;
 
 public class RouterUtility {
   private RouterUtility() {
@@ -26,4 +29,17 @@ public class RouterUtility {
         .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
             "Could not find a problem for this type with this problem ID!"));
   }
+
+  /**
+   * Validates a submitted problem against the constraints of {@link ProblemDto}.
+   *
+   * @throws ServerWebInputException if the problem is invalid.
+   */
+  public static void validateProblem(Validator validator, ProblemDto<?, ?> problem) {
+    var errors = new BeanPropertyBindingResult(problem, "problem");
+    validator.validate(problem, errors);
+    if (errors.hasErrors()) {
+      throw new ServerWebInputException(errors.toString());
+    }
+  }
 }
@@ -0,0 +1,64 @@
+package edu.kit.provideq.toolbox.api;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.kit.provideq.toolbox.meta.Problem;
+import edu.kit.provideq.toolbox.meta.ProblemSnapshot;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Caches the JSON representation of recently read {@link Problem}s.
+ * A cached representation is only reused for the {@link ProblemSnapshot#version() version} it
+ * was serialized from, so it never outlives a change of the problem.
+ */
+final class SerializedProblemCache {
+  private static final int MAX_CACHED_PROBLEMS = 256;
+
+  // same configuration as the JSON codec of WebFlux
+  private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+  // least recently read problems by problem id
+  private final Map<UUID, SerializedProblem> serializedProblems =
+      Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, SerializedProblem> eldest) {
+          return size() > MAX_CACHED_PROBLEMS;
+        }
+      });
+
+  private record SerializedProblem(long version, byte[] json) {
+  }
+
+  /**
+   * Returns the JSON representation of a problem in the state of the given snapshot.
+   *
+   * @param problem the problem to serialize.
+   * @param snapshot a snapshot of the problem, defines the serialized state and version.
+   * @return the serialized {@link ProblemDto}.
+   */
+  <InputT, ResultT> byte[] getJson(
+      Problem<InputT, ResultT> problem,
+      ProblemSnapshot<InputT, ResultT> snapshot
+  ) {
+    var cached = serializedProblems.get(problem.getId());
+    if (cached != null && cached.version() == snapshot.version()) {
+      return cached.json();
+    }
+
+    byte[] json;
+    try {
+      json = objectMapper.writeValueAsBytes(ProblemDto.fromSnapshot(problem, snapshot));
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Could not serialize problem " + problem.getId(), e);
+    }
+
+    // a concurrent read may already have cached a newer version
+    serializedProblems.merge(problem.getId(), new SerializedProblem(snapshot.version(), json),
+        (old, serialized) -> old.version() > serialized.version() ? old : serialized);
+    return json;
+  }
+}
@@ -3,6 +3,7 @@ package edu.kit.provideq.toolbox.api;
 import static org.springdoc.core.fn.builders.apiresponse.Builder.responseBuilder;
 import static org.springdoc.core.fn.builders.arrayschema.Builder.arraySchemaBuilder;
 import static org.springdoc.core.fn.builders.content.Builder.contentBuilder;
+import static org.springdoc.core.fn.builders.requestbody.Builder.requestBodyBuilder;
 import static org.springdoc.core.fn.builders.schema.Builder.schemaBuilder;
 import static org.springdoc.webflux.core.fn.SpringdocRouteBuilder.route;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
@@ -14,6 +15,8 @@ import edu.kit.provideq.toolbox.ProblemSolverInfo;
 import edu.kit.provideq.toolbox.meta.ProblemManager;
 import edu.kit.provideq.toolbox.meta.ProblemManagerProvider;
 import edu.kit.provideq.toolbox.meta.ProblemType;
+import edu.kit.provideq.toolbox.statistics.SolverRecommendation;
+import edu.kit.provideq.toolbox.statistics.SolverStatistics;
 import java.util.List;
 import org.springdoc.core.fn.builders.operation.Builder;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -24,6 +27,7 @@ import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.reactive.config.EnableWebFlux;
 import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
 import reactor.core.publisher.Mono;
 
@@ -32,11 +36,14 @@ import reactor.core.publisher.Mono;
  * endpoints.
  * Responses are generated from the solvers reported by the meta-solver registered for the given
  * problem type.
+ * The POST {@code /solvers/{problemType}/recommendation} endpoints rank these solvers by their
+ * expected execution time for a given input, based on the recorded {@link SolverStatistics}.
  */
 @Configuration
 @EnableWebFlux
 public class SolversRouter {
   private ProblemManagerProvider problemManagerProvider;
+  private SolverStatistics statistics;
 
   @Bean
   RouterFunction<ServerResponse> getSolversRoutes() {
@@ -53,9 +60,22 @@ public class SolversRouter {
         getSolversRouteForProblemType(problemType),
         req -> handleSolversRouteForManager(manager),
         ops -> handleSolversRouteDocumentation(ops, manager)
+    ).POST(
+        getRecommendationRouteForProblemType(problemType),
+        req -> handleRecommendationRouteForManager(req, manager),
+        ops -> handleRecommendationRouteDocumentation(ops, manager)
     ).build();
   }
 
+  private <InputT, ResultT> Mono<ServerResponse> handleRecommendationRouteForManager(
+      ServerRequest req, ProblemManager<InputT, ResultT> manager) {
+    var recommendations = req.bodyToMono(manager.getType().getInputClass())
+        .map(input -> statistics.recommend(manager, input));
+
+    return ok().body(recommendations, new ParameterizedTypeReference<>() {
+    });
+  }
+
   private Mono<ServerResponse> handleSolversRouteForManager(ProblemManager<?, ?> manager) {
     var solvers = getAllSolverInfos(manager);
 
@@ -82,6 +102,28 @@ public class SolversRouter {
         );
   }
 
+  private void handleRecommendationRouteDocumentation(
+      Builder ops, ProblemManager<?, ?> manager) {
+    ops
+        .operationId(getRecommendationRouteForProblemType(manager.getType()))
+        .tag(manager.getType().getId())
+        .description("Ranks the solvers of the " + manager.getType().getId()
+            + " problem type by their expected execution time for the given input."
+            + " The prediction is based on previous runs with inputs of similar size,"
+            + " solvers without such runs are listed last.")
+        .requestBody(requestBodyBuilder()
+            .content(contentBuilder()
+                .schema(schemaBuilder().implementation(manager.getType().getInputClass())))
+            .required(true))
+        .response(responseBuilder()
+            .responseCode(String.valueOf(HttpStatus.OK.value()))
+            .content(contentBuilder()
+                .mediaType(APPLICATION_JSON_VALUE)
+                .array(arraySchemaBuilder().schema(
+                    schemaBuilder().implementation(SolverRecommendation.class))))
+        );
+  }
+
   private static org.springdoc.core.fn.builders.content.Builder getOkResponseContent(
           ProblemManager<?, ?> manager) {
     var allSolvers = getAllSolverInfos(manager);
@@ -105,8 +147,17 @@ public class SolversRouter {
     return "/solvers/" + type.getId();
   }
 
+  private String getRecommendationRouteForProblemType(ProblemType<?, ?> type) {
+    return getSolversRouteForProblemType(type) + "/recommendation";
+  }
+
   @Autowired
   public void setProblemManagerProvider(ProblemManagerProvider problemManagerProvider) {
     this.problemManagerProvider = problemManagerProvider;
   }
+
+  @Autowired
+  public void setStatistics(SolverStatistics statistics) {
+    this.statistics = statistics;
+  }
 }
@@ -0,0 +1,487 @@
+package edu.kit.provideq.toolbox.convert;
+
+import edu.kit.provideq.toolbox.exception.ConversionException;
+import edu.kit.provideq.toolbox.format.cnf.dimacs.DimacsCnf;
+import edu.kit.provideq.toolbox.format.cnf.dimacs.LogicalExpression;
+import edu.kit.provideq.toolbox.format.cnf.dimacs.LogicalExpressionToDimacsCnf;
+import edu.kit.provideq.toolbox.format.cnf.dimacs.Variable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Converts UVL to CNF in a single pass over its lines, without building a syntax tree or a
+ * FeatureIDE feature model.
+ *
+ * <p>Features are numbered in the order they appear, which is the pre-order FeatureIDE uses.
+ * The clauses of a group are emitted as soon as the group is closed, because each of them
+ * already is a clause. Cross-tree constraints are converted with the Tseitin transformation of
+ * {@link LogicalExpressionToDimacsCnf}, so they grow linearly instead of being distributed.
+ *
+ * <p>Only the boolean subset of UVL is read: a namespace, the feature tree with attributes,
+ * group types, group cardinalities that mean one of the group types, and boolean constraints,
+ * one per line. Imports, language levels, feature cardinalities, arithmetic constraints and
+ * constraints in attributes are rejected with a {@link ConversionException}, as is any syntax
+ * error, so that a complete UVL implementation can take over.
+ */
+class DirectUvlToDimacsCnf {
+  private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+  private static final Pattern GROUP_CARDINALITY =
+      Pattern.compile("\\[(\\d{1,9})(?:\\.\\.(\\d{1,9}|\\*))?]");
+
+  private enum Section {
+    NONE,
+    FEATURES,
+    CONSTRAINTS
+  }
+
+  private enum GroupType {
+    MANDATORY,
+    OPTIONAL,
+    OR,
+    ALTERNATIVE
+  }
+
+  /**
+   * An open feature or group of the feature tree.
+   *
+   * @param feature the feature, or the parent feature of a group.
+   * @param lowerBound for groups, the least number of children to select.
+   * @param upperBound for groups, the most children to select, -1 if unbounded.
+   * @param children for groups, the features read so far.
+   */
+  private record TreeNode(
+      int indent,
+      Variable feature,
+      boolean isGroup,
+      int lowerBound,
+      int upperBound,
+      List<Variable> children) {
+  }
+
+  private final Map<String, Variable> features = new LinkedHashMap<>();
+  private final Map<String, String> optionalParents = new HashMap<>();
+  private final ArrayList<ArrayList<Variable>> clauses = new ArrayList<>();
+  private final List<LogicalExpression> constraints = new ArrayList<>();
+
+  // innermost last
+  private final Deque<TreeNode> openNodes = new ArrayDeque<>();
+  private Character indentCharacter;
+
+  /**
+   * Converts a UVL feature model.
+   *
+   * @throws ConversionException if the model has a syntax error or uses unsupported constructs.
+   */
+  static FeatureModelCnf convert(String content) throws ConversionException {
+    var converter = new DirectUvlToDimacsCnf();
+    converter.read(content.lines().iterator());
+
+    var variables = new ArrayList<>(converter.features.values());
+    LogicalExpressionToDimacsCnf.appendTo(
+        new LogicalExpression.And(converter.constraints), variables, converter.clauses);
+    return new FeatureModelCnf(
+        new DimacsCnf(converter.clauses, variables),
+        Collections.unmodifiableMap(converter.optionalParents));
+  }
+
+  private void read(Iterator<String> lines) throws ConversionException {
+    var section = Section.NONE;
+    while (lines.hasNext()) {
+      String line = stripComment(lines.next());
+      if (line.isBlank()) {
+        continue;
+      }
+
+      int indent = readIndent(line);
+      String text = line.trim();
+      if (indent == 0) {
+        if (section == Section.FEATURES) {
+          closeNodes(0);
+        }
+        if (text.equals("features") && section == Section.NONE) {
+          section = Section.FEATURES;
+        } else if (text.equals("constraints") && section == Section.FEATURES) {
+          section = Section.CONSTRAINTS;
+        } else if (!text.startsWith("namespace ") || section != Section.NONE) {
+          throw new ConversionException("Unsupported UVL declaration: " + text);
+        }
+      } else if (section == Section.FEATURES) {
+        readTreeLine(indent, text, lines);
+      } else if (section == Section.CONSTRAINTS) {
+        constraints.add(new ConstraintParser(text).parse());
+      } else {
+        throw new ConversionException("Unexpected indentation: " + text);
+      }
+    }
+
+    closeNodes(0);
+    if (features.isEmpty()) {
+      throw new ConversionException("The feature model has no features.");
+    }
+  }
+
+  private void readTreeLine(int indent, String text, Iterator<String> lines)
+      throws ConversionException {
+    closeNodes(indent);
+    var parent = openNodes.peekLast();
+
+    if (parent != null && !parent.isGroup()) {
+      openNodes.addLast(readGroup(indent, parent.feature(), text));
+      return;
+    }
+    if (parent == null && !features.isEmpty()) {
+      throw new ConversionException("The feature model has more than one root feature.");
+    }
+
+    var feature = readFeature(text, lines);
+    if (parent == null) {
+      addClause(literal(feature, true));
+    } else {
+      parent.children().add(feature);
+    }
+    openNodes.addLast(new TreeNode(indent, feature, false, 0, 0, null));
+  }
+
+  private static TreeNode readGroup(int indent, Variable parent, String text)
+      throws ConversionException {
+    int lowerBound;
+    int upperBound;
+    switch (text) {
+      case "mandatory" -> {
+        lowerBound = Integer.MAX_VALUE;
+        upperBound = -1;
+      }
+      case "optional" -> {
+        lowerBound = 0;
+        upperBound = -1;
+      }
+      case "or" -> {
+        lowerBound = 1;
+        upperBound = -1;
+      }
+      case "alternative" -> {
+        lowerBound = 1;
+        upperBound = 1;
+      }
+      default -> {
+        var matcher = GROUP_CARDINALITY.matcher(text);
+        if (!matcher.matches()) {
+          throw new ConversionException("Expected a group: " + text);
+        }
+        lowerBound = Integer.parseInt(matcher.group(1));
+        String upper = matcher.group(2);
+        if (upper == null) {
+          upperBound = lowerBound;
+        } else {
+          upperBound = upper.equals("*") ? -1 : Integer.parseInt(upper);
+        }
+      }
+    }
+    return new TreeNode(indent, parent, true, lowerBound, upperBound, new ArrayList<>());
+  }
+
+  private Variable readFeature(String text, Iterator<String> lines) throws ConversionException {
+    var name = new StringBuilder();
+    int end = readName(text, 0, name);
+    if (end < 0) {
+      throw new ConversionException("Expected a feature: " + text);
+    }
+    if (features.containsKey(name.toString())) {
+      throw new ConversionException("Duplicate feature " + name);
+    }
+
+    String rest = text.substring(end).trim();
+    if (rest.startsWith("{")) {
+      skipAttributes(rest, lines);
+    } else if (!rest.isEmpty()) {
+      throw new ConversionException("Unsupported feature declaration: " + text);
+    }
+
+    var feature = new Variable(features.size() + 1, name.toString(), false);
+    features.put(feature.name(), feature);
+    return feature;
+  }
+
+  /**
+   * Skips the attributes of a feature, which may continue on the following lines.
+   */
+  private static void skipAttributes(String attributes, Iterator<String> lines)
+      throws ConversionException {
+    int depth = 0;
+    boolean quoted = false;
+    String text = attributes;
+    while (true) {
+      if (text.contains("constraint")) {
+        throw new ConversionException("Constraints in attributes are not supported.");
+      }
+      for (int i = 0; i < text.length(); i++) {
+        char character = text.charAt(i);
+        if (character == '"') {
+          quoted = !quoted;
+        } else if (!quoted && character == '{') {
+          depth++;
+        } else if (!quoted && character == '}' && --depth == 0) {
+          if (!text.substring(i + 1).isBlank()) {
+            throw new ConversionException("Unexpected text after attributes: " + text);
+          }
+          return;
+        }
+      }
+      if (!lines.hasNext()) {
+        throw new ConversionException("Unclosed attributes.");
+      }
+      text = stripComment(lines.next());
+    }
+  }
+
+  /**
+   * Closes every open node that is indented at least as deep as the given line.
+   */
+  private void closeNodes(int indent) throws ConversionException {
+    while (!openNodes.isEmpty() && openNodes.peekLast().indent() >= indent) {
+      var node = openNodes.removeLast();
+      if (node.isGroup()) {
+        addGroupClauses(node);
+      }
+    }
+  }
+
+  private void addGroupClauses(TreeNode group) throws ConversionException {
+    var parent = group.feature();
+    var children = group.children();
+    if (children.isEmpty()) {
+      throw new ConversionException("Empty group below " + parent.name());
+    }
+
+    for (var child : children) {
+      // child => parent
+      addClause(literal(parent, true), literal(child, false));
+    }
+
+    switch (toGroupType(group)) {
+      case MANDATORY -> children.forEach(child ->
+          addClause(literal(child, true), literal(parent, false)));
+      case OPTIONAL -> children.forEach(child ->
+          optionalParents.put(child.name(), parent.name()));
+      case OR -> addAtLeastOne(parent, children);
+      case ALTERNATIVE -> {
+        addAtLeastOne(parent, children);
+        for (int i = 0; i < children.size(); i++) {
+          for (int j = i + 1; j < children.size(); j++) {
+            addClause(literal(children.get(i), false), literal(children.get(j), false));
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Maps the cardinality of a group to the group type with the same meaning.
+   */
+  private static GroupType toGroupType(TreeNode group) throws ConversionException {
+    int size = group.children().size();
+    int lower = Math.min(group.lowerBound(), size);
+    int upper = group.upperBound() < 0 ? size : Math.min(group.upperBound(), size);
+
+    if (lower == size) {
+      return GroupType.MANDATORY;
+    }
+    if (lower == 0 && upper == size) {
+      return GroupType.OPTIONAL;
+    }
+    if (lower == 1 && upper == size) {
+      return GroupType.OR;
+    }
+    if (lower == 1 && upper == 1) {
+      return GroupType.ALTERNATIVE;
+    }
+    throw new ConversionException(
+        "Unsupported group cardinality below " + group.feature().name());
+  }
+
+  /**
+   * Adds the clause parent => (child_1 | ... | child_n).
+   */
+  private void addAtLeastOne(Variable parent, List<Variable> children) {
+    var clause = new ArrayList<Variable>();
+    children.forEach(child -> clause.add(literal(child, true)));
+    clause.add(literal(parent, false));
+    clauses.add(clause);
+  }
+
+  private void addClause(Variable... literals) {
+    clauses.add(new ArrayList<>(List.of(literals)));
+  }
+
+  private int readIndent(String line) throws ConversionException {
+    int indent = 0;
+    while (Character.isWhitespace(line.charAt(indent))) {
+      char character = line.charAt(indent);
+      if (indentCharacter == null) {
+        indentCharacter = character;
+      } else if (indentCharacter != character) {
+        throw new ConversionException("Mixed indentation characters.");
+      }
+      indent++;
+    }
+    return indent;
+  }
+
+  private static String stripComment(String line) throws ConversionException {
+    boolean quoted = false;
+    for (int i = 0; i < line.length() - 1; i++) {
+      char character = line.charAt(i);
+      if (character == '"') {
+        quoted = !quoted;
+      } else if (!quoted && character == '/' && line.charAt(i + 1) == '/') {
+        return line.substring(0, i);
+      } else if (!quoted && character == '/' && line.charAt(i + 1) == '*') {
+        throw new ConversionException("Block comments are not supported.");
+      }
+    }
+    return line;
+  }
+
+  /**
+   * Reads a plain or quoted name.
+   *
+   * @return the index after the name, or -1 if there is no name at the index.
+   */
+  private static int readName(String text, int start, StringBuilder name) {
+    if (start < text.length() && text.charAt(start) == '"') {
+      int end = text.indexOf('"', start + 1);
+      if (end < 0) {
+        return -1;
+      }
+      name.append(text, start + 1, end);
+      return end + 1;
+    }
+
+    var matcher = IDENTIFIER.matcher(text).region(start, text.length());
+    if (!matcher.lookingAt()) {
+      return -1;
+    }
+    name.append(matcher.group());
+    return matcher.end();
+  }
+
+  private static Variable literal(Variable feature, boolean positive) {
+    return new Variable(feature.number(), feature.name(), !positive);
+  }
+
+  private static LogicalExpression implication(
+      LogicalExpression premise,
+      LogicalExpression conclusion) {
+    return new LogicalExpression.Or(List.of(new LogicalExpression.Not(premise), conclusion));
+  }
+
+  /**
+   * Recursive descent parser for a boolean constraint.
+   * Binds from strongest to weakest: {@code !}, {@code &}, {@code |}, {@code =>}, {@code <=>}.
+   * Binary operators are left-associative.
+   */
+  private class ConstraintParser {
+    private final String text;
+    private int position;
+
+    ConstraintParser(String text) {
+      this.text = text;
+    }
+
+    LogicalExpression parse() throws ConversionException {
+      var expression = parseEquivalence();
+      skipWhitespace();
+      if (position < text.length()) {
+        throw error();
+      }
+      return expression;
+    }
+
+    private LogicalExpression parseEquivalence() throws ConversionException {
+      var left = parseImplication();
+      while (accept("<=>")) {
+        var right = parseImplication();
+        left = new LogicalExpression.And(List.of(
+            implication(left, right),
+            implication(right, left)));
+      }
+      return left;
+    }
+
+    private LogicalExpression parseImplication() throws ConversionException {
+      var left = parseOr();
+      while (accept("=>")) {
+        left = implication(left, parseOr());
+      }
+      return left;
+    }
+
+    private LogicalExpression parseOr() throws ConversionException {
+      var operands = new ArrayList<>(List.of(parseAnd()));
+      while (accept("|")) {
+        operands.add(parseAnd());
+      }
+      return operands.size() == 1 ? operands.get(0) : new LogicalExpression.Or(operands);
+    }
+
+    private LogicalExpression parseAnd() throws ConversionException {
+      var operands = new ArrayList<>(List.of(parseUnary()));
+      while (accept("&")) {
+        operands.add(parseUnary());
+      }
+      return operands.size() == 1 ? operands.get(0) : new LogicalExpression.And(operands);
+    }
+
+    private LogicalExpression parseUnary() throws ConversionException {
+      if (accept("!")) {
+        return new LogicalExpression.Not(parseUnary());
+      }
+      if (accept("(")) {
+        var expression = parseEquivalence();
+        if (!accept(")")) {
+          throw error();
+        }
+        return expression;
+      }
+
+      skipWhitespace();
+      var name = new StringBuilder();
+      int end = readName(text, position, name);
+      if (end < 0) {
+        throw error();
+      }
+      if (!features.containsKey(name.toString())) {
+        throw new ConversionException("Unknown feature in constraint: " + name);
+      }
+      position = end;
+      return new LogicalExpression.Literal(name.toString());
+    }
+
+    private boolean accept(String token) {
+      skipWhitespace();
+      if (text.startsWith(token, position)) {
+        position += token.length();
+        return true;
+      }
+      return false;
+    }
+
+    private void skipWhitespace() {
+      while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+        position++;
+      }
+    }
+
+    private ConversionException error() {
+      return new ConversionException("Unsupported constraint: " + text);
+    }
+  }
+}
@@ -0,0 +1,15 @@
+package edu.kit.provideq.toolbox.convert;
+
+import edu.kit.provideq.toolbox.format.cnf.dimacs.DimacsCnf;
+import java.util.Map;
+
+/**
+ * CNF of a feature model together with the parts of its structure that the CNF doesn't retain.
+ *
+ * @param cnf the CNF, every feature is a variable named like the feature.
+ *     Cross-tree constraints may add auxiliary variables.
+ * @param optionalParents maps the name of every optional feature to the name of its parent.
+ *     Features of alternative and or groups are not optional in this sense.
+ */
+public record FeatureModelCnf(DimacsCnf cnf, Map<String, String> optionalParents) {
+}
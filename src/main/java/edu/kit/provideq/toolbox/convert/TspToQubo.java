@@ -0,0 +1,258 @@
+package edu.kit.provideq.toolbox.convert;
+
+import edu.kit.provideq.toolbox.format.qubo.SparseQubo;
+import edu.kit.provideq.toolbox.format.tsplib.TsplibProblem;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Position-based one-hot QUBO encoding of a TSP.
+ * The first node is fixed at the start of the tour, every other node {@code c} and tour position
+ * {@code p} get a binary variable that is 1 iff {@code c} is visited at position {@code p}.
+ * Both one-hot constraints (every node has exactly one position, every position has exactly one
+ * node) are added as quadratic penalties.
+ */
+public class TspToQubo {
+  private final TsplibProblem problem;
+  private final SparseQubo qubo;
+  private final double penalty;
+
+  /**
+   * Number of nodes and positions that are encoded, i.e. all nodes except the fixed first one.
+   */
+  private final int size;
+
+  private TspToQubo(TsplibProblem problem, double penalty) {
+    this.problem = problem;
+    this.penalty = penalty;
+    this.size = problem.getDimension() - 1;
+    this.qubo = new SparseQubo(size * size);
+    encode();
+  }
+
+  /**
+   * Encodes a TSP as a QUBO.
+   * The penalty weight of the one-hot constraints is the penalty factor times the largest
+   * distance of the problem, so violating a constraint never pays off for factors of at least 2.
+   *
+   * @param problem TSP with at least two nodes
+   * @param penaltyFactor multiple of the largest distance used as penalty weight
+   * @return encoding, which can be used to decode QUBO solutions
+   */
+  public static TspToQubo convert(TsplibProblem problem, double penaltyFactor) {
+    if (problem.getDimension() < 2) {
+      throw new IllegalArgumentException("A TSP needs at least two nodes to be encoded.");
+    }
+    if (penaltyFactor <= 0) {
+      throw new IllegalArgumentException("The penalty factor must be positive.");
+    }
+
+    double maxDistance = 0;
+    for (int i = 0; i < problem.getDimension(); i++) {
+      for (int j = 0; j < problem.getDimension(); j++) {
+        maxDistance = Math.max(maxDistance, problem.getDistance(i, j));
+      }
+    }
+
+    return new TspToQubo(problem, penaltyFactor * (maxDistance > 0 ? maxDistance : 1));
+  }
+
+  private void encode() {
+    // edges from and to the fixed first node
+    for (int node = 1; node <= size; node++) {
+      qubo.addLinear(variable(node, 0), problem.getDistance(0, node));
+      qubo.addLinear(variable(node, size - 1), problem.getDistance(node, 0));
+    }
+
+    // edges between consecutive positions
+    for (int position = 0; position < size - 1; position++) {
+      for (int from = 1; from <= size; from++) {
+        for (int to = 1; to <= size; to++) {
+          if (from != to) {
+            qubo.addQuadratic(
+                variable(from, position),
+                variable(to, position + 1),
+                problem.getDistance(from, to));
+          }
+        }
+      }
+    }
+
+    // penalty * (1 - sum x)^2 = penalty - penalty * sum x + 2 * penalty * sum_{i<j} x_i x_j
+    for (int node = 1; node <= size; node++) {
+      addOneHotPenalty(node, true);
+    }
+    for (int position = 0; position < size; position++) {
+      addOneHotPenalty(position, false);
+    }
+  }
+
+  private void addOneHotPenalty(int fixed, boolean isNode) {
+    qubo.addOffset(penalty);
+    for (int i = 0; i < size; i++) {
+      int first = isNode ? variable(fixed, i) : variable(i + 1, fixed);
+      qubo.addLinear(first, -penalty);
+      for (int j = i + 1; j < size; j++) {
+        int second = isNode ? variable(fixed, j) : variable(j + 1, fixed);
+        qubo.addQuadratic(first, second, 2 * penalty);
+      }
+    }
+  }
+
+  /**
+   * Returns the index of the variable that encodes visiting a node at a tour position.
+   *
+   * @param node index of the node, starting at 1 since node 0 is fixed
+   * @param position tour position after the fixed first node, starting at 0
+   */
+  public int variable(int node, int position) {
+    return (node - 1) * size + position;
+  }
+
+  public SparseQubo getQubo() {
+    return qubo;
+  }
+
+  public TsplibProblem getProblem() {
+    return problem;
+  }
+
+  public double getPenalty() {
+    return penalty;
+  }
+
+  /**
+   * Checks if an assignment satisfies all one-hot constraints.
+   */
+  public boolean isFeasible(boolean[] assignment) {
+    checkAssignment(assignment);
+    for (int fixed = 0; fixed < size; fixed++) {
+      int nodeCount = 0;
+      int positionCount = 0;
+      for (int i = 0; i < size; i++) {
+        nodeCount += assignment[variable(fixed + 1, i)] ? 1 : 0;
+        positionCount += assignment[variable(i + 1, fixed)] ? 1 : 0;
+      }
+      if (nodeCount != 1 || positionCount != 1) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Decodes an assignment into a tour, repairing violated one-hot constraints.
+   * Positions are filled in order with the closest unvisited node whose variable is set,
+   * and nodes that did not get a position are inserted where they increase the tour the least.
+   *
+   * @param assignment value of every QUBO variable
+   * @return node indices (starting at 0) in the order they are visited
+   */
+  public int[] decode(boolean[] assignment) {
+    checkAssignment(assignment);
+
+    boolean[] visited = new boolean[size + 1];
+    List<Integer> tour = new ArrayList<>(size + 1);
+    tour.add(0);
+    visited[0] = true;
+
+    for (int position = 0; position < size; position++) {
+      int previous = tour.get(tour.size() - 1);
+      int best = -1;
+      for (int node = 1; node <= size; node++) {
+        if (!visited[node] && assignment[variable(node, position)]
+            && (best == -1
+            || problem.getDistance(previous, node) < problem.getDistance(previous, best))) {
+          best = node;
+        }
+      }
+      if (best != -1) {
+        tour.add(best);
+        visited[best] = true;
+      }
+    }
+
+    for (int node = 1; node <= size; node++) {
+      if (!visited[node]) {
+        insertCheapest(tour, node);
+      }
+    }
+
+    return tour.stream().mapToInt(Integer::intValue).toArray();
+  }
+
+  /**
+   * Shortens a tour with 2-opt moves until no improving move is left.
+   * The first node of the tour stays in place.
+   * Distances may be asymmetric, so a move also accounts for traversing its segment backwards.
+   *
+   * @param tour node indices (starting at 0) in the order they are visited
+   * @return improved copy of the tour
+   */
+  public int[] improve(int[] tour) {
+    int[] improved = tour.clone();
+    int length = improved.length;
+
+    boolean changed = true;
+    while (changed) {
+      changed = false;
+      for (int i = 0; i < length - 2; i++) {
+        // length change of the segment from i + 1 to j when it is traversed backwards
+        double reversalDelta = 0;
+        for (int j = i + 2; j < length; j++) {
+          int a = improved[i];
+          int b = improved[i + 1];
+          int c = improved[j];
+          int d = improved[(j + 1) % length];
+          reversalDelta += problem.getDistance(c, improved[j - 1])
+              - problem.getDistance(improved[j - 1], c);
+          if (d == a) {
+            continue;
+          }
+
+          double delta = problem.getDistance(a, c) + problem.getDistance(b, d)
+              - problem.getDistance(a, b) - problem.getDistance(c, d)
+              + reversalDelta;
+          if (delta < -1e-9) {
+            reverse(improved, i + 1, j);
+            // traversing the reversed segment backwards restores the previous direction
+            reversalDelta = -reversalDelta;
+            changed = true;
+          }
+        }
+      }
+    }
+    return improved;
+  }
+
+  private static void reverse(int[] tour, int from, int to) {
+    while (from < to) {
+      int swap = tour[from];
+      tour[from++] = tour[to];
+      tour[to--] = swap;
+    }
+  }
+
+  private void insertCheapest(List<Integer> tour, int node) {
+    int bestIndex = tour.size();
+    double bestIncrease = Double.POSITIVE_INFINITY;
+    for (int i = 0; i < tour.size(); i++) {
+      int from = tour.get(i);
+      int to = tour.get((i + 1) % tour.size());
+      double increase = problem.getDistance(from, node) + problem.getDistance(node, to)
+          - problem.getDistance(from, to);
+      if (increase < bestIncrease) {
+        bestIncrease = increase;
+        bestIndex = i + 1;
+      }
+    }
+    tour.add(bestIndex, node);
+  }
+
+  private void checkAssignment(boolean[] assignment) {
+    if (assignment.length != qubo.getVariableCount()) {
+      throw new IllegalArgumentException("Expected %d variables, but got %d."
+          .formatted(qubo.getVariableCount(), assignment.length));
+    }
+  }
+}
@@ -1,6 +1,7 @@
 package edu.kit.provideq.toolbox.convert;
 
 import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
+import de.ovgu.featureide.fm.core.base.IFeature;
 import de.ovgu.featureide.fm.core.base.IFeatureModel;
 import de.ovgu.featureide.fm.core.base.impl.MultiFeatureModel;
 import de.ovgu.featureide.fm.core.init.FMCoreLibrary;
@@ -9,15 +10,63 @@ import de.ovgu.featureide.fm.core.io.Problem;
 import de.ovgu.featureide.fm.core.io.dimacs.DIMACSFormatCNF;
 import de.ovgu.featureide.fm.core.io.uvl.UVLFeatureModelFormat;
 import edu.kit.provideq.toolbox.exception.ConversionException;
+import edu.kit.provideq.toolbox.format.cnf.dimacs.DimacsCnf;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 public class UvlToDimacsCnf {
+  private static final int MAX_CACHED_CONVERSIONS = 32;
+
+  // least recently used conversions by SHA-256 hash of the UVL content
+  private static final Map<String, FeatureModelCnf> CONVERSIONS =
+      Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, FeatureModelCnf> eldest) {
+          return size() > MAX_CACHED_CONVERSIONS;
+        }
+      });
+
   static {
     FMCoreLibrary.getInstance().install();
   }
 
+  /**
+   * Converts a UVL feature model to CNF.
+   * Models are converted by {@link DirectUvlToDimacsCnf} where possible, which avoids building
+   * a FeatureIDE model and a DIMACS string. Other models, and models with errors, are converted
+   * with FeatureIDE. Conversions are cached by the hash of the content, so repeated analyses of
+   * the same model skip the conversion.
+   */
+  public static FeatureModelCnf toFeatureModelCnf(String content) throws ConversionException {
+    String hash = hash(content);
+    var cached = CONVERSIONS.get(hash);
+    if (cached == null) {
+      try {
+        cached = DirectUvlToDimacsCnf.convert(content);
+      } catch (ConversionException e) {
+        // unsupported constructs, or errors that FeatureIDE explains in detail
+        cached = convertWithFeatureIde(content);
+      }
+      CONVERSIONS.put(hash, cached);
+    }
+
+    // the clauses of a cnf are mutable, hand out a copy
+    return new FeatureModelCnf(new DimacsCnf(cached.cnf()), cached.optionalParents());
+  }
+
   public static String convert(String content) throws ConversionException {
+    return convert(parse(content));
+  }
+
+  private static IFeatureModel parse(String content) throws ConversionException {
     CharSequence charSequence = content.subSequence(0, content.length());
 
     // Init empty model
@@ -34,11 +83,39 @@ public class UvlToDimacsCnf {
           .collect(Collectors.joining("\n")));
     }
 
-    IFeatureModel fm = uvlFeatureModelHandler.getObject();
+    return uvlFeatureModelHandler.getObject();
+  }
 
+  private static String convert(IFeatureModel fm) {
     FeatureModelFormula featureModelFormula = new FeatureModelFormula(fm);
     var cnf = featureModelFormula.getCNF();
 
     return new DIMACSFormatCNF().write(cnf);
   }
+
+  private static FeatureModelCnf convertWithFeatureIde(String content)
+      throws ConversionException {
+    var featureModel = parse(content);
+    var cnf = DimacsCnf.fromDimacsCnfString(convert(featureModel));
+
+    var optionalParents = new HashMap<String, String>();
+    for (IFeature feature : featureModel.getFeatures()) {
+      var structure = feature.getStructure();
+      if (structure.isRoot() || structure.isMandatory() || !structure.getParent().isAnd()) {
+        continue;
+      }
+      optionalParents.put(feature.getName(), structure.getParent().getFeature().getName());
+    }
+    return new FeatureModelCnf(cnf, Collections.unmodifiableMap(optionalParents));
+  }
+
+  private static String hash(String content) {
+    try {
+      var digest = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of().formatHex(digest.digest(content.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      // every Java platform supports SHA-256
+      throw new IllegalStateException(e);
+    }
+  }
 }
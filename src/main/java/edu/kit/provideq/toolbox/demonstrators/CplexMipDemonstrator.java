@@ -100,7 +100,7 @@ public class CplexMipDemonstrator implements Demonstrator {
         .getBean(PythonProcessRunner.class, scriptPath, venv)
         .withArguments(maxNumberVariables.toString(), stepSize.toString(), repetitions.toString())
         .readOutputString()
-        .run(getProblemType(), solution.getId());
+        .run(getProblemType(), solution);
 
     return Mono.just(processResult.applyTo(solution));
   }
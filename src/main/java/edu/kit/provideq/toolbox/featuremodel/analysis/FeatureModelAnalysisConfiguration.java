@@ -0,0 +1,60 @@
+package edu.kit.provideq.toolbox.featuremodel.analysis;
+
+import edu.kit.provideq.toolbox.ResourceProvider;
+import edu.kit.provideq.toolbox.exception.MissingExampleException;
+import edu.kit.provideq.toolbox.meta.Problem;
+import edu.kit.provideq.toolbox.meta.ProblemManager;
+import edu.kit.provideq.toolbox.meta.ProblemType;
+import java.io.IOException;
+import java.util.Objects;
+import java.util.Set;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Definition and registration of the combined feature model analysis problem.
+ */
+@Configuration
+public class FeatureModelAnalysisConfiguration {
+  /**
+   * A searching problem:
+   * For a given feature model, check if the model is void and find its dead, core and
+   * false-optional features and its atomic sets.
+   *
+   * @see <a href="https://sdq.kastel.kit.edu/publications/pdfs/kowal2016b.pdf">
+   * "Explaining Anomalies in Feature Models", Kowal et al., 2016</a>
+   */
+  public static final ProblemType<String, FeatureModelAnalysisReport> FEATURE_MODEL_ANALYSIS =
+      new ProblemType<>(
+          "feature-model-analysis",
+          String.class,
+          FeatureModelAnalysisReport.class
+      );
+
+  @Bean
+  ProblemManager<String, FeatureModelAnalysisReport> getFeatureModelAnalysisManager(
+      IncrementalSatFeatureModelAnalysisSolver incrementalSatSolver,
+      ResourceProvider resourceProvider
+  ) {
+    return new ProblemManager<>(
+        FEATURE_MODEL_ANALYSIS,
+        Set.of(incrementalSatSolver),
+        loadExampleProblems(resourceProvider)
+    );
+  }
+
+  private Set<Problem<String, FeatureModelAnalysisReport>> loadExampleProblems(
+      ResourceProvider resourceProvider) {
+    try {
+      var problemInputStream = Objects.requireNonNull(
+          getClass().getResourceAsStream("sandwich.txt"),
+          "Sandwich example for Feature Model Analysis is unavailable!"
+      );
+      var problem = new Problem<>(FEATURE_MODEL_ANALYSIS);
+      problem.setInput(resourceProvider.readStream(problemInputStream));
+      return Set.of(problem);
+    } catch (IOException e) {
+      throw new MissingExampleException(FEATURE_MODEL_ANALYSIS, e);
+    }
+  }
+}
@@ -0,0 +1,31 @@
+package edu.kit.provideq.toolbox.featuremodel.analysis;
+
+import java.util.List;
+
+/**
+ * Result of the {@link FeatureModelAnalysisConfiguration#FEATURE_MODEL_ANALYSIS} problem.
+ * Features are listed by name in the order of the feature model.
+ * A void feature model has no valid configuration, so the other analyses are left empty.
+ *
+ * @param isVoid whether the feature model has no valid configuration.
+ * @param deadFeatures features that are part of no valid configuration.
+ * @param coreFeatures features that are part of every valid configuration.
+ * @param falseOptionalFeatures optional features that are part of every valid configuration
+ *     that contains their parent.
+ * @param atomicSets groups of at least two features that are part of exactly the same valid
+ *     configurations. Dead features are not part of any atomic set.
+ */
+public record FeatureModelAnalysisReport(
+    boolean isVoid,
+    List<String> deadFeatures,
+    List<String> coreFeatures,
+    List<String> falseOptionalFeatures,
+    List<List<String>> atomicSets
+) {
+  /**
+   * Returns the report of a feature model without valid configurations.
+   */
+  public static FeatureModelAnalysisReport voidModel() {
+    return new FeatureModelAnalysisReport(true, List.of(), List.of(), List.of(), List.of());
+  }
+}
@@ -0,0 +1,250 @@
+package edu.kit.provideq.toolbox.featuremodel.analysis;
+
+import edu.kit.provideq.toolbox.format.cnf.dimacs.DimacsCnf;
+import edu.kit.provideq.toolbox.format.cnf.dimacs.Variable;
+import edu.kit.provideq.toolbox.sat.cdcl.CdclEngine;
+import edu.kit.provideq.toolbox.sat.solvers.CdclSatSolver;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Analyzes a feature model in a single incremental {@link CdclEngine} session.
+ *
+ * <p>Every query is a call with assumptions on the same engine, so learned clauses carry over
+ * from one query to the next. Every model that is found along the way is recorded: a feature
+ * that is selected in a model can't be dead, a feature that is deselected in a model can't be
+ * core, and two features that differ in a model can't form an atomic set. Only the checks that
+ * the recorded models don't answer are handed to the engine. Dead and core features are added
+ * to the engine as unit clauses once they are known.
+ *
+ * <p>Variables of the formula are features, except for auxiliary variables.
+ */
+public class FeatureModelAnalyzer {
+  private final CdclEngine engine;
+  private final List<Variable> features;
+  private final Map<String, Variable> featuresByName = new HashMap<>();
+
+  // indexed by variable: the recorded models in which the variable is true
+  private final BitSet[] selectedIn;
+  private int modelCount;
+  private int queryCount;
+
+  /**
+   * Creates an analyzer for the CNF of a feature model.
+   */
+  public FeatureModelAnalyzer(DimacsCnf cnf) {
+    engine = CdclSatSolver.toEngine(cnf);
+    features = cnf.getVariables().stream()
+        .filter(variable -> !variable.isAuxiliary())
+        .sorted(Comparator.comparingInt(Variable::number))
+        .toList();
+    features.forEach(feature -> featuresByName.put(feature.name(), feature));
+
+    selectedIn = new BitSet[engine.getVariableCount() + 1];
+    for (int i = 0; i < selectedIn.length; i++) {
+      selectedIn[i] = new BitSet();
+    }
+  }
+
+  /**
+   * Runs all analyses.
+   *
+   * @param optionalParents maps the name of every optional feature to the name of its parent.
+   *     Features of alternative and or groups are not optional in this sense.
+   * @return the report, or an empty optional if the analysis was stopped.
+   */
+  public Optional<FeatureModelAnalysisReport> analyze(Map<String, String> optionalParents) {
+    var voidResult = query();
+    if (voidResult == CdclEngine.Result.UNKNOWN) {
+      return Optional.empty();
+    }
+    if (voidResult == CdclEngine.Result.UNSATISFIABLE) {
+      return Optional.of(FeatureModelAnalysisReport.voidModel());
+    }
+
+    var dead = new BitSet();
+    var core = new BitSet();
+    for (var feature : features) {
+      int variable = feature.number();
+      if (selectedIn[variable].isEmpty()) {
+        var result = query(variable);
+        if (result == CdclEngine.Result.UNKNOWN) {
+          return Optional.empty();
+        }
+        if (result == CdclEngine.Result.UNSATISFIABLE) {
+          dead.set(variable);
+          engine.addClause(-variable);
+          continue;
+        }
+      }
+      if (selectedIn[variable].cardinality() == modelCount) {
+        var result = query(-variable);
+        if (result == CdclEngine.Result.UNKNOWN) {
+          return Optional.empty();
+        }
+        if (result == CdclEngine.Result.UNSATISFIABLE) {
+          core.set(variable);
+          engine.addClause(variable);
+        }
+      }
+    }
+
+    var falseOptional = findFalseOptional(optionalParents, dead);
+    if (falseOptional.isEmpty()) {
+      return Optional.empty();
+    }
+    var atomicSets = findAtomicSets(dead, core);
+    if (atomicSets.isEmpty()) {
+      return Optional.empty();
+    }
+
+    return Optional.of(new FeatureModelAnalysisReport(
+        false,
+        names(dead),
+        names(core),
+        names(falseOptional.get()),
+        atomicSets.get()));
+  }
+
+  /**
+   * Stops the running analysis, or the next one if none is running.
+   */
+  public void stop() {
+    engine.stop();
+  }
+
+  /**
+   * Returns the number of engine calls so far.
+   */
+  public int getQueryCount() {
+    return queryCount;
+  }
+
+  /**
+   * Returns the number of models that were recorded so far.
+   */
+  public int getModelCount() {
+    return modelCount;
+  }
+
+  private Optional<BitSet> findFalseOptional(Map<String, String> optionalParents, BitSet dead) {
+    var falseOptional = new BitSet();
+    for (var feature : features) {
+      var parent = featuresByName.get(optionalParents.get(feature.name()));
+      if (parent == null || dead.get(feature.number()) || dead.get(parent.number())) {
+        continue;
+      }
+
+      // a recorded model with the parent but without the feature refutes the check
+      var parentWithoutFeature = (BitSet) selectedIn[parent.number()].clone();
+      parentWithoutFeature.andNot(selectedIn[feature.number()]);
+      if (!parentWithoutFeature.isEmpty()) {
+        continue;
+      }
+
+      var result = query(parent.number(), -feature.number());
+      if (result == CdclEngine.Result.UNKNOWN) {
+        return Optional.empty();
+      }
+      if (result == CdclEngine.Result.UNSATISFIABLE) {
+        falseOptional.set(feature.number());
+      }
+    }
+    return Optional.of(falseOptional);
+  }
+
+  /**
+   * Partitions the features that are neither dead nor core by the recorded models and refines
+   * every part with the engine, until each part is known to be an atomic set.
+   * All core features form one atomic set.
+   */
+  private Optional<List<List<String>>> findAtomicSets(BitSet dead, BitSet core) {
+    var atomicSets = new ArrayList<List<Integer>>();
+    atomicSets.add(core.stream().boxed().toList());
+
+    var pending = new ArrayDeque<List<Integer>>();
+    partition(features.stream()
+        .map(Variable::number)
+        .filter(variable -> !dead.get(variable) && !core.get(variable))
+        .toList(), pending);
+
+    while (!pending.isEmpty()) {
+      var part = pending.poll();
+      int representative = part.get(0);
+      var atomicSet = new ArrayList<>(List.of(representative));
+      var rest = new ArrayList<Integer>();
+
+      for (int variable : part.subList(1, part.size())) {
+        if (!selectedIn[variable].equals(selectedIn[representative])) {
+          // told apart by a model found since the part was formed
+          rest.add(variable);
+          continue;
+        }
+
+        var result = query(representative, -variable);
+        if (result == CdclEngine.Result.UNSATISFIABLE) {
+          result = query(-representative, variable);
+        }
+        if (result == CdclEngine.Result.UNKNOWN) {
+          return Optional.empty();
+        }
+        if (result == CdclEngine.Result.UNSATISFIABLE) {
+          atomicSet.add(variable);
+        } else {
+          rest.add(variable);
+        }
+      }
+
+      atomicSets.add(atomicSet);
+      partition(rest, pending);
+    }
+
+    return Optional.of(atomicSets.stream()
+        .filter(atomicSet -> atomicSet.size() > 1)
+        .sorted(Comparator.comparingInt(atomicSet -> atomicSet.get(0)))
+        .map(atomicSet -> names(atomicSet.stream().mapToInt(Integer::intValue)
+            .collect(BitSet::new, BitSet::set, BitSet::or)))
+        .toList());
+  }
+
+  /**
+   * Groups variables that are selected in the same recorded models.
+   */
+  private void partition(List<Integer> variables, Deque<List<Integer>> parts) {
+    var groups = new LinkedHashMap<BitSet, List<Integer>>();
+    for (int variable : variables) {
+      groups.computeIfAbsent((BitSet) selectedIn[variable].clone(), key -> new ArrayList<>())
+          .add(variable);
+    }
+    groups.values().forEach(parts::add);
+  }
+
+  private CdclEngine.Result query(int... assumptions) {
+    queryCount++;
+    var result = engine.solve(assumptions);
+    if (result == CdclEngine.Result.SATISFIABLE) {
+      for (var feature : features) {
+        if (engine.getModelValue(feature.number())) {
+          selectedIn[feature.number()].set(modelCount);
+        }
+      }
+      modelCount++;
+    }
+    return result;
+  }
+
+  private List<String> names(BitSet variables) {
+    return features.stream()
+        .filter(feature -> variables.get(feature.number()))
+        .map(Variable::name)
+        .toList();
+  }
+}
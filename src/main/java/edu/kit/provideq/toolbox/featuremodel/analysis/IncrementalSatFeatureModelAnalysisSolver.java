@@ -0,0 +1,79 @@
+package edu.kit.provideq.toolbox.featuremodel.analysis;
+
+import edu.kit.provideq.toolbox.Solution;
+import edu.kit.provideq.toolbox.convert.FeatureModelCnf;
+import edu.kit.provideq.toolbox.convert.UvlToDimacsCnf;
+import edu.kit.provideq.toolbox.exception.ConversionException;
+import edu.kit.provideq.toolbox.meta.ProblemSolver;
+import edu.kit.provideq.toolbox.meta.ProblemType;
+import edu.kit.provideq.toolbox.meta.SolvingProperties;
+import edu.kit.provideq.toolbox.meta.SubRoutineResolver;
+import java.util.Map;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * This problem solver solves the {@link FeatureModelAnalysisConfiguration#FEATURE_MODEL_ANALYSIS}
+ * problem with a {@link FeatureModelAnalyzer}. The feature model is converted to CNF once and
+ * every analysis is answered by the same incremental SAT engine.
+ */
+@Component
+public class IncrementalSatFeatureModelAnalysisSolver
+    implements ProblemSolver<String, FeatureModelAnalysisReport> {
+  @Override
+  public String getName() {
+    return "Incremental SAT Feature Model Analysis Solver";
+  }
+
+  @Override
+  public String getDescription() {
+    return "This solver converts a feature model to CNF once and determines whether it is void, "
+        + "its dead, core and false-optional features and its atomic sets in a single "
+        + "incremental SAT session, reusing the configurations it finds to skip checks.";
+  }
+
+  @Override
+  public ProblemType<String, FeatureModelAnalysisReport> getProblemType() {
+    return FeatureModelAnalysisConfiguration.FEATURE_MODEL_ANALYSIS;
+  }
+
+  @Override
+  public Mono<Solution<FeatureModelAnalysisReport>> solve(
+      String input,
+      SubRoutineResolver subRoutineResolver,
+      SolvingProperties properties
+  ) {
+    var solution = new Solution<>(this);
+
+    FeatureModelCnf featureModelCnf;
+    try {
+      featureModelCnf = UvlToDimacsCnf.toFeatureModelCnf(input);
+    } catch (ConversionException e) {
+      solution.setDebugData("Conversion error: " + e.getMessage());
+      solution.abort();
+      return Mono.just(solution);
+    }
+
+    var analyzer = new FeatureModelAnalyzer(featureModelCnf.cnf());
+    var optionalParents = featureModelCnf.optionalParents();
+    return Mono.fromSupplier(() -> analyze(analyzer, optionalParents, solution))
+        .doOnCancel(analyzer::stop);
+  }
+
+  private Solution<FeatureModelAnalysisReport> analyze(
+      FeatureModelAnalyzer analyzer,
+      Map<String, String> optionalParents,
+      Solution<FeatureModelAnalysisReport> solution) {
+    var report = analyzer.analyze(optionalParents);
+    solution.setDebugData("%d SAT calls, %d configurations found".formatted(
+        analyzer.getQueryCount(), analyzer.getModelCount()));
+
+    if (report.isPresent()) {
+      solution.setSolutionData(report.get());
+      solution.complete();
+    } else {
+      solution.fail();
+    }
+    return solution;
+  }
+}
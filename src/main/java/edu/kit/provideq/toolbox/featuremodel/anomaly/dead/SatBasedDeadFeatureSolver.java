@@ -56,9 +56,9 @@ public class SatBasedDeadFeatureSolver implements ProblemSolver<String, String>
       SolvingProperties properties
   ) {
     // Convert uvl to cnf
-    String cnf;
+    DimacsCnf cnf;
     try {
-      cnf = UvlToDimacsCnf.convert(input);
+      cnf = UvlToDimacsCnf.toFeatureModelCnf(input).cnf();
     } catch (ConversionException e) {
       var solution = new Solution<>(this);
       solution.setDebugData("Conversion error: " + e.getMessage());
@@ -75,21 +75,12 @@ public class SatBasedDeadFeatureSolver implements ProblemSolver<String, String>
   }
 
   private Mono<Solution<String>> checkDeadFeatures(
-      String cnf,
+      DimacsCnf dimacsCnf,
       SubRoutineResolver subRoutineResolver
   ) {
     // Check if there are any Dead Features
-    DimacsCnf dimacsCnf;
-    try {
-      dimacsCnf = DimacsCnf.fromDimacsCnfString(cnf);
-    } catch (ConversionException e) {
-      var solution = new Solution<>(this);
-      solution.setDebugData("Conversion error: " + e.getMessage());
-      solution.abort();
-      return Mono.just(solution);
-    }
-
     return Flux.fromIterable(dimacsCnf.getVariables())
+        .filter(variable -> !variable.isAuxiliary())
         .flatMap(feature -> checkFeatureDead(dimacsCnf, feature, subRoutineResolver)
           .map(isVoid -> Tuples.of(feature, isVoid)))
         .collectMap(Tuple2::getT1, Tuple2::getT2)
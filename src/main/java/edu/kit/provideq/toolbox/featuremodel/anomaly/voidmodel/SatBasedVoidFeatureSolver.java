@@ -52,7 +52,7 @@ public class SatBasedVoidFeatureSolver implements ProblemSolver<String, String>
     // Convert uvl to cnf
     String cnf;
     try {
-      cnf = UvlToDimacsCnf.convert(input);
+      cnf = UvlToDimacsCnf.toFeatureModelCnf(input).cnf().toString();
     } catch (ConversionException e) {
       var solution = new Solution<>(this);
       solution.setDebugData("Conversion error: " + e.getMessage());
@@ -19,6 +19,11 @@ public class DimacsCnf {
   static final char CLAUSE_END = '0';
   static final String CNF_IDENTIFIER = "cnf";
 
+  /**
+   * Logical expressions whose distributed CNF would have more clauses are Tseitin-encoded.
+   */
+  private static final long MAX_DISTRIBUTED_CLAUSES = 64;
+
   private final List<Variable> variables;
   private final ArrayList<ArrayList<Variable>> orClauses;
 
@@ -78,24 +83,61 @@ public class DimacsCnf {
 
   /**
    * Create a dimacs cnf structure from a logical expression.
+   * Small expressions are converted by distributing OR over AND, larger ones are encoded with
+   * auxiliary variables to avoid exponential growth (see {@link Variable#isAuxiliary()}).
    *
    * @param expression logical expression
    * @return dimacs cnf structure
    */
   public static DimacsCnf fromLogicalExpressionString(String expression)
       throws ConversionException {
+    LogicalExpression parsedExpression = LogicalExpressionParser.parse(expression);
+    if (countDistributedClauses(parsedExpression, true) > MAX_DISTRIBUTED_CLAUSES) {
+      return LogicalExpressionToDimacsCnf.convert(parsedExpression);
+    }
+
     // Streamline bool expr format
     expression = expression
         .replaceAll("\\b(?:not|NOT)\\b", "!")
         .replaceAll("\\b(?:and|AND)\\b", "&")
         .replaceAll("\\b(?:or|OR)\\b", "|");
 
-    Expression<String> parsedExpression = ExprParser.parse(expression);
-    Expression<String> cnfExpression = RuleSet.toCNF(parsedExpression);
+    Expression<String> jboolExpression = ExprParser.parse(expression);
+    Expression<String> cnfExpression = RuleSet.toCNF(jboolExpression);
 
     return new DimacsCnf(cnfExpression);
   }
 
+  /**
+   * Returns the number of clauses that distributing OR over AND would produce for the
+   * expression or its negation, saturated at {@link #MAX_DISTRIBUTED_CLAUSES} + 1.
+   */
+  private static long countDistributedClauses(LogicalExpression expression, boolean positive) {
+    if (expression instanceof LogicalExpression.Literal) {
+      return 1;
+    }
+    if (expression instanceof LogicalExpression.Not not) {
+      return countDistributedClauses(not.operand(), !positive);
+    }
+
+    // a positive AND and a negative OR concatenate the clauses of their operands,
+    // the other cases combine every clause of one operand with every clause of the others
+    boolean concatenates = expression instanceof LogicalExpression.And == positive;
+    List<LogicalExpression> operands = expression instanceof LogicalExpression.And and
+        ? and.operands()
+        : ((LogicalExpression.Or) expression).operands();
+
+    long count = concatenates ? 0 : 1;
+    for (var operand : operands) {
+      long operandCount = countDistributedClauses(operand, positive);
+      count = concatenates ? count + operandCount : count * operandCount;
+      if (count > MAX_DISTRIBUTED_CLAUSES) {
+        return MAX_DISTRIBUTED_CLAUSES + 1;
+      }
+    }
+    return count;
+  }
+
   /**
    * Returns a list of variables.
    * The negation state of the variables doesn't have any meaning.
@@ -43,6 +43,7 @@ public class DimacsCnfSolution {
 
   /**
    * Return an unmodifiable mapping from a variable to its boolean state.
+   * Includes {@link Variable#isAuxiliary() auxiliary variables} of the cnf.
    *
    * @return unmodifiable map from a variable to the boolean state of the variable
    */
@@ -50,6 +51,17 @@ public class DimacsCnfSolution {
     return variableMap;
   }
 
+  /**
+   * Return the mapping without auxiliary variables, i.e. the solution of the original problem.
+   *
+   * @return unmodifiable map from a non-auxiliary variable to its boolean state
+   */
+  public Map<Variable, Boolean> getProjectedVariableMapping() {
+    return variableMap.entrySet().stream()
+        .filter(entry -> !entry.getKey().isAuxiliary())
+        .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, Map.Entry::getValue));
+  }
+
   public boolean isVoid() {
     return variableMap.isEmpty();
   }
@@ -57,9 +69,10 @@ public class DimacsCnfSolution {
   @Override
   public String toString() {
     var builder = new StringBuilder();
+    var projectedVariableMap = getProjectedVariableMapping();
 
     // Add variable names as comment
-    addVariableComments(builder, variableMap.keySet());
+    addVariableComments(builder, projectedVariableMap.keySet());
 
     // Add preamble
     builder.append(SOLUTION_START)
@@ -68,13 +81,13 @@ public class DimacsCnfSolution {
         .append(SEPARATOR)
         .append("1")
         .append(SEPARATOR)
-        .append(variableMap.size())
+        .append(projectedVariableMap.size())
         .append(SEPARATOR)
         .append(dimacsCnf.getOrClauses().size())
         .append(LINE_SEPARATOR);
 
     // Add variable declarations
-    for (Map.Entry<Variable, Boolean> variableBooleanEntry : variableMap.entrySet()) {
+    for (Map.Entry<Variable, Boolean> variableBooleanEntry : projectedVariableMap.entrySet()) {
 
       var number = variableBooleanEntry.getKey().number();
       var variable = Boolean.TRUE.equals(variableBooleanEntry.getValue())
@@ -93,7 +106,7 @@ public class DimacsCnfSolution {
   public String toHumanReadableString() {
     var builder = new StringBuilder();
 
-    for (Map.Entry<Variable, Boolean> variableBooleanEntry : variableMap.entrySet()) {
+    for (var variableBooleanEntry : getProjectedVariableMapping().entrySet()) {
       builder.append(variableBooleanEntry.getKey().name())
           .append(": ")
           .append(variableBooleanEntry.getValue())
@@ -0,0 +1,20 @@
+package edu.kit.provideq.toolbox.format.cnf.dimacs;
+
+import java.util.List;
+
+/**
+ * Syntax tree of a logical expression, as read by {@link LogicalExpressionParser}.
+ */
+public sealed interface LogicalExpression {
+  record Literal(String name) implements LogicalExpression {
+  }
+
+  record Not(LogicalExpression operand) implements LogicalExpression {
+  }
+
+  record And(List<LogicalExpression> operands) implements LogicalExpression {
+  }
+
+  record Or(List<LogicalExpression> operands) implements LogicalExpression {
+  }
+}
@@ -0,0 +1,115 @@
+package edu.kit.provideq.toolbox.format.cnf.dimacs;
+
+import edu.kit.provideq.toolbox.exception.ConversionException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Recursive descent parser for logical expressions like {@code (!A | B) & C}.
+ * Operators can also be written as words ({@code not}, {@code and}, {@code or}, or in upper
+ * case), {@code !} binds stronger than {@code &}, which binds stronger than {@code |}.
+ */
+class LogicalExpressionParser {
+  private final String input;
+  private int position;
+
+  private LogicalExpressionParser(String input) {
+    this.input = input;
+  }
+
+  public static LogicalExpression parse(String expression) throws ConversionException {
+    var parser = new LogicalExpressionParser(expression);
+    var result = parser.parseOr();
+    parser.skipWhitespace();
+    if (parser.position < expression.length()) {
+      throw parser.error("Unexpected '" + expression.charAt(parser.position) + "'");
+    }
+    return result;
+  }
+
+  private LogicalExpression parseOr() throws ConversionException {
+    var operands = new ArrayList<LogicalExpression>();
+    operands.add(parseAnd());
+    while (accept("|", "or", "OR")) {
+      operands.add(parseAnd());
+    }
+    return operands.size() == 1
+        ? operands.get(0)
+        : new LogicalExpression.Or(List.copyOf(operands));
+  }
+
+  private LogicalExpression parseAnd() throws ConversionException {
+    var operands = new ArrayList<LogicalExpression>();
+    operands.add(parseUnary());
+    while (accept("&", "and", "AND")) {
+      operands.add(parseUnary());
+    }
+    return operands.size() == 1
+        ? operands.get(0)
+        : new LogicalExpression.And(List.copyOf(operands));
+  }
+
+  private LogicalExpression parseUnary() throws ConversionException {
+    if (accept("!", "not", "NOT")) {
+      return new LogicalExpression.Not(parseUnary());
+    }
+
+    if (accept("(")) {
+      var expression = parseOr();
+      if (!accept(")")) {
+        throw error("Expected ')'");
+      }
+      return expression;
+    }
+
+    skipWhitespace();
+    int start = position;
+    while (position < input.length() && isIdentifierCharacter(input.charAt(position))) {
+      position++;
+    }
+    if (start == position) {
+      throw error(position < input.length()
+          ? "Unexpected '" + input.charAt(position) + "'"
+          : "Unexpected end of expression");
+    }
+    return new LogicalExpression.Literal(input.substring(start, position));
+  }
+
+  /**
+   * Consumes one of the given tokens if it comes next.
+   * Word tokens only match as whole words, so {@code order} is not read as {@code or}.
+   */
+  private boolean accept(String... tokens) {
+    skipWhitespace();
+    for (String token : tokens) {
+      if (!input.startsWith(token, position)) {
+        continue;
+      }
+
+      int end = position + token.length();
+      boolean isWord = isIdentifierCharacter(token.charAt(0));
+      if (isWord && end < input.length() && isIdentifierCharacter(input.charAt(end))) {
+        continue;
+      }
+
+      position = end;
+      return true;
+    }
+    return false;
+  }
+
+  private void skipWhitespace() {
+    while (position < input.length() && Character.isWhitespace(input.charAt(position))) {
+      position++;
+    }
+  }
+
+  private static boolean isIdentifierCharacter(char character) {
+    return Character.isLetterOrDigit(character) || character == '_' || character == '.';
+  }
+
+  private ConversionException error(String message) {
+    return new ConversionException("%s at position %d of the logical expression."
+        .formatted(message, position));
+  }
+}
@@ -0,0 +1,152 @@
+package edu.kit.provideq.toolbox.format.cnf.dimacs;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converts a {@link LogicalExpression} to CNF with the Tseitin transformation.
+ * Top level conjunctions and disjunctions become clauses directly, every other nested subformula
+ * is replaced by an auxiliary variable that is defined to be equivalent to it.
+ * The output grows linearly with the expression, unlike distributing OR over AND.
+ *
+ * <p>The definitions are encoded in both directions, so every model of the expression extends
+ * to exactly one model of the CNF and model counts are preserved.
+ * Auxiliary variables are numbered after the named ones and carry names starting with
+ * {@link Variable#AUXILIARY_NAME_PREFIX}.
+ */
+public class LogicalExpressionToDimacsCnf {
+  private final Map<String, Variable> namedVariables = new LinkedHashMap<>();
+  private final List<Variable> auxiliaryVariables = new ArrayList<>();
+  private final ArrayList<ArrayList<Variable>> clauses;
+
+  private LogicalExpressionToDimacsCnf(ArrayList<ArrayList<Variable>> clauses) {
+    this.clauses = clauses;
+  }
+
+  public static DimacsCnf convert(LogicalExpression expression) {
+    var converter = new LogicalExpressionToDimacsCnf(new ArrayList<>());
+    converter.collectNamedVariables(expression);
+    converter.assertTrue(expression);
+
+    var variables = new ArrayList<>(converter.namedVariables.values());
+    variables.addAll(converter.auxiliaryVariables);
+    return new DimacsCnf(converter.clauses, variables);
+  }
+
+  /**
+   * Adds the clauses of an expression to the clauses of a formula.
+   *
+   * @param variables variables of the formula, numbered from 1 without gaps.
+   *     Literals of the expression refer to them by name.
+   *     The auxiliary variables of the expression are appended.
+   * @param clauses clauses of the formula, the clauses of the expression are appended.
+   * @throws IllegalArgumentException if a literal of the expression names no variable.
+   */
+  public static void appendTo(
+      LogicalExpression expression,
+      List<Variable> variables,
+      ArrayList<ArrayList<Variable>> clauses) {
+    var converter = new LogicalExpressionToDimacsCnf(clauses);
+    variables.forEach(variable -> converter.namedVariables.put(variable.name(), variable));
+    converter.assertTrue(expression);
+    variables.addAll(converter.auxiliaryVariables);
+  }
+
+  private void collectNamedVariables(LogicalExpression expression) {
+    if (expression instanceof LogicalExpression.Literal literal) {
+      namedVariables.computeIfAbsent(literal.name(),
+          name -> new Variable(namedVariables.size() + 1, name, false));
+    } else if (expression instanceof LogicalExpression.Not not) {
+      collectNamedVariables(not.operand());
+    } else {
+      operands(expression).forEach(this::collectNamedVariables);
+    }
+  }
+
+  /**
+   * Adds clauses that force the expression to be true.
+   */
+  private void assertTrue(LogicalExpression expression) {
+    if (expression instanceof LogicalExpression.And and) {
+      and.operands().forEach(this::assertTrue);
+    } else if (expression instanceof LogicalExpression.Or or) {
+      addClause(or.operands().stream().map(this::toLiteral).toList());
+    } else if (expression instanceof LogicalExpression.Not not) {
+      assertFalse(not.operand());
+    } else {
+      addClause(List.of(toLiteral(expression)));
+    }
+  }
+
+  /**
+   * Adds clauses that force the expression to be false.
+   */
+  private void assertFalse(LogicalExpression expression) {
+    if (expression instanceof LogicalExpression.Or or) {
+      or.operands().forEach(this::assertFalse);
+    } else if (expression instanceof LogicalExpression.And and) {
+      addClause(and.operands().stream().map(operand -> negate(toLiteral(operand))).toList());
+    } else if (expression instanceof LogicalExpression.Not not) {
+      assertTrue(not.operand());
+    } else {
+      addClause(List.of(negate(toLiteral(expression))));
+    }
+  }
+
+  /**
+   * Returns a literal that is equivalent to the expression,
+   * defining a new auxiliary variable if the expression is not a literal itself.
+   */
+  private Variable toLiteral(LogicalExpression expression) {
+    if (expression instanceof LogicalExpression.Literal literal) {
+      var variable = namedVariables.get(literal.name());
+      if (variable == null) {
+        throw new IllegalArgumentException("Unknown variable " + literal.name());
+      }
+      return variable;
+    }
+    if (expression instanceof LogicalExpression.Not not) {
+      return negate(toLiteral(not.operand()));
+    }
+
+    boolean isAnd = expression instanceof LogicalExpression.And;
+    List<Variable> operands = operands(expression).stream().map(this::toLiteral).toList();
+
+    int number = namedVariables.size() + auxiliaryVariables.size() + 1;
+    var auxiliary = new Variable(number, Variable.AUXILIARY_NAME_PREFIX + number, false);
+    auxiliaryVariables.add(auxiliary);
+
+    // AND: (!x | a) & (!x | b) & (x | !a | !b)
+    // OR:  (x | !a) & (x | !b) & (!x | a | b)
+    var auxiliaryLiteral = isAnd ? negate(auxiliary) : auxiliary;
+    var longClause = new ArrayList<Variable>();
+    longClause.add(negate(auxiliaryLiteral));
+    for (var operand : operands) {
+      addClause(List.of(auxiliaryLiteral, isAnd ? operand : negate(operand)));
+      longClause.add(isAnd ? negate(operand) : operand);
+    }
+    addClause(longClause);
+
+    return auxiliary;
+  }
+
+  private void addClause(List<Variable> literals) {
+    clauses.add(new ArrayList<>(literals));
+  }
+
+  private static List<LogicalExpression> operands(LogicalExpression expression) {
+    if (expression instanceof LogicalExpression.And and) {
+      return and.operands();
+    }
+    if (expression instanceof LogicalExpression.Or or) {
+      return or.operands();
+    }
+    throw new IllegalArgumentException("Expected a conjunction or disjunction.");
+  }
+
+  private static Variable negate(Variable variable) {
+    return new Variable(variable.number(), variable.name(), !variable.isNegated());
+  }
+}
@@ -10,6 +10,12 @@ import java.util.Objects;
  * @param isNegated true if the variable is negated
  */
 public record Variable(int number, String name, boolean isNegated) {
+  /**
+   * Name prefix of variables that are introduced while encoding a formula to CNF.
+   * The prefix can't occur in variable names of logical expressions.
+   */
+  public static final String AUXILIARY_NAME_PREFIX = "#tseitin";
+
   /**
    * Copy constructor.
    *
@@ -19,6 +25,14 @@ public record Variable(int number, String name, boolean isNegated) {
     this(other.number, other.name, other.isNegated);
   }
 
+  /**
+   * Returns true if this variable was introduced while encoding a formula to CNF
+   * and doesn't belong to the original problem.
+   */
+  public boolean isAuxiliary() {
+    return name != null && name.startsWith(AUXILIARY_NAME_PREFIX);
+  }
+
   @Override
   public String toString() {
     if (isNegated) {
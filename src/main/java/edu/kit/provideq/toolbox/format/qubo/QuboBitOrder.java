@@ -0,0 +1,16 @@
+package edu.kit.provideq.toolbox.format.qubo;
+
+/**
+ * The order in which a QUBO solver writes the variables of a sample as a bitstring.
+ */
+public enum QuboBitOrder {
+  /**
+   * The first bit belongs to {@code x1}.
+   */
+  FIRST_VARIABLE_FIRST,
+
+  /**
+   * The last bit belongs to {@code x1}, like in the measurement counts of qiskit.
+   */
+  LAST_VARIABLE_FIRST
+}
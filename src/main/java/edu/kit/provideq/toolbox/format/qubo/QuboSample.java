@@ -0,0 +1,10 @@
+package edu.kit.provideq.toolbox.format.qubo;
+
+/**
+ * A single assignment of QUBO variables returned by a QUBO solver.
+ *
+ * @param assignment value of every variable, index 0 is {@code x1}
+ * @param occurrences how often the solver measured this assignment, 1 if unknown
+ */
+public record QuboSample(boolean[] assignment, int occurrences) {
+}
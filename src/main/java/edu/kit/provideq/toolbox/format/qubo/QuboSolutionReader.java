@@ -0,0 +1,85 @@
+package edu.kit.provideq.toolbox.format.qubo;
+
+import edu.kit.provideq.toolbox.exception.ConversionException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Reads the different solution formats of the QUBO solvers into samples.
+ * Supported are
+ * <ul>
+ *   <li>one bit per line or separated by whitespace (D-Wave, Qrisp, Quantagonia),</li>
+ *   <li>one {@code bitstring: count} entry per line (Kipu),</li>
+ *   <li>{@code x1=1.0, x2=0.0, ...} variable assignments (Qiskit).</li>
+ * </ul>
+ */
+public final class QuboSolutionReader {
+  static final Pattern COUNT_PATTERN = Pattern.compile("^([01]+)\\s*:\\s*(\\d+)$");
+  static final Pattern ASSIGNMENT_PATTERN = Pattern.compile("\\bx(\\d+)\\s*=\\s*([01])(\\.0+)?");
+
+  private QuboSolutionReader() {
+  }
+
+  /**
+   * Reads all samples of a QUBO solution.
+   *
+   * @param solution solution data of a QUBO solver
+   * @param variableCount number of variables of the QUBO
+   * @param bitOrder order in which the QUBO solver writes the variables of a bitstring
+   * @return samples in the order they appear in the solution
+   * @throws ConversionException if the solution does not contain a sample of the right size
+   */
+  public static List<QuboSample> read(String solution, int variableCount, QuboBitOrder bitOrder)
+      throws ConversionException {
+    String[] lines = solution.strip().split("\\R");
+
+    var samples = new ArrayList<QuboSample>();
+    if (COUNT_PATTERN.matcher(lines[0].strip()).matches()) {
+      for (String line : lines) {
+        var matcher = COUNT_PATTERN.matcher(line.strip());
+        if (!matcher.matches() || matcher.group(1).length() != variableCount) {
+          continue;
+        }
+
+        String bits = matcher.group(1);
+        int occurrences = Integer.parseInt(matcher.group(2));
+        samples.add(new QuboSample(toAssignment(bits, bitOrder), occurrences));
+      }
+    } else if (ASSIGNMENT_PATTERN.matcher(solution).find()) {
+      var assignment = new boolean[variableCount];
+      var matcher = ASSIGNMENT_PATTERN.matcher(solution);
+      int found = 0;
+      while (matcher.find()) {
+        int index = Integer.parseInt(matcher.group(1)) - 1;
+        if (index >= 0 && index < variableCount) {
+          assignment[index] = matcher.group(2).equals("1");
+          found++;
+        }
+      }
+      if (found == variableCount) {
+        samples.add(new QuboSample(assignment, 1));
+      }
+    } else {
+      String bits = String.join("", solution.strip().split("\\s+"));
+      if (bits.length() == variableCount && bits.chars().allMatch(c -> c == '0' || c == '1')) {
+        samples.add(new QuboSample(toAssignment(bits, bitOrder), 1));
+      }
+    }
+
+    if (samples.isEmpty()) {
+      throw new ConversionException(
+          "QUBO solution does not contain a sample with %d variables.".formatted(variableCount));
+    }
+    return samples;
+  }
+
+  private static boolean[] toAssignment(String bits, QuboBitOrder bitOrder) {
+    var assignment = new boolean[bits.length()];
+    for (int i = 0; i < bits.length(); i++) {
+      int variable = bitOrder == QuboBitOrder.FIRST_VARIABLE_FIRST ? i : bits.length() - 1 - i;
+      assignment[variable] = bits.charAt(i) == '1';
+    }
+    return assignment;
+  }
+}
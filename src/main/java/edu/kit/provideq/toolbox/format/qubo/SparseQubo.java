@@ -0,0 +1,174 @@
+package edu.kit.provideq.toolbox.format.qubo;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Sparse representation of a quadratic unconstrained binary optimization problem.
+ * Minimizes {@code offset + sum_i q_ii x_i + sum_{i<j} q_ij x_i x_j} over binary variables.
+ * Linear terms are stored on the diagonal, since {@code x_i * x_i = x_i} for binary variables.
+ */
+public class SparseQubo {
+  static final String LINE_SEPARATOR = System.lineSeparator();
+  static final String VARIABLE_PREFIX = "x";
+
+  private final int variableCount;
+  private final TreeMap<Long, Double> coefficients = new TreeMap<>();
+  private double offset;
+
+  /**
+   * Creates an empty QUBO.
+   *
+   * @param variableCount number of binary variables
+   */
+  public SparseQubo(int variableCount) {
+    if (variableCount < 1) {
+      throw new IllegalArgumentException("A QUBO needs at least one variable.");
+    }
+    this.variableCount = variableCount;
+  }
+
+  public int getVariableCount() {
+    return variableCount;
+  }
+
+  public double getOffset() {
+    return offset;
+  }
+
+  /**
+   * Returns the LP name of a variable, starting with {@code x1} for index 0.
+   */
+  public static String getVariableName(int index) {
+    return VARIABLE_PREFIX + (index + 1);
+  }
+
+  /**
+   * Adds a constant to the objective.
+   */
+  public void addOffset(double value) {
+    offset += value;
+  }
+
+  /**
+   * Adds a linear term {@code value * x_i}.
+   */
+  public void addLinear(int i, double value) {
+    addQuadratic(i, i, value);
+  }
+
+  /**
+   * Adds a quadratic term {@code value * x_i * x_j}.
+   * Terms with {@code i == j} are linear terms.
+   */
+  public void addQuadratic(int i, int j, double value) {
+    if (i < 0 || j < 0 || i >= variableCount || j >= variableCount) {
+      throw new IndexOutOfBoundsException(
+          "Variable index out of bounds: (%d, %d)".formatted(i, j));
+    }
+    if (value == 0) {
+      return;
+    }
+    coefficients.merge(key(Math.min(i, j), Math.max(i, j)), value, Double::sum);
+  }
+
+  /**
+   * Returns the coefficient of {@code x_i * x_j}, or of {@code x_i} if {@code i == j}.
+   */
+  public double getCoefficient(int i, int j) {
+    return coefficients.getOrDefault(key(Math.min(i, j), Math.max(i, j)), 0.0);
+  }
+
+  /**
+   * Returns the number of non-zero coefficients.
+   */
+  public int getTermCount() {
+    return coefficients.size();
+  }
+
+  /**
+   * Evaluates the objective for an assignment of the variables.
+   *
+   * @param assignment value of every variable
+   * @return objective value including the offset
+   */
+  public double evaluate(boolean[] assignment) {
+    if (assignment.length != variableCount) {
+      throw new IllegalArgumentException("Expected %d variables, but got %d."
+          .formatted(variableCount, assignment.length));
+    }
+
+    double value = offset;
+    for (Map.Entry<Long, Double> entry : coefficients.entrySet()) {
+      int i = row(entry.getKey());
+      int j = column(entry.getKey());
+      if (assignment[i] && assignment[j]) {
+        value += entry.getValue();
+      }
+    }
+    return value;
+  }
+
+  /**
+   * Converts the QUBO to an LP file, as accepted by the QUBO solvers.
+   * The constant offset is not part of the LP file.
+   */
+  @Override
+  public String toString() {
+    var builder = new StringBuilder()
+        .append("Minimize").append(LINE_SEPARATOR)
+        .append("  obj: 0 + [");
+
+    // the quadratic part of an LP objective is divided by 2, so all coefficients are doubled
+    boolean first = true;
+    for (Map.Entry<Long, Double> entry : coefficients.entrySet()) {
+      double value = 2 * entry.getValue();
+      if (first) {
+        builder.append(" ").append(formatNumber(value));
+        first = false;
+      } else {
+        builder.append(value < 0 ? " - " : " + ").append(formatNumber(Math.abs(value)));
+      }
+      builder.append(" ").append(getVariableName(row(entry.getKey())))
+          .append(" * ").append(getVariableName(column(entry.getKey())));
+    }
+    if (first) {
+      // LP files do not allow empty brackets
+      builder.append(" 0 ").append(getVariableName(0)).append(" * ").append(getVariableName(0));
+    }
+
+    builder.append(" ] / 2").append(LINE_SEPARATOR)
+        .append(LINE_SEPARATOR)
+        .append("Subject To").append(LINE_SEPARATOR)
+        .append(LINE_SEPARATOR)
+        .append("Binary").append(LINE_SEPARATOR);
+    for (int i = 0; i < variableCount; i++) {
+      if (i > 0) {
+        builder.append(" ");
+      }
+      builder.append(getVariableName(i));
+    }
+    return builder.append(LINE_SEPARATOR)
+        .append(LINE_SEPARATOR)
+        .append("End").append(LINE_SEPARATOR)
+        .toString();
+  }
+
+  private static String formatNumber(double value) {
+    // avoid scientific notation, which is not supported by all LP parsers
+    return BigDecimal.valueOf(value).stripTrailingZeros().toPlainString();
+  }
+
+  private long key(int i, int j) {
+    return (long) i * variableCount + j;
+  }
+
+  private int row(long key) {
+    return (int) (key / variableCount);
+  }
+
+  private int column(long key) {
+    return (int) (key % variableCount);
+  }
+}
@@ -0,0 +1,264 @@
+package edu.kit.provideq.toolbox.format.tsplib;
+
+import edu.kit.provideq.toolbox.exception.ConversionException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Object representation of a symmetric TSPLIB problem (TSP or VRP).
+ * Only the parts needed to compute the distances between nodes are kept.
+ */
+public class TsplibProblem {
+  static final String LINE_SEPARATOR = System.lineSeparator();
+  static final String KEY_VALUE_SEPARATOR = ":";
+  static final String NAME_KEYWORD = "NAME";
+  static final String DIMENSION_KEYWORD = "DIMENSION";
+  static final String EDGE_WEIGHT_TYPE_KEYWORD = "EDGE_WEIGHT_TYPE";
+  static final String EDGE_WEIGHT_FORMAT_KEYWORD = "EDGE_WEIGHT_FORMAT";
+  static final String NODE_COORD_SECTION = "NODE_COORD_SECTION";
+  static final String EDGE_WEIGHT_SECTION = "EDGE_WEIGHT_SECTION";
+  static final String END_OF_FILE = "EOF";
+  static final String TOUR_END = "-1";
+
+  private final String name;
+  private final int[] nodeIds;
+  private final double[][] distances;
+
+  private TsplibProblem(String name, int[] nodeIds, double[][] distances) {
+    this.name = name;
+    this.nodeIds = nodeIds;
+    this.distances = distances;
+  }
+
+  /**
+   * Creates a TSPLIB problem from a string.
+   * Supported edge weight types are EUC_2D, CEIL_2D, ATT and EXPLICIT
+   * (FULL_MATRIX, UPPER_ROW, LOWER_ROW, UPPER_DIAG_ROW and LOWER_DIAG_ROW).
+   *
+   * @param tsplibString problem in TSPLIB format
+   * @return TSPLIB problem
+   * @throws ConversionException if the string could not be parsed
+   */
+  public static TsplibProblem fromString(String tsplibString) throws ConversionException {
+    try {
+      return parse(tsplibString);
+    } catch (ConversionException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new ConversionException("Could not parse TSPLIB string:\n", e);
+    }
+  }
+
+  private static TsplibProblem parse(String tsplibString) throws ConversionException {
+    String name = "";
+    int dimension = -1;
+    String edgeWeightType = null;
+    String edgeWeightFormat = null;
+    List<String> coordinateLines = new ArrayList<>();
+    List<Double> explicitWeights = new ArrayList<>();
+
+    String section = null;
+    for (String rawLine : tsplibString.split("\\R")) {
+      String line = rawLine.strip();
+      if (line.isEmpty()) {
+        continue;
+      }
+
+      if (line.equals(END_OF_FILE)) {
+        break;
+      }
+
+      if (line.contains(KEY_VALUE_SEPARATOR)) {
+        String key = line.substring(0, line.indexOf(KEY_VALUE_SEPARATOR)).strip()
+            .toUpperCase(Locale.ROOT);
+        // some files write section headers with a trailing separator
+        section = key.endsWith("_SECTION") ? key : null;
+        String value = line.substring(line.indexOf(KEY_VALUE_SEPARATOR) + 1).strip();
+        switch (key) {
+          case NAME_KEYWORD -> name = value;
+          case DIMENSION_KEYWORD -> dimension = Integer.parseInt(value);
+          case EDGE_WEIGHT_TYPE_KEYWORD -> edgeWeightType = value.toUpperCase(Locale.ROOT);
+          case EDGE_WEIGHT_FORMAT_KEYWORD -> edgeWeightFormat = value.toUpperCase(Locale.ROOT);
+          default -> {
+            // other specification entries are not relevant for distances
+          }
+        }
+        continue;
+      }
+
+      if (Character.isLetter(line.charAt(0))) {
+        // new section, only the ones relevant for distances are stored
+        section = line.toUpperCase(Locale.ROOT);
+        continue;
+      }
+
+      if (NODE_COORD_SECTION.equals(section)) {
+        coordinateLines.add(line);
+      } else if (EDGE_WEIGHT_SECTION.equals(section)) {
+        for (String token : line.split("\\s+")) {
+          explicitWeights.add(Double.parseDouble(token));
+        }
+      }
+    }
+
+    if (dimension < 1) {
+      throw new ConversionException("TSPLIB problem does not specify a valid DIMENSION.");
+    }
+    if (edgeWeightType == null) {
+      throw new ConversionException("TSPLIB problem does not specify an EDGE_WEIGHT_TYPE.");
+    }
+
+    int[] nodeIds = new int[dimension];
+    double[][] distances;
+    if (edgeWeightType.equals("EXPLICIT")) {
+      for (int i = 0; i < dimension; i++) {
+        nodeIds[i] = i + 1;
+      }
+      distances = explicitDistances(dimension, edgeWeightFormat, explicitWeights);
+    } else {
+      if (coordinateLines.size() != dimension) {
+        throw new ConversionException("Expected %d node coordinates, but found %d."
+            .formatted(dimension, coordinateLines.size()));
+      }
+
+      double[] x = new double[dimension];
+      double[] y = new double[dimension];
+      for (int i = 0; i < dimension; i++) {
+        String[] tokens = coordinateLines.get(i).split("\\s+");
+        nodeIds[i] = Integer.parseInt(tokens[0]);
+        x[i] = Double.parseDouble(tokens[1]);
+        y[i] = Double.parseDouble(tokens[2]);
+      }
+
+      distances = new double[dimension][dimension];
+      for (int i = 0; i < dimension; i++) {
+        for (int j = i + 1; j < dimension; j++) {
+          double distance = coordinateDistance(edgeWeightType, x[i] - x[j], y[i] - y[j]);
+          distances[i][j] = distance;
+          distances[j][i] = distance;
+        }
+      }
+    }
+
+    return new TsplibProblem(name, nodeIds, distances);
+  }
+
+  private static double coordinateDistance(String edgeWeightType, double dx, double dy)
+      throws ConversionException {
+    return switch (edgeWeightType) {
+      case "EUC_2D" -> Math.rint(Math.sqrt(dx * dx + dy * dy));
+      case "CEIL_2D" -> Math.ceil(Math.sqrt(dx * dx + dy * dy));
+      case "ATT" -> {
+        double rij = Math.sqrt((dx * dx + dy * dy) / 10.0);
+        double tij = Math.rint(rij);
+        yield tij < rij ? tij + 1 : tij;
+      }
+      default -> throw new ConversionException(
+          "Unsupported EDGE_WEIGHT_TYPE: " + edgeWeightType);
+    };
+  }
+
+  private static double[][] explicitDistances(
+      int dimension,
+      String edgeWeightFormat,
+      List<Double> weights) throws ConversionException {
+    var distances = new double[dimension][dimension];
+    if (edgeWeightFormat == null) {
+      throw new ConversionException("EXPLICIT edge weights require an EDGE_WEIGHT_FORMAT.");
+    }
+
+    int index = 0;
+    try {
+      switch (edgeWeightFormat) {
+        case "FULL_MATRIX" -> {
+          for (int i = 0; i < dimension; i++) {
+            for (int j = 0; j < dimension; j++) {
+              distances[i][j] = weights.get(index++);
+            }
+          }
+        }
+        case "UPPER_ROW", "UPPER_DIAG_ROW" -> {
+          int offset = edgeWeightFormat.equals("UPPER_ROW") ? 1 : 0;
+          for (int i = 0; i < dimension; i++) {
+            for (int j = i + offset; j < dimension; j++) {
+              distances[i][j] = weights.get(index++);
+              distances[j][i] = distances[i][j];
+            }
+          }
+        }
+        case "LOWER_ROW", "LOWER_DIAG_ROW" -> {
+          int offset = edgeWeightFormat.equals("LOWER_ROW") ? 0 : 1;
+          for (int i = 0; i < dimension; i++) {
+            for (int j = 0; j < i + offset; j++) {
+              distances[i][j] = weights.get(index++);
+              distances[j][i] = distances[i][j];
+            }
+          }
+        }
+        default -> throw new ConversionException(
+            "Unsupported EDGE_WEIGHT_FORMAT: " + edgeWeightFormat);
+      }
+    } catch (IndexOutOfBoundsException e) {
+      throw new ConversionException("EDGE_WEIGHT_SECTION contains too few entries.", e);
+    }
+    return distances;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Returns the number of nodes of this problem.
+   */
+  public int getDimension() {
+    return nodeIds.length;
+  }
+
+  /**
+   * Returns the distance between two nodes.
+   *
+   * @param from index of the first node, starting at 0
+   * @param to index of the second node, starting at 0
+   */
+  public double getDistance(int from, int to) {
+    return distances[from][to];
+  }
+
+  /**
+   * Returns the length of a closed tour.
+   *
+   * @param tour node indices (starting at 0) in the order they are visited
+   */
+  public double getTourLength(int[] tour) {
+    double length = 0;
+    for (int i = 0; i < tour.length; i++) {
+      length += distances[tour[i]][tour[(i + 1) % tour.length]];
+    }
+    return length;
+  }
+
+  /**
+   * Converts a tour to a TSPLIB TOUR file.
+   *
+   * @param tour node indices (starting at 0) in the order they are visited
+   * @return tour in TSPLIB format, referring to the node ids of this problem
+   */
+  public String toTourString(int[] tour) {
+    var builder = new StringBuilder()
+        .append(NAME_KEYWORD).append(KEY_VALUE_SEPARATOR).append(" ")
+        .append(name).append(" solution").append(LINE_SEPARATOR)
+        .append("TYPE").append(KEY_VALUE_SEPARATOR).append(" TOUR").append(LINE_SEPARATOR)
+        .append(DIMENSION_KEYWORD).append(KEY_VALUE_SEPARATOR).append(" ")
+        .append(tour.length).append(LINE_SEPARATOR)
+        .append("TOUR_SECTION").append(LINE_SEPARATOR);
+    for (int node : tour) {
+      builder.append(nodeIds[node]).append(LINE_SEPARATOR);
+    }
+    return builder
+        .append(TOUR_END).append(LINE_SEPARATOR)
+        .append(END_OF_FILE).append(LINE_SEPARATOR)
+        .toString();
+  }
+}
@@ -2,6 +2,7 @@ package edu.kit.provideq.toolbox.integration.planqk;
 
 import edu.kit.provideq.toolbox.integration.planqk.exception.PlanQkJobFailedException;
 import edu.kit.provideq.toolbox.integration.planqk.exception.PlanQkJobPendingException;
+import edu.kit.provideq.toolbox.statistics.ToolboxMetrics;
 import java.time.Duration;
 import java.util.Arrays;
 import java.util.function.Function;
@@ -74,6 +75,7 @@ public class PlanQkApi {
               })
               .map(customStatus -> statusProperties.statusMapper().apply(customStatus))
               .flatMap(status -> {
+                ToolboxMetrics.countPlanQkPoll(service, status.name());
                 switch (status) {
                   case SUCCEEDED -> {
                     return Mono.just(status);
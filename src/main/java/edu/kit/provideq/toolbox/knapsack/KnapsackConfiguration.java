@@ -6,6 +6,7 @@ import edu.kit.provideq.toolbox.ResourceProvider;
 import edu.kit.provideq.toolbox.exception.MissingExampleException;
 import edu.kit.provideq.toolbox.knapsack.solvers.PythonKnapsackSolver;
 import edu.kit.provideq.toolbox.knapsack.solvers.QiskitKnapsackSolver;
+import edu.kit.provideq.toolbox.meta.PortfolioSolver;
 import edu.kit.provideq.toolbox.meta.Problem;
 import edu.kit.provideq.toolbox.meta.ProblemManager;
 import edu.kit.provideq.toolbox.meta.ProblemType;
@@ -83,7 +84,8 @@ public class KnapsackConfiguration {
   ) {
     return new ProblemManager<>(
             KNAPSACK,
-            Set.of(pythonKnapsackSolver, qiskitKnapsackSolver),
+            PortfolioSolver.withPortfolio(
+                KNAPSACK, Set.of(pythonKnapsackSolver, qiskitKnapsackSolver)),
             loadExampleProblems(resourceProvider)
     );
   }
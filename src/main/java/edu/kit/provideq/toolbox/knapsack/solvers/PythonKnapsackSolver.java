@@ -57,7 +57,7 @@ public class PythonKnapsackSolver extends KnapsackSolver {
             ProcessRunner.OUTPUT_FILE_PATH)
         .writeInputFile(input)
         .readOutputFile()
-        .run(getProblemType(), solution.getId());
+        .run(getProblemType(), solution);
 
     return Mono.just(processResult.applyTo(solution));
   }
@@ -57,7 +57,7 @@ public class QiskitKnapsackSolver extends KnapsackSolver {
         )
         .writeInputFile(input)
         .readOutputFile()
-        .run(getProblemType(), solution.getId());
+        .run(getProblemType(), solution);
 
     return Mono.just(processResult.applyTo(solution));
   }
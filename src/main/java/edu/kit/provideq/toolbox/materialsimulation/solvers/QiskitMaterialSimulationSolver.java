@@ -105,7 +105,7 @@ public class QiskitMaterialSimulationSolver extends MaterialSimulationSolver {
         )
         .writeInputFile(input)
         .readOutputFile()
-        .run(getProblemType(), solution.getId());
+        .run(getProblemType(), solution);
 
     return Mono.just(processResult.applyTo(solution));
   }
@@ -5,6 +5,7 @@ import edu.kit.provideq.toolbox.exception.MissingExampleException;
 import edu.kit.provideq.toolbox.maxcut.solvers.CirqMaxCutSolver;
 import edu.kit.provideq.toolbox.maxcut.solvers.GamsMaxCutSolver;
 import edu.kit.provideq.toolbox.maxcut.solvers.QiskitMaxCutSolver;
+import edu.kit.provideq.toolbox.meta.PortfolioSolver;
 import edu.kit.provideq.toolbox.meta.Problem;
 import edu.kit.provideq.toolbox.meta.ProblemManager;
 import edu.kit.provideq.toolbox.meta.ProblemType;
@@ -39,7 +40,7 @@ public class MaxCutConfiguration {
   ) {
     return new ProblemManager<>(
         MAX_CUT,
-        Set.of(qiskitSolver, gamsSolver, cirqSolver),
+        PortfolioSolver.withPortfolio(MAX_CUT, Set.of(qiskitSolver, gamsSolver, cirqSolver)),
         loadExampleProblems(resourceProvider)
     );
   }
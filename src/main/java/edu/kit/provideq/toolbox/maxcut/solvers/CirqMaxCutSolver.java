@@ -57,7 +57,7 @@ public class CirqMaxCutSolver extends MaxCutSolver {
         )
         .writeInputFile(input)
         .readOutputFile()
-        .run(getProblemType(), solution.getId());
+        .run(getProblemType(), solution);
 
     return Mono.just(processResult.applyTo(solution));
   }
@@ -56,7 +56,7 @@ public class GamsMaxCutSolver extends MaxCutSolver {
         )
         .writeInputFile(input)
         .readOutputFile()
-        .run(getProblemType(), solution.getId());
+        .run(getProblemType(), solution);
 
     return Mono.just(processResult.applyTo(solution));
   }
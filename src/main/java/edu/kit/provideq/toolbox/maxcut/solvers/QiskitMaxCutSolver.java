@@ -74,7 +74,7 @@ public class QiskitMaxCutSolver extends MaxCutSolver {
         )
         .writeInputFile(input)
         .readOutputFile()
-        .run(getProblemType(), solution.getId());
+        .run(getProblemType(), solution);
 
     // Return if process failed
     if (!processResult.success()) {
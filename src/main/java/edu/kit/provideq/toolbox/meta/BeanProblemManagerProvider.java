@@ -1,7 +1,8 @@
 package edu.kit.provideq.toolbox.meta;
 
+import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicReference;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
 import org.springframework.stereotype.Component;
@@ -9,19 +10,53 @@ import org.springframework.stereotype.Component;
 /**
  * This implementation provides all {@link ProblemManager problem managers} registered as beans in
  * the Spring application context.
+ * The beans are looked up once, additional managers can be registered at runtime.
  */
 @Component
 public class BeanProblemManagerProvider implements ProblemManagerProvider {
   private ApplicationContext context;
+  private final AtomicReference<ProblemManagerRegistry> registry = new AtomicReference<>();
 
   @Override
   public Set<ProblemManager<?, ?>> getProblemManagers() {
-    return context
+    return getRegistry().getManagers();
+  }
+
+  @Override
+  public <InputT, ResultT> Optional<ProblemManager<InputT, ResultT>> findProblemManagerForType(
+      ProblemType<InputT, ResultT> type
+  ) {
+    return getRegistry().findByType(type);
+  }
+
+  @Override
+  public Optional<ProblemManager<?, ?>> findProblemManagerForTypeId(String typeId) {
+    return getRegistry().findByTypeId(typeId);
+  }
+
+  @Override
+  public void registerProblemManager(ProblemManager<?, ?> manager) {
+    manager.setProvider(this);
+
+    // make sure the bean managers are known before adding to them
+    getRegistry();
+    registry.updateAndGet(current -> current.with(manager));
+  }
+
+  private ProblemManagerRegistry getRegistry() {
+    var current = registry.get();
+    if (current != null) {
+      return current;
+    }
+
+    var beanRegistry = ProblemManagerRegistry.of(context
         .getBeansOfType(ProblemManager.class)
         .values()
         .stream()
         .map(manager -> (ProblemManager<?, ?>) manager)
-        .collect(Collectors.toUnmodifiableSet());
+        .toList());
+    registry.compareAndSet(null, beanRegistry);
+    return registry.get();
   }
 
   /**
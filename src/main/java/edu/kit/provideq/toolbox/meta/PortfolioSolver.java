@@ -0,0 +1,285 @@
+package edu.kit.provideq.toolbox.meta;
+
+import edu.kit.provideq.toolbox.BoundType;
+import edu.kit.provideq.toolbox.Solution;
+import edu.kit.provideq.toolbox.SolutionStatus;
+import edu.kit.provideq.toolbox.meta.setting.SolverSetting;
+import edu.kit.provideq.toolbox.meta.setting.basic.BooleanSetting;
+import edu.kit.provideq.toolbox.meta.setting.basic.IntegerSetting;
+import edu.kit.provideq.toolbox.meta.setting.basic.SelectSetting;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Runs several solvers of the same problem type concurrently and returns the result of the
+ * fastest one, or the best one found within a deadline.
+ * Solvers that are still running when the result is known are cancelled.
+ * Only solvers without sub-routines can be part of a portfolio,
+ * since their sub-problems could not be configured in time.
+ * The settings of every member are part of the portfolio settings,
+ * prefixed with the name of the member, e.g., {@code "Some Solver: Timeout"}.
+ *
+ * @param <InputT> the input type of the problems this solver can solve.
+ * @param <ResultT> the result type of the problems this solver can solve.
+ */
+public class PortfolioSolver<InputT, ResultT> implements ProblemSolver<InputT, ResultT> {
+  private static final String SETTING_MODE = "Portfolio Mode";
+  private static final String SETTING_DEADLINE = "Deadline (s)";
+  private static final int DEFAULT_DEADLINE_SECONDS = 600;
+  private static final String MEMBER_SETTING_PREFIX = "Run ";
+  private static final String MEMBER_SETTING_SEPARATOR = ": ";
+
+  /**
+   * How the portfolio decides which result to return.
+   */
+  public enum Mode {
+    FIRST_VALID("First valid result"),
+    BEST("Best result within deadline");
+
+    private final String value;
+
+    Mode(String value) {
+      this.value = value;
+    }
+
+    public String getValue() {
+      return value;
+    }
+
+    /**
+     * Returns the mode with the given display value.
+     */
+    public static Mode fromValue(String value) {
+      for (Mode mode : values()) {
+        if (mode.value.equals(value)) {
+          return mode;
+        }
+      }
+      throw new IllegalArgumentException("Unknown value: " + value);
+    }
+  }
+
+  private final ProblemType<InputT, ResultT> type;
+  private final List<ProblemSolver<InputT, ResultT>> members;
+
+  /**
+   * Creates a portfolio of solvers.
+   *
+   * @param type the problem type all solvers of the portfolio solve.
+   * @param solvers candidate solvers, those with sub-routines are left out.
+   */
+  public PortfolioSolver(
+      ProblemType<InputT, ResultT> type,
+      Collection<? extends ProblemSolver<InputT, ResultT>> solvers) {
+    this.type = type;
+    this.members = solvers.stream()
+        .filter(solver -> solver.getSubRoutines().isEmpty())
+        .sorted(Comparator.comparing(ProblemSolver::getName))
+        .<ProblemSolver<InputT, ResultT>>map(solver -> solver)
+        .toList();
+  }
+
+  /**
+   * Adds a portfolio of the given solvers to them.
+   *
+   * @param type the problem type all solvers solve.
+   * @param solvers the solvers of a problem manager.
+   * @return the solvers and a portfolio solver that races them.
+   */
+  public static <InputT, ResultT> Set<ProblemSolver<InputT, ResultT>> withPortfolio(
+      ProblemType<InputT, ResultT> type,
+      Set<ProblemSolver<InputT, ResultT>> solvers) {
+    var solversWithPortfolio = new HashSet<>(solvers);
+    solversWithPortfolio.add(new PortfolioSolver<>(type, solvers));
+    return solversWithPortfolio;
+  }
+
+  public List<ProblemSolver<InputT, ResultT>> getMembers() {
+    return members;
+  }
+
+  @Override
+  public String getName() {
+    return "Portfolio Solver";
+  }
+
+  @Override
+  public String getDescription() {
+    return "Runs the selected %s solvers in parallel and returns the first valid result "
+        .formatted(type.getId())
+        + "or the best result within the deadline.";
+  }
+
+  @Override
+  public List<SolverSetting> getSolverSettings() {
+    var settings = new ArrayList<SolverSetting>();
+    settings.add(new SelectSetting<>(
+        SETTING_MODE,
+        "Return the first valid result, or wait for the deadline and return the best result",
+        List.of(Mode.values()),
+        Mode.FIRST_VALID,
+        Mode::getValue
+    ));
+    settings.add(new IntegerSetting(
+        SETTING_DEADLINE,
+        "Time in seconds after which all solvers that are still running are cancelled",
+        1,
+        86400,
+        DEFAULT_DEADLINE_SECONDS
+    ));
+    for (var member : members) {
+      settings.add(new BooleanSetting(
+          MEMBER_SETTING_PREFIX + member.getName(),
+          "Whether the portfolio runs " + member.getName(),
+          true
+      ));
+
+      // a member that isn't selected doesn't need its settings
+      for (var memberSetting : member.getSolverSettings()) {
+        memberSetting.setName(getMemberSettingPrefix(member) + memberSetting.getName());
+        memberSetting.setRequired(false);
+        settings.add(memberSetting);
+      }
+    }
+    return settings;
+  }
+
+  @Override
+  public Mono<Solution<ResultT>> solve(
+      InputT input,
+      SubRoutineResolver subRoutineResolver,
+      SolvingProperties properties
+  ) {
+    var mode = properties.<SelectSetting<Mode>>getSetting(SETTING_MODE)
+        .map(setting -> setting.getSelectedOptionT(Mode::fromValue))
+        .orElse(Mode.FIRST_VALID);
+    int deadline = properties.<IntegerSetting>getSetting(SETTING_DEADLINE)
+        .map(IntegerSetting::getValue)
+        .orElse(DEFAULT_DEADLINE_SECONDS);
+
+    var selectedMembers = members.stream()
+        .filter(member -> properties
+            .<BooleanSetting>getSetting(MEMBER_SETTING_PREFIX + member.getName())
+            .map(BooleanSetting::getState)
+            .orElse(true))
+        .toList();
+    if (selectedMembers.isEmpty()) {
+      return Mono.just(Solution.failed(this, "No solver of the portfolio is selected."));
+    }
+
+    var failures = new ConcurrentLinkedQueue<String>();
+    var validResults = Flux.merge(selectedMembers.stream()
+            .map(member -> runMember(member, input, subRoutineResolver, properties))
+            .toList())
+        .doOnNext(result -> {
+          if (!isValid(result)) {
+            failures.add("%s: %s".formatted(result.getSolverName(), result.getDebugData()));
+          }
+        })
+        .filter(this::isValid)
+        .take(Duration.ofSeconds(deadline));
+
+    Optional<Comparator<Solution<ResultT>>> comparator =
+        mode == Mode.BEST ? getComparator(input) : Optional.empty();
+    Mono<Solution<ResultT>> winner = comparator
+        .map(resultComparator -> validResults.reduce(
+            (first, second) -> resultComparator.compare(first, second) >= 0 ? first : second))
+        .orElseGet(validResults::next);
+
+    // results can only be compared for some problem types and inputs, tell the user otherwise
+    String fallbackNote = mode == Mode.BEST && comparator.isEmpty()
+        ? "Results of %s problems can't be compared for this input, so the first valid result "
+            .formatted(type.getId()) + "was returned instead of the best one."
+        : null;
+
+    return winner
+        .map(memberSolution -> toPortfolioSolution(memberSolution, fallbackNote))
+        .switchIfEmpty(Mono.fromSupplier(() -> Solution.failed(this,
+            "No solver of the portfolio found a valid result within the deadline of %d s.%n%s"
+                .formatted(deadline, String.join(System.lineSeparator(), failures)))));
+  }
+
+  private Mono<Solution<ResultT>> runMember(
+      ProblemSolver<InputT, ResultT> member,
+      InputT input,
+      SubRoutineResolver subRoutineResolver,
+      SolvingProperties properties) {
+    var memberProperties = properties.withPrefix(getMemberSettingPrefix(member));
+
+    // most solvers block while their process runs, so every member gets its own thread
+    return Mono.defer(() -> member.solve(input, subRoutineResolver, memberProperties))
+        .subscribeOn(Schedulers.boundedElastic())
+        .onErrorResume(e -> Mono.just(Solution.failed(member, e.getMessage())));
+  }
+
+  private static String getMemberSettingPrefix(ProblemSolver<?, ?> member) {
+    return member.getName() + MEMBER_SETTING_SEPARATOR;
+  }
+
+  private boolean isValid(Solution<ResultT> solution) {
+    return solution.getStatus() == SolutionStatus.SOLVED && solution.getSolutionData() != null;
+  }
+
+  /**
+   * Compares results by the value that the solution pattern of the problem type extracts.
+   * The bound type of the estimator tells if larger values are better (upper bound)
+   * or smaller ones (lower bound).
+   *
+   * @return a comparator where better results are larger,
+   *     or an empty optional if results of this problem type can't be compared.
+   */
+  private Optional<Comparator<Solution<ResultT>>> getComparator(InputT input) {
+    if (type.getSolutionPattern() == null || type.getEstimator().isEmpty()) {
+      return Optional.empty();
+    }
+
+    BoundType boundType;
+    try {
+      boundType = type.getEstimator().get().apply(input).boundType();
+    } catch (RuntimeException e) {
+      return Optional.empty();
+    }
+
+    var pattern = Pattern.compile(type.getSolutionPattern());
+    Comparator<Solution<ResultT>> comparator = Comparator.comparingDouble(solution -> {
+      var matcher = pattern.matcher(solution.getSolutionData().toString());
+      if (!matcher.find()) {
+        return boundType == BoundType.UPPER ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+      }
+      return Double.parseDouble(matcher.group(1));
+    });
+    return Optional.of(boundType == BoundType.UPPER ? comparator : comparator.reversed());
+  }
+
+  private Solution<ResultT> toPortfolioSolution(
+      Solution<ResultT> memberSolution,
+      String fallbackNote) {
+    var solution = new Solution<>(this);
+    solution.setSolutionData(memberSolution.getSolutionData());
+    solution.setMetaData("Result of " + memberSolution.getSolverName());
+    solution.setDebugData(Stream.of(fallbackNote, memberSolution.getDebugData())
+        .filter(Objects::nonNull)
+        .collect(Collectors.joining(System.lineSeparator())));
+    solution.complete();
+    return solution;
+  }
+
+  @Override
+  public ProblemType<InputT, ResultT> getProblemType() {
+    return type;
+  }
+}
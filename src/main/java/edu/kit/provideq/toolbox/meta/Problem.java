@@ -2,15 +2,19 @@ package edu.kit.provideq.toolbox.meta;
 
 import edu.kit.provideq.toolbox.BoundWithInfo;
 import edu.kit.provideq.toolbox.Solution;
+import edu.kit.provideq.toolbox.SolutionPhase;
 import edu.kit.provideq.toolbox.meta.setting.SolverSetting;
-import java.util.Collections;
-import java.util.HashSet;
+import edu.kit.provideq.toolbox.statistics.ToolboxMetrics;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 /**
@@ -18,6 +22,10 @@ import reactor.core.publisher.Mono;
  * The problem can be solved using a matching ProblemSolver.
  * The {@link Problem} class is essentially a state machine allowing different operations like
  * configuring the input and solver, and starting or stopping the solution process.
+ * All state transitions are atomic, so a problem can safely be accessed from multiple threads.
+ * Readers that need several values at once should use {@link #getSnapshot()}.
+ * Changes are reported synchronously to {@link ProblemObserver observers} and asynchronously
+ * through {@link #getEvents()}.
  *
  * @param <InputT> the data type of the problem's input.
  * @param <ResultT> the data type of the problem's solution.
@@ -26,14 +34,9 @@ public class Problem<InputT, ResultT> {
   private final UUID id;
   private final ProblemType<InputT, ResultT> type;
   private final SubProblems<InputT, ResultT> subProblems;
-  private final Set<ProblemObserver<InputT, ResultT>> observers;
-
-  private InputT input;
-  private Solution<ResultT> solution;
-  private BoundWithInfo bound;
-  private ProblemState state;
-  private ProblemSolver<InputT, ResultT> solver;
-  private List<SolverSetting> solverSettings;
+  private final CopyOnWriteArrayList<ProblemObserver<InputT, ResultT>> observers;
+  private final AtomicReference<ProblemSnapshot<InputT, ResultT>> snapshot;
+  private final ProblemEventBus<InputT, ResultT> eventBus;
 
   /**
    * Creates a new problem of a given {@link ProblemType}.
@@ -44,48 +47,111 @@ public class Problem<InputT, ResultT> {
     this.id = UUID.randomUUID();
     this.type = type;
 
-    this.observers = new HashSet<>();
-    this.solverSettings = List.of();
+    this.observers = new CopyOnWriteArrayList<>();
+    this.snapshot = new AtomicReference<>(ProblemSnapshot.initial());
+    this.eventBus = new ProblemEventBus<>();
 
     // Sub-routine management and sub-routine-call handling are outsourced to the SubProblems class
-    Consumer<Problem<?, ?>> notifyAdded = addedSubProblem -> this.observers.forEach(
-        observer -> observer.onSubProblemAdded(this, addedSubProblem));
-    Consumer<Problem<?, ?>> notifyRemoved = removedSubProblem -> this.observers.forEach(
-        observer -> observer.onSubProblemRemoved(this, removedSubProblem));
+    Consumer<Problem<?, ?>> notifyAdded = addedSubProblem -> {
+      change(ProblemSnapshot::withNextVersion, ProblemEvent.Type.SUB_PROBLEM_ADDED,
+          addedSubProblem);
+      this.observers.forEach(observer -> observer.onSubProblemAdded(this, addedSubProblem));
+    };
+    Consumer<Problem<?, ?>> notifyRemoved = removedSubProblem -> {
+      change(ProblemSnapshot::withNextVersion, ProblemEvent.Type.SUB_PROBLEM_REMOVED,
+          removedSubProblem);
+      this.observers.forEach(observer -> observer.onSubProblemRemoved(this, removedSubProblem));
+    };
     this.subProblems = new SubProblems<>(notifyAdded, notifyRemoved);
     this.addObserver(subProblems);
-
-    this.setState(ProblemState.NEEDS_CONFIGURATION);
   }
 
   /**
    * Starts the solution of this problem.
    * Once the problem is solved, the solution can be obtained using {@link #getSolution()}.
+   *
+   * @throws IllegalStateException if the problem is not fully configured or its solution process
+   *     has already been started.
    */
   public Mono<Solution<ResultT>> solve() {
-    Optional<ProblemSolver<InputT, ResultT>> solverT = getSolver();
-    Optional<InputT> inputT = getInput();
-    if (solverT.isEmpty() || inputT.isEmpty()) {
-      throw new IllegalStateException(
-              "The problem %s is not fully configured!".formatted(toString()));
-    }
-
-    this.setState(ProblemState.SOLVING);
+    // the transition to SOLVING succeeds at most once, so concurrent calls cannot start it twice
+    var started = change(current -> {
+      if (current.solver() == null || current.input() == null) {
+        throw new IllegalStateException(
+                "The problem %s is not fully configured!".formatted(toString()));
+      }
+      if (current.state() != ProblemState.READY_TO_SOLVE) {
+        throw new IllegalStateException(
+                "The problem %s is being solved or has been solved!".formatted(toString()));
+      }
+      return current.withState(ProblemState.SOLVING);
+    }, ProblemEvent.Type.STATE_CHANGED, null);
+    notifyStateChanged(started);
 
     long start = System.currentTimeMillis();
+    long startNanos = System.nanoTime();
+    long queuedNanos = started.queuedNanoTime();
 
-    var properties = new SolvingProperties(getSolverSettings());
-    return solverT.get().solve(inputT.get(), subProblems, properties)
+    var solver = started.solver();
+    var properties = new SolvingProperties(started.solverSettings());
+    return solver.solve(started.input(), subProblems, properties)
         .doOnNext(sol -> {
-          long finish = System.currentTimeMillis();
-          sol.setExecutionMilliseconds(finish - start);
-          this.solution = sol;
-          this.setState(ProblemState.SOLVED);
+          complete(sol, start, queuedNanos, startNanos);
+
+          ToolboxMetrics.recordSolve(
+              type, solver, sol.getStatus().name(), System.nanoTime() - startNanos);
+          if (!solver.getSubRoutines().isEmpty()) {
+            ToolboxMetrics.recordFanOut(type, solver, subProblems.getProblems().size());
+          }
+        })
+        .onErrorResume(e -> {
+          ToolboxMetrics.recordSolve(type, solver, "EXCEPTION", System.nanoTime() - startNanos);
+
+          // a crashed solver must not leave the problem in SOLVING, so it can be reconfigured
+          Solution<ResultT> failed = Solution.failed(solver,
+              "The solver %s failed: %s".formatted(solver.getName(), e.getMessage()));
+          complete(failed, start, queuedNanos, startNanos);
+          return Mono.just(failed);
         });
   }
 
+  private void complete(
+      Solution<ResultT> solution,
+      long start,
+      long queuedNanos,
+      long startNanos) {
+    long finish = System.currentTimeMillis();
+    solution.setExecutionMilliseconds(finish - start);
+    completeTimeline(solution, queuedNanos, startNanos);
+    notifyStateChanged(change(
+        current -> current.withSolution(solution), ProblemEvent.Type.STATE_CHANGED, null));
+  }
+
+  /**
+   * Completes the timeline of a solution with the phases that the solver doesn't record itself.
+   */
+  private void completeTimeline(Solution<ResultT> solution, long queuedNanos, long startNanos) {
+    long completedNanos = System.nanoTime();
+    solution.recordPhase(SolutionPhase.QUEUED, queuedNanos);
+    solution.recordPhase(SolutionPhase.SOLVE_STARTED, startNanos);
+
+    // sub-routines awaited by a previous solution process are not part of this timeline
+    long subRoutinesAwaitedNanos = subProblems.getSubRoutinesAwaitedNanos();
+    if (subRoutinesAwaitedNanos >= startNanos) {
+      solution.recordPhase(SolutionPhase.SUB_ROUTINES_AWAITED, subRoutinesAwaitedNanos);
+    }
+
+    solution.recordPhase(SolutionPhase.COMPLETED, completedNanos);
+    solution.completeTimeline(queuedNanos);
+  }
+
+  /**
+   * Estimates the bound of the solution of this problem.
+   * Once estimated, the bound can be obtained using {@link #getBound()}.
+   */
   public void estimateBound() {
-    if (this.input == null) {
+    var input = snapshot.get().input();
+    if (input == null) {
       throw new IllegalStateException("Cannot estimate value without input!");
     }
 
@@ -97,11 +163,12 @@ public class Problem<InputT, ResultT> {
 
     long start = System.currentTimeMillis();
 
-    var estimatedBound = estimator.apply(this.input);
+    var estimatedBound = estimator.apply(input);
     long finish = System.currentTimeMillis();
     var executionTime = finish - start;
 
-    this.bound = new BoundWithInfo(estimatedBound, executionTime);
+    var bound = new BoundWithInfo(estimatedBound, executionTime);
+    snapshot.updateAndGet(current -> current.withBound(bound));
   }
 
   public UUID getId() {
@@ -112,33 +179,64 @@ public class Problem<InputT, ResultT> {
     return type;
   }
 
+  /**
+   * Returns the current state, input, solver, solution and bound of this problem at once.
+   */
+  public ProblemSnapshot<InputT, ResultT> getSnapshot() {
+    return snapshot.get();
+  }
+
+  /**
+   * Returns the version of this problem, which increases with every change, including added and
+   * removed sub-problems.
+   */
+  public long getVersion() {
+    return snapshot.get().version();
+  }
+
   public Optional<InputT> getInput() {
-    return Optional.ofNullable(this.input);
+    return Optional.ofNullable(snapshot.get().input());
   }
 
   /**
    * Changes the problem input data.
+   *
+   * @throws IllegalStateException if the solution process has already been started. The solver
+   *     of a solved problem has to be {@link #setSolver(ProblemSolver) changed} first.
    */
   public void setInput(InputT newInput) {
-    this.input = newInput;
+    change(current -> {
+      requireConfigurable(current);
+      return current.withInput(newInput);
+    }, ProblemEvent.Type.INPUT_CHANGED, null);
 
     this.observers.forEach(observer -> observer.onInputChanged(this, newInput));
   }
 
   public Optional<Solution<ResultT>> getSolution() {
-    return Optional.ofNullable(this.solution);
+    return Optional.ofNullable(snapshot.get().solution());
   }
 
   public Optional<ProblemSolver<InputT, ResultT>> getSolver() {
-    return Optional.ofNullable(this.solver);
+    return Optional.ofNullable(snapshot.get().solver());
   }
 
   /**
    * Changes the problem solver to be used for this problem.
+   * Changing the solver of a solved problem discards its solution and sub-problems, so the
+   * problem can be solved again.
+   *
+   * @throws IllegalStateException if the problem is currently being solved.
    */
   public void setSolver(ProblemSolver<InputT, ResultT> newSolver) {
-    this.solver = newSolver;
-    this.state = newSolver == null ? ProblemState.NEEDS_CONFIGURATION : ProblemState.READY_TO_SOLVE;
+    change(current -> {
+      if (current.state() == ProblemState.SOLVING) {
+        throw new IllegalStateException(
+            "The solver of the problem %s cannot be changed while it is being solved!"
+                .formatted(toString()));
+      }
+      return current.withSolver(newSolver);
+    }, ProblemEvent.Type.SOLVER_CHANGED, null);
 
     Consumer<ProblemObserver<InputT, ResultT>> update = newSolver == null
         ? observer -> observer.onSolverReset(this)
@@ -148,7 +246,7 @@ public class Problem<InputT, ResultT> {
   }
 
   public ProblemState getState() {
-    return this.state;
+    return snapshot.get().state();
   }
 
   @SuppressWarnings("java:S1452")
@@ -173,48 +271,87 @@ public class Problem<InputT, ResultT> {
     return subProblems.getProblems(subRoutineDefinition);
   }
 
-  private void setState(ProblemState newState) {
-    this.state = newState;
+  /**
+   * Returns the events of this problem, starting with a {@link ProblemEvent.Type#SNAPSHOT} of the
+   * current state.
+   * Events are delivered asynchronously and in order, so slow listeners don't delay the solution
+   * process. A listener that lags too far behind receives an overflow error.
+   */
+  public Flux<ProblemEvent<InputT, ResultT>> getEvents() {
+    return eventBus.subscribe(() -> new ProblemEvent<>(
+        ProblemEvent.Type.SNAPSHOT, this, snapshot.get(), null));
+  }
 
-    this.observers.forEach(observer -> observer.onStateChanged(this, newState));
+  private void notifyStateChanged(ProblemSnapshot<InputT, ResultT> changed) {
+    this.observers.forEach(observer -> observer.onStateChanged(this, changed.state()));
   }
 
-  public List<SolverSetting> getSolverSettings() {
-    return Collections.unmodifiableList(solverSettings);
+  /**
+   * Applies a transition to the snapshot and publishes its event.
+   * Both happen atomically, so events are published in the order of their snapshot versions even
+   * if the problem is changed from several threads.
+   */
+  private ProblemSnapshot<InputT, ResultT> change(
+      UnaryOperator<ProblemSnapshot<InputT, ResultT>> transition,
+      ProblemEvent.Type type,
+      Problem<?, ?> subProblem) {
+    return eventBus.publish(
+        () -> snapshot.updateAndGet(transition),
+        changed -> new ProblemEvent<>(type, this, changed, subProblem));
   }
 
-  public void setSolverSettings(List<SolverSetting> solverSettings) {
-    // Always allow clearing the settings
-    if (solverSettings.isEmpty()) {
-      this.solverSettings = solverSettings;
-      return;
+  private void requireConfigurable(ProblemSnapshot<InputT, ResultT> current) {
+    if (!current.isConfigurable()) {
+      throw new IllegalStateException(
+          "The problem %s cannot be changed once it is being solved!".formatted(toString()));
     }
+  }
 
-    var optionalSolver = getSolver();
-    if (optionalSolver.isEmpty()) {
-      throw new IllegalStateException("Cannot set solver settings without a solver!");
-    }
+  public List<SolverSetting> getSolverSettings() {
+    return snapshot.get().solverSettings();
+  }
+
+  /**
+   * Changes the settings of the solver of this problem.
+   *
+   * @throws IllegalStateException if there is no solver or the solution process has already been
+   *     started.
+   * @throws IllegalArgumentException if the solver doesn't support one of the settings.
+   */
+  public void setSolverSettings(List<SolverSetting> solverSettings) {
+    // validated against the snapshot that is replaced, so the settings always match the solver
+    snapshot.updateAndGet(current -> {
+      requireConfigurable(current);
 
-    var actualSolver = optionalSolver.get();
+      // Always allow clearing the settings
+      if (solverSettings.isEmpty()) {
+        return current.withSolverSettings(solverSettings);
+      }
 
-    // Check if the solver supports all the settings
-    var availableSettings = actualSolver.getSolverSettings()
-        .stream()
-        .map(SolverSetting::getName)
-        .collect(Collectors.toSet());
+      var actualSolver = current.solver();
+      if (actualSolver == null) {
+        throw new IllegalStateException("Cannot set solver settings without a solver!");
+      }
 
-    for (SolverSetting setting : solverSettings) {
-      if (!availableSettings.contains(setting.getName())) {
-        throw new IllegalArgumentException("The solver %s does not support the setting %s!"
-            .formatted(actualSolver.getName(), setting.getName()));
+      // Check if the solver supports all the settings
+      var availableSettings = actualSolver.getSolverSettings()
+          .stream()
+          .map(SolverSetting::getName)
+          .collect(Collectors.toSet());
+
+      for (SolverSetting setting : solverSettings) {
+        if (!availableSettings.contains(setting.getName())) {
+          throw new IllegalArgumentException("The solver %s does not support the setting %s!"
+              .formatted(actualSolver.getName(), setting.getName()));
+        }
       }
-    }
 
-    this.solverSettings = solverSettings;
+      return current.withSolverSettings(solverSettings);
+    });
   }
 
   public void addObserver(ProblemObserver<InputT, ResultT> observer) {
-    this.observers.add(observer);
+    this.observers.addIfAbsent(observer);
   }
 
   public void removeObserver(ProblemObserver<InputT, ResultT> observer) {
@@ -223,15 +360,16 @@ public class Problem<InputT, ResultT> {
 
   @Override
   public String toString() {
+    var current = snapshot.get();
     return "Problem{"
             + "type=" + type
             + ", id=" + id
-            + ", state=" + state
-            + ", solver=" + solver
+            + ", state=" + current.state()
+            + ", solver=" + current.solver()
             + '}';
   }
 
   public Optional<BoundWithInfo> getBound() {
-    return Optional.ofNullable(bound);
+    return Optional.ofNullable(snapshot.get().bound());
   }
 }
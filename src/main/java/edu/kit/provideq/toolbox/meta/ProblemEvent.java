@@ -0,0 +1,32 @@
+package edu.kit.provideq.toolbox.meta;
+
+/**
+ * An event published by a {@link Problem} when it changes, see {@link Problem#getEvents()}.
+ *
+ * @param type the kind of change.
+ * @param problem the problem that changed.
+ * @param snapshot the state of the problem right after the change.
+ * @param subProblem the added or removed sub-problem for {@link Type#SUB_PROBLEM_ADDED} and
+ *     {@link Type#SUB_PROBLEM_REMOVED} events, {@code null} otherwise.
+ */
+public record ProblemEvent<InputT, ResultT>(
+    Type type,
+    Problem<InputT, ResultT> problem,
+    ProblemSnapshot<InputT, ResultT> snapshot,
+    Problem<?, ?> subProblem
+) {
+  /**
+   * Kinds of problem events.
+   */
+  public enum Type {
+    /**
+     * The first event of every subscription, describing the problem at the time of subscribing.
+     */
+    SNAPSHOT,
+    INPUT_CHANGED,
+    SOLVER_CHANGED,
+    STATE_CHANGED,
+    SUB_PROBLEM_ADDED,
+    SUB_PROBLEM_REMOVED
+  }
+}
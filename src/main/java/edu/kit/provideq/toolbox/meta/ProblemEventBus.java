@@ -0,0 +1,59 @@
+package edu.kit.provideq.toolbox.meta;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Delivers the events of a single {@link Problem} to asynchronous listeners.
+ *
+ * @implNote Publishing only hands the event to the subscribers' buffers, listeners run on
+ *     their own scheduler. The lock serializes changing, publishing and subscribing, so every
+ *     subscriber sees its initial event followed by all later events in the order of the changes.
+ */
+final class ProblemEventBus<InputT, ResultT> {
+  /**
+   * Number of events a subscriber may lag behind before its subscription fails.
+   */
+  static final int BUFFER_SIZE = 256;
+
+  private final Sinks.Many<ProblemEvent<InputT, ResultT>> sink =
+      Sinks.unsafe().many().multicast().directBestEffort();
+
+  /**
+   * Applies a change and publishes the event describing it while holding the lock, so changes
+   * made by concurrent threads are published in the order they were applied.
+   *
+   * @param change applies the change and returns its result.
+   * @param event creates the event for the result of the change.
+   * @return the result of the change.
+   */
+  synchronized <T> T publish(
+      Supplier<T> change,
+      Function<T, ProblemEvent<InputT, ResultT>> event) {
+    T changed = change.get();
+    // fails silently if there are no subscribers
+    sink.tryEmitNext(event.apply(changed));
+    return changed;
+  }
+
+  Flux<ProblemEvent<InputT, ResultT>> subscribe(
+      Supplier<ProblemEvent<InputT, ResultT>> initialEvent) {
+    Flux<ProblemEvent<InputT, ResultT>> events = Flux.create(emitter -> {
+      Disposable subscription;
+      synchronized (this) {
+        emitter.next(initialEvent.get());
+        subscription = sink.asFlux().subscribe(emitter::next);
+      }
+      emitter.onDispose(subscription);
+    }, FluxSink.OverflowStrategy.ERROR);
+
+    return events
+        .onBackpressureBuffer(BUFFER_SIZE)
+        .publishOn(Schedulers.boundedElastic());
+  }
+}
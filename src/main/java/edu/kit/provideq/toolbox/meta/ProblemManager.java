@@ -1,10 +1,15 @@
 package edu.kit.provideq.toolbox.meta;
 
+import edu.kit.provideq.toolbox.statistics.SolverStatistics;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
 import org.springframework.beans.factory.annotation.Autowired;
 
 /**
@@ -15,10 +20,11 @@ import org.springframework.beans.factory.annotation.Autowired;
  */
 public class ProblemManager<InputT, ResultT> {
   private final ProblemType<InputT, ResultT> type;
-  private final Set<ProblemSolver<InputT, ResultT>> solvers;
-  private final Set<Problem<InputT, ResultT>> instances;
+  private volatile Map<String, ProblemSolver<InputT, ResultT>> solvers;
+  private final ConcurrentSkipListMap<UUID, Problem<InputT, ResultT>> instances;
   private final Set<Problem<InputT, ResultT>> exampleInstances;
   private ProblemManagerProvider provider;
+  private SolverStatistics statistics;
   private final ProblemObserver<InputT, ResultT> registrationObserver = getRegistrationObserver();
 
   /**
@@ -32,10 +38,11 @@ public class ProblemManager<InputT, ResultT> {
   ) {
     this.type = type;
 
-    this.solvers = new HashSet<>(solvers);
+    this.solvers = Map.of();
+    solvers.forEach(this::registerSolver);
     this.exampleInstances = new HashSet<>(exampleInstances);
 
-    this.instances = new HashSet<>();
+    this.instances = new ConcurrentSkipListMap<>();
   }
 
   /**
@@ -43,9 +50,7 @@ public class ProblemManager<InputT, ResultT> {
    * {@code id}.
    */
   public Optional<Problem<InputT, ResultT>> findInstanceById(UUID id) {
-    return this.instances.stream()
-        .filter(instance -> instance.getId().equals(id))
-        .findAny();
+    return Optional.ofNullable(this.instances.get(id));
   }
 
   /**
@@ -53,20 +58,54 @@ public class ProblemManager<InputT, ResultT> {
    * {@code id}.
    */
   public Optional<ProblemSolver<InputT, ResultT>> findSolverById(String id) {
-    return this.solvers.stream()
-        .filter(solver -> solver.getId().equals(id))
-        .findAny();
+    return Optional.ofNullable(this.solvers.get(id));
   }
 
+  /**
+   * Registers an additional problem solver with this manager, e.g., at runtime.
+   *
+   * @throws IllegalArgumentException if the solver solves another problem type or a solver with
+   *     the same id is already registered.
+   */
+  public synchronized void registerSolver(ProblemSolver<InputT, ResultT> solver) {
+    if (solver.getProblemType() != type) {
+      throw new IllegalArgumentException("The solver %s does not solve problems of type %s!"
+          .formatted(solver.getId(), type));
+    }
+    if (this.solvers.containsKey(solver.getId())) {
+      throw new IllegalArgumentException(
+          "A solver with the id %s is already registered!".formatted(solver.getId()));
+    }
+
+    // copy on write, readers never see a partially updated map
+    var newSolvers = new LinkedHashMap<>(this.solvers);
+    newSolvers.put(solver.getId(), solver);
+    this.solvers = Collections.unmodifiableMap(newSolvers);
+  }
+
+  /**
+   * Returns a copy of the problem instances registered with this manager.
+   */
   public Set<Problem<InputT, ResultT>> getInstances() {
-    return Collections.unmodifiableSet(this.instances);
+    return Set.copyOf(this.instances.values());
+  }
+
+  /**
+   * Streams the problem instances registered with this manager, ordered by their id.
+   *
+   * @param after only instances with a greater id are returned, {@code null} to start with the
+   *     first instance.
+   */
+  public Stream<Problem<InputT, ResultT>> streamInstances(UUID after) {
+    var tail = after == null ? this.instances : this.instances.tailMap(after, false);
+    return tail.values().stream();
   }
 
   /**
    * Registers a problem instance with this problem manager.
    */
   public void addInstance(Problem<InputT, ResultT> instance) {
-    this.instances.add(instance);
+    this.instances.put(instance.getId(), instance);
     instance.addObserver(this.registrationObserver);
 
     for (var subInstance : instance.getSubProblems()) {
@@ -93,7 +132,7 @@ public class ProblemManager<InputT, ResultT> {
    * Unregisters a problem instance from this problem manager.
    */
   public void removeInstance(Problem<InputT, ResultT> instance) {
-    this.instances.remove(instance);
+    this.instances.remove(instance.getId());
     instance.removeObserver(this.registrationObserver);
 
     for (var subInstance : instance.getSubProblems()) {
@@ -119,7 +158,7 @@ public class ProblemManager<InputT, ResultT> {
    * Returns a read-only view on the problem solvers registered with this manager.
    */
   public Set<ProblemSolver<InputT, ResultT>> getSolvers() {
-    return Collections.unmodifiableSet(this.solvers);
+    return Set.copyOf(this.solvers.values());
   }
 
   /**
@@ -153,7 +192,9 @@ public class ProblemManager<InputT, ResultT> {
 
       @Override
       public void onStateChanged(Problem<InputT, ResultT> problem, ProblemState newState) {
-        // do nothing
+        if (newState == ProblemState.SOLVED) {
+          recordStatistics(problem.getSnapshot());
+        }
       }
 
       @Override
@@ -174,8 +215,22 @@ public class ProblemManager<InputT, ResultT> {
     };
   }
 
+  private void recordStatistics(ProblemSnapshot<InputT, ResultT> solved) {
+    // the snapshot may have changed since the transition
+    if (statistics == null || solved.state() != ProblemState.SOLVED) {
+      return;
+    }
+
+    statistics.record(type, solved.solver(), solved.input(), solved.solution());
+  }
+
   @Autowired
   void setProvider(ProblemManagerProvider provider) {
     this.provider = provider;
   }
+
+  @Autowired(required = false)
+  void setStatistics(SolverStatistics statistics) {
+    this.statistics = statistics;
+  }
 }
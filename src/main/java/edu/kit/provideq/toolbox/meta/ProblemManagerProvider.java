@@ -27,4 +27,22 @@ public interface ProblemManagerProvider {
         .map(manager -> (ProblemManager<InputT, ResultT>) manager) // "unchecked" warning
         .findAny();
   }
+
+  /**
+   * Finds the problem manager for the problem type with the given {@code typeId}.
+   */
+  @SuppressWarnings("java:S1452") // ProblemManager is a raw type
+  default Optional<ProblemManager<?, ?>> findProblemManagerForTypeId(String typeId) {
+    return getProblemManagers()
+        .stream()
+        .filter(manager -> manager.getType().getId().equals(typeId))
+        .findAny();
+  }
+
+  /**
+   * Registers the problem manager of an additional problem type at runtime.
+   *
+   * @throws IllegalArgumentException if there already is a manager for a type with the same id.
+   */
+  void registerProblemManager(ProblemManager<?, ?> manager);
 }
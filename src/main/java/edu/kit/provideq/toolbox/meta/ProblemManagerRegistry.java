@@ -0,0 +1,78 @@
+package edu.kit.provideq.toolbox.meta;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Immutable index of {@link ProblemManager problem managers} by their {@link ProblemType} and by
+ * the id of their type.
+ * Registering another manager creates a new registry, so readers never need to synchronize.
+ */
+final class ProblemManagerRegistry {
+  private final Set<ProblemManager<?, ?>> managers;
+  private final Map<ProblemType<?, ?>, ProblemManager<?, ?>> managersByType;
+  private final Map<String, ProblemManager<?, ?>> managersByTypeId;
+
+  private ProblemManagerRegistry(
+      Set<ProblemManager<?, ?>> managers,
+      Map<ProblemType<?, ?>, ProblemManager<?, ?>> managersByType,
+      Map<String, ProblemManager<?, ?>> managersByTypeId
+  ) {
+    this.managers = managers;
+    this.managersByType = managersByType;
+    this.managersByTypeId = managersByTypeId;
+  }
+
+  /**
+   * Creates a registry of the given managers.
+   *
+   * @throws IllegalArgumentException if two managers have the same problem type id.
+   */
+  static ProblemManagerRegistry of(Collection<ProblemManager<?, ?>> managers) {
+    var managersByType = new IdentityHashMap<ProblemType<?, ?>, ProblemManager<?, ?>>();
+    var managersByTypeId = new HashMap<String, ProblemManager<?, ?>>();
+    for (var manager : managers) {
+      var type = manager.getType();
+      if (managersByTypeId.putIfAbsent(type.getId(), manager) != null) {
+        throw new IllegalArgumentException(
+            "A problem manager for the type %s is already registered!".formatted(type.getId()));
+      }
+      managersByType.put(type, manager);
+    }
+
+    return new ProblemManagerRegistry(
+        Set.copyOf(managers),
+        Collections.unmodifiableMap(managersByType),
+        Collections.unmodifiableMap(managersByTypeId));
+  }
+
+  /**
+   * Creates a new registry with all managers of this registry and the given one.
+   */
+  ProblemManagerRegistry with(ProblemManager<?, ?> manager) {
+    var newManagers = new ArrayList<>(managers);
+    newManagers.add(manager);
+    return of(newManagers);
+  }
+
+  Set<ProblemManager<?, ?>> getManagers() {
+    return managers;
+  }
+
+  @SuppressWarnings("unchecked") // the type index guarantees matching type parameters
+  <InputT, ResultT> Optional<ProblemManager<InputT, ResultT>> findByType(
+      ProblemType<InputT, ResultT> type
+  ) {
+    return Optional.ofNullable((ProblemManager<InputT, ResultT>) managersByType.get(type));
+  }
+
+  Optional<ProblemManager<?, ?>> findByTypeId(String typeId) {
+    return Optional.ofNullable(managersByTypeId.get(typeId));
+  }
+}
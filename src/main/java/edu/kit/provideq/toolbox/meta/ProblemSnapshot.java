@@ -0,0 +1,97 @@
+package edu.kit.provideq.toolbox.meta;
+
+import edu.kit.provideq.toolbox.BoundWithInfo;
+import edu.kit.provideq.toolbox.Solution;
+import edu.kit.provideq.toolbox.meta.setting.SolverSetting;
+import java.util.List;
+
+/**
+ * Immutable view of the mutable parts of a {@link Problem} at one point in time.
+ * All values of a snapshot belong together, e.g., a {@link ProblemState#SOLVED} snapshot always
+ * contains the solution.
+ *
+ * @param version increases with every change of the problem, including added and removed
+ *     sub-problems.
+ * @param state the state of the solution process.
+ * @param input the problem input, {@code null} if it is not set.
+ * @param solver the selected solver, {@code null} if it is not set.
+ * @param solverSettings the settings of the selected solver.
+ * @param solution the solution, {@code null} if the problem is not solved.
+ * @param bound the estimated bound of the solution, {@code null} if it was not estimated.
+ * @param queuedNanoTime the {@link System#nanoTime()} when the current solution process was
+ *     queued, i.e., when the problem was created or its solution was reset.
+ */
+public record ProblemSnapshot<InputT, ResultT>(
+    long version,
+    ProblemState state,
+    InputT input,
+    ProblemSolver<InputT, ResultT> solver,
+    List<SolverSetting> solverSettings,
+    Solution<ResultT> solution,
+    BoundWithInfo bound,
+    long queuedNanoTime
+) {
+  /**
+   * Creates a snapshot.
+   */
+  public ProblemSnapshot {
+    solverSettings = List.copyOf(solverSettings);
+  }
+
+  static <InputT, ResultT> ProblemSnapshot<InputT, ResultT> initial() {
+    return new ProblemSnapshot<>(
+        0, ProblemState.NEEDS_CONFIGURATION, null, null, List.of(), null, null, System.nanoTime());
+  }
+
+  ProblemSnapshot<InputT, ResultT> withNextVersion() {
+    return new ProblemSnapshot<>(
+        version + 1, state, input, solver, solverSettings, solution, bound, queuedNanoTime);
+  }
+
+  ProblemSnapshot<InputT, ResultT> withInput(InputT newInput) {
+    return new ProblemSnapshot<>(
+        version + 1, state, newInput, solver, solverSettings, solution, bound, queuedNanoTime);
+  }
+
+  /**
+   * Selects a solver, which resets a solved problem, so the previous solution is discarded and a
+   * new solution process is queued.
+   */
+  ProblemSnapshot<InputT, ResultT> withSolver(ProblemSolver<InputT, ResultT> newSolver) {
+    var newState = newSolver == null
+        ? ProblemState.NEEDS_CONFIGURATION
+        : ProblemState.READY_TO_SOLVE;
+    var newQueuedNanoTime = state == ProblemState.SOLVED ? System.nanoTime() : queuedNanoTime;
+    return new ProblemSnapshot<>(
+        version + 1, newState, input, newSolver, solverSettings, null, bound, newQueuedNanoTime);
+  }
+
+  ProblemSnapshot<InputT, ResultT> withSolverSettings(List<SolverSetting> newSettings) {
+    return new ProblemSnapshot<>(
+        version + 1, state, input, solver, newSettings, solution, bound, queuedNanoTime);
+  }
+
+  ProblemSnapshot<InputT, ResultT> withState(ProblemState newState) {
+    return new ProblemSnapshot<>(
+        version + 1, newState, input, solver, solverSettings, solution, bound, queuedNanoTime);
+  }
+
+  ProblemSnapshot<InputT, ResultT> withSolution(Solution<ResultT> newSolution) {
+    return new ProblemSnapshot<>(
+        version + 1, ProblemState.SOLVED, input, solver, solverSettings, newSolution, bound,
+        queuedNanoTime);
+  }
+
+  ProblemSnapshot<InputT, ResultT> withBound(BoundWithInfo newBound) {
+    return new ProblemSnapshot<>(
+        version + 1, state, input, solver, solverSettings, solution, newBound, queuedNanoTime);
+  }
+
+  /**
+   * Checks if the problem input and solver may still be changed, i.e., the solution process has
+   * not been started yet.
+   */
+  boolean isConfigurable() {
+    return state == ProblemState.NEEDS_CONFIGURATION || state == ProblemState.READY_TO_SOLVE;
+  }
+}
@@ -6,11 +6,25 @@ import java.util.Optional;
 
 public final class SolvingProperties {
   private final List<SolverSetting> settings;
+  private final String prefix;
 
   public SolvingProperties(
       List<SolverSetting> settings
   ) {
+    this(settings, "");
+  }
+
+  private SolvingProperties(List<SolverSetting> settings, String prefix) {
     this.settings = settings;
+    this.prefix = prefix;
+  }
+
+  /**
+   * Returns the settings whose names start with a prefix, which are then accessed by their name
+   * without it. This passes settings that are namespaced for another solver on to it.
+   */
+  public SolvingProperties withPrefix(String prefix) {
+    return new SolvingProperties(settings, this.prefix + prefix);
   }
 
   /**
@@ -20,7 +34,7 @@ public final class SolvingProperties {
   @SuppressWarnings("unchecked")
   public <T extends SolverSetting> Optional<T> getSetting(String name) {
     return settings.stream()
-        .filter(setting -> setting.getName().equals(name))
+        .filter(setting -> setting.getName().equals(prefix + name))
         .map(setting -> (T) setting)
         .findFirst();
   }
@@ -29,6 +43,7 @@ public final class SolvingProperties {
   public String toString() {
     return "SolvingProperties["
         + "settings=" + settings
+        + ", prefix=" + prefix
         + ']';
   }
 }
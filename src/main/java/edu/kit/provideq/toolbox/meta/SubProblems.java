@@ -6,11 +6,16 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 
 /**
  * This internal class manages sub-problems and sub-routine calls of a {@link Problem}.
@@ -40,7 +45,15 @@ final class SubProblems<InputT, ResultT>
   private final Set<SubProblemEntry<?, ?>> entries;
   private final Consumer<Problem<?, ?>> problemAddedObserver;
   private final Consumer<Problem<?, ?>> problemRemovedObserver;
-  private final Set<Consumer<Problem<?, ?>>> entryStateChangedObservers;
+  /**
+   * Pending sub-routine calls, keyed by the id of the sub-problem they wait for.
+   * Each sink is completed with the solution once its sub-problem is solved.
+   */
+  private final Map<UUID, Sinks.One<Solution<?>>> pendingSolutions;
+  /**
+   * {@link System#nanoTime()} when the latest sub-routine call returned its solution.
+   */
+  private final AtomicLong subRoutinesAwaitedNanos;
 
   /**
    * Initializes a new sub problem manager.
@@ -53,7 +66,8 @@ final class SubProblems<InputT, ResultT>
       Consumer<Problem<?, ?>> problemRemovedObserver
   ) {
     this.entries = Collections.synchronizedSet(new HashSet<>());
-    this.entryStateChangedObservers = Collections.synchronizedSet(new HashSet<>());
+    this.pendingSolutions = new ConcurrentHashMap<>();
+    this.subRoutinesAwaitedNanos = new AtomicLong(Long.MIN_VALUE);
 
     this.problemAddedObserver = problemAddedObserver;
     this.problemRemovedObserver = problemRemovedObserver;
@@ -93,30 +107,49 @@ final class SubProblems<InputT, ResultT>
 
     var subProblem = new Problem<>(subRoutine.type());
     subProblem.setInput(input);
-    entry.problems.add(subProblem);
-    problemAddedObserver.accept(subProblem);
     registerSubProblem(subProblem);
 
+    // Everything below is decided before the sub-problem becomes visible to clients,
+    // so a solver that is set and finishes right away can't be missed or started twice
+    Mono<Solution<SubResultT>> result;
     if (subProblem.getSolver().isPresent()) {
       // In case there is a solver set, we can start the sub problem
-      return subProblem.solve();
+      result = subProblem.solve();
+    } else {
+      // Wait for the solver to be set which will run the solver
+      // Once the sub problem is solved, the state changes to SOLVED and we can continue
+      Sinks.One<Solution<?>> pendingSolution = Sinks.one();
+      UUID subProblemId = subProblem.getId();
+      pendingSolutions.put(subProblemId, pendingSolution);
+      result = pendingSolution.asMono()
+          .map(solution -> (Solution<SubResultT>) solution)
+          // the caller is not interested anymore, e.g., a portfolio cancelled a losing solver
+          .doOnCancel(() -> pendingSolutions.remove(subProblemId, pendingSolution));
     }
 
-    // Wait for the solver to be set which will run the solver
-    // Once the sub problem is solved, the state changes to SOLVED and at that point we can continue
-    return Mono.create(sink -> {
-      Consumer<Problem<?, ?>> observer = problem -> {
-        if (problem.getId() == subProblem.getId()
-                && problem.getState() == ProblemState.SOLVED) {
-          sink.success((Solution<SubResultT>) problem.getSolution().orElseThrow());
-        }
-      };
+    entry.problems.add(subProblem);
+    problemAddedObserver.accept(subProblem);
 
-      entryStateChangedObservers.add(observer);
+    return result.doOnNext(solution -> recordSubRoutineAwaited());
+  }
 
-      // Remove the observer once this Mono is consumed and disposed
-      sink.onDispose(() -> entryStateChangedObservers.remove(observer));
-    });
+  /**
+   * Returns the number of sub-routine calls that wait for their sub-problem to be solved.
+   */
+  int getPendingSolutionCount() {
+    return pendingSolutions.size();
+  }
+
+  private void recordSubRoutineAwaited() {
+    subRoutinesAwaitedNanos.accumulateAndGet(System.nanoTime(), Math::max);
+  }
+
+  /**
+   * Returns the {@link System#nanoTime()} when the latest sub-routine call returned its solution,
+   * or {@link Long#MIN_VALUE} if no sub-routine call has returned yet.
+   */
+  long getSubRoutinesAwaitedNanos() {
+    return subRoutinesAwaitedNanos.get();
   }
 
   @SuppressWarnings("unchecked") // Java cannot infer explicit type check in filter below
@@ -153,6 +186,7 @@ final class SubProblems<InputT, ResultT>
   public void onSolverReset(Problem<InputT, ResultT> problem) {
     for (var entry : entries) {
       for (Problem<?, ?> subProblem : entry.problems) {
+        pendingSolutions.remove(subProblem.getId());
         problemRemovedObserver.accept(subProblem);
       }
     }
@@ -191,9 +225,15 @@ final class SubProblems<InputT, ResultT>
 
       @Override
       public void onStateChanged(Problem<SubInputT, SubResultT> problem, ProblemState newState) {
-        // Collect in list to avoid ConcurrentModificationException
-        var observers = entryStateChangedObservers.stream().toList();
-        observers.forEach(observer -> observer.accept(problem));
+        if (newState != ProblemState.SOLVED) {
+          return;
+        }
+
+        // Removing the sink first guarantees it is completed at most once
+        var pendingSolution = pendingSolutions.remove(problem.getId());
+        if (pendingSolution != null) {
+          pendingSolution.tryEmitValue(problem.getSolution().orElseThrow());
+        }
       }
 
       @Override
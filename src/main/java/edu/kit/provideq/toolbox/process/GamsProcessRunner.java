@@ -72,10 +72,10 @@ public class GamsProcessRunner extends ProcessRunner {
   @Override
   protected <T> ProcessRunnerExecutor<T> getExecutor(
       BiFunction<String, String, ProcessResult<T>> outputProcessor) {
-    return (problemType, solutionId) -> {
+    return (problemType, solution) -> {
       if (problemType.getResultClass() == String.class) {
         var processRunner = super.getExecutor(outputProcessor);
-        var result = processRunner.run(problemType, solutionId);
+        var result = processRunner.run(problemType, solution);
 
         @SuppressWarnings("unchecked") // we know that T is a String
         var obfuscatedOutput = result
@@ -90,7 +90,7 @@ public class GamsProcessRunner extends ProcessRunner {
         return new ProcessResult<>(result.success(), obfuscatedOutput, obfuscatedErrorOutput);
       }
 
-      return super.getExecutor(outputProcessor).run(problemType, solutionId);
+      return super.getExecutor(outputProcessor).run(problemType, solution);
     };
   }
 }
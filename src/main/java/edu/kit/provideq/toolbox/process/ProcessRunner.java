@@ -1,9 +1,14 @@
 package edu.kit.provideq.toolbox.process;
 
 import edu.kit.provideq.toolbox.ResourceProvider;
+import edu.kit.provideq.toolbox.SolutionPhase;
 import edu.kit.provideq.toolbox.meta.ProblemType;
+import edu.kit.provideq.toolbox.statistics.ToolboxMetrics;
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -11,6 +16,10 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.BiFunction;
 import java.util.function.UnaryOperator;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -42,6 +51,16 @@ public class ProcessRunner {
    */
   private static final String OUTPUT_FILE_NAME = "output";
 
+  /**
+   * Reads the output streams of running processes.
+   */
+  private static final ExecutorService STREAM_READER_EXECUTOR =
+      Executors.newCachedThreadPool(runnable -> {
+        var thread = new Thread(runnable, "process-stream-reader");
+        thread.setDaemon(true);
+        return thread;
+      });
+
   protected final ProcessBuilder processBuilder;
   protected final List<BiFunction<ProblemType<?, ?>, UUID, Optional<Exception>>> preProcessors;
   protected final List<BiFunction<ProblemType<?, ?>, UUID, Optional<Exception>>> postProcessors;
@@ -52,6 +71,11 @@ public class ProcessRunner {
    * Only set when the run method is called.
    */
   private String problemDirectory;
+  /**
+   * The name of the output file that is read, if any.
+   */
+  private String outputFileName;
+  private long bytesWritten;
 
   public ProcessRunner(ProcessBuilder processBuilder) {
     this.processBuilder = processBuilder;
@@ -107,6 +131,7 @@ public class ProcessRunner {
       // Write the input data to an input file
       try {
         Files.writeString(inputFilePath, inputData);
+        bytesWritten += Files.size(inputFilePath);
       } catch (IOException e) {
         return Optional.of(new IOException(
             "Error: The input data couldn't be written to %s:%n%s".formatted(
@@ -178,6 +203,8 @@ public class ProcessRunner {
    */
   public <T> ProcessRunnerExecutor<T> readOutputFile(String outputFileName,
                                                      ProcessResultReader<T> reader) {
+    this.outputFileName = outputFileName;
+
     // Add at the beginning of the pre-processors list
     // This ensures that the argument transformers are applied for every argument
     preProcessors.add(0, (problemType, solutionId) -> {
@@ -257,7 +284,9 @@ public class ProcessRunner {
 
   protected <T> ProcessRunnerExecutor<T> getExecutor(
       BiFunction<String, String, ProcessResult<T>> outputProcessor) {
-    return (problemType, solutionId) -> {
+    return (problemType, solution) -> {
+      UUID solutionId = solution.getId();
+
       // Retrieve the problem directory
       try {
         problemDirectory = resourceProvider
@@ -287,21 +316,41 @@ public class ProcessRunner {
             Optional.of("Error: %s problem couldn't be prepared:%n%s".formatted(
                 problemType.getId(), msg)));
       }
+      solution.recordPhase(SolutionPhase.INPUT_WRITTEN);
 
       // Run the process
       String processOutput;
       String processError;
       int processExitCode;
+      long spawnTime;
+      long exitTime;
+      Process process = null;
       try {
         processBuilder.directory(new File(System.getProperty("user.dir")));
         String command =
             processBuilder.command().stream().reduce("", (a, b) -> a + " |break| " + b);
-        Process process = processBuilder.start();
+        spawnTime = System.nanoTime();
+        process = processBuilder.start();
+        solution.recordPhase(SolutionPhase.PROCESS_STARTED);
 
-        processOutput = resourceProvider.readStream(process.inputReader());
-        processError = resourceProvider.readStream(process.errorReader());
+        // read both streams in the background, so waiting for the process can be interrupted
+        var outputReader = readStreamAsync(process.inputReader());
+        var errorReader = readStreamAsync(process.errorReader());
 
         processExitCode = process.waitFor();
+        exitTime = System.nanoTime();
+        solution.recordPhase(SolutionPhase.PROCESS_EXITED);
+        processOutput = outputReader.join();
+        processError = errorReader.join();
+      } catch (CompletionException e) {
+        return new ProcessResult<>(
+            false,
+            Optional.empty(),
+            Optional.of(
+                "Solving %s problem resulted in IO Exception:%n%s".formatted(problemType.getId(),
+                    e.getCause().getMessage())
+            )
+        );
       } catch (IOException e) {
         return new ProcessResult<>(
             false,
@@ -312,6 +361,9 @@ public class ProcessRunner {
             )
         );
       } catch (InterruptedException e) {
+        // the solving was cancelled, so the process is not needed anymore
+        destroyProcessTree(process);
+
         // interrupt current thread:
         Thread.currentThread().interrupt();
         return new ProcessResult<>(
@@ -321,6 +373,8 @@ public class ProcessRunner {
         );
       }
 
+      recordProcessMetrics(processExitCode, exitTime - spawnTime, processOutput, processError);
+
       // Return prematurely if the process failed
       if (processExitCode != 0) {
         return new ProcessResult<>(
@@ -346,7 +400,54 @@ public class ProcessRunner {
         }
       }
 
-      return outputProcessor.apply(processOutput, processError);
+      var result = outputProcessor.apply(processOutput, processError);
+      solution.recordPhase(SolutionPhase.OUTPUT_PARSED);
+      return result;
     };
   }
+
+  private void recordProcessMetrics(
+      int exitCode,
+      long durationNanos,
+      String processOutput,
+      String processError
+  ) {
+    long bytesRead = processOutput.getBytes(StandardCharsets.UTF_8).length
+        + processError.getBytes(StandardCharsets.UTF_8).length;
+    if (outputFileName != null) {
+      try {
+        bytesRead += Files.size(Path.of(problemDirectory, outputFileName));
+      } catch (IOException e) {
+        // the process did not write an output file, which is reported by the output reader
+      }
+    }
+
+    var executable = Path.of(processBuilder.command().get(0)).getFileName().toString();
+    ToolboxMetrics.recordProcess(executable, exitCode, durationNanos, bytesWritten, bytesRead);
+  }
+
+  /**
+   * Returns the executor that reads the output streams of running processes, e.g., to monitor it.
+   */
+  public static ExecutorService getStreamReaderExecutor() {
+    return STREAM_READER_EXECUTOR;
+  }
+
+  private CompletableFuture<String> readStreamAsync(BufferedReader reader) {
+    return CompletableFuture.supplyAsync(() -> {
+      try {
+        return resourceProvider.readStream(reader);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }, STREAM_READER_EXECUTOR);
+  }
+
+  private static void destroyProcessTree(Process process) {
+    if (process == null) {
+      return;
+    }
+    process.descendants().forEach(ProcessHandle::destroyForcibly);
+    process.destroyForcibly();
+  }
 }
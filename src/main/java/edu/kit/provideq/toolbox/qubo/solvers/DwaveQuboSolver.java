@@ -133,7 +133,7 @@ public class DwaveQuboSolver extends QuboSolver {
         )
         .writeInputFile(input, "problem.lp")
         .readOutputFile("problem.bin")
-        .run(getProblemType(), solution.getId());
+        .run(getProblemType(), solution);
 
     return Mono.just(processResult.applyTo(solution));
   }
@@ -5,6 +5,7 @@ import de.asbestian.jplex.input.LpFileReader;
 import de.asbestian.jplex.input.Variable;
 import edu.kit.provideq.toolbox.Solution;
 import edu.kit.provideq.toolbox.exception.ConversionException;
+import edu.kit.provideq.toolbox.format.qubo.QuboBitOrder;
 import edu.kit.provideq.toolbox.integration.planqk.PlanQkApi;
 import edu.kit.provideq.toolbox.integration.planqk.PlanQkApi.JobInfo;
 import edu.kit.provideq.toolbox.integration.planqk.PlanQkApi.ProblemProperties;
@@ -53,6 +54,12 @@ public class KipuQuboSolver extends QuboSolver {
     );
   }
 
+  @Override
+  public QuboBitOrder getBitOrder() {
+    // the counts come from a qiskit circuit, which measures x1 into the last bit
+    return QuboBitOrder.LAST_VARIABLE_FIRST;
+  }
+
   @Override
   public Mono<Solution<String>> solve(
       String input,
@@ -58,7 +58,7 @@ public class QiskitQuboSolver extends QuboSolver {
         )
         .writeInputFile(input, "problem.lp")
         .readOutputFile()
-        .run(getProblemType(), solution.getId());
+        .run(getProblemType(), solution);
 
     // Return if process failed
     return Mono.just(processResult.applyTo(solution));
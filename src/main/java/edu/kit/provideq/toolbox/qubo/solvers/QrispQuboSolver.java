@@ -89,7 +89,7 @@ public class QrispQuboSolver extends QuboSolver {
         )
         .writeInputFile(input, "problem.lp")
         .readOutputFile("problem.bin")
-        .run(getProblemType(), solution.getId());
+        .run(getProblemType(), solution);
 
     return Mono.just(processResult.applyTo(solution));
   }
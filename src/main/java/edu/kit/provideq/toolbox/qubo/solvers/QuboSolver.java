@@ -1,5 +1,6 @@
 package edu.kit.provideq.toolbox.qubo.solvers;
 
+import edu.kit.provideq.toolbox.format.qubo.QuboBitOrder;
 import edu.kit.provideq.toolbox.meta.ProblemSolver;
 import edu.kit.provideq.toolbox.meta.ProblemType;
 import edu.kit.provideq.toolbox.qubo.QuboConfiguration;
@@ -12,4 +13,11 @@ public abstract class QuboSolver implements ProblemSolver<String, String> {
   public ProblemType<String, String> getProblemType() {
     return QuboConfiguration.QUBO;
   }
+
+  /**
+   * Returns the order in which this solver writes the variables of a sample as a bitstring.
+   */
+  public QuboBitOrder getBitOrder() {
+    return QuboBitOrder.FIRST_VARIABLE_FIRST;
+  }
 }
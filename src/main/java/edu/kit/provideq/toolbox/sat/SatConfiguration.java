@@ -3,9 +3,12 @@ package edu.kit.provideq.toolbox.sat;
 import edu.kit.provideq.toolbox.ResourceProvider;
 import edu.kit.provideq.toolbox.exception.MissingExampleException;
 import edu.kit.provideq.toolbox.format.cnf.dimacs.DimacsCnfSolution;
+import edu.kit.provideq.toolbox.meta.PortfolioSolver;
 import edu.kit.provideq.toolbox.meta.Problem;
 import edu.kit.provideq.toolbox.meta.ProblemManager;
 import edu.kit.provideq.toolbox.meta.ProblemType;
+import edu.kit.provideq.toolbox.sat.solvers.CdclSatSolver;
+import edu.kit.provideq.toolbox.sat.solvers.CubeAndConquerSolver;
 import edu.kit.provideq.toolbox.sat.solvers.GamsSatSolver;
 import edu.kit.provideq.toolbox.sat.solvers.QrispExactGroverSolver;
 import edu.kit.provideq.toolbox.sat.solvers.QrispGroverSolver;
@@ -35,11 +38,14 @@ public class SatConfiguration {
       GamsSatSolver gamsSolver,
       QrispGroverSolver qrispSolver,
       QrispExactGroverSolver exactSolver,
+      CdclSatSolver cdclSolver,
+      CubeAndConquerSolver cubeAndConquerSolver,
       ResourceProvider resourceProvider
   ) {
     return new ProblemManager<>(
         SAT,
-        Set.of(gamsSolver, qrispSolver, exactSolver),
+        PortfolioSolver.withPortfolio(
+            SAT, Set.of(gamsSolver, qrispSolver, exactSolver, cdclSolver, cubeAndConquerSolver)),
         loadExampleProblems(resourceProvider)
     );
   }
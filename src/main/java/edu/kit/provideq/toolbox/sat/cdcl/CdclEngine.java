@@ -0,0 +1,771 @@
+package edu.kit.provideq.toolbox.sat.cdcl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Incremental conflict-driven clause learning SAT engine.
+ *
+ * <p>Clauses are stored as primitive literal arrays and propagated with two watched literals
+ * and blocking literals. Decisions follow VSIDS with phase saving, conflicts are analyzed to
+ * the first unique implication point, restarts follow the Luby sequence and learned clauses
+ * are reduced by their literal block distance.
+ *
+ * <p>Literals use the DIMACS convention: variable {@code v} is the literal {@code v},
+ * its negation is {@code -v}. Clauses can be added between calls of {@link #solve(int...)},
+ * learned clauses are kept, so a sequence of related queries is answered incrementally.
+ * Instances are not thread-safe, except for {@link #stop()}.
+ */
+public class CdclEngine {
+  /**
+   * Outcome of a {@link #solve(int...)} call.
+   */
+  public enum Result {
+    SATISFIABLE,
+    UNSATISFIABLE,
+    /**
+     * The search was stopped or ran out of its conflict budget.
+     */
+    UNKNOWN
+  }
+
+  private static final int RESTART_BASE = 100;
+  private static final int REDUCE_BASE = 2000;
+  private static final int REDUCE_INCREMENT = 300;
+  private static final double VARIABLE_DECAY = 0.95;
+  private static final double CLAUSE_DECAY = 0.999;
+  private static final int UNDEFINED = -1;
+
+  private static final class Clause {
+    final int[] literals;
+    final boolean learnt;
+    int lbd;
+    double activity;
+    boolean deleted;
+
+    Clause(int[] literals, boolean learnt) {
+      this.literals = literals;
+      this.learnt = learnt;
+    }
+  }
+
+  /**
+   * Clauses watching a literal, together with a blocking literal for each of them.
+   * If the blocking literal is true, the clause is satisfied and doesn't need to be visited.
+   */
+  private static final class WatchList {
+    Clause[] clauses = new Clause[4];
+    int[] blockers = new int[4];
+    int size;
+
+    void add(Clause clause, int blocker) {
+      if (size == clauses.length) {
+        clauses = Arrays.copyOf(clauses, size * 2);
+        blockers = Arrays.copyOf(blockers, size * 2);
+      }
+      clauses[size] = clause;
+      blockers[size] = blocker;
+      size++;
+    }
+  }
+
+  private int variableCount;
+  private boolean ok = true;
+  private volatile boolean stopRequested;
+  private long conflictBudget = -1;
+
+  // per variable, indexed from 0
+  private byte[] assignments = new byte[0];
+  private int[] levels = new int[0];
+  private Clause[] reasons = new Clause[0];
+  private boolean[] savedPhases = new boolean[0];
+  private boolean[] seen = new boolean[0];
+  private int[] analyzedLiterals = new int[0];
+  private double[] activities = new double[0];
+  private double variableIncrement = 1;
+  private double clauseIncrement = 1;
+
+  // per literal, indexed by 2 * variable + sign
+  private WatchList[] watches = new WatchList[0];
+
+  private int[] trail = new int[0];
+  private int trailSize;
+  private int propagationHead;
+  private int[] trailLimits = new int[0];
+  private int decisionLevel;
+
+  private int[] heap = new int[0];
+  private int[] heapIndices = new int[0];
+  private int heapSize;
+
+  private final List<Clause> clauses = new ArrayList<>();
+  private final List<Clause> learnts = new ArrayList<>();
+  private long nextReduction = REDUCE_BASE;
+  private int reductions;
+
+  private int[] assumptions = new int[0];
+  private boolean[] model;
+
+  private long decisions;
+  private long conflicts;
+  private long propagations;
+
+  /**
+   * Creates an engine without variables, variables are added by {@link #addClause(int...)}.
+   */
+  public CdclEngine() {
+    this(0);
+  }
+
+  /**
+   * Creates an engine for variables {@code 1} to {@code variableCount}.
+   */
+  public CdclEngine(int variableCount) {
+    ensureVariables(variableCount);
+  }
+
+  /**
+   * Makes sure that variables {@code 1} to {@code count} exist.
+   */
+  public void ensureVariables(int count) {
+    if (count <= variableCount) {
+      return;
+    }
+
+    int oldCount = variableCount;
+    assignments = Arrays.copyOf(assignments, count);
+    levels = Arrays.copyOf(levels, count);
+    reasons = Arrays.copyOf(reasons, count);
+    savedPhases = Arrays.copyOf(savedPhases, count);
+    seen = Arrays.copyOf(seen, count);
+    analyzedLiterals = Arrays.copyOf(analyzedLiterals, count);
+    activities = Arrays.copyOf(activities, count);
+    trail = Arrays.copyOf(trail, count);
+    trailLimits = Arrays.copyOf(trailLimits, Math.max(trailLimits.length, count + 1));
+    heap = Arrays.copyOf(heap, count);
+    heapIndices = Arrays.copyOf(heapIndices, count);
+    watches = Arrays.copyOf(watches, 2 * count);
+    variableCount = count;
+
+    for (int variable = oldCount; variable < count; variable++) {
+      watches[2 * variable] = new WatchList();
+      watches[2 * variable + 1] = new WatchList();
+      heapIndices[variable] = UNDEFINED;
+      heapInsert(variable);
+    }
+  }
+
+  public int getVariableCount() {
+    return variableCount;
+  }
+
+  /**
+   * Adds a clause of DIMACS literals.
+   *
+   * @return false if the formula is known to be unsatisfiable afterwards.
+   */
+  public boolean addClause(int... dimacsLiterals) {
+    if (!ok) {
+      return false;
+    }
+
+    int[] literals = new int[dimacsLiterals.length];
+    for (int i = 0; i < dimacsLiterals.length; i++) {
+      if (dimacsLiterals[i] == 0) {
+        throw new IllegalArgumentException("0 is not a literal");
+      }
+      ensureVariables(Math.abs(dimacsLiterals[i]));
+      literals[i] = toLiteral(dimacsLiterals[i]);
+    }
+    Arrays.sort(literals);
+
+    // drop duplicates and literals that are false on the top level,
+    // tautologies and satisfied clauses are not needed at all
+    int size = 0;
+    int previous = UNDEFINED;
+    for (int literal : literals) {
+      int value = value(literal);
+      if (value > 0 || literal == (previous ^ 1)) {
+        return true;
+      }
+      if (value == 0 && literal != previous) {
+        literals[size++] = literal;
+        previous = literal;
+      }
+    }
+
+    if (size == 0) {
+      ok = false;
+    } else if (size == 1) {
+      enqueue(literals[0], null);
+      ok = propagate() == null;
+    } else {
+      var clause = new Clause(Arrays.copyOf(literals, size), false);
+      clauses.add(clause);
+      attach(clause);
+    }
+    return ok;
+  }
+
+  /**
+   * Searches for a model of all clauses under the given assumptions.
+   * Assumptions only hold for this call, unlike clauses added with {@link #addClause(int...)}.
+   *
+   * @param dimacsAssumptions DIMACS literals that must be true in the model.
+   * @return whether a model exists, or {@link Result#UNKNOWN} if the search was stopped.
+   */
+  public Result solve(int... dimacsAssumptions) {
+    model = null;
+    if (!ok) {
+      return Result.UNSATISFIABLE;
+    }
+
+    assumptions = new int[dimacsAssumptions.length];
+    for (int i = 0; i < dimacsAssumptions.length; i++) {
+      ensureVariables(Math.abs(dimacsAssumptions[i]));
+      assumptions[i] = toLiteral(dimacsAssumptions[i]);
+    }
+    // assumptions that are already implied still open a decision level
+    if (trailLimits.length <= variableCount + assumptions.length) {
+      trailLimits = Arrays.copyOf(trailLimits, variableCount + assumptions.length + 1);
+    }
+
+    long conflictLimit = conflictBudget < 0 ? Long.MAX_VALUE : conflicts + conflictBudget;
+
+    Result result = null;
+    for (int restart = 0; result == null; restart++) {
+      result = search(luby(restart) * RESTART_BASE, conflictLimit);
+    }
+
+    if (result == Result.SATISFIABLE) {
+      model = new boolean[variableCount];
+      for (int variable = 0; variable < variableCount; variable++) {
+        model[variable] = assignments[variable] > 0;
+      }
+    }
+    cancelUntil(0);
+    return result;
+  }
+
+  /**
+   * Returns the value of a variable in the model found by the last {@link #solve(int...)} call.
+   */
+  public boolean getModelValue(int variable) {
+    if (model == null) {
+      throw new IllegalStateException("The last search didn't find a model.");
+    }
+    return model[variable - 1];
+  }
+
+  /**
+   * Returns the model found by the last {@link #solve(int...)} call as DIMACS literals,
+   * ordered by variable.
+   */
+  public int[] getModel() {
+    if (model == null) {
+      throw new IllegalStateException("The last search didn't find a model.");
+    }
+
+    int[] literals = new int[model.length];
+    for (int variable = 0; variable < model.length; variable++) {
+      literals[variable] = model[variable] ? variable + 1 : -(variable + 1);
+    }
+    return literals;
+  }
+
+  /**
+   * Returns whether the clauses are still satisfiable without assumptions, as far as known.
+   */
+  public boolean isOkay() {
+    return ok;
+  }
+
+  /**
+   * Returns the DIMACS literals that are implied by the clauses on the top level.
+   */
+  public int[] getTopLevelLiterals() {
+    int end = decisionLevel == 0 ? trailSize : trailLimits[0];
+    int[] literals = new int[end];
+    for (int i = 0; i < end; i++) {
+      literals[i] = toDimacs(trail[i]);
+    }
+    return literals;
+  }
+
+  /**
+   * Stops the current search, or the next one if no search is running.
+   * The stopped search returns {@link Result#UNKNOWN}.
+   * Can be called from any thread.
+   */
+  public void stop() {
+    stopRequested = true;
+  }
+
+  /**
+   * Limits the number of conflicts of each {@link #solve(int...)} call.
+   *
+   * @param conflictBudget maximum number of conflicts, negative for no limit.
+   */
+  public void setConflictBudget(long conflictBudget) {
+    this.conflictBudget = conflictBudget;
+  }
+
+  public long getDecisions() {
+    return decisions;
+  }
+
+  public long getConflicts() {
+    return conflicts;
+  }
+
+  public long getPropagations() {
+    return propagations;
+  }
+
+  public int getLearntClauseCount() {
+    return learnts.size();
+  }
+
+  /**
+   * Runs the search until a model is found, unsatisfiability is proven,
+   * or it is time to restart.
+   *
+   * @return the result of the search, or null for a restart.
+   */
+  private Result search(long restartConflicts, long conflictLimit) {
+    long conflictsAtStart = conflicts;
+    var learntLiterals = new int[variableCount];
+
+    while (true) {
+      Clause conflict = propagate();
+      if (conflict != null) {
+        conflicts++;
+        if (decisionLevel == 0) {
+          ok = false;
+          return Result.UNSATISFIABLE;
+        }
+
+        int learntSize = analyze(conflict, learntLiterals);
+        int backtrackLevel = learntSize == 1 ? 0 : levels[learntLiterals[1] >> 1];
+        cancelUntil(backtrackLevel);
+
+        if (learntSize == 1) {
+          enqueue(learntLiterals[0], null);
+        } else {
+          var clause = new Clause(Arrays.copyOf(learntLiterals, learntSize), true);
+          clause.lbd = computeLbd(clause.literals);
+          learnts.add(clause);
+          attach(clause);
+          bumpClause(clause);
+          enqueue(learntLiterals[0], clause);
+        }
+
+        variableIncrement /= VARIABLE_DECAY;
+        clauseIncrement /= CLAUSE_DECAY;
+        continue;
+      }
+
+      if (stopRequested || conflicts >= conflictLimit) {
+        stopRequested = false;
+        return Result.UNKNOWN;
+      }
+      if (conflicts - conflictsAtStart >= restartConflicts) {
+        cancelUntil(0);
+        return null;
+      }
+      if (conflicts >= nextReduction) {
+        reduceLearnts();
+        reductions++;
+        nextReduction = conflicts + REDUCE_BASE + (long) REDUCE_INCREMENT * reductions;
+      }
+
+      int next = UNDEFINED;
+      while (decisionLevel < assumptions.length) {
+        int assumption = assumptions[decisionLevel];
+        int value = value(assumption);
+        if (value > 0) {
+          // already implied, open an empty level to keep levels and assumptions aligned
+          newDecisionLevel();
+        } else if (value < 0) {
+          return Result.UNSATISFIABLE;
+        } else {
+          next = assumption;
+          break;
+        }
+      }
+
+      if (next == UNDEFINED) {
+        int variable = pickBranchVariable();
+        if (variable == UNDEFINED) {
+          return Result.SATISFIABLE;
+        }
+        decisions++;
+        next = 2 * variable + (savedPhases[variable] ? 0 : 1);
+      }
+
+      newDecisionLevel();
+      enqueue(next, null);
+    }
+  }
+
+  /**
+   * Propagates all enqueued literals.
+   *
+   * @return a conflicting clause, or null if no conflict occurred.
+   */
+  private Clause propagate() {
+    Clause conflict = null;
+
+    while (propagationHead < trailSize) {
+      int propagated = trail[propagationHead++];
+      int falseLiteral = propagated ^ 1;
+      WatchList watchList = watches[propagated];
+      Clause[] watchers = watchList.clauses;
+      int[] blockers = watchList.blockers;
+      int size = watchList.size;
+      int i = 0;
+      int j = 0;
+      propagations++;
+
+      while (i < size) {
+        int blocker = blockers[i];
+        if (value(blocker) > 0) {
+          watchers[j] = watchers[i];
+          blockers[j++] = blockers[i++];
+          continue;
+        }
+
+        Clause clause = watchers[i++];
+        if (clause.deleted) {
+          continue;
+        }
+
+        // make sure the false literal is at position 1
+        int[] literals = clause.literals;
+        if (literals[0] == falseLiteral) {
+          literals[0] = literals[1];
+          literals[1] = falseLiteral;
+        }
+
+        int first = literals[0];
+        if (first != blocker && value(first) > 0) {
+          watchers[j] = clause;
+          blockers[j++] = first;
+          continue;
+        }
+
+        boolean foundWatch = false;
+        for (int k = 2; k < literals.length; k++) {
+          if (value(literals[k]) >= 0) {
+            literals[1] = literals[k];
+            literals[k] = falseLiteral;
+            watches[literals[1] ^ 1].add(clause, first);
+            foundWatch = true;
+            break;
+          }
+        }
+        if (foundWatch) {
+          continue;
+        }
+
+        // the clause is unit or conflicting
+        watchers[j] = clause;
+        blockers[j++] = first;
+        if (value(first) < 0) {
+          conflict = clause;
+          propagationHead = trailSize;
+          while (i < size) {
+            watchers[j] = watchers[i];
+            blockers[j++] = blockers[i++];
+          }
+        } else {
+          enqueue(first, clause);
+        }
+      }
+
+      Arrays.fill(watchers, j, size, null);
+      watchList.size = j;
+    }
+
+    return conflict;
+  }
+
+  /**
+   * Derives a learned clause from a conflict, with the asserting literal at position 0 and a
+   * literal of the backtrack level at position 1.
+   *
+   * @return the number of literals of the learned clause.
+   */
+  private int analyze(Clause conflict, int[] learnt) {
+    int size = 1;
+    int pathCount = 0;
+    int literal = UNDEFINED;
+    int index = trailSize - 1;
+    Clause reason = conflict;
+
+    do {
+      if (reason.learnt) {
+        bumpClause(reason);
+      }
+
+      int[] literals = reason.literals;
+      for (int k = literal == UNDEFINED ? 0 : 1; k < literals.length; k++) {
+        int variable = literals[k] >> 1;
+        if (!seen[variable] && levels[variable] > 0) {
+          bumpVariable(variable);
+          seen[variable] = true;
+          if (levels[variable] >= decisionLevel) {
+            pathCount++;
+          } else {
+            learnt[size++] = literals[k];
+          }
+        }
+      }
+
+      while (!seen[trail[index] >> 1]) {
+        index--;
+      }
+      literal = trail[index--];
+      reason = reasons[literal >> 1];
+      seen[literal >> 1] = false;
+      pathCount--;
+    } while (pathCount > 0);
+    learnt[0] = literal ^ 1;
+
+    // drop literals that are implied by the other literals of the clause
+    System.arraycopy(learnt, 0, analyzedLiterals, 0, size);
+    int minimizedSize = 1;
+    for (int k = 1; k < size; k++) {
+      Clause literalReason = reasons[learnt[k] >> 1];
+      if (literalReason == null || !isImpliedBySeen(literalReason)) {
+        learnt[minimizedSize++] = learnt[k];
+      }
+    }
+    for (int k = 1; k < size; k++) {
+      seen[analyzedLiterals[k] >> 1] = false;
+    }
+    size = minimizedSize;
+
+    // move a literal of the highest remaining level to position 1
+    int maxIndex = 1;
+    for (int k = 2; k < size; k++) {
+      if (levels[learnt[k] >> 1] > levels[learnt[maxIndex] >> 1]) {
+        maxIndex = k;
+      }
+    }
+    if (size > 1) {
+      int swap = learnt[1];
+      learnt[1] = learnt[maxIndex];
+      learnt[maxIndex] = swap;
+    }
+
+    return size;
+  }
+
+  private boolean isImpliedBySeen(Clause reason) {
+    int[] literals = reason.literals;
+    for (int k = 1; k < literals.length; k++) {
+      int variable = literals[k] >> 1;
+      if (!seen[variable] && levels[variable] > 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private int computeLbd(int[] literals) {
+    var distinctLevels = new BitSet();
+    for (int literal : literals) {
+      distinctLevels.set(levels[literal >> 1]);
+    }
+    return distinctLevels.cardinality();
+  }
+
+  /**
+   * Deletes the less useful half of the learned clauses.
+   * Clauses with a literal block distance of at most two and clauses that are the reason of an
+   * assignment are kept.
+   */
+  private void reduceLearnts() {
+    learnts.sort(Comparator
+        .comparingInt((Clause clause) -> clause.lbd)
+        .thenComparing(clause -> -clause.activity));
+
+    int keep = learnts.size() / 2;
+    var kept = new ArrayList<Clause>(learnts.size());
+    for (int i = 0; i < learnts.size(); i++) {
+      Clause clause = learnts.get(i);
+      if (i < keep || clause.lbd <= 2 || isLocked(clause)) {
+        kept.add(clause);
+      } else {
+        // watches of deleted clauses are dropped lazily during propagation
+        clause.deleted = true;
+      }
+    }
+    learnts.clear();
+    learnts.addAll(kept);
+  }
+
+  private boolean isLocked(Clause clause) {
+    int first = clause.literals[0];
+    return reasons[first >> 1] == clause && value(first) > 0;
+  }
+
+  private void attach(Clause clause) {
+    watches[clause.literals[0] ^ 1].add(clause, clause.literals[1]);
+    watches[clause.literals[1] ^ 1].add(clause, clause.literals[0]);
+  }
+
+  private void enqueue(int literal, Clause reason) {
+    int variable = literal >> 1;
+    assignments[variable] = (byte) ((literal & 1) == 0 ? 1 : -1);
+    levels[variable] = decisionLevel;
+    reasons[variable] = reason;
+    trail[trailSize++] = literal;
+  }
+
+  private void newDecisionLevel() {
+    trailLimits[decisionLevel++] = trailSize;
+  }
+
+  private void cancelUntil(int level) {
+    if (decisionLevel <= level) {
+      return;
+    }
+
+    for (int i = trailSize - 1; i >= trailLimits[level]; i--) {
+      int variable = trail[i] >> 1;
+      savedPhases[variable] = assignments[variable] > 0;
+      assignments[variable] = 0;
+      reasons[variable] = null;
+      if (heapIndices[variable] == UNDEFINED) {
+        heapInsert(variable);
+      }
+    }
+    trailSize = trailLimits[level];
+    propagationHead = trailSize;
+    decisionLevel = level;
+  }
+
+  private int pickBranchVariable() {
+    while (heapSize > 0) {
+      int variable = heapRemoveMax();
+      if (assignments[variable] == 0) {
+        return variable;
+      }
+    }
+    return UNDEFINED;
+  }
+
+  /**
+   * Returns 1 if the literal is true, -1 if it is false and 0 if it is unassigned.
+   */
+  private int value(int literal) {
+    int assignment = assignments[literal >> 1];
+    return (literal & 1) == 0 ? assignment : -assignment;
+  }
+
+  private void bumpVariable(int variable) {
+    activities[variable] += variableIncrement;
+    if (activities[variable] > 1e100) {
+      for (int i = 0; i < variableCount; i++) {
+        activities[i] *= 1e-100;
+      }
+      variableIncrement *= 1e-100;
+    }
+    if (heapIndices[variable] != UNDEFINED) {
+      heapPercolateUp(heapIndices[variable]);
+    }
+  }
+
+  private void bumpClause(Clause clause) {
+    clause.activity += clauseIncrement;
+    if (clause.activity > 1e20) {
+      for (Clause learnt : learnts) {
+        learnt.activity *= 1e-20;
+      }
+      clauseIncrement *= 1e-20;
+    }
+  }
+
+  private void heapInsert(int variable) {
+    heap[heapSize] = variable;
+    heapIndices[variable] = heapSize;
+    heapPercolateUp(heapSize++);
+  }
+
+  private int heapRemoveMax() {
+    int max = heap[0];
+    heapIndices[max] = UNDEFINED;
+    heapSize--;
+    if (heapSize > 0) {
+      heap[0] = heap[heapSize];
+      heapIndices[heap[0]] = 0;
+      heapPercolateDown(0);
+    }
+    return max;
+  }
+
+  private void heapPercolateUp(int index) {
+    int variable = heap[index];
+    while (index > 0) {
+      int parent = (index - 1) / 2;
+      if (activities[heap[parent]] >= activities[variable]) {
+        break;
+      }
+      heap[index] = heap[parent];
+      heapIndices[heap[index]] = index;
+      index = parent;
+    }
+    heap[index] = variable;
+    heapIndices[variable] = index;
+  }
+
+  private void heapPercolateDown(int index) {
+    int variable = heap[index];
+    while (2 * index + 1 < heapSize) {
+      int child = 2 * index + 1;
+      if (child + 1 < heapSize && activities[heap[child + 1]] > activities[heap[child]]) {
+        child++;
+      }
+      if (activities[heap[child]] <= activities[variable]) {
+        break;
+      }
+      heap[index] = heap[child];
+      heapIndices[heap[index]] = index;
+      index = child;
+    }
+    heap[index] = variable;
+    heapIndices[variable] = index;
+  }
+
+  private static int toLiteral(int dimacsLiteral) {
+    return 2 * (Math.abs(dimacsLiteral) - 1) + (dimacsLiteral < 0 ? 1 : 0);
+  }
+
+  private static int toDimacs(int literal) {
+    int variable = (literal >> 1) + 1;
+    return (literal & 1) == 0 ? variable : -variable;
+  }
+
+  /**
+   * Returns element {@code index} of the Luby sequence 1, 1, 2, 1, 1, 2, 4, 1, ...
+   */
+  private static long luby(int index) {
+    int size = 1;
+    int sequence = 0;
+    while (size < index + 1) {
+      sequence++;
+      size = 2 * size + 1;
+    }
+    while (size - 1 != index) {
+      size = (size - 1) / 2;
+      sequence--;
+      index = index % size;
+    }
+    return 1L << sequence;
+  }
+}
@@ -0,0 +1,281 @@
+package edu.kit.provideq.toolbox.sat.cubing;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Splits a formula into cubes with lookahead, the first phase of cube-and-conquer.
+ *
+ * <p>At every node of the splitting tree, the most frequent variables of the unsatisfied clauses
+ * are propagated in both polarities. A polarity that leads to a conflict is a failed literal,
+ * its negation is implied at the node. If both polarities fail, the node is refuted and yields
+ * no cube. Otherwise the node branches on the variable whose two polarities assign the most
+ * variables, so the cubes are balanced and every cube is considerably simpler than the formula.
+ *
+ * <p>The returned cubes cover every model of the formula: the formula is satisfiable
+ * if and only if it is satisfiable together with the literals of at least one cube.
+ * Literals use the DIMACS convention.
+ */
+public class LookaheadCuber {
+  private static final int LOOKAHEAD_CANDIDATES = 32;
+
+  private final int[][] clauses;
+  private final boolean containsEmptyClause;
+
+  // indexed by literal index, see literalIndex()
+  private final int[][] occurrences;
+
+  // indexed by variable: 0 = unassigned, 1 = true, -1 = false
+  private final byte[] values;
+  private final int[] trail;
+  private int trailSize;
+
+  /**
+   * Creates a cuber for a formula.
+   *
+   * @param variableCount highest variable number of the formula.
+   * @param clauses clauses in DIMACS literals.
+   */
+  public LookaheadCuber(int variableCount, List<int[]> clauses) {
+    this.clauses = clauses.stream()
+        .map(clause -> Arrays.stream(clause).distinct().toArray())
+        .toArray(int[][]::new);
+    this.containsEmptyClause = Arrays.stream(this.clauses).anyMatch(clause -> clause.length == 0);
+
+    int[] occurrenceCounts = new int[2 * variableCount + 2];
+    for (int[] clause : this.clauses) {
+      for (int literal : clause) {
+        occurrenceCounts[literalIndex(literal)]++;
+      }
+    }
+    occurrences = new int[occurrenceCounts.length][];
+    for (int i = 0; i < occurrences.length; i++) {
+      occurrences[i] = new int[occurrenceCounts[i]];
+    }
+    Arrays.fill(occurrenceCounts, 0);
+    for (int c = 0; c < this.clauses.length; c++) {
+      for (int literal : this.clauses[c]) {
+        int index = literalIndex(literal);
+        occurrences[index][occurrenceCounts[index]++] = c;
+      }
+    }
+
+    values = new byte[variableCount + 1];
+    trail = new int[variableCount];
+  }
+
+  /**
+   * Splits the formula into at most {@code maxCubes} cubes.
+   *
+   * @return the literals of each cube, an empty list if lookahead refuted the formula.
+   */
+  public List<int[]> cube(int maxCubes) {
+    var cubes = new ArrayList<int[]>();
+    if (containsEmptyClause) {
+      return cubes;
+    }
+
+    trailSize = 0;
+    Arrays.fill(values, (byte) 0);
+    for (int[] clause : clauses) {
+      if (clause.length == 1 && !assign(clause[0])) {
+        return cubes;
+      }
+    }
+    if (!propagate(0)) {
+      return cubes;
+    }
+
+    int depth = 31 - Integer.numberOfLeadingZeros(Math.max(maxCubes, 1));
+    split(new ArrayList<>(), depth, cubes);
+    return cubes;
+  }
+
+  /**
+   * Expands a node of the splitting tree whose literals are assigned and propagated.
+   *
+   * @param cube decisions and failed literals that lead to the node.
+   */
+  private void split(List<Integer> cube, int remainingDepth, List<int[]> cubes) {
+    int mark = trailSize;
+    int cubeSize = cube.size();
+    try {
+      int branchVariable = lookahead(cube);
+      if (branchVariable < 0) {
+        return;
+      }
+      if (branchVariable == 0 || remainingDepth == 0) {
+        cubes.add(cube.stream().mapToInt(Integer::intValue).toArray());
+        return;
+      }
+
+      for (int literal : new int[] {branchVariable, -branchVariable}) {
+        int branchMark = trailSize;
+        cube.add(literal);
+        if (assign(literal) && propagate(branchMark)) {
+          split(cube, remainingDepth - 1, cubes);
+        }
+        cube.remove(cube.size() - 1);
+        undo(branchMark);
+      }
+    } finally {
+      while (cube.size() > cubeSize) {
+        cube.remove(cube.size() - 1);
+      }
+      undo(mark);
+    }
+  }
+
+  /**
+   * Looks ahead on the candidate variables and assigns failed literals.
+   *
+   * @return the variable to branch on, 0 if every clause is satisfied,
+   *     or -1 if the node is refuted.
+   */
+  private int lookahead(List<Integer> cube) {
+    int bestVariable = 0;
+    long bestScore = -1;
+
+    for (int variable : selectCandidates()) {
+      if (values[variable] != 0) {
+        // assigned by a failed literal of an earlier candidate
+        continue;
+      }
+
+      int positive = probe(variable);
+      int negative = probe(-variable);
+      if (positive < 0 && negative < 0) {
+        return -1;
+      }
+      if (positive < 0 || negative < 0) {
+        int implied = positive < 0 ? -variable : variable;
+        int mark = trailSize;
+        cube.add(implied);
+        if (!assign(implied) || !propagate(mark)) {
+          return -1;
+        }
+        continue;
+      }
+
+      long score = (positive + 1L) * (negative + 1L);
+      if (score > bestScore) {
+        bestScore = score;
+        bestVariable = variable;
+      }
+    }
+
+    if (bestVariable == 0 && hasUnsatisfiedClause()) {
+      // every candidate was a failed literal, look at the simplified node again
+      return lookahead(cube);
+    }
+    return bestVariable;
+  }
+
+  /**
+   * Returns the number of variables that a literal assigns by propagation, or -1 on a conflict.
+   */
+  private int probe(int literal) {
+    int mark = trailSize;
+    int assigned = assign(literal) && propagate(mark) ? trailSize - mark : -1;
+    undo(mark);
+    return assigned;
+  }
+
+  private int[] selectCandidates() {
+    int[] scores = new int[values.length];
+    for (int[] clause : clauses) {
+      if (isSatisfied(clause)) {
+        continue;
+      }
+      for (int literal : clause) {
+        if (values[Math.abs(literal)] == 0) {
+          scores[Math.abs(literal)]++;
+        }
+      }
+    }
+
+    return IntStream.range(1, values.length)
+        .filter(variable -> scores[variable] > 0)
+        .boxed()
+        .sorted((first, second) -> Integer.compare(scores[second], scores[first]))
+        .limit(LOOKAHEAD_CANDIDATES)
+        .mapToInt(Integer::intValue)
+        .toArray();
+  }
+
+  private boolean hasUnsatisfiedClause() {
+    for (int[] clause : clauses) {
+      if (!isSatisfied(clause)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private boolean assign(int literal) {
+    int variable = Math.abs(literal);
+    byte value = (byte) (literal > 0 ? 1 : -1);
+    if (values[variable] != 0) {
+      return values[variable] == value;
+    }
+    values[variable] = value;
+    trail[trailSize++] = literal;
+    return true;
+  }
+
+  /**
+   * Propagates unit clauses for the assignments on the trail from the given position.
+   *
+   * @return false if a clause became empty.
+   */
+  private boolean propagate(int from) {
+    for (int i = from; i < trailSize; i++) {
+      for (int c : occurrences[literalIndex(-trail[i])]) {
+        int unassigned = 0;
+        int lastUnassigned = 0;
+        boolean satisfied = false;
+        for (int literal : clauses[c]) {
+          int value = values[Math.abs(literal)];
+          if (value == 0) {
+            unassigned++;
+            lastUnassigned = literal;
+          } else if (value > 0 == literal > 0) {
+            satisfied = true;
+            break;
+          }
+        }
+
+        if (satisfied || unassigned > 1) {
+          continue;
+        }
+        if (unassigned == 0) {
+          return false;
+        }
+        assign(lastUnassigned);
+      }
+    }
+    return true;
+  }
+
+  private void undo(int mark) {
+    while (trailSize > mark) {
+      values[Math.abs(trail[--trailSize])] = 0;
+    }
+  }
+
+  private boolean isSatisfied(int[] clause) {
+    for (int literal : clause) {
+      int value = values[Math.abs(literal)];
+      if (value != 0 && value > 0 == literal > 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static int literalIndex(int literal) {
+    return literal > 0 ? 2 * literal : -2 * literal + 1;
+  }
+}
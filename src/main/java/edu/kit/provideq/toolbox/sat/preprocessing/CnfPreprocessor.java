@@ -0,0 +1,592 @@
+package edu.kit.provideq.toolbox.sat.preprocessing;
+
+import edu.kit.provideq.toolbox.format.cnf.dimacs.DimacsCnf;
+import edu.kit.provideq.toolbox.format.cnf.dimacs.Variable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Simplifies CNF formulae before they are handed to a solver.
+ *
+ * <p>The preprocessor applies unit propagation, equivalent-literal substitution,
+ * subsumption and self-subsuming resolution until nothing changes anymore.
+ * For satisfiability, pure literals and bounded variable elimination are applied as well.
+ * These two steps keep the formula equisatisfiable but change its number of models,
+ * so they are left out in {@link #preprocessForCounting(DimacsCnf) counting mode}.
+ *
+ * <p>Every removed variable is recorded on a reconstruction stack, see
+ * {@link PreprocessedCnf#reconstruct}, so models of the simplified formula can be extended to
+ * models of the original one.
+ */
+public final class CnfPreprocessor {
+  private static final int MAX_ROUNDS = 10;
+  private static final int MAX_ELIMINATION_OCCURRENCES = 16;
+  private static final int MAX_RESOLVENT_SIZE = 20;
+
+  private final DimacsCnf original;
+  private final boolean countPreserving;
+  private final int variableCount;
+
+  private final List<int[]> clauses = new ArrayList<>();
+  private final List<List<Integer>> occurrences = new ArrayList<>();
+  private final byte[] values;
+  private final boolean[] removed;
+  private final int[] marks;
+  private int markStamp;
+
+  private final List<int[]> reconstructionStack = new ArrayList<>();
+  private final ArrayDeque<Integer> propagationQueue = new ArrayDeque<>();
+  private boolean unsatisfiable;
+
+  private int units;
+  private int pureLiterals;
+  private int subsumedClauses;
+  private int strengthenedClauses;
+  private int eliminatedVariables;
+  private int equivalentVariables;
+
+  private CnfPreprocessor(DimacsCnf original, boolean countPreserving) {
+    this.original = original;
+    this.countPreserving = countPreserving;
+    this.variableCount = original.getOrClauses().stream()
+        .flatMap(List::stream)
+        .mapToInt(Variable::number)
+        .max()
+        .orElse(0);
+
+    this.values = new byte[variableCount + 1];
+    this.removed = new boolean[variableCount + 1];
+    this.marks = new int[2 * variableCount + 2];
+    for (int i = 0; i < 2 * variableCount + 2; i++) {
+      occurrences.add(new ArrayList<>());
+    }
+  }
+
+  /**
+   * Simplifies a formula with all techniques, keeping it equisatisfiable.
+   */
+  public static PreprocessedCnf preprocess(DimacsCnf cnf) {
+    return new CnfPreprocessor(cnf, false).run();
+  }
+
+  /**
+   * Simplifies a formula with techniques that keep its number of models,
+   * up to the factor reported by {@link PreprocessedCnf#getFreeVariableCount()}.
+   */
+  public static PreprocessedCnf preprocessForCounting(DimacsCnf cnf) {
+    return new CnfPreprocessor(cnf, true).run();
+  }
+
+  private PreprocessedCnf run() {
+    for (List<Variable> clause : original.getOrClauses()) {
+      addClause(clause.stream()
+          .mapToInt(variable -> variable.isNegated() ? -variable.number() : variable.number())
+          .toArray());
+    }
+    propagate();
+
+    boolean changed = true;
+    for (int round = 0; round < MAX_ROUNDS && changed && !unsatisfiable; round++) {
+      int before = getRemovedCount();
+
+      substituteEquivalentLiterals();
+      propagate();
+      subsume();
+      propagate();
+      if (!countPreserving) {
+        eliminatePureLiterals();
+        eliminateVariables();
+        propagate();
+      }
+
+      changed = getRemovedCount() != before;
+    }
+
+    var remaining = unsatisfiable
+        ? List.<int[]>of()
+        : clauses.stream().filter(clause -> clause != null).toList();
+    return new PreprocessedCnf(
+        original, remaining, reconstructionStack, unsatisfiable, getReport());
+  }
+
+  private int getRemovedCount() {
+    return units + pureLiterals + subsumedClauses + strengthenedClauses
+        + eliminatedVariables + equivalentVariables;
+  }
+
+  private String getReport() {
+    long remainingClauses = clauses.stream().filter(clause -> clause != null).count();
+    long remainingVariables = clauses.stream()
+        .filter(clause -> clause != null)
+        .flatMapToInt(Arrays::stream)
+        .map(Math::abs)
+        .distinct()
+        .count();
+    return ("Preprocessing reduced the CNF from %d to %d variables and from %d to %d clauses "
+        + "(%d units, %d equivalent variables, %d pure literals, %d eliminated variables, "
+        + "%d subsumed and %d strengthened clauses)%s").formatted(
+        original.getVariables().size(), unsatisfiable ? 0 : remainingVariables,
+        original.getOrClauses().size(), unsatisfiable ? 0 : remainingClauses,
+        units, equivalentVariables, pureLiterals, eliminatedVariables,
+        subsumedClauses, strengthenedClauses,
+        unsatisfiable ? ", the formula is unsatisfiable." : ".");
+  }
+
+  /**
+   * Adds a clause to the formula, dropping duplicate literals and tautologies.
+   */
+  private void addClause(int[] literals) {
+    int[] clause = normalize(literals);
+    if (clause == null) {
+      return;
+    }
+    if (clause.length == 0) {
+      unsatisfiable = true;
+    } else if (clause.length == 1) {
+      assign(clause[0]);
+    } else {
+      int index = clauses.size();
+      clauses.add(clause);
+      for (int literal : clause) {
+        occurrences.get(literalIndex(literal)).add(index);
+      }
+    }
+  }
+
+  /**
+   * Sorts the literals of a clause by variable and drops duplicates and false literals.
+   *
+   * @return the normalized clause, or null if it is a tautology or already satisfied.
+   */
+  private int[] normalize(int[] literals) {
+    int[] sorted = Arrays.stream(literals)
+        .boxed()
+        .sorted(Comparator.comparingInt(Math::abs))
+        .mapToInt(Integer::intValue)
+        .toArray();
+
+    int size = 0;
+    for (int literal : sorted) {
+      int value = value(literal);
+      if (value > 0 || size > 0 && sorted[size - 1] == -literal) {
+        return null;
+      }
+      if (value == 0 && (size == 0 || sorted[size - 1] != literal)) {
+        sorted[size++] = literal;
+      }
+    }
+    return Arrays.copyOf(sorted, size);
+  }
+
+  /**
+   * Returns the indices of all clauses that still contain the literal.
+   */
+  private List<Integer> occurrencesOf(int literal) {
+    var list = occurrences.get(literalIndex(literal));
+    list.removeIf(index -> !contains(clauses.get(index), literal));
+    return list.stream().distinct().toList();
+  }
+
+  private void replaceClause(int index, int[] literals) {
+    int[] clause = normalize(literals);
+    if (clause == null) {
+      clauses.set(index, null);
+    } else if (clause.length == 0) {
+      unsatisfiable = true;
+    } else if (clause.length == 1) {
+      clauses.set(index, null);
+      assign(clause[0]);
+    } else {
+      int[] previous = clauses.get(index);
+      clauses.set(index, clause);
+      for (int literal : clause) {
+        if (!contains(previous, literal)) {
+          occurrences.get(literalIndex(literal)).add(index);
+        }
+      }
+    }
+  }
+
+  private void assign(int literal) {
+    int value = value(literal);
+    if (value < 0) {
+      unsatisfiable = true;
+    } else if (value == 0) {
+      values[Math.abs(literal)] = (byte) Integer.signum(literal);
+      removed[Math.abs(literal)] = true;
+      reconstructionStack.add(new int[] {literal, literal});
+      propagationQueue.add(literal);
+      units++;
+    }
+  }
+
+  private void propagate() {
+    while (!propagationQueue.isEmpty() && !unsatisfiable) {
+      int literal = propagationQueue.poll();
+      for (int index : occurrencesOf(literal)) {
+        clauses.set(index, null);
+      }
+      for (int index : occurrencesOf(-literal)) {
+        replaceClause(index, clauses.get(index));
+      }
+    }
+  }
+
+  /**
+   * Finds literals that imply each other through binary clauses, i.e. strongly connected
+   * components of the implication graph, and replaces them with one representative.
+   */
+  private void substituteEquivalentLiterals() {
+    if (unsatisfiable) {
+      return;
+    }
+
+    int nodeCount = 2 * variableCount + 2;
+    List<List<Integer>> implications = new ArrayList<>(nodeCount);
+    for (int i = 0; i < nodeCount; i++) {
+      implications.add(new ArrayList<>());
+    }
+    for (int[] clause : clauses) {
+      if (clause != null && clause.length == 2) {
+        implications.get(literalIndex(-clause[0])).add(clause[1]);
+        implications.get(literalIndex(-clause[1])).add(clause[0]);
+      }
+    }
+
+    int[] substitutes = new int[variableCount + 1];
+    for (var component : stronglyConnectedComponents(implications)) {
+      if (component.size() < 2) {
+        continue;
+      }
+      for (int literal : component) {
+        if (component.contains(-literal)) {
+          unsatisfiable = true;
+          return;
+        }
+      }
+
+      int representative = component.stream()
+          .min(Comparator.comparingInt(Math::abs))
+          .orElseThrow();
+      // every component has a dual component of the negated literals, only handle one of them
+      if (representative < 0) {
+        continue;
+      }
+
+      for (int literal : component) {
+        if (literal != representative) {
+          int variable = Math.abs(literal);
+          int substitute = literal > 0 ? representative : -representative;
+          substitutes[variable] = substitute;
+          removed[variable] = true;
+          reconstructionStack.add(new int[] {variable, variable, -substitute});
+          reconstructionStack.add(new int[] {-variable, -variable, substitute});
+          equivalentVariables++;
+        }
+      }
+    }
+
+    for (int index = 0; index < clauses.size() && !unsatisfiable; index++) {
+      int[] clause = clauses.get(index);
+      if (clause == null) {
+        continue;
+      }
+
+      boolean substituted = false;
+      int[] literals = clause.clone();
+      for (int k = 0; k < literals.length; k++) {
+        int substitute = substitutes[Math.abs(literals[k])];
+        if (substitute != 0) {
+          literals[k] = literals[k] > 0 ? substitute : -substitute;
+          substituted = true;
+        }
+      }
+      if (substituted) {
+        replaceClause(index, literals);
+      }
+    }
+  }
+
+  /**
+   * Computes the strongly connected components of the implication graph with an iterative
+   * version of Tarjan's algorithm.
+   */
+  private List<List<Integer>> stronglyConnectedComponents(List<List<Integer>> implications) {
+    int nodeCount = implications.size();
+    int[] indices = new int[nodeCount];
+    int[] lowLinks = new int[nodeCount];
+    boolean[] onStack = new boolean[nodeCount];
+    Arrays.fill(indices, -1);
+
+    var components = new ArrayList<List<Integer>>();
+    var stack = new ArrayDeque<Integer>();
+    int nextIndex = 0;
+
+    for (int start = 0; start < nodeCount; start++) {
+      if (indices[start] >= 0 || implications.get(start).isEmpty()) {
+        continue;
+      }
+
+      // call stack of (node, position of the next successor)
+      var callStack = new ArrayDeque<int[]>();
+      callStack.push(new int[] {start, 0});
+      indices[start] = lowLinks[start] = nextIndex++;
+      stack.push(start);
+      onStack[start] = true;
+
+      while (!callStack.isEmpty()) {
+        int[] frame = callStack.peek();
+        int node = frame[0];
+        var successors = implications.get(node);
+
+        if (frame[1] < successors.size()) {
+          int successor = literalIndex(successors.get(frame[1]++));
+          if (indices[successor] < 0) {
+            indices[successor] = lowLinks[successor] = nextIndex++;
+            stack.push(successor);
+            onStack[successor] = true;
+            callStack.push(new int[] {successor, 0});
+          } else if (onStack[successor]) {
+            lowLinks[node] = Math.min(lowLinks[node], indices[successor]);
+          }
+          continue;
+        }
+
+        callStack.pop();
+        if (!callStack.isEmpty()) {
+          int parent = callStack.peek()[0];
+          lowLinks[parent] = Math.min(lowLinks[parent], lowLinks[node]);
+        }
+        if (lowLinks[node] == indices[node]) {
+          var component = new ArrayList<Integer>();
+          int member;
+          do {
+            member = stack.pop();
+            onStack[member] = false;
+            component.add(literalOf(member));
+          } while (member != node);
+          components.add(component);
+        }
+      }
+    }
+    return components;
+  }
+
+  /**
+   * Removes clauses that are supersets of other clauses and removes literals from clauses
+   * whose negation can be resolved away by a subset clause (self-subsuming resolution).
+   */
+  private void subsume() {
+    var order = new ArrayList<Integer>();
+    for (int index = 0; index < clauses.size(); index++) {
+      if (clauses.get(index) != null) {
+        order.add(index);
+      }
+    }
+    order.sort(Comparator.comparingInt(index -> clauses.get(index).length));
+
+    for (int index : order) {
+      if (unsatisfiable) {
+        return;
+      }
+      int[] clause = clauses.get(index);
+      if (clause == null) {
+        continue;
+      }
+
+      markStamp++;
+      for (int literal : clause) {
+        marks[literalIndex(literal)] = markStamp;
+      }
+
+      for (int literal : clause) {
+        // candidates containing the literal are subsumed,
+        // candidates containing its negation are strengthened
+        for (int negated = 0; negated < 2; negated++) {
+          int candidateLiteral = negated == 0 ? literal : -literal;
+          for (int candidateIndex : occurrencesOf(candidateLiteral)) {
+            int[] candidate = clauses.get(candidateIndex);
+            if (candidateIndex == index || candidate == null
+                || candidate.length < clause.length
+                || !containsMarked(candidate, clause.length, literal)) {
+              continue;
+            }
+
+            if (negated == 0) {
+              clauses.set(candidateIndex, null);
+              subsumedClauses++;
+            } else {
+              replaceClause(candidateIndex, remove(candidate, candidateLiteral));
+              strengthenedClauses++;
+            }
+          }
+        }
+        if (clauses.get(index) == null) {
+          break;
+        }
+      }
+    }
+  }
+
+  /**
+   * Checks if a candidate contains all marked literals, where {@code pivot} may appear negated.
+   */
+  private boolean containsMarked(int[] candidate, int markedCount, int pivot) {
+    int found = 0;
+    for (int literal : candidate) {
+      if (marks[literalIndex(literal)] == markStamp || literal == -pivot) {
+        found++;
+      }
+    }
+    return found == markedCount;
+  }
+
+  private void eliminatePureLiterals() {
+    for (int variable = 1; variable <= variableCount && !unsatisfiable; variable++) {
+      if (removed[variable]) {
+        continue;
+      }
+
+      var positive = occurrencesOf(variable);
+      var negative = occurrencesOf(-variable);
+      if (positive.isEmpty() == negative.isEmpty()) {
+        continue;
+      }
+
+      int pure = positive.isEmpty() ? -variable : variable;
+      removed[variable] = true;
+      reconstructionStack.add(new int[] {pure, pure});
+      for (int index : positive.isEmpty() ? negative : positive) {
+        clauses.set(index, null);
+      }
+      pureLiterals++;
+    }
+  }
+
+  /**
+   * Eliminates variables by replacing their clauses with all resolvents on them,
+   * as long as the formula doesn't grow.
+   */
+  private void eliminateVariables() {
+    for (int variable = 1; variable <= variableCount && !unsatisfiable; variable++) {
+      if (removed[variable]) {
+        continue;
+      }
+
+      var positive = occurrencesOf(variable);
+      var negative = occurrencesOf(-variable);
+      if (positive.isEmpty() || negative.isEmpty()
+          || positive.size() + negative.size() > MAX_ELIMINATION_OCCURRENCES) {
+        continue;
+      }
+
+      var resolvents = new ArrayList<int[]>();
+      boolean eliminable = true;
+      for (int positiveIndex : positive) {
+        for (int negativeIndex : negative) {
+          int[] resolvent = resolve(clauses.get(positiveIndex), clauses.get(negativeIndex),
+              variable);
+          if (resolvent == null) {
+            continue;
+          }
+          if (resolvent.length > MAX_RESOLVENT_SIZE
+              || resolvents.size() >= positive.size() + negative.size()) {
+            eliminable = false;
+            break;
+          }
+          resolvents.add(resolvent);
+        }
+        if (!eliminable) {
+          break;
+        }
+      }
+      if (!eliminable) {
+        continue;
+      }
+
+      // store the clauses of the smaller side, the variable defaults to the other side
+      boolean storePositive = positive.size() <= negative.size();
+      int witness = storePositive ? variable : -variable;
+      for (int index : storePositive ? positive : negative) {
+        reconstructionStack.add(prepend(witness, clauses.get(index)));
+      }
+      reconstructionStack.add(new int[] {-witness, -witness});
+
+      removed[variable] = true;
+      for (int index : positive) {
+        clauses.set(index, null);
+      }
+      for (int index : negative) {
+        clauses.set(index, null);
+      }
+      for (int[] resolvent : resolvents) {
+        addClause(resolvent);
+      }
+      eliminatedVariables++;
+      propagate();
+    }
+  }
+
+  /**
+   * Resolves two clauses on a variable.
+   *
+   * @return the resolvent, or null if it is a tautology.
+   */
+  private static int[] resolve(int[] positive, int[] negative, int variable) {
+    var resolvent = new ArrayList<Integer>();
+    for (int literal : positive) {
+      if (literal != variable) {
+        resolvent.add(literal);
+      }
+    }
+    for (int literal : negative) {
+      if (literal == -variable || resolvent.contains(literal)) {
+        continue;
+      }
+      if (resolvent.contains(-literal)) {
+        return null;
+      }
+      resolvent.add(literal);
+    }
+    return resolvent.stream().mapToInt(Integer::intValue).toArray();
+  }
+
+  private int value(int literal) {
+    int value = values[Math.abs(literal)];
+    return literal > 0 ? value : -value;
+  }
+
+  private static boolean contains(int[] clause, int literal) {
+    if (clause == null) {
+      return false;
+    }
+    for (int element : clause) {
+      if (element == literal) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static int[] remove(int[] clause, int literal) {
+    return Arrays.stream(clause).filter(element -> element != literal).toArray();
+  }
+
+  private static int[] prepend(int literal, int[] clause) {
+    int[] result = new int[clause.length + 1];
+    result[0] = literal;
+    System.arraycopy(clause, 0, result, 1, clause.length);
+    return result;
+  }
+
+  private static int literalIndex(int literal) {
+    return literal > 0 ? 2 * literal : -2 * literal + 1;
+  }
+
+  private static int literalOf(int index) {
+    return index % 2 == 0 ? index / 2 : -(index / 2);
+  }
+}
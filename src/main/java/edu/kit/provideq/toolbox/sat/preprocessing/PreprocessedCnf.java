@@ -0,0 +1,216 @@
+package edu.kit.provideq.toolbox.sat.preprocessing;
+
+import edu.kit.provideq.toolbox.format.cnf.dimacs.DimacsCnf;
+import edu.kit.provideq.toolbox.format.cnf.dimacs.DimacsCnfSolution;
+import edu.kit.provideq.toolbox.format.cnf.dimacs.Variable;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+
+/**
+ * Result of the {@link CnfPreprocessor}: a simplified formula whose variables are renumbered
+ * from 1, together with everything needed to map its solutions back to the original formula.
+ */
+public class PreprocessedCnf {
+  private final DimacsCnf original;
+  private final DimacsCnf cnf;
+  private final Map<Integer, Integer> originalNumbers = new HashMap<>();
+  private final List<int[]> reconstructionStack;
+  private final boolean unsatisfiable;
+  private final boolean simplified;
+  private final int freeVariableCount;
+  private final String report;
+
+  PreprocessedCnf(
+      DimacsCnf original,
+      List<int[]> remainingClauses,
+      List<int[]> reconstructionStack,
+      boolean unsatisfiable,
+      String report) {
+    this.original = original;
+    this.reconstructionStack = List.copyOf(reconstructionStack);
+    this.unsatisfiable = unsatisfiable;
+    this.simplified = true;
+    this.report = report;
+
+    var names = new HashMap<Integer, String>();
+    for (var variable : original.getVariables()) {
+      names.put(variable.number(), variable.name());
+    }
+
+    // renumber the remaining variables without gaps
+    var remainingVariables = new TreeSet<Integer>();
+    for (int[] clause : remainingClauses) {
+      for (int literal : clause) {
+        remainingVariables.add(Math.abs(literal));
+      }
+    }
+    var newNumbers = new HashMap<Integer, Integer>();
+    var variables = new ArrayList<Variable>();
+    for (int originalNumber : remainingVariables) {
+      int newNumber = variables.size() + 1;
+      newNumbers.put(originalNumber, newNumber);
+      originalNumbers.put(newNumber, originalNumber);
+      variables.add(new Variable(newNumber, names.get(originalNumber), false));
+    }
+
+    var clauses = new ArrayList<ArrayList<Variable>>();
+    for (int[] clause : remainingClauses) {
+      var variableClause = new ArrayList<Variable>();
+      for (int literal : clause) {
+        int originalNumber = Math.abs(literal);
+        variableClause.add(new Variable(
+            newNumbers.get(originalNumber), names.get(originalNumber), literal < 0));
+      }
+      clauses.add(variableClause);
+    }
+    this.cnf = new DimacsCnf(clauses, variables);
+
+    var determinedVariables = new HashSet<Integer>(remainingVariables);
+    for (int[] entry : reconstructionStack) {
+      determinedVariables.add(Math.abs(entry[0]));
+    }
+    this.freeVariableCount = unsatisfiable ? 0 : (int) original.getVariables().stream()
+        .filter(variable -> !determinedVariables.contains(variable.number()))
+        .count();
+  }
+
+  private PreprocessedCnf(DimacsCnf original) {
+    this.original = original;
+    this.cnf = original;
+    this.reconstructionStack = List.of();
+    this.unsatisfiable = false;
+    this.simplified = false;
+    this.freeVariableCount = 0;
+    this.report = null;
+    for (var variable : original.getVariables()) {
+      originalNumbers.put(variable.number(), variable.number());
+    }
+  }
+
+  /**
+   * Wraps a formula that is passed to a solver without preprocessing.
+   */
+  public static PreprocessedCnf unchanged(DimacsCnf cnf) {
+    return new PreprocessedCnf(cnf);
+  }
+
+  /**
+   * Returns the simplified formula that should be handed to a solver.
+   */
+  public DimacsCnf getCnf() {
+    return cnf;
+  }
+
+  public DimacsCnf getOriginal() {
+    return original;
+  }
+
+  public boolean isUnsatisfiable() {
+    return unsatisfiable;
+  }
+
+  /**
+   * Returns true if preprocessing already decided the formula, so no solver has to be called.
+   */
+  public boolean isSolved() {
+    return simplified && (unsatisfiable || cnf.getOrClauses().isEmpty());
+  }
+
+  /**
+   * Returns the number of original variables that don't occur in the simplified formula and
+   * can take any value. Each of them doubles the number of models.
+   */
+  public int getFreeVariableCount() {
+    return freeVariableCount;
+  }
+
+  /**
+   * Returns a summary of the reduction, or an empty optional if nothing was preprocessed.
+   */
+  public Optional<String> getReport() {
+    return Optional.ofNullable(report);
+  }
+
+  /**
+   * Returns the solution of a formula that was already {@link #isSolved() solved} by
+   * preprocessing.
+   */
+  public DimacsCnfSolution getSolution() {
+    if (!isSolved()) {
+      throw new IllegalStateException("The formula was not solved by preprocessing.");
+    }
+    return reconstruct(new DimacsCnfSolution(cnf, Map.of()));
+  }
+
+  /**
+   * Extends a solution of the simplified formula to a solution of the original formula.
+   * Variables that were removed by preprocessing get values that satisfy their removed clauses,
+   * in reverse order of removal.
+   *
+   * @param solution solution of {@link #getCnf()}, empty if the formula is unsatisfiable.
+   * @return solution of the original formula.
+   */
+  public DimacsCnfSolution reconstruct(DimacsCnfSolution solution) {
+    if (!simplified) {
+      return solution;
+    }
+    if (unsatisfiable || solution.isVoid() && !cnf.getOrClauses().isEmpty()) {
+      return new DimacsCnfSolution(original, Map.of());
+    }
+
+    var assignment = new HashMap<Integer, Boolean>();
+    solution.getVariableMapping().forEach((variable, value) ->
+        assignment.put(originalNumbers.get(variable.number()), value));
+
+    for (int i = reconstructionStack.size() - 1; i >= 0; i--) {
+      int[] entry = reconstructionStack.get(i);
+      if (!isSatisfied(entry, assignment)) {
+        assignment.put(Math.abs(entry[0]), entry[0] > 0);
+      }
+    }
+
+    var variableMap = new HashMap<Variable, Boolean>();
+    for (var variable : original.getVariables()) {
+      variableMap.put(variable, assignment.getOrDefault(variable.number(), false));
+    }
+    return new DimacsCnfSolution(original, variableMap);
+  }
+
+  /**
+   * Scales a model count of the simplified formula to the original formula.
+   * Only valid for formulae preprocessed with {@link CnfPreprocessor#preprocessForCounting}.
+   */
+  public BigInteger reconstructCount(BigInteger count) {
+    return unsatisfiable ? BigInteger.ZERO : count.shiftLeft(freeVariableCount);
+  }
+
+  /**
+   * Returns the model count of a formula that was already {@link #isSolved() solved} by
+   * preprocessing for counting.
+   */
+  public BigInteger getModelCount() {
+    if (!isSolved()) {
+      throw new IllegalStateException("The formula was not solved by preprocessing.");
+    }
+    return reconstructCount(BigInteger.ONE);
+  }
+
+  /**
+   * Checks the clause of a reconstruction entry, which starts at index 1.
+   */
+  private static boolean isSatisfied(int[] entry, Map<Integer, Boolean> assignment) {
+    for (int k = 1; k < entry.length; k++) {
+      int literal = entry[k];
+      if (assignment.getOrDefault(Math.abs(literal), false) == literal > 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,115 @@
+package edu.kit.provideq.toolbox.sat.solvers;
+
+import edu.kit.provideq.toolbox.Solution;
+import edu.kit.provideq.toolbox.exception.ConversionException;
+import edu.kit.provideq.toolbox.format.cnf.dimacs.DimacsCnf;
+import edu.kit.provideq.toolbox.format.cnf.dimacs.DimacsCnfSolution;
+import edu.kit.provideq.toolbox.format.cnf.dimacs.Variable;
+import edu.kit.provideq.toolbox.meta.SolvingProperties;
+import edu.kit.provideq.toolbox.meta.SubRoutineResolver;
+import edu.kit.provideq.toolbox.sat.SatConfiguration;
+import edu.kit.provideq.toolbox.sat.cdcl.CdclEngine;
+import edu.kit.provideq.toolbox.sat.preprocessing.PreprocessedCnf;
+import java.util.HashMap;
+import java.util.List;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link SatConfiguration#SAT} solver using the {@link CdclEngine} inside the toolbox.
+ * No external process is started, so small formulae are solved in milliseconds.
+ */
+@Component
+public class CdclSatSolver extends SatSolver {
+  @Override
+  public String getName() {
+    return "CDCL SAT";
+  }
+
+  @Override
+  public String getDescription() {
+    return "Solves SAT problems with a conflict-driven clause learning solver "
+        + "that runs inside the toolbox.";
+  }
+
+  @Override
+  public Mono<Solution<DimacsCnfSolution>> solve(
+      String input,
+      SubRoutineResolver subRoutineResolver,
+      SolvingProperties properties
+  ) {
+    var solution = new Solution<>(this);
+
+    DimacsCnf dimacsCnf;
+    try {
+      dimacsCnf = DimacsCnf.fromString(input);
+    } catch (ConversionException | RuntimeException e) {
+      solution.setDebugData("Parsing error: " + e.getMessage());
+      solution.abort();
+      return Mono.just(solution);
+    }
+
+    var preprocessed = preprocess(dimacsCnf, properties, solution);
+    if (preprocessed.isSolved()) {
+      solution.setSolutionData(preprocessed.getSolution());
+      solution.complete();
+      return Mono.just(solution);
+    }
+
+    var engine = toEngine(preprocessed.getCnf());
+    return Mono.fromSupplier(() -> solve(engine, preprocessed, solution))
+        .doOnCancel(engine::stop);
+  }
+
+  private Solution<DimacsCnfSolution> solve(
+      CdclEngine engine,
+      PreprocessedCnf preprocessed,
+      Solution<DimacsCnfSolution> solution) {
+    var dimacsCnf = preprocessed.getCnf();
+    var result = engine.solve();
+    solution.setDebugData("%s after %d decisions, %d conflicts and %d propagations".formatted(
+        result, engine.getDecisions(), engine.getConflicts(), engine.getPropagations()));
+
+    switch (result) {
+      case SATISFIABLE -> {
+        var variableMap = new HashMap<Variable, Boolean>();
+        for (var variable : dimacsCnf.getVariables()) {
+          variableMap.put(variable, engine.getModelValue(variable.number()));
+        }
+        solution.setSolutionData(
+            preprocessed.reconstruct(new DimacsCnfSolution(dimacsCnf, variableMap)));
+        solution.complete();
+      }
+      case UNSATISFIABLE -> {
+        // an empty variable mapping marks an unsatisfiable formula
+        solution.setSolutionData(
+            preprocessed.reconstruct(new DimacsCnfSolution(dimacsCnf, new HashMap<>())));
+        solution.complete();
+      }
+      default -> solution.fail();
+    }
+    return solution;
+  }
+
+  /**
+   * Loads the clauses of a CNF formula into a new engine.
+   */
+  public static CdclEngine toEngine(DimacsCnf dimacsCnf) {
+    int variableCount = dimacsCnf.getVariables().stream()
+        .mapToInt(Variable::number)
+        .max()
+        .orElse(0);
+
+    var engine = new CdclEngine(variableCount);
+    for (List<Variable> clause : dimacsCnf.getOrClauses()) {
+      engine.addClause(toLiterals(clause));
+    }
+    return engine;
+  }
+
+  private static int[] toLiterals(List<Variable> clause) {
+    return clause.stream()
+        .mapToInt(variable -> variable.isNegated() ? -variable.number() : variable.number())
+        .toArray();
+  }
+}
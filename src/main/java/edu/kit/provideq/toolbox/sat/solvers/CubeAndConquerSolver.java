@@ -0,0 +1,193 @@
+package edu.kit.provideq.toolbox.sat.solvers;
+
+import edu.kit.provideq.toolbox.Solution;
+import edu.kit.provideq.toolbox.SolutionStatus;
+import edu.kit.provideq.toolbox.exception.ConversionException;
+import edu.kit.provideq.toolbox.format.cnf.dimacs.DimacsCnf;
+import edu.kit.provideq.toolbox.format.cnf.dimacs.DimacsCnfSolution;
+import edu.kit.provideq.toolbox.format.cnf.dimacs.Variable;
+import edu.kit.provideq.toolbox.meta.SolvingProperties;
+import edu.kit.provideq.toolbox.meta.SubRoutineDefinition;
+import edu.kit.provideq.toolbox.meta.SubRoutineResolver;
+import edu.kit.provideq.toolbox.meta.setting.SolverSetting;
+import edu.kit.provideq.toolbox.meta.setting.basic.IntegerSetting;
+import edu.kit.provideq.toolbox.sat.SatConfiguration;
+import edu.kit.provideq.toolbox.sat.cubing.LookaheadCuber;
+import edu.kit.provideq.toolbox.sat.preprocessing.PreprocessedCnf;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link SatConfiguration#SAT} meta-solver following the cube-and-conquer approach.
+ * A {@link LookaheadCuber} splits the formula into cubes, each cube is added to the formula as
+ * unit clauses and solved by a sub-routine. At most a bounded number of cubes are solved at the
+ * same time. The first satisfiable cube answers the problem and cancels the remaining cubes,
+ * the formula is unsatisfiable if all cubes are.
+ */
+@Component
+public class CubeAndConquerSolver extends SatSolver {
+  private static final SubRoutineDefinition<String, DimacsCnfSolution> CUBE_SUBROUTINE =
+      new SubRoutineDefinition<>(
+          SatConfiguration.SAT,
+          "Called per cube, the formula with the literals of the cube as unit clauses"
+      );
+
+  private static final String SETTING_CUBES = "Maximum Cubes";
+  private static final int DEFAULT_CUBES = 64;
+  private static final String SETTING_PARALLEL_CUBES = "Parallel Cubes";
+  private static final int DEFAULT_PARALLEL_CUBES = 8;
+
+  @Override
+  public String getName() {
+    return "Cube and Conquer SAT meta-solver";
+  }
+
+  @Override
+  public String getDescription() {
+    return "Splits the formula into cubes with lookahead and solves the cubes in parallel, "
+        + "until one of them is satisfiable.";
+  }
+
+  @Override
+  public List<SubRoutineDefinition<?, ?>> getSubRoutines() {
+    return List.of(CUBE_SUBROUTINE);
+  }
+
+  @Override
+  public List<SolverSetting> getSolverSettings() {
+    var settings = new ArrayList<>(super.getSolverSettings());
+    settings.add(new IntegerSetting(
+        SETTING_CUBES,
+        "Upper bound for the number of cubes the formula is split into",
+        1,
+        4096,
+        DEFAULT_CUBES));
+    settings.add(new IntegerSetting(
+        SETTING_PARALLEL_CUBES,
+        "Number of cubes that are solved at the same time",
+        1,
+        256,
+        DEFAULT_PARALLEL_CUBES));
+    return settings;
+  }
+
+  @Override
+  public Mono<Solution<DimacsCnfSolution>> solve(
+      String input,
+      SubRoutineResolver subRoutineResolver,
+      SolvingProperties properties
+  ) {
+    var solution = new Solution<>(this);
+
+    DimacsCnf dimacsCnf;
+    try {
+      dimacsCnf = DimacsCnf.fromString(input);
+    } catch (ConversionException | RuntimeException e) {
+      solution.setDebugData("Parsing error: " + e.getMessage());
+      solution.abort();
+      return Mono.just(solution);
+    }
+
+    var preprocessed = preprocess(dimacsCnf, properties, solution);
+    if (preprocessed.isSolved()) {
+      solution.setSolutionData(preprocessed.getSolution());
+      solution.complete();
+      return Mono.just(solution);
+    }
+
+    int maxCubes = properties.<IntegerSetting>getSetting(SETTING_CUBES)
+        .map(IntegerSetting::getValue)
+        .orElse(DEFAULT_CUBES);
+    int parallelCubes = properties.<IntegerSetting>getSetting(SETTING_PARALLEL_CUBES)
+        .map(IntegerSetting::getValue)
+        .orElse(DEFAULT_PARALLEL_CUBES);
+
+    var cnf = preprocessed.getCnf();
+    int variableCount = cnf.getVariables().stream()
+        .mapToInt(Variable::number)
+        .max()
+        .orElse(0);
+    var cubes = new LookaheadCuber(variableCount, toClauses(cnf)).cube(maxCubes);
+    solution.setDebugData("Split into %d cubes".formatted(cubes.size()));
+    if (cubes.isEmpty()) {
+      // lookahead refuted every branch
+      solution.setSolutionData(preprocessed.reconstruct(new DimacsCnfSolution(cnf, Map.of())));
+      solution.complete();
+      return Mono.just(solution);
+    }
+
+    var variables = new HashMap<Integer, Variable>();
+    cnf.getVariables().forEach(variable -> variables.put(variable.number(), variable));
+    return Flux.fromIterable(cubes)
+        .flatMap(cube -> subRoutineResolver.runSubRoutine(
+            CUBE_SUBROUTINE, toCubeInput(cnf, variables, cube)), parallelCubes)
+        .takeUntil(CubeAndConquerSolver::isSatisfiable)
+        .collectList()
+        .map(cubeSolutions -> combine(cubeSolutions, cubes.size(), preprocessed, solution));
+  }
+
+  private Solution<DimacsCnfSolution> combine(
+      List<Solution<DimacsCnfSolution>> cubeSolutions,
+      int cubeCount,
+      PreprocessedCnf preprocessed,
+      Solution<DimacsCnfSolution> solution) {
+    var cnf = preprocessed.getCnf();
+
+    for (var cubeSolution : cubeSolutions) {
+      if (isSatisfiable(cubeSolution)) {
+        // the cube formula has the same variables as the formula, only more clauses
+        var variableMap = new HashMap<Variable, Boolean>();
+        for (var variable : cnf.getVariables()) {
+          var value = cubeSolution.getSolutionData().getVariableMapping().get(variable);
+          variableMap.put(variable, Boolean.TRUE.equals(value));
+        }
+        solution.setSolutionData(
+            preprocessed.reconstruct(new DimacsCnfSolution(cnf, variableMap)));
+        solution.complete();
+        return solution;
+      }
+    }
+
+    boolean allUnsatisfiable = cubeSolutions.size() == cubeCount && cubeSolutions.stream()
+        .allMatch(cubeSolution -> cubeSolution.getStatus() == SolutionStatus.SOLVED
+            && cubeSolution.getSolutionData() != null);
+    if (!allUnsatisfiable) {
+      solution.setDebugData("Not every cube could be solved.");
+      solution.fail();
+      return solution;
+    }
+
+    solution.setSolutionData(preprocessed.reconstruct(new DimacsCnfSolution(cnf, Map.of())));
+    solution.complete();
+    return solution;
+  }
+
+  private static boolean isSatisfiable(Solution<DimacsCnfSolution> cubeSolution) {
+    return cubeSolution.getStatus() == SolutionStatus.SOLVED
+        && cubeSolution.getSolutionData() != null
+        && !cubeSolution.getSolutionData().isVoid();
+  }
+
+  private static String toCubeInput(DimacsCnf cnf, Map<Integer, Variable> variables, int[] cube) {
+    var clauses = new ArrayList<>(cnf.getOrClauses());
+    for (int literal : cube) {
+      var variable = variables.get(Math.abs(literal));
+      clauses.add(new ArrayList<>(List.of(
+          new Variable(variable.number(), variable.name(), literal < 0))));
+    }
+    return new DimacsCnf(clauses, new ArrayList<>(cnf.getVariables())).toString();
+  }
+
+  private static List<int[]> toClauses(DimacsCnf cnf) {
+    return cnf.getOrClauses().stream()
+        .map(clause -> clause.stream()
+            .mapToInt(variable -> variable.isNegated() ? -variable.number() : variable.number())
+            .toArray())
+        .toList();
+  }
+}
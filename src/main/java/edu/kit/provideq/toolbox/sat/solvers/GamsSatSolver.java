@@ -60,6 +60,13 @@ public class GamsSatSolver extends SatSolver {
       return Mono.just(solution);
     }
 
+    var preprocessed = preprocess(dimacsCnf, properties, solution);
+    if (preprocessed.isSolved()) {
+      solution.setSolutionData(preprocessed.getSolution());
+      solution.complete();
+      return Mono.just(solution);
+    }
+
     // Run SAT with GAMS via console
     ProcessResult<String> processResult = context
         .getBean(GamsProcessRunner.class, scriptPath)
@@ -67,13 +74,13 @@ public class GamsSatSolver extends SatSolver {
             "--INPUT=" + ProcessRunner.INPUT_FILE_PATH,
             "--SOLOUTPUT=" + ProcessRunner.OUTPUT_FILE_PATH
         )
-        .writeInputFile(dimacsCnf.toString())
+        .writeInputFile(preprocessed.getCnf().toString())
         .readOutputFile()
-        .run(getProblemType(), solution.getId());
+        .run(getProblemType(), solution);
 
     if (processResult.success()) {
-      var dimacsCnfSolution =
-          DimacsCnfSolution.fromString(dimacsCnf, processResult.output().orElse(""));
+      var dimacsCnfSolution = preprocessed.reconstruct(DimacsCnfSolution.fromString(
+          preprocessed.getCnf(), processResult.output().orElse("")));
 
       solution.setSolutionData(dimacsCnfSolution);
       solution.complete();
@@ -11,7 +11,9 @@ import edu.kit.provideq.toolbox.process.ProcessResult;
 import edu.kit.provideq.toolbox.process.ProcessRunner;
 import edu.kit.provideq.toolbox.process.PythonProcessRunner;
 import edu.kit.provideq.toolbox.sat.SatConfiguration;
+import edu.kit.provideq.toolbox.sat.preprocessing.PreprocessedCnf;
 import edu.kit.provideq.toolbox.sharpsat.SharpSatConfiguration;
+import java.math.BigInteger;
 import java.util.List;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationContext;
@@ -25,7 +27,7 @@ import reactor.core.scheduler.Schedulers;
 @Component
 public class QrispExactGroverSolver extends SatSolver {
 
-  private static final SubRoutineDefinition<String, Integer> SHARPSAT_SUBROUTINE =
+  private static final SubRoutineDefinition<String, BigInteger> SHARPSAT_SUBROUTINE =
       new SubRoutineDefinition<>(
           SharpSatConfiguration.SHARPSAT,
           "Count the number of solutions using a SharpSAT solver"
@@ -75,14 +77,22 @@ public class QrispExactGroverSolver extends SatSolver {
       solution.abort();
       return Mono.just(solution);
     }
-    return subRoutineResolver.runSubRoutine(SHARPSAT_SUBROUTINE, dimacsCnf.toString())
+
+    var preprocessed = preprocess(dimacsCnf, properties, solution);
+    if (preprocessed.isSolved()) {
+      solution.setSolutionData(preprocessed.getSolution());
+      solution.complete();
+      return Mono.just(solution);
+    }
+    return subRoutineResolver.runSubRoutine(SHARPSAT_SUBROUTINE, preprocessed.getCnf().toString())
         .publishOn(Schedulers.boundedElastic())
-        .flatMap(sharpSatSolution -> processSharpSatResult(sharpSatSolution, dimacsCnf, solution));
+        .flatMap(sharpSatSolution ->
+            processSharpSatResult(sharpSatSolution, preprocessed, solution));
   }
 
   private Mono<Solution<DimacsCnfSolution>> processSharpSatResult(
-      Solution<Integer> sharpSatSolution,
-      DimacsCnf dimacsCnf,
+      Solution<BigInteger> sharpSatSolution,
+      PreprocessedCnf preprocessed,
       Solution<DimacsCnfSolution> solution
   ) {
     if (sharpSatSolution.getSolutionData() == null) {
@@ -90,14 +100,14 @@ public class QrispExactGroverSolver extends SatSolver {
       solution.abort();
       return Mono.just(solution);
     }
-    int solutionCount = sharpSatSolution.getSolutionData();
+    BigInteger solutionCount = sharpSatSolution.getSolutionData();
     solution.setDebugData("Sharpsat subroutine found " + solutionCount + " solutions.");
-    return runPythonSolver(dimacsCnf, solutionCount, solution);
+    return runPythonSolver(preprocessed, solutionCount, solution);
   }
 
   private Mono<Solution<DimacsCnfSolution>> runPythonSolver(
-      DimacsCnf dimacsCnf,
-      int solutionCount,
+      PreprocessedCnf preprocessed,
+      BigInteger solutionCount,
       Solution<DimacsCnfSolution> solution
   ) {
     ProcessResult<String> processResult = context
@@ -107,14 +117,14 @@ public class QrispExactGroverSolver extends SatSolver {
             "--solution-count", String.valueOf(solutionCount),
             "--output-file", ProcessRunner.OUTPUT_FILE_PATH
         )
-        .writeInputFile(dimacsCnf.toString())
+        .writeInputFile(preprocessed.getCnf().toString())
         .readOutputFile()
-        .run(getProblemType(), solution.getId());
+        .run(getProblemType(), solution);
     if (processResult.success()) {
-      var dimacsCnfSolution = DimacsCnfSolution.fromString(
-          dimacsCnf,
+      var dimacsCnfSolution = preprocessed.reconstruct(DimacsCnfSolution.fromString(
+          preprocessed.getCnf(),
           processResult.output().orElse("")
-      );
+      ));
       solution.setSolutionData(dimacsCnfSolution);
       solution.complete();
     } else {
@@ -63,19 +63,26 @@ public class QrispGroverSolver extends SatSolver {
       return Mono.just(solution);
     }
 
+    var preprocessed = preprocess(dimacsCnf, properties, solution);
+    if (preprocessed.isSolved()) {
+      solution.setSolutionData(preprocessed.getSolution());
+      solution.complete();
+      return Mono.just(solution);
+    }
+
     ProcessResult<String> processResult = context
         .getBean(PythonProcessRunner.class, scriptPath, venv)
         .withArguments(
             ProcessRunner.INPUT_FILE_PATH,
             "--output-file", ProcessRunner.OUTPUT_FILE_PATH
         )
-        .writeInputFile(dimacsCnf.toString())
+        .writeInputFile(preprocessed.getCnf().toString())
         .readOutputFile()
-        .run(getProblemType(), solution.getId());
+        .run(getProblemType(), solution);
 
     if (processResult.success()) {
-      var dimacsCnfSolution =
-          DimacsCnfSolution.fromString(dimacsCnf, processResult.output().orElse(""));
+      var dimacsCnfSolution = preprocessed.reconstruct(DimacsCnfSolution.fromString(
+          preprocessed.getCnf(), processResult.output().orElse("")));
 
       solution.setSolutionData(dimacsCnfSolution);
       solution.complete();
@@ -1,16 +1,59 @@
 package edu.kit.provideq.toolbox.sat.solvers;
 
+import edu.kit.provideq.toolbox.Solution;
+import edu.kit.provideq.toolbox.format.cnf.dimacs.DimacsCnf;
 import edu.kit.provideq.toolbox.format.cnf.dimacs.DimacsCnfSolution;
 import edu.kit.provideq.toolbox.meta.ProblemSolver;
 import edu.kit.provideq.toolbox.meta.ProblemType;
+import edu.kit.provideq.toolbox.meta.SolvingProperties;
+import edu.kit.provideq.toolbox.meta.setting.SolverSetting;
+import edu.kit.provideq.toolbox.meta.setting.basic.BooleanSetting;
 import edu.kit.provideq.toolbox.sat.SatConfiguration;
+import edu.kit.provideq.toolbox.sat.preprocessing.CnfPreprocessor;
+import edu.kit.provideq.toolbox.sat.preprocessing.PreprocessedCnf;
+import java.util.List;
 
 /**
  * A solver for SAT problems.
+ * All SAT solvers offer to simplify the formula with the {@link CnfPreprocessor} first.
  */
 public abstract class SatSolver implements ProblemSolver<String, DimacsCnfSolution> {
+  protected static final String SETTING_PREPROCESSING = "Preprocess CNF";
+
   @Override
   public ProblemType<String, DimacsCnfSolution> getProblemType() {
     return SatConfiguration.SAT;
   }
+
+  @Override
+  public List<SolverSetting> getSolverSettings() {
+    return List.of(new BooleanSetting(
+        SETTING_PREPROCESSING,
+        "Simplify the CNF (units, equivalences, subsumption, variable elimination) "
+            + "before it is solved",
+        false
+    ));
+  }
+
+  /**
+   * Preprocesses a formula if this is selected in the solver settings.
+   * The reduction is reported in the meta data of the solution.
+   *
+   * @return the formula to solve, use {@link PreprocessedCnf#reconstruct} on its solution.
+   */
+  protected PreprocessedCnf preprocess(
+      DimacsCnf dimacsCnf,
+      SolvingProperties properties,
+      Solution<DimacsCnfSolution> solution) {
+    boolean enabled = properties.<BooleanSetting>getSetting(SETTING_PREPROCESSING)
+        .map(BooleanSetting::getState)
+        .orElse(false);
+    if (!enabled) {
+      return PreprocessedCnf.unchanged(dimacsCnf);
+    }
+
+    var preprocessed = CnfPreprocessor.preprocess(dimacsCnf);
+    preprocessed.getReport().ifPresent(solution::setMetaData);
+    return preprocessed;
+  }
 }
@@ -2,12 +2,16 @@ package edu.kit.provideq.toolbox.sharpsat;
 
 import edu.kit.provideq.toolbox.ResourceProvider;
 import edu.kit.provideq.toolbox.exception.MissingExampleException;
+import edu.kit.provideq.toolbox.meta.PortfolioSolver;
 import edu.kit.provideq.toolbox.meta.Problem;
 import edu.kit.provideq.toolbox.meta.ProblemManager;
 import edu.kit.provideq.toolbox.meta.ProblemType;
+import edu.kit.provideq.toolbox.sharpsat.solvers.ComponentCachingSolver;
+import edu.kit.provideq.toolbox.sharpsat.solvers.ComponentDecompositionSolver;
 import edu.kit.provideq.toolbox.sharpsat.solvers.GanakSolver;
 import edu.kit.provideq.toolbox.sharpsat.solvers.PythonBruteForceSolver;
 import java.io.IOException;
+import java.math.BigInteger;
 import java.util.Objects;
 import java.util.Set;
 import org.springframework.context.annotation.Bean;
@@ -21,28 +25,32 @@ public class SharpSatConfiguration {
   /**
    * A satisfiability counting problem:
    * For a given boolean formula, count number of interpretations that satisfies the formula.
-   * NP-Hard in nature.
+   * NP-Hard in nature. The count is arbitrarily large, it doubles with every free variable.
    */
-  public static final ProblemType<String, Integer> SHARPSAT = new ProblemType<>(
+  public static final ProblemType<String, BigInteger> SHARPSAT = new ProblemType<>(
       "sharpsat",
       String.class,
-      Integer.class
+      BigInteger.class
   );
 
   @Bean
-  ProblemManager<String, Integer> getSharpSatManager(
+  ProblemManager<String, BigInteger> getSharpSatManager(
       PythonBruteForceSolver pythonBruteForceSolver,
       GanakSolver ganakSolver,
+      ComponentCachingSolver componentCachingSolver,
+      ComponentDecompositionSolver componentDecompositionSolver,
       ResourceProvider resourceProvider
   ) {
     return new ProblemManager<>(
         SHARPSAT,
-        Set.of(pythonBruteForceSolver, ganakSolver),
+        PortfolioSolver.withPortfolio(SHARPSAT,
+            Set.of(pythonBruteForceSolver, ganakSolver, componentCachingSolver,
+                componentDecompositionSolver)),
         loadExampleProblems(resourceProvider)
     );
   }
 
-  private Set<Problem<String, Integer>> loadExampleProblems(
+  private Set<Problem<String, BigInteger>> loadExampleProblems(
       ResourceProvider resourceProvider
   ) {
     try {
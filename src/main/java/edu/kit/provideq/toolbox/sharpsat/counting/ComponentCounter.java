@@ -0,0 +1,475 @@
+package edu.kit.provideq.toolbox.sharpsat.counting;
+
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Exact model counter in the style of DPLL with component caching.
+ *
+ * <p>After every decision and unit propagation, the clauses that are not yet satisfied are split
+ * into connected components over their unassigned variables. The components are counted
+ * independently and their counts multiplied, variables that don't occur in any remaining clause
+ * double the count. Component counts are cached by the variables and original clauses of the
+ * component, which identify the remaining sub-formula exactly. The cache evicts its least
+ * recently used entries once its estimated size exceeds the given bound.
+ *
+ * <p>Literals use the DIMACS convention. Instances are not thread-safe, except for
+ * {@link #stop()}.
+ */
+public class ComponentCounter {
+  private static final long ENTRY_OVERHEAD_BYTES = 96;
+
+  private final int variableCount;
+  private final int[][] clauses;
+  private final boolean containsEmptyClause;
+
+  // indexed by literal index, see literalIndex()
+  private final int[][] occurrences;
+
+  // indexed by variable: 0 = unassigned, 1 = true, -1 = false
+  private final byte[] values;
+  private final int[] trail;
+  private int trailSize;
+
+  private final int[] variableStamps;
+  private final int[] clauseStamps;
+  private int stamp;
+
+  private final long maxCacheBytes;
+  private long cacheBytes;
+  private final LinkedHashMap<ComponentKey, BigInteger> cache =
+      new LinkedHashMap<>(1024, 0.75f, true);
+
+  private volatile boolean stopRequested;
+  private long decisions;
+  private long cacheHits;
+
+  /**
+   * Signals that {@link #stop()} was called, unwinds the search.
+   */
+  private static final class StoppedException extends RuntimeException {
+    StoppedException() {
+      super(null, null, false, false);
+    }
+  }
+
+  /**
+   * Variables and original clause indices of a component, the variables come first.
+   */
+  private record ComponentKey(int[] content) {
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof ComponentKey other && Arrays.equals(content, other.content);
+    }
+
+    @Override
+    public int hashCode() {
+      return Arrays.hashCode(content);
+    }
+  }
+
+  /**
+   * Components of a set of variables that are counted one after another and multiplied.
+   */
+  private static final class VariablesFrame {
+    private final List<int[]> components;
+    private int nextComponent;
+    private BigInteger count;
+
+    VariablesFrame(List<int[]> components, BigInteger count) {
+      this.components = components;
+      this.count = count;
+    }
+  }
+
+  /**
+   * A component whose count is the sum of the counts of both values of its branch variable.
+   */
+  private final class ComponentFrame {
+    private final ComponentKey key;
+    private final int[] variables;
+    private final int branchVariable;
+    // number of values of the branch variable that were tried
+    private int branch;
+    // trail size before the current value of the branch variable was assigned
+    private int mark;
+    private BigInteger count = BigInteger.ZERO;
+
+    ComponentFrame(ComponentKey key) {
+      this.key = key;
+      int[] component = key.content();
+      int variableEnd = 0;
+      while (variableEnd < component.length && component[variableEnd] > 0) {
+        variableEnd++;
+      }
+      this.variables = Arrays.copyOf(component, variableEnd);
+      this.branchVariable = selectBranchVariable(variables);
+    }
+  }
+
+  /**
+   * Creates a counter for a formula.
+   *
+   * @param variableCount number of variables, variables that occur in no clause are free.
+   * @param clauses clauses in DIMACS literals, duplicate literals and tautologies are allowed.
+   * @param maxCacheBytes bound for the estimated memory of the component cache.
+   */
+  public ComponentCounter(int variableCount, List<int[]> clauses, long maxCacheBytes) {
+    this.variableCount = variableCount;
+    this.maxCacheBytes = maxCacheBytes;
+
+    var normalizedClauses = new ArrayList<int[]>();
+    boolean emptyClause = false;
+    for (int[] clause : clauses) {
+      int[] literals = Arrays.stream(clause).distinct().toArray();
+      boolean tautology = Arrays.stream(literals)
+          .anyMatch(literal -> Arrays.stream(literals).anyMatch(other -> other == -literal));
+      if (tautology) {
+        continue;
+      }
+      emptyClause |= literals.length == 0;
+      normalizedClauses.add(literals);
+    }
+    this.clauses = normalizedClauses.toArray(int[][]::new);
+    this.containsEmptyClause = emptyClause;
+
+    int[] occurrenceCounts = new int[2 * variableCount + 2];
+    for (int[] clause : this.clauses) {
+      for (int literal : clause) {
+        occurrenceCounts[literalIndex(literal)]++;
+      }
+    }
+    occurrences = new int[occurrenceCounts.length][];
+    for (int i = 0; i < occurrences.length; i++) {
+      occurrences[i] = new int[occurrenceCounts[i]];
+    }
+    Arrays.fill(occurrenceCounts, 0);
+    for (int c = 0; c < this.clauses.length; c++) {
+      for (int literal : this.clauses[c]) {
+        int index = literalIndex(literal);
+        occurrences[index][occurrenceCounts[index]++] = c;
+      }
+    }
+
+    values = new byte[variableCount + 1];
+    trail = new int[variableCount];
+    variableStamps = new int[variableCount + 1];
+    clauseStamps = new int[this.clauses.length];
+  }
+
+  /**
+   * Counts the models of the formula.
+   *
+   * @return the model count, or an empty optional if the counting was {@link #stop() stopped}.
+   */
+  public Optional<BigInteger> count() {
+    try {
+      if (containsEmptyClause) {
+        return Optional.of(BigInteger.ZERO);
+      }
+
+      for (int[] clause : clauses) {
+        if (clause.length == 1 && !assign(clause[0])) {
+          return Optional.of(BigInteger.ZERO);
+        }
+      }
+      if (!propagate(0)) {
+        return Optional.of(BigInteger.ZERO);
+      }
+
+      int[] variables = new int[variableCount];
+      Arrays.setAll(variables, i -> i + 1);
+      return Optional.of(countVariables(variables));
+    } catch (StoppedException e) {
+      return Optional.empty();
+    } finally {
+      stopRequested = false;
+      undo(0);
+    }
+  }
+
+  /**
+   * Requests a running {@link #count()} to return early. Can be called from any thread.
+   */
+  public void stop() {
+    stopRequested = true;
+  }
+
+  public long getDecisions() {
+    return decisions;
+  }
+
+  public long getCacheHits() {
+    return cacheHits;
+  }
+
+  public int getCacheEntries() {
+    return cache.size();
+  }
+
+  /**
+   * Counts the assignments of the given variables, ignoring the ones that are already assigned.
+   * All clauses that aren't satisfied yet and contain one of them must only contain variables
+   * of the given ones.
+   *
+   * <p>Every decision adds a level to the search, so it uses an explicit stack of frames instead
+   * of recursion, which would overflow the thread stack on formulas with many variables.
+   */
+  private BigInteger countVariables(int[] variables) {
+    var frames = new ArrayDeque<Object>();
+    frames.push(splitComponents(variables));
+    // count of the frame that was finished last, passed on to the frame below it
+    BigInteger result = null;
+
+    while (true) {
+      if (frames.peek() instanceof VariablesFrame variablesFrame) {
+        if (result != null) {
+          variablesFrame.count = result.signum() == 0
+              ? BigInteger.ZERO
+              : variablesFrame.count.multiply(result);
+          result = null;
+        }
+
+        if (variablesFrame.count.signum() == 0
+            || variablesFrame.nextComponent == variablesFrame.components.size()) {
+          frames.pop();
+          if (frames.isEmpty()) {
+            return variablesFrame.count;
+          }
+          result = variablesFrame.count;
+          continue;
+        }
+
+        var key = new ComponentKey(
+            variablesFrame.components.get(variablesFrame.nextComponent++));
+        BigInteger cached = cache.get(key);
+        if (cached != null) {
+          cacheHits++;
+          result = cached;
+          continue;
+        }
+        if (stopRequested) {
+          throw new StoppedException();
+        }
+        frames.push(new ComponentFrame(key));
+      } else {
+        var componentFrame = (ComponentFrame) frames.peek();
+        if (result != null) {
+          componentFrame.count = componentFrame.count.add(result);
+          result = null;
+        }
+        if (componentFrame.branch > 0) {
+          undo(componentFrame.mark);
+        }
+
+        if (componentFrame.branch == 2) {
+          frames.pop();
+          store(componentFrame.key, componentFrame.count);
+          result = componentFrame.count;
+          continue;
+        }
+
+        int literal = componentFrame.branch == 0
+            ? componentFrame.branchVariable
+            : -componentFrame.branchVariable;
+        componentFrame.branch++;
+        decisions++;
+        componentFrame.mark = trailSize;
+        if (assign(literal) && propagate(componentFrame.mark)) {
+          frames.push(splitComponents(componentFrame.variables));
+        }
+      }
+    }
+  }
+
+  /**
+   * Splits the unassigned ones of the given variables into connected components.
+   */
+  private VariablesFrame splitComponents(int[] variables) {
+    stamp++;
+    int freeVariables = 0;
+    var components = new ArrayList<int[]>();
+    var componentVariables = new ArrayList<Integer>();
+    var componentClauses = new ArrayList<Integer>();
+
+    for (int start : variables) {
+      if (values[start] != 0 || variableStamps[start] == stamp) {
+        continue;
+      }
+
+      // breadth-first search over unassigned variables that share a clause
+      componentVariables.clear();
+      componentClauses.clear();
+      variableStamps[start] = stamp;
+      componentVariables.add(start);
+      for (int i = 0; i < componentVariables.size(); i++) {
+        int variable = componentVariables.get(i);
+        collectClauses(occurrences[literalIndex(variable)], componentVariables, componentClauses);
+        collectClauses(occurrences[literalIndex(-variable)], componentVariables, componentClauses);
+      }
+
+      if (componentClauses.isEmpty()) {
+        freeVariables++;
+      } else {
+        components.add(toKey(componentVariables, componentClauses));
+      }
+    }
+
+    return new VariablesFrame(components, BigInteger.ONE.shiftLeft(freeVariables));
+  }
+
+  private void collectClauses(
+      int[] clauseIndices,
+      List<Integer> componentVariables,
+      List<Integer> componentClauses) {
+    for (int c : clauseIndices) {
+      if (clauseStamps[c] == stamp) {
+        continue;
+      }
+      clauseStamps[c] = stamp;
+      if (isSatisfied(clauses[c])) {
+        continue;
+      }
+
+      componentClauses.add(c);
+      for (int literal : clauses[c]) {
+        int variable = Math.abs(literal);
+        if (values[variable] == 0 && variableStamps[variable] != stamp) {
+          variableStamps[variable] = stamp;
+          componentVariables.add(variable);
+        }
+      }
+    }
+  }
+
+  private static int[] toKey(List<Integer> variables, List<Integer> clauseIndices) {
+    int[] key = new int[variables.size() + clauseIndices.size()];
+    for (int i = 0; i < variables.size(); i++) {
+      key[i] = variables.get(i);
+    }
+    for (int i = 0; i < clauseIndices.size(); i++) {
+      // clause indices are stored negated to separate them from the variables
+      key[variables.size() + i] = -clauseIndices.get(i) - 1;
+    }
+    Arrays.sort(key, 0, variables.size());
+    Arrays.sort(key, variables.size(), key.length);
+    return key;
+  }
+
+  /**
+   * Picks the variable with the most occurrences in unsatisfied clauses.
+   */
+  private int selectBranchVariable(int[] variables) {
+    int best = variables[0];
+    int bestScore = -1;
+    for (int variable : variables) {
+      int score = countUnsatisfied(occurrences[literalIndex(variable)])
+          + countUnsatisfied(occurrences[literalIndex(-variable)]);
+      if (score > bestScore) {
+        best = variable;
+        bestScore = score;
+      }
+    }
+    return best;
+  }
+
+  private int countUnsatisfied(int[] clauseIndices) {
+    int count = 0;
+    for (int c : clauseIndices) {
+      if (!isSatisfied(clauses[c])) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  private void store(ComponentKey key, BigInteger count) {
+    if (cache.put(key, count) == null) {
+      cacheBytes += estimateBytes(key, count);
+    }
+
+    Iterator<Map.Entry<ComponentKey, BigInteger>> eldest = cache.entrySet().iterator();
+    while (cacheBytes > maxCacheBytes && eldest.hasNext()) {
+      var entry = eldest.next();
+      cacheBytes -= estimateBytes(entry.getKey(), entry.getValue());
+      eldest.remove();
+    }
+  }
+
+  private static long estimateBytes(ComponentKey key, BigInteger count) {
+    return ENTRY_OVERHEAD_BYTES + 4L * key.content().length + count.bitLength() / 8;
+  }
+
+  private boolean assign(int literal) {
+    int variable = Math.abs(literal);
+    byte value = (byte) (literal > 0 ? 1 : -1);
+    if (values[variable] != 0) {
+      return values[variable] == value;
+    }
+    values[variable] = value;
+    trail[trailSize++] = literal;
+    return true;
+  }
+
+  /**
+   * Propagates unit clauses for the assignments on the trail from the given position.
+   *
+   * @return false if a clause became empty.
+   */
+  private boolean propagate(int from) {
+    for (int i = from; i < trailSize; i++) {
+      // only clauses with the negated literal can become unit or empty
+      for (int c : occurrences[literalIndex(-trail[i])]) {
+        int unassigned = 0;
+        int lastUnassigned = 0;
+        boolean satisfied = false;
+        for (int literal : clauses[c]) {
+          int value = values[Math.abs(literal)];
+          if (value == 0) {
+            unassigned++;
+            lastUnassigned = literal;
+          } else if (value > 0 == literal > 0) {
+            satisfied = true;
+            break;
+          }
+        }
+
+        if (satisfied || unassigned > 1) {
+          continue;
+        }
+        if (unassigned == 0) {
+          return false;
+        }
+        assign(lastUnassigned);
+      }
+    }
+    return true;
+  }
+
+  private void undo(int mark) {
+    while (trailSize > mark) {
+      values[Math.abs(trail[--trailSize])] = 0;
+    }
+  }
+
+  private boolean isSatisfied(int[] clause) {
+    for (int literal : clause) {
+      int value = values[Math.abs(literal)];
+      if (value != 0 && value > 0 == literal > 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static int literalIndex(int literal) {
+    return literal > 0 ? 2 * literal : -2 * literal + 1;
+  }
+}
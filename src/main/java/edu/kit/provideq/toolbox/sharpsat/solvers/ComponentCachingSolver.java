@@ -0,0 +1,122 @@
+package edu.kit.provideq.toolbox.sharpsat.solvers;
+
+import edu.kit.provideq.toolbox.Solution;
+import edu.kit.provideq.toolbox.exception.ConversionException;
+import edu.kit.provideq.toolbox.format.cnf.dimacs.DimacsCnf;
+import edu.kit.provideq.toolbox.meta.SolvingProperties;
+import edu.kit.provideq.toolbox.meta.SubRoutineResolver;
+import edu.kit.provideq.toolbox.meta.setting.SolverSetting;
+import edu.kit.provideq.toolbox.meta.setting.basic.IntegerSetting;
+import edu.kit.provideq.toolbox.sat.preprocessing.PreprocessedCnf;
+import edu.kit.provideq.toolbox.sharpsat.SharpSatConfiguration;
+import edu.kit.provideq.toolbox.sharpsat.counting.ComponentCounter;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link SharpSatConfiguration#SHARPSAT} solver using the {@link ComponentCounter} inside the
+ * toolbox. Works on every platform and counts exactly with arbitrary precision.
+ */
+@Component
+public class ComponentCachingSolver extends SharpSatSolver {
+  private static final String SETTING_CACHE_SIZE = "Cache Size (MB)";
+  private static final int DEFAULT_CACHE_SIZE = 256;
+
+  @Override
+  public String getName() {
+    return "Component Caching SharpSAT counter";
+  }
+
+  @Override
+  public String getDescription() {
+    return "Exact model counter that splits the formula into independent components "
+        + "and caches their counts, runs inside the toolbox.";
+  }
+
+  @Override
+  public List<SolverSetting> getSolverSettings() {
+    var settings = new ArrayList<>(super.getSolverSettings());
+    settings.add(new IntegerSetting(
+        SETTING_CACHE_SIZE,
+        "Memory bound for cached component counts",
+        1,
+        16384,
+        DEFAULT_CACHE_SIZE));
+    return settings;
+  }
+
+  @Override
+  public Mono<Solution<BigInteger>> solve(
+      String input,
+      SubRoutineResolver subRoutineResolver,
+      SolvingProperties properties
+  ) {
+    var solution = new Solution<>(this);
+
+    DimacsCnf dimacsCnf;
+    try {
+      dimacsCnf = DimacsCnf.fromString(input);
+    } catch (ConversionException | RuntimeException e) {
+      solution.setDebugData("Parsing error: " + e.getMessage());
+      solution.abort();
+      return Mono.just(solution);
+    }
+
+    var preprocessed = preprocess(dimacsCnf, properties, solution);
+    if (preprocessed.isSolved()) {
+      solution.setSolutionData(preprocessed.getModelCount());
+      solution.complete();
+      return Mono.just(solution);
+    }
+
+    long cacheBytes = (long) properties.<IntegerSetting>getSetting(SETTING_CACHE_SIZE)
+        .map(IntegerSetting::getValue)
+        .orElse(DEFAULT_CACHE_SIZE) << 20;
+    var counter = toCounter(preprocessed.getCnf(), cacheBytes);
+    return Mono.fromSupplier(() -> count(counter, preprocessed, solution))
+        .doOnCancel(counter::stop);
+  }
+
+  private Solution<BigInteger> count(
+      ComponentCounter counter,
+      PreprocessedCnf preprocessed,
+      Solution<BigInteger> solution) {
+    var count = counter.count();
+    solution.setDebugData("%d decisions, %d cache hits, %d cached components".formatted(
+        counter.getDecisions(), counter.getCacheHits(), counter.getCacheEntries()));
+
+    if (count.isPresent()) {
+      solution.setSolutionData(preprocessed.reconstructCount(count.get()));
+      solution.complete();
+    } else {
+      solution.fail();
+    }
+    return solution;
+  }
+
+  /**
+   * Loads the clauses of a CNF formula into a new counter.
+   * Variables of the formula that occur in no clause are counted as free.
+   */
+  public static ComponentCounter toCounter(DimacsCnf dimacsCnf, long cacheBytes) {
+    // number the variables without gaps, every counter variable is part of the count
+    var indices = new HashMap<Integer, Integer>();
+    for (var variable : dimacsCnf.getVariables()) {
+      indices.putIfAbsent(variable.number(), indices.size() + 1);
+    }
+
+    var clauses = dimacsCnf.getOrClauses().stream()
+        .map(clause -> clause.stream()
+            .mapToInt(variable -> {
+              int index = indices.computeIfAbsent(variable.number(), n -> indices.size() + 1);
+              return variable.isNegated() ? -index : index;
+            })
+            .toArray())
+        .toList();
+    return new ComponentCounter(indices.size(), clauses, cacheBytes);
+  }
+}
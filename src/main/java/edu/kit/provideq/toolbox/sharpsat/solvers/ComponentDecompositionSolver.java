@@ -0,0 +1,193 @@
+package edu.kit.provideq.toolbox.sharpsat.solvers;
+
+import edu.kit.provideq.toolbox.Solution;
+import edu.kit.provideq.toolbox.SolutionStatus;
+import edu.kit.provideq.toolbox.exception.ConversionException;
+import edu.kit.provideq.toolbox.format.cnf.dimacs.DimacsCnf;
+import edu.kit.provideq.toolbox.format.cnf.dimacs.Variable;
+import edu.kit.provideq.toolbox.meta.SolvingProperties;
+import edu.kit.provideq.toolbox.meta.SubRoutineDefinition;
+import edu.kit.provideq.toolbox.meta.SubRoutineResolver;
+import edu.kit.provideq.toolbox.sat.preprocessing.PreprocessedCnf;
+import edu.kit.provideq.toolbox.sharpsat.SharpSatConfiguration;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link SharpSatConfiguration#SHARPSAT} meta-solver that splits a formula into the connected
+ * components of its primal graph, where variables are connected if they share a clause.
+ * Components don't share variables, so their model counts are counted independently by
+ * sub-routines and multiplied. Variables that occur in no clause double the count.
+ * Formulas that are a single component without such variables are not decomposed.
+ */
+@Component
+public class ComponentDecompositionSolver extends SharpSatSolver {
+  private static final SubRoutineDefinition<String, BigInteger> COMPONENT_SUBROUTINE =
+      new SubRoutineDefinition<>(
+          SharpSatConfiguration.SHARPSAT,
+          "Called per independent component of the formula to count its models"
+      );
+
+  @Override
+  public String getName() {
+    return "Component Decomposition SharpSAT meta-solver";
+  }
+
+  @Override
+  public String getDescription() {
+    return "Splits the formula into components that share no variables, "
+        + "counts them in parallel and multiplies their counts.";
+  }
+
+  @Override
+  public List<SubRoutineDefinition<?, ?>> getSubRoutines() {
+    return List.of(COMPONENT_SUBROUTINE);
+  }
+
+  @Override
+  public Mono<Solution<BigInteger>> solve(
+      String input,
+      SubRoutineResolver subRoutineResolver,
+      SolvingProperties properties
+  ) {
+    var solution = new Solution<>(this);
+
+    DimacsCnf dimacsCnf;
+    try {
+      dimacsCnf = DimacsCnf.fromString(input);
+    } catch (ConversionException | RuntimeException e) {
+      solution.setDebugData("Parsing error: " + e.getMessage());
+      solution.abort();
+      return Mono.just(solution);
+    }
+
+    var preprocessed = preprocess(dimacsCnf, properties, solution);
+    if (preprocessed.isSolved()) {
+      solution.setSolutionData(preprocessed.getModelCount());
+      solution.complete();
+      return Mono.just(solution);
+    }
+
+    var cnf = preprocessed.getCnf();
+    if (cnf.getOrClauses().stream().anyMatch(List::isEmpty)) {
+      solution.setSolutionData(BigInteger.ZERO);
+      solution.complete();
+      return Mono.just(solution);
+    }
+
+    var components = splitComponents(cnf);
+    int freeVariables = cnf.getVariables().size() - components.stream()
+        .mapToInt(component -> component.getVariables().size())
+        .sum();
+    solution.setDebugData("%d components, %d free variables".formatted(
+        components.size(), freeVariables));
+
+    // the only sub-problem would be the formula itself, which could be decomposed again forever
+    if (components.size() < 2 && freeVariables == 0) {
+      solution.setDebugData("The formula is a single component without free variables, "
+          + "so it can't be decomposed. Count it with another solver.");
+      solution.fail();
+      return Mono.just(solution);
+    }
+
+    return Flux.fromIterable(components)
+        .flatMap(component ->
+            subRoutineResolver.runSubRoutine(COMPONENT_SUBROUTINE, component.toString()))
+        .collectList()
+        .map(componentSolutions ->
+            combine(componentSolutions, freeVariables, preprocessed, solution));
+  }
+
+  private Solution<BigInteger> combine(
+      List<Solution<BigInteger>> componentSolutions,
+      int freeVariables,
+      PreprocessedCnf preprocessed,
+      Solution<BigInteger> solution) {
+    BigInteger count = BigInteger.ONE.shiftLeft(freeVariables);
+    for (var componentSolution : componentSolutions) {
+      if (componentSolution.getStatus() != SolutionStatus.SOLVED
+          || componentSolution.getSolutionData() == null) {
+        solution.setDebugData("A component could not be counted: "
+            + componentSolution.getDebugData());
+        solution.fail();
+        return solution;
+      }
+      count = count.multiply(componentSolution.getSolutionData());
+    }
+
+    solution.setSolutionData(preprocessed.reconstructCount(count));
+    solution.complete();
+    return solution;
+  }
+
+  /**
+   * Splits a formula into the connected components of its primal graph.
+   * The variables of every component are renumbered from 1 and keep their names.
+   * Variables that occur in no clause are not part of any component.
+   * The formula must not contain empty clauses.
+   */
+  public static List<DimacsCnf> splitComponents(DimacsCnf cnf) {
+    var parents = new LinkedHashMap<Integer, Integer>();
+    for (List<Variable> clause : cnf.getOrClauses()) {
+      for (Variable variable : clause) {
+        parents.putIfAbsent(variable.number(), variable.number());
+        union(parents, clause.get(0).number(), variable.number());
+      }
+    }
+
+    var componentClauses = new LinkedHashMap<Integer, ArrayList<ArrayList<Variable>>>();
+    for (List<Variable> clause : cnf.getOrClauses()) {
+      int root = find(parents, clause.get(0).number());
+      componentClauses.computeIfAbsent(root, key -> new ArrayList<>())
+          .add(new ArrayList<>(clause));
+    }
+
+    var components = new ArrayList<DimacsCnf>();
+    for (var clauses : componentClauses.values()) {
+      components.add(renumber(clauses));
+    }
+    return components;
+  }
+
+  private static DimacsCnf renumber(ArrayList<ArrayList<Variable>> clauses) {
+    var numbers = new LinkedHashMap<Integer, Variable>();
+    var renumberedClauses = new ArrayList<ArrayList<Variable>>();
+    for (var clause : clauses) {
+      var renumberedClause = new ArrayList<Variable>();
+      for (var variable : clause) {
+        var renumbered = numbers.computeIfAbsent(variable.number(),
+            number -> new Variable(numbers.size() + 1, variable.name(), false));
+        renumberedClause.add(
+            new Variable(renumbered.number(), renumbered.name(), variable.isNegated()));
+      }
+      renumberedClauses.add(renumberedClause);
+    }
+    return new DimacsCnf(renumberedClauses, new ArrayList<>(numbers.values()));
+  }
+
+  private static int find(Map<Integer, Integer> parents, int variable) {
+    int root = variable;
+    while (parents.get(root) != root) {
+      root = parents.get(root);
+    }
+    // compress the path to the root
+    while (parents.get(variable) != root) {
+      variable = parents.put(variable, root);
+    }
+    return root;
+  }
+
+  private static void union(Map<Integer, Integer> parents, int first, int second) {
+    int firstRoot = find(parents, first);
+    int secondRoot = find(parents, second);
+    if (firstRoot != secondRoot) {
+      parents.put(firstRoot, secondRoot);
+    }
+  }
+}
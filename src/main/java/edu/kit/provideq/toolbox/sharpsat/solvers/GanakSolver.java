@@ -10,6 +10,7 @@ import edu.kit.provideq.toolbox.meta.SubRoutineResolver;
 import edu.kit.provideq.toolbox.process.DefaultProcessRunner;
 import edu.kit.provideq.toolbox.process.ProcessResult;
 import edu.kit.provideq.toolbox.sharpsat.SharpSatConfiguration;
+import java.math.BigInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -68,7 +69,7 @@ public class GanakSolver extends SharpSatSolver {
    * @return the {@link Solution} in which all resulting information is stored.
    */
   @Override
-  public Mono<Solution<Integer>> solve(String input, SubRoutineResolver subRoutineResolver,
+  public Mono<Solution<BigInteger>> solve(String input, SubRoutineResolver subRoutineResolver,
                                        SolvingProperties properties) {
     if (binaryPath == null || binaryPath.isEmpty()) {
       throw new IllegalArgumentException("Property 'custom.binary.ganak-sat' is not defined."
@@ -87,17 +88,24 @@ public class GanakSolver extends SharpSatSolver {
       return Mono.just(solution);
     }
 
+    var preprocessed = preprocess(dimacsCnf, properties, solution);
+    if (preprocessed.isSolved()) {
+      solution.setSolutionData(preprocessed.getModelCount());
+      solution.complete();
+      return Mono.just(solution);
+    }
+
     ProcessResult<String> processResult = context
         .getBean(DefaultProcessRunner.class)
         .withArguments(binaryPath, INPUT_FILE_PATH)
-        .writeInputFile(dimacsCnf.toString(), "cnf_input.cnf")
+        .writeInputFile(preprocessed.getCnf().toString(), "cnf_input.cnf")
         .readOutputString()
-        .run(getProblemType(), solution.getId());
+        .run(getProblemType(), solution);
 
     if (processResult.success()) {
       try {
-        int solutionCount = parseSolutionCount(processResult.output().orElse("").trim());
-        solution.setSolutionData(solutionCount);
+        BigInteger solutionCount = parseSolutionCount(processResult.output().orElse("").trim());
+        solution.setSolutionData(preprocessed.reconstructCount(solutionCount));
         solution.complete();
       } catch (NumberFormatException e) {
         solution.setDebugData("Failed to parse solution count: " + e.getMessage());
@@ -110,7 +118,7 @@ public class GanakSolver extends SharpSatSolver {
     return Mono.just(solution);
   }
 
-  private int parseSolutionCount(String output) {
+  private BigInteger parseSolutionCount(String output) {
     // match lines like "s mc [number]"
     String regex = "^s mc (\\d+)$";
     Pattern pattern = Pattern.compile(regex);
@@ -119,7 +127,7 @@ public class GanakSolver extends SharpSatSolver {
       Matcher matcher = pattern.matcher(line);
       if (matcher.find()) {
         // extract the number
-        return Integer.parseInt(matcher.group(1));
+        return new BigInteger(matcher.group(1));
       }
     }
     throw new IllegalArgumentException("Output does not contain a valid 's mc' line.");
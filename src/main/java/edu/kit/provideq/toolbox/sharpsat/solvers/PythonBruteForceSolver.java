@@ -9,6 +9,7 @@ import edu.kit.provideq.toolbox.process.ProcessResult;
 import edu.kit.provideq.toolbox.process.ProcessRunner;
 import edu.kit.provideq.toolbox.process.PythonProcessRunner;
 import edu.kit.provideq.toolbox.sharpsat.SharpSatConfiguration;
+import java.math.BigInteger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationContext;
@@ -64,7 +65,7 @@ public class PythonBruteForceSolver extends SharpSatSolver {
    * @return the {@link Solution} in which all resulting information is stored.
    */
   @Override
-  public Mono<Solution<Integer>> solve(String input, SubRoutineResolver subRoutineResolver,
+  public Mono<Solution<BigInteger>> solve(String input, SubRoutineResolver subRoutineResolver,
       SolvingProperties properties) {
 
     var solution = new Solution<>(this);
@@ -79,19 +80,26 @@ public class PythonBruteForceSolver extends SharpSatSolver {
       return Mono.just(solution);
     }
 
+    var preprocessed = preprocess(dimacsCnf, properties, solution);
+    if (preprocessed.isSolved()) {
+      solution.setSolutionData(preprocessed.getModelCount());
+      solution.complete();
+      return Mono.just(solution);
+    }
+
     ProcessResult<String> processResult = context
         .getBean(PythonProcessRunner.class, scriptPath, venv)
         .withArguments(
             ProcessRunner.INPUT_FILE_PATH,
             "--output-file", ProcessRunner.OUTPUT_FILE_PATH
         )
-        .writeInputFile(dimacsCnf.toString())
+        .writeInputFile(preprocessed.getCnf().toString())
         .readOutputFile()
-        .run(getProblemType(), solution.getId());
+        .run(getProblemType(), solution);
 
     if (processResult.success()) {
-      int solutionCount = Integer.parseInt(processResult.output().orElse(""));
-      solution.setSolutionData(solutionCount);
+      var solutionCount = new BigInteger(processResult.output().orElse("").trim());
+      solution.setSolutionData(preprocessed.reconstructCount(solutionCount));
       solution.complete();
     } else {
       solution.setDebugData(processResult.errorOutput().orElse("Unknown error occurred."));
@@ -1,12 +1,59 @@
 package edu.kit.provideq.toolbox.sharpsat.solvers;
 
+import edu.kit.provideq.toolbox.Solution;
+import edu.kit.provideq.toolbox.format.cnf.dimacs.DimacsCnf;
 import edu.kit.provideq.toolbox.meta.ProblemSolver;
 import edu.kit.provideq.toolbox.meta.ProblemType;
+import edu.kit.provideq.toolbox.meta.SolvingProperties;
+import edu.kit.provideq.toolbox.meta.setting.SolverSetting;
+import edu.kit.provideq.toolbox.meta.setting.basic.BooleanSetting;
+import edu.kit.provideq.toolbox.sat.preprocessing.CnfPreprocessor;
+import edu.kit.provideq.toolbox.sat.preprocessing.PreprocessedCnf;
 import edu.kit.provideq.toolbox.sharpsat.SharpSatConfiguration;
+import java.math.BigInteger;
+import java.util.List;
+
+/**
+ * A solver for #SAT problems.
+ * All #SAT solvers offer to simplify the formula with the count-preserving steps of the
+ * {@link CnfPreprocessor} first.
+ */
+public abstract class SharpSatSolver implements ProblemSolver<String, BigInteger> {
+  protected static final String SETTING_PREPROCESSING = "Preprocess CNF";
 
-public abstract class SharpSatSolver implements ProblemSolver<String, Integer> {
   @Override
-  public ProblemType<String, Integer> getProblemType() {
+  public ProblemType<String, BigInteger> getProblemType() {
     return SharpSatConfiguration.SHARPSAT;
   }
+
+  @Override
+  public List<SolverSetting> getSolverSettings() {
+    return List.of(new BooleanSetting(
+        SETTING_PREPROCESSING,
+        "Simplify the CNF (units, equivalences, subsumption) before its models are counted",
+        false
+    ));
+  }
+
+  /**
+   * Preprocesses a formula for counting if this is selected in the solver settings.
+   * The reduction is reported in the meta data of the solution.
+   *
+   * @return the formula to count, use {@link PreprocessedCnf#reconstructCount} on its count.
+   */
+  protected PreprocessedCnf preprocess(
+      DimacsCnf dimacsCnf,
+      SolvingProperties properties,
+      Solution<BigInteger> solution) {
+    boolean enabled = properties.<BooleanSetting>getSetting(SETTING_PREPROCESSING)
+        .map(BooleanSetting::getState)
+        .orElse(false);
+    if (!enabled) {
+      return PreprocessedCnf.unchanged(dimacsCnf);
+    }
+
+    var preprocessed = CnfPreprocessor.preprocessForCounting(dimacsCnf);
+    preprocessed.getReport().ifPresent(solution::setMetaData);
+    return preprocessed;
+  }
 }
@@ -0,0 +1,94 @@
+package edu.kit.provideq.toolbox.statistics;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Size features of a problem input, used to group solver runs of similar size.
+ * The features are extracted heuristically from the textual input formats of the toolbox
+ * (DIMACS CNF, TSPLIB, GML and LP files), the input size in characters is always available.
+ */
+public final class InputFeatures {
+  public static final String VARIABLES = "variables";
+  public static final String CLAUSES = "clauses";
+  public static final String CUSTOMERS = "customers";
+  public static final String NODES = "nodes";
+  public static final String EDGES = "edges";
+  public static final String SIZE = "size";
+
+  private static final Pattern DIMACS_HEADER =
+      Pattern.compile("^p\\s+cnf\\s+(\\d+)\\s+(\\d+)", Pattern.MULTILINE);
+  private static final Pattern TSPLIB_DIMENSION = Pattern.compile(
+      "^\\s*DIMENSION\\s*:\\s*(\\d+)", Pattern.MULTILINE | Pattern.CASE_INSENSITIVE);
+  private static final Pattern TSPLIB_DEPOT =
+      Pattern.compile("^\\s*(DEPOT_SECTION|DEMAND_SECTION)", Pattern.MULTILINE);
+  private static final Pattern GML_NODE = Pattern.compile("\\bnode\\s*\\[");
+  private static final Pattern GML_EDGE = Pattern.compile("\\bedge\\s*\\[");
+  private static final Pattern LP_BINARIES = Pattern.compile(
+      "^\\s*(?:Binary|Binaries|Bin)\\s*$(.*?)^\\s*End\\s*$",
+      Pattern.MULTILINE | Pattern.DOTALL | Pattern.CASE_INSENSITIVE);
+
+  private final Map<String, Long> features;
+
+  private InputFeatures(Map<String, Long> features) {
+    this.features = Collections.unmodifiableMap(features);
+  }
+
+  /**
+   * Extracts the size features of a problem input.
+   *
+   * @param input the problem input, non-textual inputs only yield the {@link #SIZE} feature.
+   * @return features, ordered from the most to the least descriptive one.
+   */
+  public static InputFeatures of(Object input) {
+    var features = new LinkedHashMap<String, Long>();
+    String text = String.valueOf(input);
+
+    var dimacs = DIMACS_HEADER.matcher(text);
+    if (dimacs.find()) {
+      features.put(VARIABLES, Long.parseLong(dimacs.group(1)));
+      features.put(CLAUSES, Long.parseLong(dimacs.group(2)));
+    }
+
+    var dimension = TSPLIB_DIMENSION.matcher(text);
+    if (dimension.find()) {
+      long nodes = Long.parseLong(dimension.group(1));
+      if (TSPLIB_DEPOT.matcher(text).find()) {
+        features.put(CUSTOMERS, nodes - 1);
+      }
+      features.put(NODES, nodes);
+    } else if (GML_NODE.matcher(text).find()) {
+      features.put(NODES, GML_NODE.matcher(text).results().count());
+      features.put(EDGES, GML_EDGE.matcher(text).results().count());
+    }
+
+    var binaries = LP_BINARIES.matcher(text);
+    if (!features.containsKey(VARIABLES) && binaries.find()) {
+      String declaration = binaries.group(1).strip();
+      if (!declaration.isEmpty()) {
+        features.put(VARIABLES, (long) declaration.split("\\s+").length);
+      }
+    }
+
+    features.put(SIZE, (long) text.length());
+    return new InputFeatures(features);
+  }
+
+  /**
+   * Returns all features of the input, ordered from the most to the least descriptive one.
+   */
+  public Map<String, Long> getFeatures() {
+    return features;
+  }
+
+  /**
+   * Returns the size bucket of a feature value.
+   * Bucket {@code b} contains the values in {@code [2^b - 1, 2^(b+1) - 1)},
+   * so runs of inputs within a factor of two share a bucket.
+   */
+  public static int bucketOf(long value) {
+    return 63 - Long.numberOfLeadingZeros(Math.max(0, value) + 1);
+  }
+}
@@ -0,0 +1,80 @@
+package edu.kit.provideq.toolbox.statistics;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * Execution time histogram of the runs of one solver on inputs of a similar size.
+ * Bucket {@code i} counts the runs that took {@code [2^i, 2^(i+1))} milliseconds.
+ */
+public class LatencyHistogram {
+  private static final int BUCKET_COUNT = 48;
+
+  private long runs;
+  private long successes;
+  private long[] buckets = new long[BUCKET_COUNT];
+
+  /**
+   * Adds a run to the histogram.
+   *
+   * @param milliseconds execution time of the run.
+   * @param success whether the run produced a valid solution.
+   */
+  public synchronized void record(long milliseconds, boolean success) {
+    runs++;
+    if (success) {
+      successes++;
+    }
+    int bucket = 63 - Long.numberOfLeadingZeros(Math.max(1, milliseconds));
+    buckets[Math.min(bucket, BUCKET_COUNT - 1)]++;
+  }
+
+  /**
+   * Estimates the median execution time from the histogram.
+   *
+   * @return the geometric center of the bucket that contains the median run,
+   *     or -1 if there are no runs.
+   */
+  public synchronized long estimateMedianMilliseconds() {
+    long seen = 0;
+    for (int bucket = 0; bucket < buckets.length; bucket++) {
+      seen += buckets[bucket];
+      if (seen * 2 >= runs && runs > 0) {
+        return Math.round(Math.pow(2, bucket + 0.5));
+      }
+    }
+    return -1;
+  }
+
+  @JsonIgnore
+  public synchronized double getSuccessRate() {
+    return runs == 0 ? 0 : (double) successes / runs;
+  }
+
+  public synchronized long getRuns() {
+    return runs;
+  }
+
+  public synchronized void setRuns(long runs) {
+    this.runs = runs;
+  }
+
+  public synchronized long getSuccesses() {
+    return successes;
+  }
+
+  public synchronized void setSuccesses(long successes) {
+    this.successes = successes;
+  }
+
+  public synchronized long[] getBuckets() {
+    return buckets.clone();
+  }
+
+  /**
+   * Replaces the bucket counts, used when loading persisted statistics.
+   */
+  public synchronized void setBuckets(long[] buckets) {
+    this.buckets = new long[BUCKET_COUNT];
+    System.arraycopy(buckets, 0, this.buckets, 0, Math.min(buckets.length, BUCKET_COUNT));
+  }
+}
@@ -0,0 +1,77 @@
+package edu.kit.provideq.toolbox.statistics;
+
+import edu.kit.provideq.toolbox.meta.Problem;
+import edu.kit.provideq.toolbox.meta.ProblemManager;
+import edu.kit.provideq.toolbox.meta.ProblemManagerProvider;
+import edu.kit.provideq.toolbox.meta.ProblemState;
+import edu.kit.provideq.toolbox.process.ProcessRunner;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes gauges of the current problem instances and the executors of the toolbox.
+ * Metrics of finished solution processes are recorded by {@link ToolboxMetrics}.
+ */
+@Component
+public class ProblemMetrics implements MeterBinder {
+  // the gauges of all states are read in one scrape, so they share one count of the instances
+  private static final long MAX_COUNT_AGE_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+  private ProblemManagerProvider managerProvider;
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    for (var manager : managerProvider.getProblemManagers()) {
+      var stateCounts = new StateCounts(manager);
+      for (var state : ProblemState.values()) {
+        Gauge.builder(ToolboxMetrics.PROBLEMS_METRIC, stateCounts, counts -> counts.get(state))
+            .description("Number of registered problems per state")
+            .tag("type", manager.getType().getId())
+            .tag("state", state.name())
+            .strongReference(true)
+            .register(registry);
+      }
+    }
+
+    new ExecutorServiceMetrics(
+        ProcessRunner.getStreamReaderExecutor(), "process-stream-reader", Tags.empty())
+        .bindTo(registry);
+  }
+
+  /**
+   * Counts the instances of a problem manager per state, at most once per scrape.
+   */
+  private static final class StateCounts {
+    private final ProblemManager<?, ?> manager;
+    private Map<ProblemState, Long> counts;
+    private long countNanos;
+
+    StateCounts(ProblemManager<?, ?> manager) {
+      this.manager = manager;
+    }
+
+    synchronized double get(ProblemState state) {
+      long now = System.nanoTime();
+      if (counts == null || now - countNanos > MAX_COUNT_AGE_NANOS) {
+        counts = manager.streamInstances(null).collect(Collectors.groupingBy(
+            Problem::getState, () -> new EnumMap<>(ProblemState.class), Collectors.counting()));
+        countNanos = now;
+      }
+      return counts.getOrDefault(state, 0L);
+    }
+  }
+
+  @Autowired
+  void setManagerProvider(ProblemManagerProvider managerProvider) {
+    this.managerProvider = managerProvider;
+  }
+}
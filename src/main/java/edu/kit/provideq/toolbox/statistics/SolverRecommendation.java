@@ -0,0 +1,24 @@
+package edu.kit.provideq.toolbox.statistics;
+
+/**
+ * Predicted performance of a solver for a given input.
+ *
+ * @param solverId id of the solver.
+ * @param solverName name of the solver.
+ * @param feature the input feature the prediction is based on, null without comparable runs.
+ * @param expectedMilliseconds predicted median execution time, -1 without comparable runs.
+ * @param successRate share of comparable runs that produced a valid solution.
+ * @param runs number of comparable runs.
+ * @param expectedMillisecondsToSuccess predicted time until a valid solution,
+ *     taking failed runs into account.
+ */
+public record SolverRecommendation(
+    String solverId,
+    String solverName,
+    String feature,
+    long expectedMilliseconds,
+    double successRate,
+    long runs,
+    double expectedMillisecondsToSuccess
+) {
+}
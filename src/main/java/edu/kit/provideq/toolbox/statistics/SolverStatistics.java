@@ -0,0 +1,216 @@
+package edu.kit.provideq.toolbox.statistics;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.kit.provideq.toolbox.ResourceProvider;
+import edu.kit.provideq.toolbox.Solution;
+import edu.kit.provideq.toolbox.SolutionStatus;
+import edu.kit.provideq.toolbox.meta.ProblemManager;
+import edu.kit.provideq.toolbox.meta.ProblemSolver;
+import edu.kit.provideq.toolbox.meta.ProblemType;
+import jakarta.annotation.PreDestroy;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Persistent store of solver execution times and success rates.
+ * Runs are grouped by problem type, solver, input feature and size bucket of that feature
+ * (see {@link InputFeatures}), so the latency of a solver can be predicted for new inputs.
+ * The statistics are written to a JSON file in the working directory periodically if runs were
+ * recorded, and when the application shuts down.
+ */
+@Component
+public class SolverStatistics {
+  private static final Logger logger = Logger.getLogger(SolverStatistics.class.getName());
+  private static final String FILE_NAME = "solver-statistics.json";
+  private static final String KEY_SEPARATOR = "|";
+
+  private final ResourceProvider resourceProvider;
+  private final Scheduler scheduler;
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+  private final AtomicBoolean dirty = new AtomicBoolean(false);
+
+  /**
+   * Creates the statistics store and loads previously persisted statistics.
+   */
+  @Autowired
+  public SolverStatistics(ResourceProvider resourceProvider) {
+    this(resourceProvider, Schedulers.boundedElastic());
+  }
+
+  /**
+   * Creates the statistics store with the scheduler that records runs.
+   */
+  SolverStatistics(ResourceProvider resourceProvider, Scheduler scheduler) {
+    this.resourceProvider = resourceProvider;
+    this.scheduler = scheduler;
+    load();
+  }
+
+  /**
+   * Records a finished solver run.
+   * Extracting the input features scans the whole input, so it doesn't happen on the calling
+   * thread, which is usually the one that solved the problem.
+   *
+   * @param type the problem type that was solved.
+   * @param solver the solver that was used.
+   * @param input the input of the problem.
+   * @param solution the solution returned by the solver.
+   */
+  public <InputT, ResultT> void record(
+      ProblemType<InputT, ResultT> type,
+      ProblemSolver<InputT, ResultT> solver,
+      InputT input,
+      Solution<ResultT> solution) {
+    boolean success = solution.getStatus() == SolutionStatus.SOLVED;
+    long milliseconds = solution.getExecutionMilliseconds();
+    scheduler.schedule(() -> {
+      var features = InputFeatures.of(input).getFeatures();
+      features.forEach((feature, value) -> histograms
+          .computeIfAbsent(key(type, solver, feature, InputFeatures.bucketOf(value)),
+              key -> new LatencyHistogram())
+          .record(milliseconds, success));
+      dirty.set(true);
+    });
+  }
+
+  /**
+   * Writes the statistics to the statistics file if runs were recorded since the last write.
+   */
+  @Scheduled(fixedDelay = 30, timeUnit = TimeUnit.SECONDS)
+  @PreDestroy
+  public void flush() {
+    if (dirty.getAndSet(false) && !save()) {
+      // try again with the next flush
+      dirty.set(true);
+    }
+  }
+
+  /**
+   * Ranks the solvers of a problem manager by their predicted time to a successful result.
+   * The prediction uses the runs of inputs in the same size bucket of the most descriptive
+   * feature that has been seen for a solver, e.g. the number of variables of a CNF formula.
+   * Solvers without any comparable run are listed last.
+   *
+   * @param manager the problem manager whose solvers are ranked.
+   * @param input the input to predict the solver latency for.
+   * @return recommendations, the fastest expected solver first.
+   */
+  public <InputT, ResultT> List<SolverRecommendation> recommend(
+      ProblemManager<InputT, ResultT> manager,
+      InputT input) {
+    var features = InputFeatures.of(input).getFeatures();
+
+    return manager.getSolvers().stream()
+        .map(solver -> recommend(manager.getType(), solver, features))
+        .sorted(Comparator
+            .comparing((SolverRecommendation recommendation) -> recommendation.runs() == 0)
+            .thenComparingDouble(SolverRecommendation::expectedMillisecondsToSuccess)
+            .thenComparing(SolverRecommendation::solverName))
+        .toList();
+  }
+
+  private <InputT, ResultT> SolverRecommendation recommend(
+      ProblemType<InputT, ResultT> type,
+      ProblemSolver<InputT, ResultT> solver,
+      Map<String, Long> features) {
+    for (var feature : features.entrySet()) {
+      var histogram = Optional.ofNullable(histograms.get(
+          key(type, solver, feature.getKey(), InputFeatures.bucketOf(feature.getValue()))));
+      if (histogram.isPresent() && histogram.get().getRuns() > 0) {
+        long median = histogram.get().estimateMedianMilliseconds();
+        double successRate = histogram.get().getSuccessRate();
+        // expected time until a successful result, if failed runs were simply repeated
+        double expected = successRate > 0 ? median / successRate : Double.POSITIVE_INFINITY;
+        return new SolverRecommendation(
+            solver.getId(),
+            solver.getName(),
+            feature.getKey(),
+            median,
+            successRate,
+            histogram.get().getRuns(),
+            expected);
+      }
+    }
+
+    return new SolverRecommendation(
+        solver.getId(), solver.getName(), null, -1, 0, 0, Double.POSITIVE_INFINITY);
+  }
+
+  private static String key(
+      ProblemType<?, ?> type,
+      ProblemSolver<?, ?> solver,
+      String feature,
+      int bucket) {
+    return String.join(KEY_SEPARATOR,
+        type.getId(), solver.getId(), feature, String.valueOf(bucket));
+  }
+
+  private Optional<File> getStatisticsFile() {
+    try {
+      return Optional.of(new File(resourceProvider.getWorkingDirectory(), FILE_NAME));
+    } catch (IOException e) {
+      logger.warning("Solver statistics are not persisted: " + e.getMessage());
+      return Optional.empty();
+    }
+  }
+
+  private void load() {
+    var file = getStatisticsFile();
+    if (file.isEmpty() || !file.get().isFile()) {
+      return;
+    }
+
+    try {
+      histograms.putAll(objectMapper.readValue(file.get(),
+          new TypeReference<Map<String, LatencyHistogram>>() {
+          }));
+    } catch (IOException e) {
+      logger.warning("Could not read solver statistics: " + e.getMessage());
+    }
+  }
+
+  /**
+   * Writes the statistics to a temporary file first and moves it over the statistics file,
+   * so a crash while writing never leaves a truncated statistics file behind.
+   *
+   * @return false if the statistics should have been written but couldn't be.
+   */
+  private synchronized boolean save() {
+    var file = getStatisticsFile();
+    if (file.isEmpty()) {
+      return true;
+    }
+
+    File temporaryFile = null;
+    try {
+      temporaryFile = File.createTempFile(FILE_NAME, ".tmp", file.get().getParentFile());
+      objectMapper.writeValue(temporaryFile, histograms);
+      Files.move(temporaryFile.toPath(), file.get().toPath(),
+          StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      return true;
+    } catch (IOException e) {
+      logger.warning("Could not write solver statistics: " + e.getMessage());
+      if (temporaryFile != null && !temporaryFile.delete()) {
+        temporaryFile.deleteOnExit();
+      }
+      return false;
+    }
+  }
+}
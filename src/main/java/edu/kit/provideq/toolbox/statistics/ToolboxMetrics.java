@@ -0,0 +1,106 @@
+package edu.kit.provideq.toolbox.statistics;
+
+import edu.kit.provideq.toolbox.meta.ProblemSolver;
+import edu.kit.provideq.toolbox.meta.ProblemType;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records Micrometer metrics of the solution process.
+ * Metrics are recorded in the global registry, which Spring Boot connects to the exported
+ * registries, because problems and some API clients are not managed by Spring.
+ */
+public final class ToolboxMetrics {
+  static final String SOLVE_METRIC = "provideq.problem.solve";
+  static final String FAN_OUT_METRIC = "provideq.problem.fanout";
+  static final String PROBLEMS_METRIC = "provideq.problems";
+  static final String PROCESS_METRIC = "provideq.process";
+  static final String PROCESS_BYTES_METRIC = "provideq.process.bytes";
+  static final String PLANQK_POLLS_METRIC = "provideq.planqk.polls";
+
+  private ToolboxMetrics() {
+    throw new UnsupportedOperationException("This class should not be instantiated.");
+  }
+
+  /**
+   * Records the duration of a finished solution process.
+   *
+   * @param outcome the status of the solution, or {@code "EXCEPTION"} if the solver failed
+   *     without a solution.
+   */
+  public static void recordSolve(
+      ProblemType<?, ?> type,
+      ProblemSolver<?, ?> solver,
+      String outcome,
+      long durationNanos
+  ) {
+    Timer.builder(SOLVE_METRIC)
+        .description("Duration of solution processes")
+        .tag("type", type.getId())
+        .tag("solver", solver.getId())
+        .tag("outcome", outcome)
+        .register(Metrics.globalRegistry)
+        .record(durationNanos, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Records the number of sub-problems a solution process created.
+   */
+  public static void recordFanOut(ProblemType<?, ?> type, ProblemSolver<?, ?> solver, int width) {
+    DistributionSummary.builder(FAN_OUT_METRIC)
+        .description("Number of sub-problems per solution process")
+        .tag("type", type.getId())
+        .tag("solver", solver.getId())
+        .register(Metrics.globalRegistry)
+        .record(width);
+  }
+
+  /**
+   * Records a finished external process.
+   *
+   * @param executable the file name of the executable, e.g., {@code python}.
+   * @param exitCode the exit code of the process.
+   * @param durationNanos time from spawning the process to its exit.
+   * @param bytesWritten number of bytes of the input files written for the process.
+   * @param bytesRead number of bytes of output read from the process.
+   */
+  public static void recordProcess(
+      String executable,
+      int exitCode,
+      long durationNanos,
+      long bytesWritten,
+      long bytesRead
+  ) {
+    Timer.builder(PROCESS_METRIC)
+        .description("Time from spawning an external process to its exit")
+        .tag("executable", executable)
+        .tag("exit.code", String.valueOf(exitCode))
+        .register(Metrics.globalRegistry)
+        .record(durationNanos, TimeUnit.NANOSECONDS);
+    recordProcessBytes(executable, "written", bytesWritten);
+    recordProcessBytes(executable, "read", bytesRead);
+  }
+
+  private static void recordProcessBytes(String executable, String direction, long bytes) {
+    DistributionSummary.builder(PROCESS_BYTES_METRIC)
+        .description("Bytes exchanged with external processes per run")
+        .baseUnit("bytes")
+        .tag("executable", executable)
+        .tag("direction", direction)
+        .register(Metrics.globalRegistry)
+        .record(bytes);
+  }
+
+  /**
+   * Counts a status request of a PlanQK job.
+   *
+   * @param service the url path of the PlanQK service.
+   * @param status the reported status of the job.
+   */
+  public static void countPlanQkPoll(String service, String status) {
+    Metrics.globalRegistry.counter(PLANQK_POLLS_METRIC, "service", service, "status", status)
+        .increment();
+  }
+}
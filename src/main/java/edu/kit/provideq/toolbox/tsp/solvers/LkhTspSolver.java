@@ -59,7 +59,7 @@ public class LkhTspSolver extends TspSolver {
         )
         .writeInputFile(adaptInput(input), "problem.vrp")
         .readOutputFile("problem.sol")
-        .run(getProblemType(), solution.getId());
+        .run(getProblemType(), solution);
 
     return Mono.just(processResult.applyTo(solution));
   }
@@ -1,24 +1,26 @@
 package edu.kit.provideq.toolbox.tsp.solvers;
 
-import edu.kit.provideq.toolbox.ResourceProvider;
 import edu.kit.provideq.toolbox.Solution;
+import edu.kit.provideq.toolbox.convert.TspToQubo;
+import edu.kit.provideq.toolbox.exception.ConversionException;
+import edu.kit.provideq.toolbox.format.qubo.QuboBitOrder;
+import edu.kit.provideq.toolbox.format.qubo.QuboSample;
+import edu.kit.provideq.toolbox.format.qubo.QuboSolutionReader;
+import edu.kit.provideq.toolbox.format.tsplib.TsplibProblem;
 import edu.kit.provideq.toolbox.meta.SolvingProperties;
 import edu.kit.provideq.toolbox.meta.SubRoutineDefinition;
 import edu.kit.provideq.toolbox.meta.SubRoutineResolver;
-import edu.kit.provideq.toolbox.process.DefaultProcessRunner;
-import edu.kit.provideq.toolbox.process.ProcessRunner;
+import edu.kit.provideq.toolbox.meta.setting.SolverSetting;
+import edu.kit.provideq.toolbox.meta.setting.basic.DoubleSetting;
+import edu.kit.provideq.toolbox.meta.setting.basic.IntegerSetting;
 import edu.kit.provideq.toolbox.qubo.QuboConfiguration;
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
+import edu.kit.provideq.toolbox.qubo.solvers.QuboSolver;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.Optional;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.context.ApplicationContext;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 
 /**
  * Transforms TSP Problems into QUBOs.
@@ -27,21 +29,17 @@ import reactor.core.scheduler.Schedulers;
 public class QuboTspSolver extends TspSolver {
   private static final SubRoutineDefinition<String, String> QUBO_SUBROUTINE =
       new SubRoutineDefinition<>(QuboConfiguration.QUBO, "How should the QUBO be solved?");
-  private final ApplicationContext context;
-  private final String binaryPath;
-  private ResourceProvider resourceProvider;
 
-  @Autowired
-  public QuboTspSolver(
-      @Value("${path.custom.berger-vrp}") String binaryPath,
-      ApplicationContext context) {
-    this.binaryPath = binaryPath;
-    this.context = context;
-  }
+  private static final String SETTING_PENALTY_FACTOR = "Penalty Factor";
+  private static final double DEFAULT_PENALTY_FACTOR = 2.0;
+  private static final String SETTING_DECODED_SAMPLES = "Decoded Samples";
+  private static final int DEFAULT_DECODED_SAMPLES = 10;
+
+  private final List<QuboSolver> quboSolvers;
 
   @Autowired
-  public void setResourceProvider(ResourceProvider resourceProvider) {
-    this.resourceProvider = resourceProvider;
+  public QuboTspSolver(List<QuboSolver> quboSolvers) {
+    this.quboSolvers = quboSolvers;
   }
 
   @Override
@@ -60,18 +58,22 @@ public class QuboTspSolver extends TspSolver {
     return List.of(QUBO_SUBROUTINE);
   }
 
-  private String getProblemDirectory(Solution<String> solutionObject) {
-    // write solution to current problem directory
-    String problemDirectoryPath = null;
-    try {
-      problemDirectoryPath = resourceProvider
-          .getProblemDirectory(getProblemType(), solutionObject.getId())
-          .getAbsolutePath();
-    } catch (IOException e) {
-      solutionObject.setDebugData("Failed to retrieve problem directory.");
-      solutionObject.abort();
-    }
-    return problemDirectoryPath;
+  @Override
+  public List<SolverSetting> getSolverSettings() {
+    return List.of(
+        new DoubleSetting(
+            SETTING_PENALTY_FACTOR,
+            "Weight of the one-hot constraint penalties, as a multiple of the largest distance",
+            0.1,
+            100.0,
+            DEFAULT_PENALTY_FACTOR),
+        new IntegerSetting(
+            SETTING_DECODED_SAMPLES,
+            "Number of lowest-energy QUBO samples that are repaired into tours",
+            1,
+            1000,
+            DEFAULT_DECODED_SAMPLES)
+    );
   }
 
   @Override
@@ -80,46 +82,35 @@ public class QuboTspSolver extends TspSolver {
       SubRoutineResolver resolver,
       SolvingProperties properties
   ) {
+    double penaltyFactor = properties.<DoubleSetting>getSetting(SETTING_PENALTY_FACTOR)
+        .map(DoubleSetting::getValue)
+        .orElse(DEFAULT_PENALTY_FACTOR);
+    int decodedSamples = properties.<IntegerSetting>getSetting(SETTING_DECODED_SAMPLES)
+        .map(IntegerSetting::getValue)
+        .orElse(DEFAULT_DECODED_SAMPLES);
+
     var solution = new Solution<>(this);
 
-    // change "TYPE" keyword from "TSP" to "CVRP"
-    // add capacity declaration of "0" (is ignored later)
-    // this is theoretically wrong, but needed for Lucas' QUBO converter to work
-    String typeRegex = "(?i)\\btype\\s*:\\s*tsp\\b";
-    input = input.replaceAll(typeRegex, "TYPE : CVRP\nCAPACITY : 0");
-
-    // translate into qubo in lp-file format with rust vrp meta solver
-    var processResult = context
-        .getBean(DefaultProcessRunner.class)
-        .withArguments(
-            binaryPath,
-            "partial",
-            "solve", ProcessRunner.INPUT_FILE_PATH,
-            "simulated",
-            "--transform-only"
-        )
-        .writeInputFile(input, "problem.vrp")
-        .readOutputFile("problem.lp")
-        .run(getProblemType(), solution.getId());
-
-    Optional<String> output = processResult.output();
-    if (!processResult.success() || output.isEmpty()) {
-      solution.setDebugData(processResult.errorOutput().orElse("Unknown error occurred."));
+    TsplibProblem problem;
+    try {
+      problem = TsplibProblem.fromString(input);
+    } catch (ConversionException e) {
+      solution.setDebugData("Could not parse TSP problem: " + e.getMessage());
       solution.abort();
       return Mono.just(solution);
     }
 
-    String problemDirectoryPath = getProblemDirectory(solution);
-    if (problemDirectoryPath == null) {
-      solution.setDebugData("Unable to solve Problem, the problemDirectoryPath is null.");
-      solution.abort();
+    // a single node is already a tour, there is nothing to optimize
+    if (problem.getDimension() < 2) {
+      solution.setSolutionData(problem.toTourString(new int[problem.getDimension()]));
+      solution.complete();
       return Mono.just(solution);
     }
-    Path quboSolutionFilePath = Path.of(problemDirectoryPath, "problem.bin");
 
-    String finalInput = input;
-    return resolver.runSubRoutine(QUBO_SUBROUTINE, output.get())
-        .publishOn(Schedulers.boundedElastic()) //avoids block from Files.writeString() in try/catch
+    // translate into qubo in lp-file format
+    var encoding = TspToQubo.convert(problem, penaltyFactor);
+
+    return resolver.runSubRoutine(QUBO_SUBROUTINE, encoding.getQubo().toString())
         .map(subRoutineSolution -> {
           if (subRoutineSolution.getSolutionData() == null
               || subRoutineSolution.getSolutionData().isEmpty()) {
@@ -129,39 +120,57 @@ public class QuboTspSolver extends TspSolver {
             return solution;
           }
 
+          List<QuboSample> samples;
           try {
-            Files.writeString(quboSolutionFilePath, subRoutineSolution.getSolutionData());
-          } catch (IOException e) {
-            solution.setDebugData(
-                "Failed to write qubo solution file with path: " + quboSolutionFilePath);
+            samples = QuboSolutionReader.read(
+                subRoutineSolution.getSolutionData(),
+                encoding.getQubo().getVariableCount(),
+                getBitOrder(subRoutineSolution.getSolverName()));
+          } catch (ConversionException e) {
+            solution.setDebugData(e.getMessage());
             solution.abort();
             return solution;
           }
 
-          var processRetransformResult = context
-              .getBean(DefaultProcessRunner.class)
-              .withArguments(
-                  binaryPath,
-                  "partial",
-                  "solve", ProcessRunner.INPUT_FILE_PATH,
-                  "simulated",
-                  "--qubo-solution", quboSolutionFilePath.toString()
-              )
-              .writeInputFile(finalInput, "problem.vrp")
-              .readOutputFile("problem.sol")
-              .run(getProblemType(), solution.getId());
-
-          if (!processRetransformResult.success()) {
-            solution.setDebugData(
-                processRetransformResult.errorOutput().orElse("Unable to retransform result."));
-            solution.abort();
-            return solution;
+          // repair the lowest-energy samples and keep the shortest resulting tour
+          var qubo = encoding.getQubo();
+          var energies = new IdentityHashMap<QuboSample, Double>();
+          samples.forEach(sample -> energies.put(sample, qubo.evaluate(sample.assignment())));
+          var candidates = samples.stream()
+              .sorted(Comparator.comparingDouble(energies::get))
+              .limit(decodedSamples)
+              .toList();
+
+          int[] tour = null;
+          int feasibleSamples = 0;
+          for (var sample : candidates) {
+            if (encoding.isFeasible(sample.assignment())) {
+              feasibleSamples++;
+            }
+            int[] candidateTour = encoding.improve(encoding.decode(sample.assignment()));
+            if (tour == null
+                || problem.getTourLength(candidateTour) < problem.getTourLength(tour)) {
+              tour = candidateTour;
+            }
           }
 
-          solution.setSolutionData(processRetransformResult.output().orElse("Empty Solution"));
+          solution.setDebugData("Decoded %d QUBO samples, %d of them satisfied the one-hot "
+              .formatted(candidates.size(), feasibleSamples)
+              + "constraints. Tour length: " + problem.getTourLength(tour));
+          solution.setSolutionData(problem.toTourString(tour));
           solution.complete();
-
           return solution;
         });
   }
+
+  /**
+   * Returns the bit order of the QUBO solver that produced a sub-routine solution.
+   */
+  private QuboBitOrder getBitOrder(String solverName) {
+    return quboSolvers.stream()
+        .filter(quboSolver -> quboSolver.getName().equals(solverName))
+        .findFirst()
+        .map(QuboSolver::getBitOrder)
+        .orElse(QuboBitOrder.FIRST_VARIABLE_FIRST);
+  }
 }
@@ -0,0 +1,154 @@
+package edu.kit.provideq.toolbox.vrp.clusterer;
+
+import edu.kit.provideq.toolbox.Solution;
+import edu.kit.provideq.toolbox.SolutionStatus;
+import edu.kit.provideq.toolbox.meta.SolvingProperties;
+import edu.kit.provideq.toolbox.meta.SubRoutineDefinition;
+import edu.kit.provideq.toolbox.meta.SubRoutineResolver;
+import edu.kit.provideq.toolbox.meta.setting.SolverSetting;
+import edu.kit.provideq.toolbox.meta.setting.basic.IntegerSetting;
+import edu.kit.provideq.toolbox.vrp.VrpConfiguration;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Decomposes large VRP problems recursively using k-means clustering.
+ * The number of clusters is derived from the instance size and the target cluster size.
+ * Clusters that still exceed the target size are passed on to another clusterer,
+ * so the decomposition recurses until every leaf problem fits the size budget.
+ */
+@Component
+public class AdaptiveKmeansClusterer extends VrpClusterer {
+  private static final String SETTING_TARGET_CLUSTER_SIZE = "Target Cluster Size";
+  private static final int DEFAULT_TARGET_CLUSTER_SIZE = 100;
+  private static final String SETTING_MAX_CLUSTER_NUMBER = "Maximum Cluster Number";
+  private static final int DEFAULT_MAX_CLUSTER_NUMBER = 50;
+
+  private static final SubRoutineDefinition<String, String> VRP_SUBROUTINE =
+      new SubRoutineDefinition<>(
+          VrpConfiguration.VRP,
+          "Solve a VRP problem that fits the target cluster size"
+      );
+
+  private static final SubRoutineDefinition<String, String> CLUSTER_SUBROUTINE =
+      new SubRoutineDefinition<>(
+          VrpClustererConfiguration.CLUSTER_VRP,
+          "Decompose a VRP cluster that still exceeds the target cluster size"
+      );
+
+  @Autowired
+  public AdaptiveKmeansClusterer(
+      @Value("${path.custom.berger-vrp}") String binaryPath,
+      ApplicationContext context) {
+    super(binaryPath, context);
+  }
+
+  @Override
+  public String getName() {
+    return "Adaptive K-means Clustering (VRP -> Set of VRP, recursive)";
+  }
+
+  @Override
+  public String getDescription() {
+    return "Clusters a VRP problem with k-means, choosing the cluster number from the instance "
+        + "size, and recursively decomposes clusters that are still larger than the target size.";
+  }
+
+  @Override
+  public List<SubRoutineDefinition<?, ?>> getSubRoutines() {
+    return List.of(VRP_SUBROUTINE, CLUSTER_SUBROUTINE);
+  }
+
+  @Override
+  public List<SolverSetting> getSolverSettings() {
+    return List.of(
+        new IntegerSetting(
+            SETTING_TARGET_CLUSTER_SIZE,
+            "The maximum number of customers a leaf problem should contain",
+            2,
+            100000,
+            DEFAULT_TARGET_CLUSTER_SIZE),
+        new IntegerSetting(
+            SETTING_MAX_CLUSTER_NUMBER,
+            "The maximum number of clusters to create per decomposition level",
+            2,
+            1000,
+            DEFAULT_MAX_CLUSTER_NUMBER)
+    );
+  }
+
+  @Override
+  public Mono<Solution<String>> solve(
+      String input,
+      SubRoutineResolver resolver,
+      SolvingProperties properties) {
+    int targetSize = properties.<IntegerSetting>getSetting(SETTING_TARGET_CLUSTER_SIZE)
+        .map(IntegerSetting::getValue)
+        .orElse(DEFAULT_TARGET_CLUSTER_SIZE);
+    int maxClusterNumber = properties.<IntegerSetting>getSetting(SETTING_MAX_CLUSTER_NUMBER)
+        .map(IntegerSetting::getValue)
+        .orElse(DEFAULT_MAX_CLUSTER_NUMBER);
+
+    var solution = new Solution<>(this);
+
+    var dimension = getDimension(input);
+    if (dimension.isEmpty()) {
+      solution.setDebugData("The VRP problem does not specify a DIMENSION.");
+      solution.abort();
+      return Mono.just(solution);
+    }
+
+    // the depot is part of the dimension, but not a customer
+    int customers = dimension.getAsInt() - 1;
+
+    // small enough already, no need to decompose any further
+    if (customers <= targetSize) {
+      return resolver.runSubRoutine(VRP_SUBROUTINE, input)
+          .map(vrpSolution -> {
+            solution.setSolutionData(vrpSolution.getSolutionData());
+            solution.setDebugData(vrpSolution.getDebugData());
+            if (vrpSolution.getStatus() == SolutionStatus.SOLVED) {
+              solution.complete();
+            } else {
+              solution.fail();
+            }
+            return solution;
+          });
+    }
+
+    int clusterNumber = Math.min(maxClusterNumber, Math.max(2, ceilDiv(customers, targetSize)));
+    var processResult = clusterWithKmeans(input, clusterNumber, solution);
+
+    return getSolutionForCluster(input, solution, processResult, resolver,
+        cluster -> chooseSubRoutine(cluster, customers, targetSize));
+  }
+
+  /**
+   * Chooses whether a cluster is solved directly or decomposed further.
+   * Clusters that did not shrink compared to their parent are solved directly
+   * to guarantee termination of the recursion.
+   */
+  static SubRoutineDefinition<String, String> chooseSubRoutine(
+      String cluster,
+      int parentCustomers,
+      int targetSize) {
+    var clusterDimension = getDimension(cluster);
+    if (clusterDimension.isEmpty()) {
+      return VRP_SUBROUTINE;
+    }
+
+    int clusterCustomers = clusterDimension.getAsInt() - 1;
+    if (clusterCustomers <= targetSize || clusterCustomers >= parentCustomers) {
+      return VRP_SUBROUTINE;
+    }
+    return CLUSTER_SUBROUTINE;
+  }
+
+  private static int ceilDiv(int dividend, int divisor) {
+    return (dividend + divisor - 1) / divisor;
+  }
+}
@@ -7,10 +7,7 @@ import edu.kit.provideq.toolbox.meta.SubRoutineDefinition;
 import edu.kit.provideq.toolbox.meta.SubRoutineResolver;
 import edu.kit.provideq.toolbox.meta.setting.SolverSetting;
 import edu.kit.provideq.toolbox.meta.setting.basic.IntegerSetting;
-import edu.kit.provideq.toolbox.process.DefaultProcessRunner;
-import edu.kit.provideq.toolbox.process.MultiFileProcessResultReader;
 import edu.kit.provideq.toolbox.process.ProcessResult;
-import edu.kit.provideq.toolbox.process.ProcessRunner;
 import edu.kit.provideq.toolbox.vrp.VrpConfiguration;
 import java.nio.file.Path;
 import java.util.HashMap;
@@ -84,19 +81,8 @@ public class KmeansClusterer extends VrpClusterer {
     var solution = new Solution<>(this);
 
     // cluster with kmeans
-    ProcessResult<HashMap<Path, String>> processResult = context
-        .getBean(DefaultProcessRunner.class)
-        .withArguments(
-            binaryPath,
-            "partial",
-            "cluster",
-            ProcessRunner.INPUT_FILE_PATH, "kmeans",
-            "--build-dir", ProcessRunner.PROBLEM_DIRECTORY_PATH + "/.vrp",
-            "--cluster-number", String.valueOf(clusterNumber)
-        )
-        .writeInputFile(input, "problem.vrp")
-        .readOutputFile(new MultiFileProcessResultReader("/.vrp/problem_*.vrp"))
-        .run(getProblemType(), solution.getId());
+    ProcessResult<HashMap<Path, String>> processResult =
+        clusterWithKmeans(input, clusterNumber, solution);
 
     return getSolutionForCluster(input, solution, processResult, resolver, VRP_SUBROUTINE);
   }
@@ -68,7 +68,7 @@ public class TwoPhaseClusterer extends VrpClusterer {
         )
         .writeInputFile(input, "problem.vrp")
         .readOutputFile(new MultiFileProcessResultReader("/.vrp/problem_*.vrp"))
-        .run(getProblemType(), solution.getId());
+        .run(getProblemType(), solution);
 
     return getSolutionForCluster(input, solution, processResult, resolver, TSP_SUBROUTINE);
   }
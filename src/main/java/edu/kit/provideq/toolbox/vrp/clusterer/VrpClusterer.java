@@ -7,6 +7,7 @@ import edu.kit.provideq.toolbox.meta.ProblemType;
 import edu.kit.provideq.toolbox.meta.SubRoutineDefinition;
 import edu.kit.provideq.toolbox.meta.SubRoutineResolver;
 import edu.kit.provideq.toolbox.process.DefaultProcessRunner;
+import edu.kit.provideq.toolbox.process.MultiFileProcessResultReader;
 import edu.kit.provideq.toolbox.process.ProcessResult;
 import edu.kit.provideq.toolbox.process.ProcessRunner;
 import java.io.IOException;
@@ -14,6 +15,9 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.OptionalInt;
+import java.util.function.Function;
+import java.util.regex.Pattern;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
 import reactor.core.publisher.Flux;
@@ -26,6 +30,8 @@ import reactor.util.function.Tuples;
  * A solver for SAT problems.
  */
 public abstract class VrpClusterer implements ProblemSolver<String, String> {
+  private static final Pattern DIMENSION_PATTERN = Pattern.compile(
+      "^\\s*DIMENSION\\s*:\\s*(\\d+)", Pattern.CASE_INSENSITIVE | Pattern.MULTILINE);
 
   protected final ApplicationContext context;
   protected final String binaryPath;
@@ -49,12 +55,68 @@ public abstract class VrpClusterer implements ProblemSolver<String, String> {
     this.resourceProvider = resourceProvider;
   }
 
+  /**
+   * Reads the number of nodes (including the depot) from the DIMENSION entry of a TSPLIB file.
+   *
+   * @param input VRP or TSP problem in TSPLIB format.
+   * @return the dimension, or an empty optional if the input does not declare one.
+   */
+  protected static OptionalInt getDimension(String input) {
+    var matcher = DIMENSION_PATTERN.matcher(input);
+    if (!matcher.find()) {
+      return OptionalInt.empty();
+    }
+    return OptionalInt.of(Integer.parseInt(matcher.group(1)));
+  }
+
+  /**
+   * Clusters a VRP problem into {@code clusterNumber} smaller VRP problems using k-means.
+   *
+   * @param input the VRP problem to cluster.
+   * @param clusterNumber the number of clusters to create.
+   * @param solution the solution whose problem directory is used to store the clusters.
+   * @return map from cluster file paths to the cluster VRP problems.
+   */
+  protected ProcessResult<HashMap<Path, String>> clusterWithKmeans(
+      String input,
+      int clusterNumber,
+      Solution<String> solution) {
+    return context
+        .getBean(DefaultProcessRunner.class)
+        .withArguments(
+            binaryPath,
+            "partial",
+            "cluster",
+            ProcessRunner.INPUT_FILE_PATH, "kmeans",
+            "--build-dir", ProcessRunner.PROBLEM_DIRECTORY_PATH + "/.vrp",
+            "--cluster-number", String.valueOf(clusterNumber)
+        )
+        .writeInputFile(input, "problem.vrp")
+        .readOutputFile(new MultiFileProcessResultReader("/.vrp/problem_*.vrp"))
+        .run(getProblemType(), solution);
+  }
+
   protected Mono<Solution<String>> getSolutionForCluster(
       String input,
       Solution<String> solution,
       ProcessResult<HashMap<Path, String>> processResult,
       SubRoutineResolver resolver,
       SubRoutineDefinition<String, String> definition) {
+    return getSolutionForCluster(input, solution, processResult, resolver, cluster -> definition);
+  }
+
+  /**
+   * Solves every cluster with a sub-routine and combines the cluster solutions.
+   *
+   * @param definitionSelector chooses the sub-routine for each cluster based on its input,
+   *     allowing different clusters to be solved differently.
+   */
+  protected Mono<Solution<String>> getSolutionForCluster(
+      String input,
+      Solution<String> solution,
+      ProcessResult<HashMap<Path, String>> processResult,
+      SubRoutineResolver resolver,
+      Function<String, SubRoutineDefinition<String, String>> definitionSelector) {
     if (processResult.output().isEmpty() || !processResult.success()) {
       solution.setDebugData(processResult.errorOutput()
           .orElse("Unknown Error Occured: Map of Cluster could not be retrieved."));
@@ -66,7 +128,8 @@ public abstract class VrpClusterer implements ProblemSolver<String, String> {
 
     //solve TSP clusters:
     return Flux.fromIterable(mapOfClusters.entrySet())
-        .flatMap(cluster -> resolver.runSubRoutine(definition, cluster.getValue())
+        .flatMap(cluster -> resolver
+            .runSubRoutine(definitionSelector.apply(cluster.getValue()), cluster.getValue())
             .map(clusterSolution -> Tuples.of(cluster.getKey(), clusterSolution)))
         .collectMap(Tuple2::getT1, Tuple2::getT2)
         .publishOn(Schedulers.boundedElastic())
@@ -119,7 +182,7 @@ public abstract class VrpClusterer implements ProblemSolver<String, String> {
         )
         .writeInputFile(input, "problem.vrp")
         .readOutputFile("problem.sol")
-        .run(getProblemType(), solution.getId());
+        .run(getProblemType(), solution);
 
     var result = combineProcessRunner.output();
 
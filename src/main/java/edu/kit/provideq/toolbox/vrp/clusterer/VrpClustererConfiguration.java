@@ -26,10 +26,11 @@ public class VrpClustererConfiguration {
   ProblemManager<String, String> getClusterVrpManager(
       ResourceProvider resourceProvider,
       KmeansClusterer kmeans,
-      TwoPhaseClusterer twoPhase) {
+      TwoPhaseClusterer twoPhase,
+      AdaptiveKmeansClusterer adaptiveKmeans) {
     return new ProblemManager<>(
         CLUSTER_VRP,
-        Set.of(kmeans, twoPhase),
+        Set.of(kmeans, twoPhase, adaptiveKmeans),
         loadExampleProblems(resourceProvider)
     );
   }
@@ -61,7 +61,7 @@ public class LkhVrpSolver extends VrpSolver {
         )
         .writeInputFile(adaptInput(input), "problem.vrp")
         .readOutputFile("problem.sol")
-        .run(getProblemType(), solution.getId());
+        .run(getProblemType(), solution);
 
     return Mono.just(processResult.applyTo(solution));
   }
@@ -58,7 +58,7 @@ public class QrispVrpSolver extends VrpSolver {
         )
         .writeInputFile(input, "problem.vrp")
         .readOutputFile()
-        .run(getProblemType(), solution.getId());
+        .run(getProblemType(), solution);
 
     return Mono.just(processResult.applyTo(solution));
   }
@@ -1,11 +1,15 @@
 package edu.kit.provideq.toolbox.api;
 
+import static edu.kit.provideq.toolbox.featuremodel.analysis.FeatureModelAnalysisConfiguration.FEATURE_MODEL_ANALYSIS;
 import static edu.kit.provideq.toolbox.featuremodel.anomaly.dead.DeadFeatureConfiguration.FEATURE_MODEL_ANOMALY_DEAD;
 import static edu.kit.provideq.toolbox.featuremodel.anomaly.voidmodel.VoidModelConfiguration.FEATURE_MODEL_ANOMALY_VOID;
 import static edu.kit.provideq.toolbox.sat.SatConfiguration.SAT;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import edu.kit.provideq.toolbox.featuremodel.analysis.FeatureModelAnalysisReport;
 import edu.kit.provideq.toolbox.format.cnf.dimacs.DimacsCnfSolution;
+import edu.kit.provideq.toolbox.meta.PortfolioSolver;
 import edu.kit.provideq.toolbox.meta.ProblemManagerProvider;
 import edu.kit.provideq.toolbox.meta.ProblemSolver;
 import edu.kit.provideq.toolbox.meta.ProblemState;
@@ -58,6 +62,8 @@ class FeatureModelAnomalySolversTest {
     var satSolver = satManager.getSolvers().stream()
         .filter(solver -> !(solver instanceof QrispGroverSolver))
         .filter(solver -> !(solver instanceof QrispExactGroverSolver))
+        .filter(solver -> !(solver instanceof PortfolioSolver))
+        .filter(solver -> solver.getSubRoutines().isEmpty())
         .toList();
 
     return ApiTestHelper.getAllArgumentCombinations(featureModelManager, satSolver)
@@ -90,4 +96,25 @@ class FeatureModelAnomalySolversTest {
     problem = ApiTestHelper.trySolveFor(15, client, problem.getId(), problemType);
     ApiTestHelper.testSolution(problem);
   }
+
+  Stream<Arguments> provideAnalysisArguments() {
+    var analysisManager =
+        problemManagerProvider.findProblemManagerForType(FEATURE_MODEL_ANALYSIS).orElseThrow();
+
+    return ApiTestHelper.getAllArgumentCombinations(analysisManager)
+        .map(list -> Arguments.of(list.get(0), list.get(1)));
+  }
+
+  @ParameterizedTest
+  @MethodSource("provideAnalysisArguments")
+  void testFeatureModelAnalysisSolver(
+      ProblemSolver<String, FeatureModelAnalysisReport> analysisSolver,
+      String input) {
+    var problem = ApiTestHelper.createProblem(client, analysisSolver, input,
+        FEATURE_MODEL_ANALYSIS);
+    assertTrue(problem.getSubProblems().isEmpty());
+
+    problem = ApiTestHelper.trySolveFor(15, client, problem.getId(), FEATURE_MODEL_ANALYSIS);
+    ApiTestHelper.testSolution(problem);
+  }
 }
@@ -0,0 +1,57 @@
+package edu.kit.provideq.toolbox.api;
+
+import static edu.kit.provideq.toolbox.knapsack.KnapsackConfiguration.KNAPSACK;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+public class MetricsTest {
+  @Autowired
+  private WebTestClient client;
+
+  @BeforeEach
+  void beforeEach() {
+    this.client = this.client.mutate()
+        .responseTimeout(Duration.ofSeconds(20))
+        .build();
+  }
+
+  @Test
+  void testPrometheusEndpoint() {
+    client.post()
+        .uri("/problems/" + KNAPSACK.getId())
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(Map.of("input", "3 10\n0 4 5\n1 6 8\n2 3 3\n"))
+        .exchange()
+        .expectStatus().isOk();
+
+    var metrics = client.get()
+        .uri("/actuator/prometheus")
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody(String.class)
+        .returnResult()
+        .getResponseBody();
+
+    assertNotNull(metrics);
+    assertTrue(metrics.lines().anyMatch(line -> line.startsWith("provideq_problems{")
+        && line.contains("state=\"NEEDS_CONFIGURATION\"")
+        && line.contains("type=\"" + KNAPSACK.getId() + "\"")
+        && !line.endsWith(" 0.0")), metrics);
+    assertTrue(metrics.contains("jvm_memory_used_bytes"));
+    assertTrue(metrics.contains("executor_pool_size_threads{name=\"process-stream-reader\""));
+  }
+}
@@ -0,0 +1,132 @@
+package edu.kit.provideq.toolbox.api;
+
+import static edu.kit.provideq.toolbox.featuremodel.analysis.FeatureModelAnalysisConfiguration.FEATURE_MODEL_ANALYSIS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.kit.provideq.toolbox.SolutionStatus;
+import edu.kit.provideq.toolbox.featuremodel.analysis.IncrementalSatFeatureModelAnalysisSolver;
+import edu.kit.provideq.toolbox.meta.ProblemManagerProvider;
+import edu.kit.provideq.toolbox.meta.ProblemState;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ProblemBatchTest {
+  @Autowired
+  private WebTestClient client;
+
+  @Autowired
+  private ProblemManagerProvider problemManagerProvider;
+
+  @Autowired
+  private IncrementalSatFeatureModelAnalysisSolver solver;
+
+  @BeforeEach
+  void beforeEach() {
+    this.client = this.client.mutate()
+        .responseTimeout(Duration.ofSeconds(30))
+        .build();
+  }
+
+  @Test
+  void testBatchCreatesAndStartsProblems() throws JsonProcessingException {
+    var input = problemManagerProvider.findProblemManagerForType(FEATURE_MODEL_ANALYSIS)
+        .orElseThrow()
+        .getExampleInstances()
+        .stream()
+        .findFirst()
+        .orElseThrow()
+        .getInput()
+        .orElseThrow();
+
+    var mapper = new ObjectMapper();
+    var body = String.join("\n",
+        mapper.writeValueAsString(Map.of("input", input)),
+        mapper.writeValueAsString(Map.of("input", input, "solverId", "unknown")),
+        mapper.writeValueAsString(Map.of("input", input)));
+
+    var results = client.post()
+        .uri("/problems/%s/batch?solverId=%s&start=true&concurrency=2"
+            .formatted(FEATURE_MODEL_ANALYSIS.getId(), solver.getId()))
+        .contentType(MediaType.APPLICATION_NDJSON)
+        .accept(MediaType.APPLICATION_NDJSON)
+        .bodyValue(body)
+        .exchange()
+        .expectStatus().isOk()
+        .returnResult(ProblemBatchResultDto.class)
+        .getResponseBody()
+        .collectList()
+        .block(Duration.ofSeconds(30));
+
+    assertNotNull(results);
+    var sorted = results.stream()
+        .sorted(Comparator.comparingLong(ProblemBatchResultDto::index)
+            .thenComparing(result -> result.state() == ProblemState.SOLVED))
+        .toList();
+    assertEquals(5, sorted.size());
+
+    // started problems are reported when created and when solved
+    for (var result : List.of(sorted.get(0), sorted.get(1), sorted.get(3), sorted.get(4))) {
+      assertNotNull(result.problemId());
+      assertNull(result.error());
+    }
+    assertEquals(ProblemState.SOLVING, sorted.get(0).state());
+    assertEquals(ProblemState.SOLVED, sorted.get(1).state());
+    assertEquals(SolutionStatus.SOLVED, sorted.get(1).solutionStatus());
+    assertEquals(sorted.get(0).problemId(), sorted.get(1).problemId());
+
+    // the invalid line is rejected without failing the batch
+    assertEquals(1, sorted.get(2).index());
+    assertNull(sorted.get(2).problemId());
+    assertNotNull(sorted.get(2).error());
+  }
+
+  @Test
+  void testMalformedLineIsReportedPerLine() {
+    var body = String.join("\n",
+        "{\"input\": \"features\\n    Root\"}",
+        "",
+        "{\"input\": ",
+        "{\"input\": \"features\\n    Root\"}");
+
+    var results = client.post()
+        .uri("/problems/%s/batch".formatted(FEATURE_MODEL_ANALYSIS.getId()))
+        .contentType(MediaType.APPLICATION_NDJSON)
+        .accept(MediaType.APPLICATION_NDJSON)
+        .bodyValue(body)
+        .exchange()
+        .expectStatus().isOk()
+        .returnResult(ProblemBatchResultDto.class)
+        .getResponseBody()
+        .collectList()
+        .block(Duration.ofSeconds(30));
+
+    assertNotNull(results);
+    var sorted = results.stream()
+        .sorted(Comparator.comparingLong(ProblemBatchResultDto::index))
+        .toList();
+    assertEquals(3, sorted.size());
+
+    // the blank line is skipped, but still counted
+    assertEquals(List.of(0L, 2L, 3L), sorted.stream().map(ProblemBatchResultDto::index).toList());
+    assertNotNull(sorted.get(0).problemId());
+    assertNull(sorted.get(1).problemId());
+    assertTrue(sorted.get(1).error().startsWith("Invalid JSON"));
+    assertNotNull(sorted.get(2).problemId());
+  }
+}
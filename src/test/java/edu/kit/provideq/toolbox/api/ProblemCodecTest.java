@@ -0,0 +1,99 @@
+package edu.kit.provideq.toolbox.api;
+
+import static edu.kit.provideq.toolbox.knapsack.KnapsackConfiguration.KNAPSACK;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ProblemCodecTest {
+  private static final String INPUT = "3 10\n0 4 5\n1 6 8\n2 3 3\n";
+
+  @Autowired
+  private WebTestClient client;
+
+  @BeforeEach
+  void beforeEach() {
+    this.client = this.client.mutate()
+        .responseTimeout(Duration.ofSeconds(20))
+        .build();
+  }
+
+  @Test
+  void testBinaryPayloads() throws IOException {
+    // submit the problem as smile and receive it as cbor
+    var created = client.post()
+        .uri("/problems/" + KNAPSACK.getId())
+        .contentType(CodecConfiguration.APPLICATION_SMILE)
+        .accept(MediaType.APPLICATION_CBOR)
+        .bodyValue(new SmileMapper().writeValueAsBytes(Map.of("input", INPUT)))
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR)
+        .expectBody(byte[].class)
+        .returnResult()
+        .getResponseBody();
+    assertNotNull(created);
+
+    var cborMapper = new CBORMapper();
+    Map<String, Object> problem = cborMapper.readValue(created, new TypeReference<>() {
+    });
+    assertEquals(INPUT, problem.get("input"));
+
+    var read = client.get()
+        .uri("/problems/%s/%s".formatted(KNAPSACK.getId(), problem.get("id")))
+        .accept(MediaType.APPLICATION_CBOR)
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR)
+        .expectBody(byte[].class)
+        .returnResult()
+        .getResponseBody();
+    assertEquals(problem, cborMapper.readValue(read, new TypeReference<Map<String, Object>>() {
+    }));
+
+    var listed = client.get()
+        .uri("/problems/%s?fields=id".formatted(KNAPSACK.getId()))
+        .accept(MediaType.APPLICATION_CBOR)
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody(byte[].class)
+        .returnResult()
+        .getResponseBody();
+    List<Map<String, Object>> problems = cborMapper.readValue(listed, new TypeReference<>() {
+    });
+    assertEquals(1, problems.stream()
+        .filter(listedProblem -> listedProblem.get("id").equals(problem.get("id")))
+        .count());
+  }
+
+  @Test
+  void testQualityValuesSelectListFormat() {
+    // the JSON entry comes first, but CBOR has the higher quality
+    client.get()
+        .uri("/problems/%s?fields=id".formatted(KNAPSACK.getId()))
+        .header(HttpHeaders.ACCEPT, "application/json;q=0.1, application/cbor")
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR)
+        .expectHeader().values(HttpHeaders.VARY,
+            values -> assertTrue(values.contains(HttpHeaders.ACCEPT), values.toString()));
+  }
+}
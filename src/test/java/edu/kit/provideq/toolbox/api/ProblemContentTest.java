@@ -0,0 +1,133 @@
+package edu.kit.provideq.toolbox.api;
+
+import static edu.kit.provideq.toolbox.knapsack.KnapsackConfiguration.KNAPSACK;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ProblemContentTest {
+  private static final String INPUT = "3 10\n0 4 5\n1 6 8\n2 3 3\n";
+
+  @Autowired
+  private WebTestClient client;
+
+  @BeforeEach
+  void beforeEach() {
+    this.client = this.client.mutate()
+        .responseTimeout(Duration.ofSeconds(20))
+        .build();
+  }
+
+  @Test
+  void testInputContent() throws IOException {
+    var problem = createProblem();
+    assertEquals(INPUT.length(), problem.getInputReference().size());
+    var path = "/problems/%s/%s".formatted(KNAPSACK.getId(), problem.getId());
+
+    var input = client.get()
+        .uri(path + "/input")
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().contentTypeCompatibleWith(MediaType.TEXT_PLAIN)
+        .expectHeader().valueEquals(HttpHeaders.ACCEPT_RANGES, "bytes")
+        .expectHeader().valueEquals(HttpHeaders.ETAG,
+            "\"%s\"".formatted(problem.getInputReference().sha256()))
+        .expectBody(String.class)
+        .returnResult()
+        .getResponseBody();
+    assertEquals(INPUT, input);
+
+    var compressed = client.get()
+        .uri(path + "/input")
+        .header(HttpHeaders.ACCEPT_ENCODING, "br;q=1.0, gzip;q=0.8")
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().valueEquals(HttpHeaders.CONTENT_ENCODING, "gzip")
+        .expectBody(byte[].class)
+        .returnResult()
+        .getResponseBody();
+    assertNotNull(compressed);
+    try (var gzip = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+      assertEquals(INPUT, new String(gzip.readAllBytes(), StandardCharsets.UTF_8));
+    }
+
+    client.get()
+        .uri(path + "/input")
+        .header(HttpHeaders.RANGE, "bytes=0-3")
+        .exchange()
+        .expectStatus().isEqualTo(206)
+        .expectBody(String.class).isEqualTo(INPUT.substring(0, 4));
+
+    client.get()
+        .uri(path + "/solution")
+        .exchange()
+        .expectStatus().isNotFound();
+  }
+
+  @Test
+  void testChangedInputIsNotServedFromCache() {
+    var problem = createProblem();
+    var path = "/problems/%s/%s".formatted(KNAPSACK.getId(), problem.getId());
+    client.get()
+        .uri(path + "/input")
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody(String.class).isEqualTo(INPUT);
+
+    var changedInput = "2 10\n0 4 5\n1 6 8\n";
+    var changed = client.patch()
+        .uri(path)
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(Map.of("input", changedInput))
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody(new ParameterizedTypeReference<ProblemDto<String, String>>() {
+        })
+        .returnResult()
+        .getResponseBody();
+    assertNotNull(changed);
+    assertEquals(changedInput.length(), changed.getInputReference().size());
+    assertNotEquals(problem.getInputReference(), changed.getInputReference());
+
+    client.get()
+        .uri(path + "/input")
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().valueEquals(HttpHeaders.ETAG,
+            "\"%s\"".formatted(changed.getInputReference().sha256()))
+        .expectBody(String.class).isEqualTo(changedInput);
+  }
+
+  private ProblemDto<String, String> createProblem() {
+    var problem = client.post()
+        .uri("/problems/" + KNAPSACK.getId())
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(Map.of("input", INPUT))
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody(new ParameterizedTypeReference<ProblemDto<String, String>>() {
+        })
+        .returnResult()
+        .getResponseBody();
+    assertNotNull(problem);
+    return problem;
+  }
+}
@@ -0,0 +1,91 @@
+package edu.kit.provideq.toolbox.api;
+
+import static edu.kit.provideq.toolbox.knapsack.KnapsackConfiguration.KNAPSACK;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.time.Duration;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ProblemETagTest {
+  @Autowired
+  private WebTestClient client;
+
+  @BeforeEach
+  void beforeEach() {
+    this.client = this.client.mutate()
+        .responseTimeout(Duration.ofSeconds(20))
+        .build();
+  }
+
+  @Test
+  void testConditionalRead() {
+    var problem = client.post()
+        .uri("/problems/" + KNAPSACK.getId())
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(Map.of("input", "3 10\n0 4 5\n1 6 8\n2 3 3\n"))
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody(new ParameterizedTypeReference<ProblemDto<String, String>>() {
+        })
+        .returnResult()
+        .getResponseBody();
+    assertNotNull(problem);
+    var path = "/problems/%s/%s".formatted(KNAPSACK.getId(), problem.getId());
+
+    var read = client.get()
+        .uri(path)
+        .accept(MediaType.APPLICATION_JSON)
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody(new ParameterizedTypeReference<ProblemDto<String, String>>() {
+        })
+        .returnResult();
+    var eTag = read.getResponseHeaders().getETag();
+    assertNotNull(eTag);
+    assertEquals("\"%d\"".formatted(read.getResponseBody().getVersion()), eTag);
+
+    // an unchanged problem is not sent again
+    client.get()
+        .uri(path)
+        .accept(MediaType.APPLICATION_JSON)
+        .header(HttpHeaders.IF_NONE_MATCH, eTag)
+        .exchange()
+        .expectStatus().isNotModified()
+        .expectHeader().valueEquals(HttpHeaders.ETAG, eTag)
+        .expectBody().isEmpty();
+
+    client.patch()
+        .uri(path)
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(Map.of("input", "2 10\n0 4 5\n1 6 8\n"))
+        .exchange()
+        .expectStatus().isOk();
+
+    // a changed problem is sent with a new version
+    var changedETag = client.get()
+        .uri(path)
+        .accept(MediaType.APPLICATION_JSON)
+        .header(HttpHeaders.IF_NONE_MATCH, eTag)
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody().jsonPath("$.input").isEqualTo("2 10\n0 4 5\n1 6 8\n")
+        .returnResult()
+        .getResponseHeaders()
+        .getETag();
+    assertNotNull(changedETag);
+    assertNotEquals(eTag, changedETag);
+  }
+}
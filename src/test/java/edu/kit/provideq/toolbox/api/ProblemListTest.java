@@ -0,0 +1,122 @@
+package edu.kit.provideq.toolbox.api;
+
+import static edu.kit.provideq.toolbox.knapsack.KnapsackConfiguration.KNAPSACK;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ProblemListTest {
+  @Autowired
+  private WebTestClient client;
+
+  @BeforeEach
+  void beforeEach() {
+    this.client = this.client.mutate()
+        .responseTimeout(Duration.ofSeconds(20))
+        .build();
+  }
+
+  @Test
+  void testPaginatedProjectedListing() {
+    var createdIds = new ArrayList<String>();
+    for (int i = 0; i < 3; i++) {
+      createdIds.add(createProblem());
+    }
+
+    // follow the next page links through all problems
+    var listedIds = new ArrayList<String>();
+    String nextPage = "/problems/" + KNAPSACK.getId() + "?limit=2&fields=id,state";
+    while (nextPage != null) {
+      var result = client.get()
+          .uri(nextPage)
+          .accept(MediaType.APPLICATION_JSON)
+          .exchange()
+          .expectStatus().isOk()
+          .expectBody(new ParameterizedTypeReference<List<Map<String, Object>>>() {
+          })
+          .returnResult();
+
+      var page = result.getResponseBody();
+      assertNotNull(page);
+      assertTrue(page.size() <= 2);
+      for (var problem : page) {
+        assertEquals(Set.of("id", "state"), problem.keySet());
+        listedIds.add((String) problem.get("id"));
+      }
+
+      var link = result.getResponseHeaders().getFirst(HttpHeaders.LINK);
+      nextPage = link == null ? null : link.substring(link.indexOf('<') + 1, link.indexOf('>'));
+    }
+
+    assertTrue(listedIds.containsAll(createdIds));
+    var sortedIds = listedIds.stream()
+        .map(UUID::fromString)
+        .sorted()
+        .map(UUID::toString)
+        .toList();
+    assertEquals(sortedIds, listedIds);
+  }
+
+  @Test
+  void testNdjsonListing() {
+    var id = createProblem();
+
+    var lines = client.get()
+        .uri("/problems/" + KNAPSACK.getId() + "?fields=id&state=NEEDS_CONFIGURATION")
+        .accept(MediaType.APPLICATION_NDJSON)
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+        .returnResult(new ParameterizedTypeReference<Map<String, Object>>() {
+        })
+        .getResponseBody()
+        .collectList()
+        .block(Duration.ofSeconds(20));
+
+    assertNotNull(lines);
+    assertTrue(lines.contains(Map.of("id", id)));
+  }
+
+  @Test
+  void testUnknownFieldIsRejected() {
+    client.get()
+        .uri("/problems/" + KNAPSACK.getId() + "?fields=id,unknown")
+        .accept(MediaType.APPLICATION_JSON)
+        .exchange()
+        .expectStatus().isBadRequest();
+  }
+
+  private String createProblem() {
+    var problem = client.post()
+        .uri("/problems/" + KNAPSACK.getId())
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(Map.of("input", "3 10\n0 4 5\n1 6 8\n2 3 3\n"))
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody(new ParameterizedTypeReference<ProblemDto<String, String>>() {
+        })
+        .returnResult()
+        .getResponseBody();
+
+    assertNotNull(problem);
+    return problem.getId();
+  }
+}
@@ -0,0 +1,94 @@
+package edu.kit.provideq.toolbox.api;
+
+import static edu.kit.provideq.toolbox.featuremodel.anomaly.dead.DeadFeatureConfiguration.FEATURE_MODEL_ANOMALY_DEAD;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import edu.kit.provideq.toolbox.meta.ProblemManagerProvider;
+import edu.kit.provideq.toolbox.meta.ProblemState;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ProblemTreeTest {
+  @Autowired
+  private WebTestClient client;
+
+  @Autowired
+  private ProblemManagerProvider problemManagerProvider;
+
+  @BeforeEach
+  void beforeEach() {
+    this.client = this.client.mutate()
+        .responseTimeout(Duration.ofSeconds(20))
+        .build();
+  }
+
+  @Test
+  void testTreeLevels() {
+    var manager = problemManagerProvider.findProblemManagerForType(FEATURE_MODEL_ANOMALY_DEAD)
+        .orElseThrow();
+    var solver = manager.getSolvers().stream()
+        .filter(candidate -> !candidate.getSubRoutines().isEmpty())
+        .findFirst()
+        .orElseThrow();
+    var input = manager.getExampleInstances().stream()
+        .findFirst()
+        .orElseThrow()
+        .getInput()
+        .orElseThrow();
+
+    var problem = ApiTestHelper.createProblem(client, solver, input, FEATURE_MODEL_ANOMALY_DEAD);
+    var subProblemIds = problem.getSubProblems().stream()
+        .flatMap(reference -> reference.getSubProblemIds().stream())
+        .toList();
+    assertFalse(subProblemIds.isEmpty());
+    var path = "/problems/%s/%s/tree"
+        .formatted(FEATURE_MODEL_ANOMALY_DEAD.getId(), problem.getId());
+
+    var levels = getLevels(path + "?fields=id,state");
+    assertEquals(2, levels.size());
+
+    var root = levels.get(0);
+    assertEquals(0, root.depth());
+    assertEquals(List.of(Map.of("id", problem.getId(), "state", "SOLVING")), root.problems());
+    assertEquals(Map.of(ProblemState.SOLVING, 1L), root.stateCounts());
+
+    // the sat sub-problems wait for a solver
+    var subProblems = levels.get(1);
+    assertEquals(1, subProblems.depth());
+    assertEquals(Set.copyOf(subProblemIds), subProblems.problems().stream()
+        .map(subProblem -> ((Map<?, ?>) subProblem).get("id"))
+        .collect(Collectors.toSet()));
+    assertEquals(Map.of(ProblemState.NEEDS_CONFIGURATION, (long) subProblemIds.size()),
+        subProblems.stateCounts());
+
+    assertEquals(1, getLevels(path + "?depth=0").size());
+  }
+
+  private List<ProblemTreeLevelDto> getLevels(String uri) {
+    var levels = client.get()
+        .uri(uri)
+        .accept(MediaType.APPLICATION_JSON)
+        .exchange()
+        .expectStatus().isOk()
+        .expectBodyList(ProblemTreeLevelDto.class)
+        .returnResult()
+        .getResponseBody();
+
+    assertNotNull(levels);
+    return levels;
+  }
+}
@@ -10,7 +10,10 @@ import edu.kit.provideq.toolbox.meta.ProblemManagerProvider;
 import edu.kit.provideq.toolbox.meta.ProblemSolver;
 import edu.kit.provideq.toolbox.meta.ProblemState;
 import edu.kit.provideq.toolbox.meta.ProblemType;
+import edu.kit.provideq.toolbox.sat.solvers.CdclSatSolver;
+import edu.kit.provideq.toolbox.sat.solvers.CubeAndConquerSolver;
 import edu.kit.provideq.toolbox.sat.solvers.QrispExactGroverSolver;
+import java.math.BigInteger;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
@@ -59,6 +62,8 @@ class SatSolversTest {
   void testSatSolver(ProblemSolver<String, DimacsCnfSolution> solver, String input) {
     Assumptions.assumeFalse(solver instanceof QrispExactGroverSolver,
         "Skipping QrispExactGroverSolver in testSatSolver.");
+    Assumptions.assumeFalse(solver instanceof CubeAndConquerSolver,
+        "Skipping CubeAndConquerSolver in testSatSolver, its cubes need a solver.");
     var problem = ApiTestHelper.createProblem(client, solver, input, SAT);
     ApiTestHelper.testSolution(problem);
   }
@@ -76,7 +81,9 @@ class SatSolversTest {
         .toList();
 
     var sharpSatManager = problemManagerProvider.findProblemManagerForType(SHARPSAT).get();
-    var sharpSatSolvers = sharpSatManager.getSolvers();
+    var sharpSatSolvers = sharpSatManager.getSolvers().stream()
+        .filter(solver -> solver.getSubRoutines().isEmpty())
+        .toList();
 
     List<Arguments> result = new ArrayList<>();
     for (var qrisp : qrispSolvers) {
@@ -95,7 +102,7 @@ class SatSolversTest {
       ProblemSolver<String, DimacsCnfSolution> qrispSolver,
       ProblemType<String, DimacsCnfSolution> problemType,
       String problemInput,
-      ProblemSolver<String, Integer> sharpSatSolver
+      ProblemSolver<String, BigInteger> sharpSatSolver
   ) {
     var problemDto = ApiTestHelper.createProblem(client, qrispSolver, problemInput, problemType);
     assertEquals(ProblemState.SOLVING, problemDto.getState(),
@@ -122,4 +129,46 @@ class SatSolversTest {
     var solvedProblemDto = ApiTestHelper.trySolveFor(60, client, problemDto.getId(), problemType);
     ApiTestHelper.testSolution(solvedProblemDto);
   }
+
+  @SuppressWarnings("OptionalGetWithoutIsPresent")
+  Stream<Arguments> provideCubeAndConquerArguments() {
+    var satManager = problemManagerProvider.findProblemManagerForType(SAT).get();
+    var cubeAndConquerSolver = satManager.getSolvers().stream()
+        .filter(solver -> solver instanceof CubeAndConquerSolver)
+        .findFirst()
+        .get();
+    var cubeSolver = satManager.getSolvers().stream()
+        .filter(solver -> solver instanceof CdclSatSolver)
+        .findFirst()
+        .get();
+
+    return satManager.getExampleInstances().stream()
+        .flatMap(problem -> problem.getInput().stream())
+        .map(input -> Arguments.of(cubeAndConquerSolver, cubeSolver, input));
+  }
+
+  @ParameterizedTest
+  @MethodSource("provideCubeAndConquerArguments")
+  void testCubeAndConquerSolver(
+      ProblemSolver<String, DimacsCnfSolution> cubeAndConquerSolver,
+      ProblemSolver<String, DimacsCnfSolution> cubeSolver,
+      String input
+  ) {
+    var problemDto = ApiTestHelper.createProblem(client, cubeAndConquerSolver, input, SAT);
+
+    for (SubProblemReferenceDto subRef : problemDto.getSubProblems()) {
+      for (String subProblemId : subRef.getSubProblemIds()) {
+        var cubeProblem = ApiTestHelper.setProblemSolver(
+            client,
+            cubeSolver,
+            subProblemId,
+            SAT.getId()
+        );
+        ApiTestHelper.testSolution(cubeProblem);
+      }
+    }
+
+    var solvedProblemDto = ApiTestHelper.trySolveFor(60, client, problemDto.getId(), SAT);
+    ApiTestHelper.testSolution(solvedProblemDto);
+  }
 }
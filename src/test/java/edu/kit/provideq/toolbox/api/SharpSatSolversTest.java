@@ -2,12 +2,21 @@ package edu.kit.provideq.toolbox.api;
 
 
 import static edu.kit.provideq.toolbox.sharpsat.SharpSatConfiguration.SHARPSAT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import edu.kit.provideq.toolbox.SolutionStatus;
 import edu.kit.provideq.toolbox.meta.ProblemManagerProvider;
 import edu.kit.provideq.toolbox.meta.ProblemSolver;
+import edu.kit.provideq.toolbox.meta.ProblemState;
+import edu.kit.provideq.toolbox.sharpsat.solvers.ComponentCachingSolver;
+import edu.kit.provideq.toolbox.sharpsat.solvers.ComponentDecompositionSolver;
+import java.math.BigInteger;
 import java.time.Duration;
 import java.util.stream.Stream;
+import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
@@ -44,8 +53,71 @@ class SharpSatSolversTest {
 
   @ParameterizedTest
   @MethodSource("provideArguments")
-  void testSatSolver(ProblemSolver<String, Integer> solver, String input) {
+  void testSatSolver(ProblemSolver<String, BigInteger> solver, String input) {
+    Assumptions.assumeFalse(solver instanceof ComponentDecompositionSolver,
+        "Skipping ComponentDecompositionSolver, its sub-problems need a solver.");
     var problem = ApiTestHelper.createProblem(client, solver, input, SHARPSAT);
     ApiTestHelper.testSolution(problem);
   }
+
+  @SuppressWarnings("OptionalGetWithoutIsPresent")
+  Stream<Arguments> provideDecompositionArguments() {
+    var problemManager = problemManagerProvider.findProblemManagerForType(SHARPSAT).get();
+    var decompositionSolver = problemManager.getSolvers().stream()
+        .filter(solver -> solver instanceof ComponentDecompositionSolver)
+        .findFirst()
+        .get();
+    var componentSolver = problemManager.getSolvers().stream()
+        .filter(solver -> solver instanceof ComponentCachingSolver)
+        .findFirst()
+        .get();
+
+    return problemManager.getExampleInstances().stream()
+        .flatMap(problem -> problem.getInput().stream())
+        .map(input -> Arguments.of(decompositionSolver, componentSolver, input));
+  }
+
+  @ParameterizedTest
+  @MethodSource("provideDecompositionArguments")
+  void testComponentDecompositionSolver(
+      ProblemSolver<String, BigInteger> decompositionSolver,
+      ProblemSolver<String, BigInteger> componentSolver,
+      String input
+  ) {
+    var problemDto = ApiTestHelper.createProblem(client, decompositionSolver, input, SHARPSAT);
+    assertEquals(ProblemState.SOLVING, problemDto.getState(),
+        "Decomposition problem must wait for its components.");
+
+    for (var subRef : problemDto.getSubProblems()) {
+      for (String subProblemId : subRef.getSubProblemIds()) {
+        var componentProblem = ApiTestHelper.setProblemSolver(
+            client,
+            componentSolver,
+            subProblemId,
+            SHARPSAT.getId()
+        );
+        ApiTestHelper.testSolution(componentProblem);
+      }
+    }
+
+    var solvedProblemDto = ApiTestHelper.trySolveFor(60, client, problemDto.getId(), SHARPSAT);
+    ApiTestHelper.testSolution(solvedProblemDto);
+  }
+
+  @Test
+  void testSingleComponentIsNotDecomposed() {
+    var decompositionSolver = problemManagerProvider.findProblemManagerForType(SHARPSAT).get()
+        .getSolvers().stream()
+        .filter(solver -> solver instanceof ComponentDecompositionSolver)
+        .findFirst()
+        .get();
+
+    var problemDto = ApiTestHelper.createProblem(
+        client, decompositionSolver, "a or b", SHARPSAT);
+
+    assertEquals(ProblemState.SOLVED, problemDto.getState());
+    assertEquals(SolutionStatus.ERROR, problemDto.getSolution().getStatus());
+    assertTrue(problemDto.getSubProblems().stream()
+        .allMatch(subRef -> subRef.getSubProblemIds().isEmpty()));
+  }
 }
@@ -0,0 +1,56 @@
+package edu.kit.provideq.toolbox.api;
+
+import static edu.kit.provideq.toolbox.knapsack.KnapsackConfiguration.KNAPSACK;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.kit.provideq.toolbox.Solution;
+import edu.kit.provideq.toolbox.SolutionPhase;
+import edu.kit.provideq.toolbox.knapsack.solvers.PythonKnapsackSolver;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class SolutionTimelineTest {
+  @Autowired
+  private WebTestClient client;
+
+  @Autowired
+  private PythonKnapsackSolver solver;
+
+  @BeforeEach
+  void beforeEach() {
+    this.client = this.client.mutate()
+        .responseTimeout(Duration.ofSeconds(20))
+        .build();
+  }
+
+  @Test
+  void testTimelineContainsProcessPhases() {
+    var problem = ApiTestHelper.createProblem(
+        client, solver, "3 10\n0 4 5\n1 6 8\n2 3 3\n", KNAPSACK);
+    ApiTestHelper.testSolution(problem);
+
+    // the timeline is part of the solution in the problem dto
+    var timeline = problem.getSolution().getTimeline();
+    var phases = timeline.stream()
+        .map(Solution.PhaseTimestamp::phase)
+        .toList();
+    assertEquals(List.of(
+        SolutionPhase.QUEUED,
+        SolutionPhase.SOLVE_STARTED,
+        SolutionPhase.INPUT_WRITTEN,
+        SolutionPhase.PROCESS_STARTED,
+        SolutionPhase.PROCESS_EXITED,
+        SolutionPhase.OUTPUT_PARSED,
+        SolutionPhase.COMPLETED), phases, timeline.toString());
+    assertTrue(timeline.get(timeline.size() - 1).nanos() > 0);
+  }
+}
@@ -0,0 +1,100 @@
+package edu.kit.provideq.toolbox.api;
+
+import static edu.kit.provideq.toolbox.knapsack.KnapsackConfiguration.KNAPSACK;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import edu.kit.provideq.toolbox.knapsack.solvers.PythonKnapsackSolver;
+import edu.kit.provideq.toolbox.meta.ProblemManagerProvider;
+import edu.kit.provideq.toolbox.meta.ProblemSolver;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class SolverRecommendationTest {
+  private static final String INPUT = "3 10\n0 4 5\n1 6 8\n2 3 3\n";
+
+  @Autowired
+  private WebTestClient client;
+
+  @Autowired
+  private PythonKnapsackSolver solver;
+
+  @Autowired
+  private ProblemManagerProvider problemManagerProvider;
+
+  @BeforeEach
+  void beforeEach() {
+    this.client = this.client.mutate()
+        .responseTimeout(Duration.ofSeconds(20))
+        .build();
+  }
+
+  @Test
+  void testSolvedRunIsRecommended() throws InterruptedException {
+    var problem = ApiTestHelper.createProblem(client, solver, INPUT, KNAPSACK);
+    ApiTestHelper.testSolution(problem);
+
+    // runs are recorded in the background
+    List<JsonNode> recommendations = getRecommendations();
+    for (int attempt = 0; attempt < 50 && getRuns(recommendations, solver.getId()) == 0;
+        attempt++) {
+      Thread.sleep(100);
+      recommendations = getRecommendations();
+    }
+
+    var solverIds = problemManagerProvider.findProblemManagerForType(KNAPSACK).orElseThrow()
+        .getSolvers().stream()
+        .map(ProblemSolver::getId)
+        .collect(Collectors.toSet());
+    assertEquals(solverIds, recommendations.stream()
+        .map(recommendation -> recommendation.get("solverId").asText())
+        .collect(Collectors.toSet()));
+
+    assertTrue(getRuns(recommendations, solver.getId()) > 0, recommendations.toString());
+
+    // solvers with comparable runs are listed before the ones without
+    var runs = recommendations.stream()
+        .map(recommendation -> recommendation.get("runs").asLong() > 0)
+        .toList();
+    assertEquals(runs.stream().sorted((a, b) -> Boolean.compare(b, a)).toList(), runs);
+  }
+
+  private List<JsonNode> getRecommendations() {
+    var body = client.post()
+        .uri("/solvers/" + KNAPSACK.getId() + "/recommendation")
+        .contentType(MediaType.TEXT_PLAIN)
+        .bodyValue(INPUT)
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody(JsonNode.class)
+        .returnResult()
+        .getResponseBody();
+
+    assertNotNull(body);
+    assertTrue(body.isArray(), body.toString());
+    var recommendations = new ArrayList<JsonNode>();
+    body.forEach(recommendations::add);
+    return recommendations;
+  }
+
+  private static long getRuns(List<JsonNode> recommendations, String solverId) {
+    return recommendations.stream()
+        .filter(recommendation -> recommendation.get("solverId").asText().equals(solverId))
+        .mapToLong(recommendation -> recommendation.get("runs").asLong())
+        .findFirst()
+        .orElse(0);
+  }
+}
@@ -0,0 +1,120 @@
+package edu.kit.provideq.toolbox.convert;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.kit.provideq.toolbox.exception.ConversionException;
+import edu.kit.provideq.toolbox.format.tsplib.TsplibProblem;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+public class TspToQuboTests {
+  private static final String SMALL_SAMPLE = """
+      NAME : small sample
+      TYPE : TSP
+      DIMENSION : 5
+      EDGE_WEIGHT_TYPE : EUC_2D
+      NODE_COORD_SECTION
+      1 0.0 0.0
+      2 2.0 1.0
+      3 1.0 -2.0
+      4 -4.0 1.0
+      5 -2.0 -3.0
+      EOF""";
+
+  @Test
+  public void testFeasibleAssignmentCostsTourLength() throws ConversionException {
+    var problem = TsplibProblem.fromString(SMALL_SAMPLE);
+    var encoding = TspToQubo.convert(problem, 2.0);
+
+    int[] tour = {0, 2, 1, 3, 4};
+    var assignment = encode(encoding, tour);
+
+    assertTrue(encoding.isFeasible(assignment));
+    assertEquals(problem.getTourLength(tour), encoding.getQubo().evaluate(assignment), 1e-9);
+    assertArrayEquals(tour, encoding.decode(assignment));
+  }
+
+  @Test
+  public void testInfeasibleAssignmentIsPenalizedAndRepaired() throws ConversionException {
+    var problem = TsplibProblem.fromString(SMALL_SAMPLE);
+    var encoding = TspToQubo.convert(problem, 2.0);
+
+    var assignment = new boolean[encoding.getQubo().getVariableCount()];
+    assignment[encoding.variable(1, 0)] = true;
+    assignment[encoding.variable(2, 0)] = true;
+
+    assertFalse(encoding.isFeasible(assignment));
+    assertTrue(encoding.getQubo().evaluate(assignment) >= encoding.getPenalty());
+
+    int[] tour = encoding.decode(assignment);
+    int[] sorted = tour.clone();
+    Arrays.sort(sorted);
+    assertArrayEquals(new int[] {0, 1, 2, 3, 4}, sorted);
+    assertEquals(0, tour[0]);
+  }
+
+  @Test
+  public void testImproveRemovesCrossings() throws ConversionException {
+    var problem = TsplibProblem.fromString(SMALL_SAMPLE);
+    var encoding = TspToQubo.convert(problem, 2.0);
+
+    int[] crossing = {0, 3, 1, 4, 2};
+    int[] improved = encoding.improve(crossing);
+
+    assertEquals(0, improved[0]);
+    assertTrue(problem.getTourLength(improved) < problem.getTourLength(crossing));
+  }
+
+  @Test
+  public void testImproveRespectsAsymmetricDistances() throws ConversionException {
+    // reversing 2 -> 3 looks like an improvement if 3 -> 2 is assumed to be as short as 2 -> 3
+    var problem = TsplibProblem.fromString("""
+        NAME : one way
+        TYPE : ATSP
+        DIMENSION : 4
+        EDGE_WEIGHT_TYPE : EXPLICIT
+        EDGE_WEIGHT_FORMAT : FULL_MATRIX
+        EDGE_WEIGHT_SECTION
+        0 2 1 5
+        5 0 1 1
+        5 10 0 2
+        1 5 5 0
+        EOF""");
+    var encoding = TspToQubo.convert(problem, 2.0);
+
+    int[] tour = {0, 1, 2, 3};
+    int[] improved = encoding.improve(tour);
+
+    assertEquals(6.0, problem.getTourLength(tour), 1e-9);
+    assertArrayEquals(tour, improved);
+  }
+
+  @Test
+  public void testToTourString() throws ConversionException {
+    var problem = TsplibProblem.fromString(SMALL_SAMPLE);
+    var lineSeparator = System.lineSeparator();
+
+    assertEquals(String.join(lineSeparator,
+        "NAME: small sample solution",
+        "TYPE: TOUR",
+        "DIMENSION: 5",
+        "TOUR_SECTION",
+        "1", "3", "2", "4", "5",
+        "-1",
+        "EOF",
+        ""), problem.toTourString(new int[] {0, 2, 1, 3, 4}));
+  }
+
+  private static boolean[] encode(TspToQubo encoding, int[] tour) {
+    var assignment = new boolean[encoding.getQubo().getVariableCount()];
+    for (int position = 1; position < tour.length; position++) {
+      assignment[encoding.variable(tour[position], position - 1)] = true;
+    }
+    return assignment;
+  }
+}
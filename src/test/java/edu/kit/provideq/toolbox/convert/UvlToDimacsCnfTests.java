@@ -1,44 +1,55 @@
 package edu.kit.provideq.toolbox.convert;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import edu.kit.provideq.toolbox.exception.ConversionException;
+import edu.kit.provideq.toolbox.format.cnf.dimacs.DimacsCnf;
+import edu.kit.provideq.toolbox.format.cnf.dimacs.Variable;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
 @SpringBootTest
 public class UvlToDimacsCnfTests {
+  private static final String SANDWICH = """
+      features
+          Sandwich {extended__}
+              mandatory
+                  Bread
+                      alternative
+                          "Full Grain" {Calories 203, Price 1.99, Organic true}
+                          Flatbread {Calories 90, Price 0.79, Organic true}
+                          Toast {Calories 250, Price 0.99, Organic false}
+              optional
+                  Cheese
+                      optional
+                          Gouda
+                              alternative
+                                  Sprinkled {Fat {value 35, unit "g"}}
+                                  Slice {Fat {value 35, unit "g"}}
+                          Cheddar
+                          "Cream Cheese"
+                  Meat
+                      or
+                          "Salami" {Producer "Farmer Bob"}
+                          Ham {Producer "Farmer Sam"}
+                          "Chicken Breast" {Producer "Farmer Sam"}
+                  Vegetables
+                      optional
+                          "Cucumber"
+                          Tomatoes
+                          Lettuce
+      """;
+
   @Test
   public void testSimple() throws ConversionException {
-    String converted = UvlToDimacsCnf.convert("""
-        features
-            Sandwich {extended__}
-                mandatory
-                    Bread
-                        alternative
-                            "Full Grain" {Calories 203, Price 1.99, Organic true}
-                            Flatbread {Calories 90, Price 0.79, Organic true}
-                            Toast {Calories 250, Price 0.99, Organic false}
-                optional
-                    Cheese
-                        optional
-                            Gouda
-                                alternative
-                                    Sprinkled {Fat {value 35, unit "g"}}
-                                    Slice {Fat {value 35, unit "g"}}
-                            Cheddar
-                            "Cream Cheese"
-                    Meat
-                        or
-                            "Salami" {Producer "Farmer Bob"}
-                            Ham {Producer "Farmer Sam"}
-                            "Chicken Breast" {Producer "Farmer Sam"}
-                    Vegetables
-                        optional
-                            "Cucumber"
-                            Tomatoes
-                            Lettuce
-        """);
+    String converted = UvlToDimacsCnf.convert(SANDWICH);
 
     assertEquals(converted.replace("\r\n", "\n"), ("""
         c 1 Sandwich
@@ -91,4 +102,100 @@ public class UvlToDimacsCnfTests {
         """)
     );
   }
+
+  @Test
+  public void testDirectConversionMatchesFeatureIde() throws ConversionException {
+    // convert directly, toFeatureModelCnf would fall back to FeatureIDE on errors
+    var direct = DirectUvlToDimacsCnf.convert(SANDWICH);
+    var featureIde = DimacsCnf.fromDimacsCnfString(UvlToDimacsCnf.convert(SANDWICH));
+
+    assertEquals(
+        featureIde.getVariables().stream().map(Variable::name).toList(),
+        direct.cnf().getVariables().stream().map(Variable::name).toList());
+    assertEquals(clauseSet(featureIde), clauseSet(direct.cnf()));
+    assertEquals(projectedModels(featureIde), projectedModels(direct.cnf()));
+    assertEquals("Sandwich", direct.optionalParents().get("Cheese"));
+    assertEquals("Cheese", direct.optionalParents().get("Gouda"));
+    assertEquals(9, direct.optionalParents().size());
+  }
+
+  @Test
+  public void testConstraintsAreTseitinEncoded() throws ConversionException {
+    String model = """
+        features
+            Root
+                optional
+                    A
+                    B
+                    "C D"
+        constraints
+            A => (B | !"C D") & !(B & "C D")
+            A <=> B
+        """;
+    var converted = DirectUvlToDimacsCnf.convert(model);
+
+    var features = converted.cnf().getVariables().stream()
+        .filter(variable -> !variable.isAuxiliary())
+        .map(Variable::name)
+        .toList();
+    assertEquals(List.of("Root", "A", "B", "C D"), features);
+    assertTrue(converted.cnf().getVariables().size() > features.size());
+    assertEquals(Map.of("A", "Root", "B", "Root", "C D", "Root"), converted.optionalParents());
+
+    // the auxiliary variables don't change the configurations of the distributed encoding
+    var distributed = DimacsCnf.fromDimacsCnfString(UvlToDimacsCnf.convert(model));
+    var models = projectedModels(distributed);
+    assertEquals(3, models.size());
+    assertEquals(models, projectedModels(converted.cnf()));
+  }
+
+  @Test
+  public void testCachedConversionIsCopied() throws ConversionException {
+    var first = UvlToDimacsCnf.toFeatureModelCnf(SANDWICH);
+    first.cnf().getOrClauses().clear();
+
+    var second = UvlToDimacsCnf.toFeatureModelCnf(SANDWICH);
+    assertEquals(27, second.cnf().getOrClauses().size());
+  }
+
+  /**
+   * Enumerates the models of a CNF, projected on the selected features.
+   * Every assignment is checked, so this only works for small formulas.
+   */
+  private static Set<Set<String>> projectedModels(DimacsCnf cnf) {
+    var variables = List.copyOf(cnf.getVariables());
+    var bits = new HashMap<Integer, Integer>();
+    for (int i = 0; i < variables.size(); i++) {
+      bits.put(variables.get(i).number(), i);
+    }
+
+    var models = new HashSet<Set<String>>();
+    for (long assignment = 0; assignment < 1L << variables.size(); assignment++) {
+      long model = assignment;
+      boolean satisfied = cnf.getOrClauses().stream().allMatch(clause -> clause.stream()
+          .anyMatch(literal -> isSelected(model, bits.get(literal.number()))
+              != literal.isNegated()));
+      if (satisfied) {
+        models.add(variables.stream()
+            .filter(variable -> !variable.isAuxiliary())
+            .filter(variable -> isSelected(model, bits.get(variable.number())))
+            .map(Variable::name)
+            .collect(Collectors.toSet()));
+      }
+    }
+    return models;
+  }
+
+  private static boolean isSelected(long model, int bit) {
+    return ((model >> bit) & 1) == 1;
+  }
+
+  private static Set<String> clauseSet(DimacsCnf cnf) {
+    return cnf.getOrClauses().stream()
+        .map(clause -> clause.stream()
+            .map(Variable::toString)
+            .sorted()
+            .collect(Collectors.joining(" ")))
+        .collect(Collectors.toSet());
+  }
 }
@@ -0,0 +1,123 @@
+package edu.kit.provideq.toolbox.featuremodel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.kit.provideq.toolbox.exception.ConversionException;
+import edu.kit.provideq.toolbox.featuremodel.analysis.FeatureModelAnalyzer;
+import edu.kit.provideq.toolbox.format.cnf.dimacs.DimacsCnf;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+public class FeatureModelAnalyzerTests {
+  /**
+   * CNF of the sandwich feature model with the constraints
+   * Gouda => Toast, Toast => !Gouda, Vegetables => Lettuce, Cheddar => Ham and Ham => Cheddar.
+   */
+  private static final String SANDWICH_CNF = """
+      c 1 Sandwich
+      c 2 Bread
+      c 3 Full Grain
+      c 4 Flatbread
+      c 5 Toast
+      c 6 Cheese
+      c 7 Gouda
+      c 8 Sprinkled
+      c 9 Slice
+      c 10 Cheddar
+      c 11 Cream Cheese
+      c 12 Meat
+      c 13 Salami
+      c 14 Ham
+      c 15 Chicken Breast
+      c 16 Vegetables
+      c 17 Cucumber
+      c 18 Tomatoes
+      c 19 Lettuce
+      p cnf 19 32
+      1 0
+      1 -2 0
+      1 -6 0
+      1 -12 0
+      1 -16 0
+      2 -1 0
+      2 -3 0
+      2 -4 0
+      2 -5 0
+      3 4 5 -2 0
+      -3 -4 0
+      -3 -5 0
+      -4 -5 0
+      6 -7 0
+      6 -10 0
+      6 -11 0
+      7 -8 0
+      7 -9 0
+      8 9 -7 0
+      -8 -9 0
+      12 -13 0
+      12 -14 0
+      12 -15 0
+      13 14 15 -12 0
+      16 -17 0
+      16 -18 0
+      16 -19 0
+      5 -7 0
+      -5 -7 0
+      19 -16 0
+      14 -10 0
+      10 -14 0
+      """;
+
+  private static final Map<String, String> OPTIONAL_PARENTS = Map.of(
+      "Cheese", "Sandwich",
+      "Meat", "Sandwich",
+      "Vegetables", "Sandwich",
+      "Gouda", "Cheese",
+      "Cheddar", "Cheese",
+      "Cream Cheese", "Cheese",
+      "Cucumber", "Vegetables",
+      "Tomatoes", "Vegetables",
+      "Lettuce", "Vegetables"
+  );
+
+  @Test
+  public void testSandwichAnalysis() throws ConversionException {
+    var analyzer = new FeatureModelAnalyzer(DimacsCnf.fromDimacsCnfString(SANDWICH_CNF));
+    var report = analyzer.analyze(OPTIONAL_PARENTS).orElseThrow();
+
+    assertFalse(report.isVoid());
+    assertEquals(List.of("Gouda", "Sprinkled", "Slice"), report.deadFeatures());
+    assertEquals(List.of("Sandwich", "Bread"), report.coreFeatures());
+    assertEquals(List.of("Lettuce"), report.falseOptionalFeatures());
+    assertEquals(
+        List.of(
+            List.of("Sandwich", "Bread"),
+            List.of("Cheddar", "Ham"),
+            List.of("Vegetables", "Lettuce")),
+        report.atomicSets());
+
+    // without reusing models, the dead and core checks alone take two calls per feature
+    assertTrue(analyzer.getQueryCount() < 2 * 19);
+  }
+
+  @Test
+  public void testVoidModel() throws ConversionException {
+    var analyzer = new FeatureModelAnalyzer(DimacsCnf.fromDimacsCnfString("""
+        c 1 Root
+        c 2 Child
+        p cnf 2 3
+        1 0
+        2 -1 0
+        -2 0
+        """));
+    var report = analyzer.analyze(Map.of()).orElseThrow();
+
+    assertTrue(report.isVoid());
+    assertEquals(1, analyzer.getQueryCount());
+  }
+}
@@ -1,10 +1,18 @@
 package edu.kit.provideq.toolbox.format;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 
 import edu.kit.provideq.toolbox.exception.ConversionException;
 import edu.kit.provideq.toolbox.format.cnf.dimacs.DimacsCnf;
+import edu.kit.provideq.toolbox.format.cnf.dimacs.DimacsCnfSolution;
+import edu.kit.provideq.toolbox.format.cnf.dimacs.Variable;
+import java.util.HashMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -76,4 +84,43 @@ public class DimacsCnfTests {
             """)
     );
   }
+
+  @Test
+  public void testLargeExpressionIsTseitinEncoded() throws ConversionException {
+    // distributing this expression would produce 2^7 clauses
+    int conjunctions = 7;
+    var expression = IntStream.range(0, conjunctions)
+        .mapToObj(i -> "(a%d and b%d)".formatted(i, i))
+        .collect(Collectors.joining(" or "));
+
+    var dimacsCnf = DimacsCnf.fromString(expression);
+    var auxiliaryVariables = dimacsCnf.getVariables().stream()
+        .filter(Variable::isAuxiliary)
+        .toList();
+    assertEquals(conjunctions, auxiliaryVariables.size());
+    assertEquals(3 * conjunctions + 1, dimacsCnf.getOrClauses().size());
+
+    // the encoding preserves the model count: 4^7 - 3^7
+    var variables = dimacsCnf.getVariables().stream().toList();
+    long models = 0;
+    DimacsCnfSolution anySolution = null;
+    for (long bits = 0; bits < 1L << variables.size(); bits++) {
+      var assignment = new HashMap<Variable, Boolean>();
+      for (int i = 0; i < variables.size(); i++) {
+        assignment.put(variables.get(i), (bits >> i & 1) == 1);
+      }
+      boolean satisfied = dimacsCnf.getOrClauses().stream().allMatch(clause -> clause.stream()
+          .anyMatch(literal -> assignment.get(literal) != literal.isNegated()));
+      if (satisfied) {
+        models++;
+        anySolution = new DimacsCnfSolution(dimacsCnf, assignment);
+      }
+    }
+    assertEquals(16384 - 2187, models);
+
+    // auxiliary variables are projected away from the solution output
+    assertNotNull(anySolution);
+    assertEquals(2 * conjunctions, anySolution.getProjectedVariableMapping().size());
+    assertFalse(anySolution.toString().contains(Variable.AUXILIARY_NAME_PREFIX));
+  }
 }
@@ -0,0 +1,64 @@
+package edu.kit.provideq.toolbox.format;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import edu.kit.provideq.toolbox.exception.ConversionException;
+import edu.kit.provideq.toolbox.format.qubo.QuboBitOrder;
+import edu.kit.provideq.toolbox.format.qubo.QuboSolutionReader;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+public class QuboSolutionReaderTests {
+  private static final boolean[] EXPECTED = {false, true, true, true};
+
+  @Test
+  public void testBitPerLine() throws ConversionException {
+    var samples = QuboSolutionReader.read("0\n1\n1\n1\n", 4, QuboBitOrder.FIRST_VARIABLE_FIRST);
+
+    assertEquals(1, samples.size());
+    assertArrayEquals(EXPECTED, samples.get(0).assignment());
+  }
+
+  @Test
+  public void testCounts() throws ConversionException {
+    var samples = QuboSolutionReader.read(
+        "0111: 12\n1000: 3\n10: 1", 4, QuboBitOrder.FIRST_VARIABLE_FIRST);
+
+    // bitstrings of the wrong size are skipped
+    assertEquals(2, samples.size());
+    assertArrayEquals(EXPECTED, samples.get(0).assignment());
+    assertEquals(12, samples.get(0).occurrences());
+    assertArrayEquals(new boolean[] {true, false, false, false}, samples.get(1).assignment());
+    assertEquals(3, samples.get(1).occurrences());
+  }
+
+  @Test
+  public void testCountsWithLastVariableFirst() throws ConversionException {
+    var samples = QuboSolutionReader.read(
+        "1110: 12\n0001: 3", 4, QuboBitOrder.LAST_VARIABLE_FIRST);
+
+    assertEquals(2, samples.size());
+    assertArrayEquals(EXPECTED, samples.get(0).assignment());
+    assertArrayEquals(new boolean[] {true, false, false, false}, samples.get(1).assignment());
+  }
+
+  @Test
+  public void testVariableAssignments() throws ConversionException {
+    var samples = QuboSolutionReader.read("""
+        objective function value: -3.0
+        variable values: x1=0.0, x2=1.0, x3=1.0, x4=1.0
+        status: SUCCESS""", 4, QuboBitOrder.FIRST_VARIABLE_FIRST);
+
+    assertEquals(1, samples.size());
+    assertArrayEquals(EXPECTED, samples.get(0).assignment());
+  }
+
+  @Test
+  public void testWrongSize() {
+    assertThrows(ConversionException.class, () -> QuboSolutionReader.read(
+        "0\n1\n1\n", 4, QuboBitOrder.FIRST_VARIABLE_FIRST));
+  }
+}
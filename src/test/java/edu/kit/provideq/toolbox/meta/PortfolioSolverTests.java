@@ -0,0 +1,159 @@
+package edu.kit.provideq.toolbox.meta;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.kit.provideq.toolbox.Solution;
+import edu.kit.provideq.toolbox.SolutionStatus;
+import edu.kit.provideq.toolbox.meta.setting.SolverSetting;
+import edu.kit.provideq.toolbox.meta.setting.basic.SelectSetting;
+import edu.kit.provideq.toolbox.meta.setting.basic.TextSetting;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import reactor.core.publisher.Mono;
+
+@SpringBootTest
+public class PortfolioSolverTests {
+  private static final ProblemType<String, String> TYPE = new ProblemType<>(
+      "portfolio-test",
+      String.class,
+      String.class
+  );
+
+  @Test
+  public void testFirstValidResultWinsAndLosersAreCancelled() {
+    var cancelled = new AtomicBoolean(false);
+    var slow = new TestSolver("slow", null, Mono.<Solution<String>>never()
+        .doOnCancel(() -> cancelled.set(true)));
+    var failing = new TestSolver("failing", null, null);
+    var fast = new TestSolver("fast", "result", null);
+
+    var portfolio = new PortfolioSolver<>(TYPE, List.of(slow, failing, fast));
+    var solution = portfolio.solve("input", null, new SolvingProperties(List.of()))
+        .block(Duration.ofSeconds(10));
+
+    assertEquals(SolutionStatus.SOLVED, solution.getStatus());
+    assertEquals("result", solution.getSolutionData());
+    assertTrue(cancelled.get());
+  }
+
+  @Test
+  public void testNoValidResult() {
+    var portfolio = new PortfolioSolver<>(TYPE, List.of(new TestSolver("failing", null, null)));
+    var solution = portfolio.solve("input", null, new SolvingProperties(List.of()))
+        .block(Duration.ofSeconds(10));
+
+    assertEquals(SolutionStatus.ERROR, solution.getStatus());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testBestWithoutComparatorReportsFallback() {
+    var portfolio = new PortfolioSolver<>(TYPE, List.of(new TestSolver("fast", "result", null)));
+    var settings = portfolio.getSolverSettings();
+    settings.stream()
+        .filter(SelectSetting.class::isInstance)
+        .map(setting -> (SelectSetting<PortfolioSolver.Mode>) setting)
+        .forEach(mode -> mode.setSelectedOption(
+            PortfolioSolver.Mode.BEST, PortfolioSolver.Mode::getValue));
+
+    var solution = portfolio.solve("input", null, new SolvingProperties(settings))
+        .block(Duration.ofSeconds(10));
+
+    // the test type has no solution pattern, so results can't be compared
+    assertEquals(SolutionStatus.SOLVED, solution.getStatus());
+    assertTrue(solution.getDebugData().contains("first valid result was returned"));
+  }
+
+  @Test
+  public void testMemberSettingsArePassedWithoutPrefix() {
+    var member = new TestSolver("configurable", null, null) {
+      @Override
+      public List<SolverSetting> getSolverSettings() {
+        return List.of(new TextSetting(true, "Answer", "The result to return"));
+      }
+
+      @Override
+      public Mono<Solution<String>> solve(
+          String input,
+          SubRoutineResolver subRoutineResolver,
+          SolvingProperties properties) {
+        var solution = new Solution<>(this);
+        solution.setSolutionData(properties.<TextSetting>getSetting("Answer")
+            .map(TextSetting::getText)
+            .orElse("no answer"));
+        solution.complete();
+        return Mono.just(solution);
+      }
+    };
+    var portfolio = new PortfolioSolver<>(TYPE, List.of(member));
+
+    var settings = portfolio.getSolverSettings();
+    var answer = settings.stream()
+        .filter(setting -> setting.getName().equals("configurable: Answer"))
+        .map(TextSetting.class::cast)
+        .findFirst()
+        .orElseThrow();
+    assertFalse(answer.isRequired());
+    answer.setText("42");
+
+    var solution = portfolio.solve("input", null, new SolvingProperties(settings))
+        .block(Duration.ofSeconds(10));
+
+    assertEquals("42", solution.getSolutionData());
+  }
+
+  private static class TestSolver implements ProblemSolver<String, String> {
+    private final String name;
+    private final String solutionData;
+    private final Mono<Solution<String>> result;
+
+    /**
+     * Creates a solver that returns {@code result} if it is set,
+     * otherwise a solution with {@code solutionData}, or a failed solution if that is null.
+     */
+    TestSolver(String name, String solutionData, Mono<Solution<String>> result) {
+      this.name = name;
+      this.solutionData = solutionData;
+      this.result = result;
+    }
+
+    @Override
+    public String getName() {
+      return name;
+    }
+
+    @Override
+    public String getDescription() {
+      return name;
+    }
+
+    @Override
+    public Mono<Solution<String>> solve(
+        String input,
+        SubRoutineResolver subRoutineResolver,
+        SolvingProperties properties) {
+      if (result != null) {
+        return result;
+      }
+
+      var solution = new Solution<>(this);
+      if (solutionData == null) {
+        solution.fail();
+      } else {
+        solution.setSolutionData(solutionData);
+        solution.complete();
+      }
+      return Mono.just(solution);
+    }
+
+    @Override
+    public ProblemType<String, String> getProblemType() {
+      return TYPE;
+    }
+  }
+}
@@ -0,0 +1,59 @@
+package edu.kit.provideq.toolbox.meta;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+public class ProblemManagerRegistryTests {
+  private static final ProblemType<String, String> FIRST_TYPE = new ProblemType<>(
+      "registry-test-first",
+      String.class,
+      String.class
+  );
+
+  private static final ProblemType<String, String> SECOND_TYPE = new ProblemType<>(
+      "registry-test-second",
+      String.class,
+      String.class
+  );
+
+  @Test
+  public void testLookupByTypeAndTypeId() {
+    var first = new ProblemManager<>(FIRST_TYPE, Set.of(), Set.of());
+    var registry = ProblemManagerRegistry.of(List.of(first));
+
+    assertSame(first, registry.findByType(FIRST_TYPE).orElseThrow());
+    assertSame(first, registry.findByTypeId("registry-test-first").orElseThrow());
+    assertTrue(registry.findByType(SECOND_TYPE).isEmpty());
+  }
+
+  @Test
+  public void testRegistrationCreatesNewRegistry() {
+    var first = new ProblemManager<>(FIRST_TYPE, Set.of(), Set.of());
+    var second = new ProblemManager<>(SECOND_TYPE, Set.of(), Set.of());
+    var registry = ProblemManagerRegistry.of(List.of(first));
+
+    var extended = registry.with(second);
+
+    assertSame(second, extended.findByType(SECOND_TYPE).orElseThrow());
+    assertEquals(Set.of(first, second), extended.getManagers());
+    assertEquals(Set.of(first), registry.getManagers());
+  }
+
+  @Test
+  public void testDuplicateTypeIdIsRejected() {
+    var first = new ProblemManager<>(FIRST_TYPE, Set.of(), Set.of());
+    var registry = ProblemManagerRegistry.of(List.of(first));
+    var sameId = new ProblemType<>("registry-test-first", String.class, String.class);
+
+    assertThrows(IllegalArgumentException.class,
+        () -> registry.with(new ProblemManager<>(sameId, Set.of(), Set.of())));
+  }
+}
@@ -0,0 +1,265 @@
+package edu.kit.provideq.toolbox.meta;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.kit.provideq.toolbox.Solution;
+import edu.kit.provideq.toolbox.SolutionPhase;
+import edu.kit.provideq.toolbox.SolutionStatus;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import reactor.core.publisher.Mono;
+
+@SpringBootTest
+public class ProblemTests {
+  private static final ProblemType<String, String> TYPE = new ProblemType<>(
+      "problem-test",
+      String.class,
+      String.class
+  );
+
+  @Test
+  public void testConcurrentSolveStartsOnce() throws InterruptedException {
+    var solverCalls = new AtomicInteger();
+    var problem = new Problem<>(TYPE);
+    problem.setInput("input");
+    problem.setSolver(new EchoSolver(solverCalls));
+
+    int threads = 16;
+    var started = new AtomicInteger();
+    var rejected = new AtomicInteger();
+    var ready = new CountDownLatch(1);
+    var executor = Executors.newFixedThreadPool(threads);
+    for (int i = 0; i < threads; i++) {
+      executor.submit(() -> {
+        ready.await();
+        try {
+          problem.solve().block(Duration.ofSeconds(10));
+          started.incrementAndGet();
+        } catch (IllegalStateException e) {
+          rejected.incrementAndGet();
+        }
+        return null;
+      });
+    }
+    ready.countDown();
+    executor.shutdown();
+    executor.awaitTermination(10, TimeUnit.SECONDS);
+
+    assertEquals(1, started.get());
+    assertEquals(threads - 1, rejected.get());
+    assertEquals(1, solverCalls.get());
+    assertEquals(ProblemState.SOLVED, problem.getState());
+  }
+
+  @Test
+  public void testSnapshotIsConsistent() {
+    var problem = new Problem<>(TYPE);
+    problem.setInput("input");
+    problem.setSolver(new EchoSolver(new AtomicInteger()));
+
+    var readySnapshot = problem.getSnapshot();
+    problem.solve().block(Duration.ofSeconds(10));
+    var solvedSnapshot = problem.getSnapshot();
+
+    // snapshots don't change after they were taken
+    assertEquals(ProblemState.READY_TO_SOLVE, readySnapshot.state());
+    assertNull(readySnapshot.solution());
+    assertEquals(ProblemState.SOLVED, solvedSnapshot.state());
+    assertEquals("input", solvedSnapshot.solution().getSolutionData());
+  }
+
+  @Test
+  public void testChangingSolverResetsSolvedProblem() {
+    var solverCalls = new AtomicInteger();
+    var problem = new Problem<>(TYPE);
+    problem.setInput("input");
+    var solver = new EchoSolver(solverCalls);
+    problem.setSolver(solver);
+    problem.solve().block(Duration.ofSeconds(10));
+
+    // the input belongs to the solution, so it cannot change without a reset
+    assertThrows(IllegalStateException.class, () -> problem.setInput("other"));
+    assertThrows(IllegalStateException.class, problem::solve);
+
+    problem.setSolver(solver);
+    assertEquals(ProblemState.READY_TO_SOLVE, problem.getState());
+    assertTrue(problem.getSolution().isEmpty());
+
+    problem.setInput("other");
+    var solution = problem.solve().block(Duration.ofSeconds(10));
+
+    assertNotNull(solution);
+    assertEquals("other", solution.getSolutionData());
+    assertEquals(ProblemState.SOLVED, problem.getState());
+    assertEquals(2, solverCalls.get());
+  }
+
+  @Test
+  public void testFailedSolveCanBeReset() {
+    var problem = new Problem<>(TYPE);
+    problem.setInput("input");
+    problem.setSolver(new FailingSolver());
+
+    var solution = problem.solve().block(Duration.ofSeconds(10));
+
+    assertNotNull(solution);
+    assertEquals(SolutionStatus.ERROR, solution.getStatus());
+    assertEquals(ProblemState.SOLVED, problem.getState());
+    assertEquals(solution, problem.getSolution().orElseThrow());
+
+    problem.setSolver(new EchoSolver(new AtomicInteger()));
+    assertEquals(ProblemState.READY_TO_SOLVE, problem.getState());
+    assertEquals("input", problem.solve().block(Duration.ofSeconds(10)).getSolutionData());
+  }
+
+  @Test
+  public void testEventsAreDeliveredInOrder() {
+    var problem = new Problem<>(TYPE);
+    problem.setInput("input");
+
+    var events = problem.getEvents()
+        .map(ProblemEvent::type)
+        .take(5)
+        .collectList()
+        .toFuture();
+
+    problem.setInput("other");
+    problem.setSolver(new EchoSolver(new AtomicInteger()));
+    problem.solve().block(Duration.ofSeconds(10));
+
+    assertEquals(
+        List.of(
+            ProblemEvent.Type.SNAPSHOT,
+            ProblemEvent.Type.INPUT_CHANGED,
+            ProblemEvent.Type.SOLVER_CHANGED,
+            ProblemEvent.Type.STATE_CHANGED,
+            ProblemEvent.Type.STATE_CHANGED),
+        Mono.fromFuture(events).block(Duration.ofSeconds(10)));
+  }
+
+  @Test
+  public void testConcurrentChangesArePublishedInVersionOrder() throws InterruptedException {
+    var problem = new Problem<>(TYPE);
+    int threads = 8;
+    int changesPerThread = 20;
+
+    var versions = problem.getEvents()
+        .map(event -> event.snapshot().version())
+        .take(1 + threads * changesPerThread)
+        .collectList()
+        .toFuture();
+
+    var ready = new CountDownLatch(1);
+    var executor = Executors.newFixedThreadPool(threads);
+    for (int i = 0; i < threads; i++) {
+      executor.submit(() -> {
+        ready.await();
+        for (int change = 0; change < changesPerThread; change++) {
+          problem.setInput("input " + change);
+        }
+        return null;
+      });
+    }
+    ready.countDown();
+    executor.shutdown();
+    executor.awaitTermination(10, TimeUnit.SECONDS);
+
+    var published = Mono.fromFuture(versions).block(Duration.ofSeconds(10));
+    assertNotNull(published);
+    for (int i = 1; i < published.size(); i++) {
+      assertTrue(published.get(i - 1) < published.get(i), published.toString());
+    }
+  }
+
+  @Test
+  public void testTimelineSeparatesQueueingFromSolving() throws InterruptedException {
+    var problem = new Problem<>(TYPE);
+    problem.setInput("input");
+    // waiting for the solver to be assigned is part of the queueing time
+    Thread.sleep(50);
+    var solver = new EchoSolver(new AtomicInteger());
+    problem.setSolver(solver);
+
+    var timeline = problem.solve().block(Duration.ofSeconds(10)).getTimeline();
+    assertEquals(List.of(SolutionPhase.QUEUED, SolutionPhase.SOLVE_STARTED,
+        SolutionPhase.COMPLETED), timeline.stream().map(Solution.PhaseTimestamp::phase).toList());
+    assertEquals(0, timeline.get(0).nanos());
+    assertTrue(timeline.get(1).nanos() >= TimeUnit.MILLISECONDS.toNanos(50), timeline.toString());
+
+    // a reset queues a new solution process
+    problem.setSolver(solver);
+    var resetTimeline = problem.solve().block(Duration.ofSeconds(10)).getTimeline();
+    assertTrue(resetTimeline.get(1).nanos() < TimeUnit.MILLISECONDS.toNanos(50),
+        resetTimeline.toString());
+  }
+
+  private static class FailingSolver implements ProblemSolver<String, String> {
+    @Override
+    public String getName() {
+      return "failing";
+    }
+
+    @Override
+    public String getDescription() {
+      return "failing";
+    }
+
+    @Override
+    public Mono<Solution<String>> solve(
+        String input,
+        SubRoutineResolver subRoutineResolver,
+        SolvingProperties properties) {
+      return Mono.error(new IllegalStateException("crashed"));
+    }
+
+    @Override
+    public ProblemType<String, String> getProblemType() {
+      return TYPE;
+    }
+  }
+
+  private static class EchoSolver implements ProblemSolver<String, String> {
+    private final AtomicInteger calls;
+
+    EchoSolver(AtomicInteger calls) {
+      this.calls = calls;
+    }
+
+    @Override
+    public String getName() {
+      return "echo";
+    }
+
+    @Override
+    public String getDescription() {
+      return "echo";
+    }
+
+    @Override
+    public Mono<Solution<String>> solve(
+        String input,
+        SubRoutineResolver subRoutineResolver,
+        SolvingProperties properties) {
+      calls.incrementAndGet();
+      var solution = new Solution<>(this);
+      solution.setSolutionData(input);
+      solution.complete();
+      return Mono.just(solution);
+    }
+
+    @Override
+    public ProblemType<String, String> getProblemType() {
+      return TYPE;
+    }
+  }
+}
@@ -0,0 +1,179 @@
+package edu.kit.provideq.toolbox.meta;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import edu.kit.provideq.toolbox.Solution;
+import edu.kit.provideq.toolbox.SolutionPhase;
+import edu.kit.provideq.toolbox.SolutionStatus;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@SpringBootTest
+public class SubProblemsTests {
+  private static final ProblemType<Integer, Integer> PARENT_TYPE = new ProblemType<>(
+      "sub-problems-test-parent",
+      Integer.class,
+      Integer.class
+  );
+
+  private static final ProblemType<Integer, Integer> CHILD_TYPE = new ProblemType<>(
+      "sub-problems-test-child",
+      Integer.class,
+      Integer.class
+  );
+
+  private static final SubRoutineDefinition<Integer, Integer> CHILD_SUB_ROUTINE =
+      new SubRoutineDefinition<>(CHILD_TYPE, "Doubles a number");
+
+  @Test
+  public void testFanOutWaitsForEachSubProblem() {
+    int fanOut = 2000;
+    var problem = new Problem<>(PARENT_TYPE);
+    problem.setInput(fanOut);
+    problem.setSolver(new SumSolver());
+
+    var result = problem.solve().toFuture();
+
+    // sub-problems are configured and solved in an order unrelated to their creation
+    List<Problem<Integer, Integer>> subProblems =
+        new ArrayList<>(problem.getSubProblems(CHILD_SUB_ROUTINE));
+    assertEquals(fanOut, subProblems.size());
+    Collections.shuffle(subProblems);
+    for (var subProblem : subProblems) {
+      subProblem.setSolver(new DoubleSolver());
+      subProblem.solve().subscribe();
+    }
+
+    var solution = Mono.fromFuture(result).block(Duration.ofSeconds(10));
+    assertEquals(SolutionStatus.SOLVED, solution.getStatus());
+    assertEquals(fanOut * (fanOut - 1), solution.getSolutionData());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testSubProblemSolvedWhenAddedCompletesCall() {
+    // a client may configure and solve a sub-problem as soon as it is added
+    var subProblems = new SubProblems<Integer, Integer>(added -> {
+      var subProblem = (Problem<Integer, Integer>) added;
+      subProblem.setSolver(new DoubleSolver());
+      subProblem.solve().subscribe();
+    }, removed -> {
+    });
+    subProblems.onSolverChanged(new Problem<>(PARENT_TYPE), new SumSolver());
+
+    var solution = subProblems.runSubRoutine(CHILD_SUB_ROUTINE, 21)
+        .block(Duration.ofSeconds(10));
+    assertEquals(42, solution.getSolutionData());
+    assertEquals(0, subProblems.getPendingSolutionCount());
+  }
+
+  @Test
+  public void testCancelledSubRoutineCallIsNotPending() {
+    var subProblems = new SubProblems<Integer, Integer>(added -> {
+    }, removed -> {
+    });
+    subProblems.onSolverChanged(new Problem<>(PARENT_TYPE), new SumSolver());
+
+    var call = subProblems.runSubRoutine(CHILD_SUB_ROUTINE, 1).subscribe();
+    assertEquals(1, subProblems.getPendingSolutionCount());
+
+    call.dispose();
+    assertEquals(0, subProblems.getPendingSolutionCount());
+  }
+
+  @Test
+  public void testTimelineContainsAwaitedSubRoutines() {
+    var problem = new Problem<>(PARENT_TYPE);
+    problem.setInput(3);
+    problem.setSolver(new SumSolver());
+
+    var result = problem.solve().toFuture();
+    for (var subProblem : problem.getSubProblems(CHILD_SUB_ROUTINE)) {
+      subProblem.setSolver(new DoubleSolver());
+      subProblem.solve().subscribe();
+    }
+
+    var solution = Mono.fromFuture(result).block(Duration.ofSeconds(10));
+    var phases = solution.getTimeline().stream()
+        .map(Solution.PhaseTimestamp::phase)
+        .toList();
+    assertEquals(List.of(SolutionPhase.QUEUED, SolutionPhase.SOLVE_STARTED,
+        SolutionPhase.SUB_ROUTINES_AWAITED, SolutionPhase.COMPLETED), phases);
+  }
+
+  /**
+   * Solves {@code n} by summing up the doubled numbers {@code 0} to {@code n - 1}.
+   */
+  private static class SumSolver implements ProblemSolver<Integer, Integer> {
+    @Override
+    public String getName() {
+      return "sum";
+    }
+
+    @Override
+    public String getDescription() {
+      return "sum";
+    }
+
+    @Override
+    public List<SubRoutineDefinition<?, ?>> getSubRoutines() {
+      return List.of(CHILD_SUB_ROUTINE);
+    }
+
+    @Override
+    public Mono<Solution<Integer>> solve(
+        Integer input,
+        SubRoutineResolver subRoutineResolver,
+        SolvingProperties properties) {
+      return Flux.range(0, input)
+          .flatMap(i -> subRoutineResolver.runSubRoutine(CHILD_SUB_ROUTINE, i), input)
+          .map(Solution::getSolutionData)
+          .reduce(0, Integer::sum)
+          .map(sum -> {
+            var solution = new Solution<>(this);
+            solution.setSolutionData(sum);
+            solution.complete();
+            return solution;
+          });
+    }
+
+    @Override
+    public ProblemType<Integer, Integer> getProblemType() {
+      return PARENT_TYPE;
+    }
+  }
+
+  private static class DoubleSolver implements ProblemSolver<Integer, Integer> {
+    @Override
+    public String getName() {
+      return "double";
+    }
+
+    @Override
+    public String getDescription() {
+      return "double";
+    }
+
+    @Override
+    public Mono<Solution<Integer>> solve(
+        Integer input,
+        SubRoutineResolver subRoutineResolver,
+        SolvingProperties properties) {
+      var solution = new Solution<>(this);
+      solution.setSolutionData(2 * input);
+      solution.complete();
+      return Mono.just(solution);
+    }
+
+    @Override
+    public ProblemType<Integer, Integer> getProblemType() {
+      return CHILD_TYPE;
+    }
+  }
+}
@@ -0,0 +1,132 @@
+package edu.kit.provideq.toolbox.sat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.kit.provideq.toolbox.sat.cdcl.CdclEngine;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+public class CdclEngineTests {
+  @Test
+  public void testRandomFormulasAgreeWithBruteForce() {
+    var random = new Random(42);
+    int satisfiable = 0;
+    int unsatisfiable = 0;
+    for (int round = 0; round < 150; round++) {
+      // small enough to enumerate all assignments
+      int variableCount = 14;
+      List<int[]> clauses = new ArrayList<>();
+      // around the satisfiability threshold of random 3-SAT, so both results occur
+      for (int i = 0; i < 9 * variableCount / 2; i++) {
+        int[] clause = new int[3];
+        for (int k = 0; k < clause.length; k++) {
+          int variable = 1 + random.nextInt(variableCount);
+          clause[k] = random.nextBoolean() ? variable : -variable;
+        }
+        clauses.add(clause);
+      }
+
+      var engine = new CdclEngine(variableCount);
+      clauses.forEach(engine::addClause);
+      if (engine.solve() == CdclEngine.Result.SATISFIABLE) {
+        satisfiable++;
+        for (int[] clause : clauses) {
+          assertTrue(isSatisfied(engine, clause));
+        }
+      } else {
+        unsatisfiable++;
+        assertFalse(isSatisfiable(variableCount, clauses), "round " + round);
+      }
+    }
+
+    assertTrue(satisfiable > 0);
+    assertTrue(unsatisfiable > 0);
+  }
+
+  @Test
+  public void testPigeonholeIsUnsatisfiable() {
+    int pigeons = 6;
+    int holes = 5;
+    var engine = new CdclEngine(pigeons * holes);
+    for (int pigeon = 0; pigeon < pigeons; pigeon++) {
+      int[] clause = new int[holes];
+      for (int hole = 0; hole < holes; hole++) {
+        clause[hole] = pigeon * holes + hole + 1;
+      }
+      engine.addClause(clause);
+    }
+    for (int hole = 0; hole < holes; hole++) {
+      for (int first = 0; first < pigeons; first++) {
+        for (int second = first + 1; second < pigeons; second++) {
+          engine.addClause(-(first * holes + hole + 1), -(second * holes + hole + 1));
+        }
+      }
+    }
+
+    assertEquals(CdclEngine.Result.UNSATISFIABLE, engine.solve());
+    assertFalse(engine.isOkay());
+  }
+
+  @Test
+  public void testAssumptionsAndIncrementalClauses() {
+    var engine = new CdclEngine(3);
+    engine.addClause(1, 2);
+    engine.addClause(-1, 3);
+
+    assertEquals(CdclEngine.Result.UNSATISFIABLE, engine.solve(1, -3));
+    assertTrue(engine.isOkay());
+
+    assertEquals(CdclEngine.Result.SATISFIABLE, engine.solve(-2));
+    assertTrue(engine.getModelValue(1));
+    assertTrue(engine.getModelValue(3));
+
+    engine.addClause(-3);
+    assertEquals(CdclEngine.Result.SATISFIABLE, engine.solve());
+    assertFalse(engine.getModelValue(1));
+    assertTrue(engine.getModelValue(2));
+
+    engine.addClause(-2);
+    assertEquals(CdclEngine.Result.UNSATISFIABLE, engine.solve());
+  }
+
+  private static boolean isSatisfiable(int variableCount, List<int[]> clauses) {
+    for (long assignment = 0; assignment < 1L << variableCount; assignment++) {
+      boolean satisfied = true;
+      for (int[] clause : clauses) {
+        if (!isSatisfied(assignment, clause)) {
+          satisfied = false;
+          break;
+        }
+      }
+      if (satisfied) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean isSatisfied(long assignment, int[] clause) {
+    for (int literal : clause) {
+      boolean value = (assignment >> (Math.abs(literal) - 1) & 1) == 1;
+      if (value == literal > 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean isSatisfied(CdclEngine engine, int[] clause) {
+    for (int literal : clause) {
+      if (engine.getModelValue(Math.abs(literal)) == literal > 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,116 @@
+package edu.kit.provideq.toolbox.sat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.kit.provideq.toolbox.exception.ConversionException;
+import edu.kit.provideq.toolbox.format.cnf.dimacs.DimacsCnf;
+import edu.kit.provideq.toolbox.format.cnf.dimacs.DimacsCnfSolution;
+import edu.kit.provideq.toolbox.format.cnf.dimacs.Variable;
+import edu.kit.provideq.toolbox.sat.preprocessing.CnfPreprocessor;
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+public class CnfPreprocessorTests {
+  // a <-> b, a | c, !d and e only occurs together with c
+  private static final String FORMULA = """
+      c 1 a
+      c 2 b
+      c 3 c
+      c 4 d
+      c 5 e
+      p cnf 5 5
+      1 -2 0
+      -1 2 0
+      1 3 0
+      -4 0
+      3 5 -1 0
+      """;
+
+  @Test
+  public void testCountingKeepsModelCount() throws ConversionException {
+    var cnf = DimacsCnf.fromDimacsCnfString(FORMULA);
+    var preprocessed = CnfPreprocessor.preprocessForCounting(cnf);
+
+    var reduced = preprocessed.getCnf();
+    assertTrue(reduced.getVariables().size() < cnf.getVariables().size());
+    assertEquals(
+        countModels(cnf),
+        preprocessed.reconstructCount(BigInteger.valueOf(countModels(reduced))).longValue());
+  }
+
+  @Test
+  public void testReconstructedSolutionSatisfiesOriginal() throws ConversionException {
+    var cnf = DimacsCnf.fromDimacsCnfString(FORMULA);
+    var preprocessed = CnfPreprocessor.preprocess(cnf);
+
+    DimacsCnfSolution solution;
+    if (preprocessed.isSolved()) {
+      solution = preprocessed.getSolution();
+    } else {
+      var reduced = preprocessed.getCnf();
+      solution = preprocessed.reconstruct(new DimacsCnfSolution(reduced, findModel(reduced)));
+    }
+
+    assertFalse(solution.isVoid());
+    assertTrue(satisfies(cnf, solution.getVariableMapping()));
+  }
+
+  @Test
+  public void testContradictionIsDetected() throws ConversionException {
+    var cnf = DimacsCnf.fromDimacsCnfString("""
+        c 1 a
+        c 2 b
+        p cnf 2 3
+        1 2 0
+        -1 0
+        -2 1 0
+        """);
+    var preprocessed = CnfPreprocessor.preprocessForCounting(cnf);
+
+    assertTrue(preprocessed.isUnsatisfiable());
+    assertTrue(preprocessed.getSolution().isVoid());
+    assertEquals(BigInteger.ZERO, preprocessed.getModelCount());
+  }
+
+  private static long countModels(DimacsCnf cnf) {
+    var variables = cnf.getVariables().stream().toList();
+    long count = 0;
+    for (long bits = 0; bits < 1L << variables.size(); bits++) {
+      if (satisfies(cnf, toAssignment(variables, bits))) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  private static Map<Variable, Boolean> findModel(DimacsCnf cnf) {
+    var variables = cnf.getVariables().stream().toList();
+    for (long bits = 0; bits < 1L << variables.size(); bits++) {
+      var assignment = toAssignment(variables, bits);
+      if (satisfies(cnf, assignment)) {
+        return assignment;
+      }
+    }
+    return Map.of();
+  }
+
+  private static Map<Variable, Boolean> toAssignment(Iterable<Variable> variables, long bits) {
+    var assignment = new HashMap<Variable, Boolean>();
+    int index = 0;
+    for (var variable : variables) {
+      assignment.put(variable, (bits >> index++ & 1) == 1);
+    }
+    return assignment;
+  }
+
+  private static boolean satisfies(DimacsCnf cnf, Map<Variable, Boolean> assignment) {
+    return cnf.getOrClauses().stream().allMatch(clause -> clause.stream()
+        .anyMatch(literal -> assignment.getOrDefault(literal, false) != literal.isNegated()));
+  }
+}
@@ -0,0 +1,48 @@
+package edu.kit.provideq.toolbox.sat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.kit.provideq.toolbox.sat.cdcl.CdclEngine;
+import edu.kit.provideq.toolbox.sat.cubing.LookaheadCuber;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+public class LookaheadCuberTests {
+  @Test
+  public void testCubesCoverEveryModel() {
+    var random = new Random(11);
+    for (int run = 0; run < 300; run++) {
+      int variableCount = 10 + random.nextInt(30);
+      var clauses = new ArrayList<int[]>();
+      for (int i = (int) (variableCount * (2 + random.nextDouble() * 3)); i > 0; i--) {
+        int[] clause = new int[3];
+        for (int k = 0; k < clause.length; k++) {
+          int variable = 1 + random.nextInt(variableCount);
+          clause[k] = random.nextBoolean() ? variable : -variable;
+        }
+        clauses.add(clause);
+      }
+
+      int maxCubes = 1 + random.nextInt(32);
+      var cubes = new LookaheadCuber(variableCount, clauses).cube(maxCubes);
+      assertTrue(cubes.size() <= maxCubes);
+
+      boolean anyCubeSatisfiable = cubes.stream()
+          .anyMatch(cube -> solve(variableCount, clauses, cube) == CdclEngine.Result.SATISFIABLE);
+      assertEquals(
+          solve(variableCount, clauses, new int[0]) == CdclEngine.Result.SATISFIABLE,
+          anyCubeSatisfiable);
+    }
+  }
+
+  private static CdclEngine.Result solve(int variableCount, List<int[]> clauses, int[] cube) {
+    var engine = new CdclEngine(variableCount);
+    clauses.forEach(engine::addClause);
+    return engine.solve(cube);
+  }
+}
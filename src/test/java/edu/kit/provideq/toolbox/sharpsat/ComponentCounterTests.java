@@ -0,0 +1,113 @@
+package edu.kit.provideq.toolbox.sharpsat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import edu.kit.provideq.toolbox.sharpsat.counting.ComponentCounter;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+public class ComponentCounterTests {
+  private static final long CACHE_BYTES = 1 << 20;
+
+  @Test
+  public void testCountMatchesEnumeration() {
+    var random = new Random(7);
+    for (int run = 0; run < 200; run++) {
+      int variableCount = 1 + random.nextInt(12);
+      var clauses = new ArrayList<int[]>();
+      for (int i = random.nextInt(3 * variableCount); i > 0; i--) {
+        int[] clause = new int[1 + random.nextInt(3)];
+        for (int k = 0; k < clause.length; k++) {
+          int variable = 1 + random.nextInt(variableCount);
+          clause[k] = random.nextBoolean() ? variable : -variable;
+        }
+        clauses.add(clause);
+      }
+
+      var counter = new ComponentCounter(variableCount, clauses, CACHE_BYTES);
+      assertEquals(
+          BigInteger.valueOf(enumerateModels(variableCount, clauses)),
+          counter.count().orElseThrow());
+    }
+  }
+
+  @Test
+  public void testCountExceedsLongRange() {
+    // 200 independent clauses over 3 variables each: 7^200 models
+    var clauses = new ArrayList<int[]>();
+    for (int i = 0; i < 200; i++) {
+      clauses.add(new int[] {3 * i + 1, 3 * i + 2, -(3 * i + 3)});
+    }
+
+    var counter = new ComponentCounter(600, clauses, CACHE_BYTES);
+    assertEquals(BigInteger.valueOf(7).pow(200), counter.count().orElseThrow());
+  }
+
+  @Test
+  public void testUnsatisfiableFormula() {
+    var clauses = List.of(new int[] {1, 2}, new int[] {-1}, new int[] {-2, 1});
+
+    var counter = new ComponentCounter(3, clauses, CACHE_BYTES);
+    assertEquals(BigInteger.ZERO, counter.count().orElseThrow());
+  }
+
+  @Test
+  public void testDeepSearchDoesNotOverflowStack() throws InterruptedException {
+    // a path x1 - ... - xn of clauses (xi | xi+1), where (xi | ai) and (xi | -ai) force every xi
+    // to be true, so every decision only splits off a small component and the search is about
+    // n / 2 decisions deep
+    int pathLength = 6000;
+    var clauses = new ArrayList<int[]>();
+    for (int variable = 1; variable <= pathLength; variable++) {
+      clauses.add(new int[] {variable, pathLength + variable});
+      clauses.add(new int[] {variable, -(pathLength + variable)});
+      if (variable < pathLength) {
+        clauses.add(new int[] {variable, variable + 1});
+      }
+    }
+
+    // a small stack makes a search that grows the thread stack per decision fail for sure
+    var count = new AtomicReference<BigInteger>();
+    var failure = new AtomicReference<Throwable>();
+    var thread = new Thread(null, () -> {
+      try {
+        var counter = new ComponentCounter(2 * pathLength, clauses, CACHE_BYTES);
+        count.set(counter.count().orElseThrow());
+      } catch (Throwable e) {
+        failure.set(e);
+      }
+    }, "component-counter-test", 256 * 1024);
+    thread.start();
+    thread.join();
+
+    assertNull(failure.get());
+    // every ai is free
+    assertEquals(BigInteger.TWO.pow(pathLength), count.get());
+  }
+
+  private static long enumerateModels(int variableCount, List<int[]> clauses) {
+    long count = 0;
+    for (long bits = 0; bits < 1L << variableCount; bits++) {
+      final long assignment = bits;
+      boolean satisfied = clauses.stream().allMatch(clause -> {
+        for (int literal : clause) {
+          if ((assignment >> (Math.abs(literal) - 1) & 1) == (literal > 0 ? 1 : 0)) {
+            return true;
+          }
+        }
+        return false;
+      });
+      if (satisfied) {
+        count++;
+      }
+    }
+    return count;
+  }
+}
@@ -0,0 +1,93 @@
+package edu.kit.provideq.toolbox.statistics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+public class InputFeaturesTests {
+  @Test
+  public void testDimacsCnf() {
+    String input = "c comment\np cnf 3 2\n1 -2 0\n2 3 0\n";
+    var features = InputFeatures.of(input).getFeatures();
+
+    assertEquals(List.of(InputFeatures.VARIABLES, InputFeatures.CLAUSES, InputFeatures.SIZE),
+        List.copyOf(features.keySet()));
+    assertEquals(3L, features.get(InputFeatures.VARIABLES));
+    assertEquals(2L, features.get(InputFeatures.CLAUSES));
+    assertEquals((long) input.length(), features.get(InputFeatures.SIZE));
+  }
+
+  @Test
+  public void testTsplibWithDepot() {
+    var features = InputFeatures.of("""
+        NAME : sample
+        TYPE : CVRP
+        DIMENSION : 5
+        CAPACITY : 3
+        DEMAND_SECTION
+        1 0
+        """).getFeatures();
+
+    assertEquals(4L, features.get(InputFeatures.CUSTOMERS));
+    assertEquals(5L, features.get(InputFeatures.NODES));
+  }
+
+  @Test
+  public void testTsplibWithoutDepot() {
+    var features = InputFeatures.of("NAME : sample\nTYPE : TSP\nDIMENSION : 5\n").getFeatures();
+
+    assertEquals(5L, features.get(InputFeatures.NODES));
+    assertFalse(features.containsKey(InputFeatures.CUSTOMERS));
+  }
+
+  @Test
+  public void testGml() {
+    var features = InputFeatures.of("""
+        graph [
+          node [ id 1 ]
+          node [ id 2 ]
+          node [ id 3 ]
+          edge [ source 1 target 2 ]
+        ]
+        """).getFeatures();
+
+    assertEquals(3L, features.get(InputFeatures.NODES));
+    assertEquals(1L, features.get(InputFeatures.EDGES));
+  }
+
+  @Test
+  public void testLpBinaries() {
+    var features = InputFeatures.of("""
+        minimize
+         obj: x1 + 2 x2 - x1 * x3
+        Binary
+         x1 x2
+         x3
+        End
+        """).getFeatures();
+
+    assertEquals(3L, features.get(InputFeatures.VARIABLES));
+  }
+
+  @Test
+  public void testNonTextualInput() {
+    assertEquals(Map.of(InputFeatures.SIZE, 4L), InputFeatures.of(1234).getFeatures());
+  }
+
+  @Test
+  public void testBuckets() {
+    // bucket b contains [2^b - 1, 2^(b+1) - 1)
+    assertEquals(0, InputFeatures.bucketOf(-5));
+    assertEquals(0, InputFeatures.bucketOf(0));
+    assertEquals(1, InputFeatures.bucketOf(1));
+    assertEquals(1, InputFeatures.bucketOf(2));
+    assertEquals(2, InputFeatures.bucketOf(3));
+    assertEquals(2, InputFeatures.bucketOf(6));
+    assertEquals(3, InputFeatures.bucketOf(7));
+  }
+}
@@ -0,0 +1,177 @@
+package edu.kit.provideq.toolbox.statistics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.kit.provideq.toolbox.ResourceProvider;
+import edu.kit.provideq.toolbox.Solution;
+import edu.kit.provideq.toolbox.meta.ProblemManager;
+import edu.kit.provideq.toolbox.meta.ProblemSolver;
+import edu.kit.provideq.toolbox.meta.ProblemType;
+import edu.kit.provideq.toolbox.meta.SolvingProperties;
+import edu.kit.provideq.toolbox.meta.SubRoutineResolver;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.DefaultResourceLoader;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+@SpringBootTest
+public class SolverStatisticsTests {
+  private static final ProblemType<String, String> TYPE = new ProblemType<>(
+      "statistics-test",
+      String.class,
+      String.class
+  );
+
+  private static final String INPUT = "p cnf 3 2\n1 -2 0\n2 3 0\n";
+
+  private final TestSolver fast = new TestSolver("fast");
+  private final TestSolver flaky = new TestSolver("flaky");
+  private final TestSolver slow = new TestSolver("slow");
+  private final TestSolver unused = new TestSolver("unused");
+
+  @TempDir
+  Path workingDirectory;
+
+  @Test
+  public void testHistogram() {
+    var histogram = new LatencyHistogram();
+    histogram.record(5, true);
+    histogram.record(1000, false);
+    histogram.record(1000, true);
+
+    // 1000 ms falls into the bucket [512, 1024)
+    assertEquals(2, histogram.getBuckets()[9]);
+    assertEquals(1, histogram.getBuckets()[2]);
+    long median = histogram.estimateMedianMilliseconds();
+    assertTrue(median >= 512 && median < 1024, String.valueOf(median));
+    assertEquals(2.0 / 3, histogram.getSuccessRate(), 1e-9);
+    assertEquals(-1, new LatencyHistogram().estimateMedianMilliseconds());
+  }
+
+  @Test
+  public void testRecommendationRanksByExpectedTimeToSuccess() {
+    var statistics = createStatistics();
+    recordRuns(statistics);
+
+    var recommendations = statistics.recommend(createManager(), INPUT);
+
+    assertEquals(List.of("fast", "flaky", "slow", "unused"), recommendations.stream()
+        .map(SolverRecommendation::solverName)
+        .toList());
+
+    var fastRecommendation = recommendations.get(0);
+    assertEquals(InputFeatures.VARIABLES, fastRecommendation.feature());
+    assertEquals(2, fastRecommendation.runs());
+    assertEquals(1.0, fastRecommendation.successRate(), 1e-9);
+
+    // failed runs would have to be repeated, which doubles the expected time of the flaky solver
+    var flakyRecommendation = recommendations.get(1);
+    assertEquals(0.5, flakyRecommendation.successRate(), 1e-9);
+    assertEquals(flakyRecommendation.expectedMilliseconds() * 2,
+        flakyRecommendation.expectedMillisecondsToSuccess(), 1e-9);
+
+    var unusedRecommendation = recommendations.get(3);
+    assertEquals(0, unusedRecommendation.runs());
+    assertNull(unusedRecommendation.feature());
+  }
+
+  @Test
+  public void testRunsOfOtherSizesAreNotCompared() {
+    var statistics = createStatistics();
+    recordRuns(statistics);
+
+    // much larger in every feature, so no recorded run is comparable
+    var largeInput = "p cnf 3000 2000\n" + "1 -2 0\n".repeat(2000);
+    var recommendations = statistics.recommend(createManager(), largeInput);
+
+    assertTrue(recommendations.stream().allMatch(recommendation -> recommendation.runs() == 0));
+  }
+
+  @Test
+  public void testStatisticsArePersisted() {
+    var statistics = createStatistics();
+    recordRuns(statistics);
+    statistics.flush();
+
+    var loaded = createStatistics();
+
+    assertEquals(statistics.recommend(createManager(), INPUT),
+        loaded.recommend(createManager(), INPUT));
+  }
+
+  private SolverStatistics createStatistics() {
+    var resourceProvider =
+        new ResourceProvider(workingDirectory.toString(), new DefaultResourceLoader());
+    return new SolverStatistics(resourceProvider, Schedulers.immediate());
+  }
+
+  private ProblemManager<String, String> createManager() {
+    return new ProblemManager<>(TYPE, Set.of(fast, flaky, slow, unused), Set.of());
+  }
+
+  private void recordRuns(SolverStatistics statistics) {
+    record(statistics, fast, 100, true);
+    record(statistics, fast, 110, true);
+    record(statistics, flaky, 100, true);
+    record(statistics, flaky, 110, false);
+    record(statistics, slow, 10000, true);
+  }
+
+  private static void record(
+      SolverStatistics statistics,
+      TestSolver solver,
+      long milliseconds,
+      boolean success) {
+    var solution = new Solution<>(solver);
+    solution.setExecutionMilliseconds(milliseconds);
+    if (success) {
+      solution.complete();
+    } else {
+      solution.fail();
+    }
+    statistics.record(TYPE, solver, INPUT, solution);
+  }
+
+  private static class TestSolver implements ProblemSolver<String, String> {
+    private final String name;
+
+    TestSolver(String name) {
+      this.name = name;
+    }
+
+    @Override
+    public String getId() {
+      return name;
+    }
+
+    @Override
+    public String getName() {
+      return name;
+    }
+
+    @Override
+    public String getDescription() {
+      return name;
+    }
+
+    @Override
+    public Mono<Solution<String>> solve(
+        String input,
+        SubRoutineResolver subRoutineResolver,
+        SolvingProperties properties) {
+      return Mono.empty();
+    }
+
+    @Override
+    public ProblemType<String, String> getProblemType() {
+      return TYPE;
+    }
+  }
+}
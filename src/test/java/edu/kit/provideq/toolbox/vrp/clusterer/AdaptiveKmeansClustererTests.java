@@ -0,0 +1,63 @@
+package edu.kit.provideq.toolbox.vrp.clusterer;
+
+import static edu.kit.provideq.toolbox.vrp.VrpConfiguration.VRP;
+import static edu.kit.provideq.toolbox.vrp.clusterer.VrpClustererConfiguration.CLUSTER_VRP;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.OptionalInt;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+public class AdaptiveKmeansClustererTests {
+  private static String clusterWithDimension(int dimension) {
+    return """
+        NAME : cluster
+        TYPE : CVRP
+        DIMENSION : %d
+        EDGE_WEIGHT_TYPE : EUC_2D
+        CAPACITY : 10
+        NODE_COORD_SECTION
+        """.formatted(dimension);
+  }
+
+  @Test
+  void testSmallClusterIsSolvedDirectly() {
+    // 10 customers plus the depot fit the target size of 20
+    var subRoutine = AdaptiveKmeansClusterer.chooseSubRoutine(clusterWithDimension(11), 50, 20);
+    assertEquals(VRP, subRoutine.type());
+  }
+
+  @Test
+  void testOversizedClusterIsDecomposedFurther() {
+    var subRoutine = AdaptiveKmeansClusterer.chooseSubRoutine(clusterWithDimension(31), 50, 20);
+    assertEquals(CLUSTER_VRP, subRoutine.type());
+  }
+
+  @Test
+  void testClusterThatDidNotShrinkIsSolvedDirectly() {
+    // the cluster still contains all 50 customers of its parent, so recursing would not terminate
+    var subRoutine = AdaptiveKmeansClusterer.chooseSubRoutine(clusterWithDimension(51), 50, 20);
+    assertEquals(VRP, subRoutine.type());
+  }
+
+  @Test
+  void testDimensionOfVrpHeader() throws IOException {
+    String cmt1;
+    try (var stream = getClass().getResourceAsStream("/edu/kit/provideq/toolbox/vrp/CMT1.vrp")) {
+      assertNotNull(stream);
+      cmt1 = new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    assertEquals(OptionalInt.of(51), VrpClusterer.getDimension(cmt1));
+  }
+
+  @Test
+  void testMissingDimension() {
+    assertTrue(VrpClusterer.getDimension("NAME : no dimension\nTYPE : CVRP\n").isEmpty());
+  }
+}